@@ -0,0 +1,14 @@
+package com.waldorf.application.dto;
+
+import java.util.List;
+
+/**
+ * Página da paginação por cursor (keyset): sem total nem número de página — {@code nextCursor}
+ * (opaco) é enviado de volta em {@code ?cursor=} para buscar a página seguinte.
+ */
+public record CursorPageDTO<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
@@ -0,0 +1,6 @@
+package com.waldorf.application.dto.busca;
+
+import com.waldorf.domain.enums.TipoBusca;
+
+/** Sugestão do autocompletar; {@code detalhe} desambigua homônimos (ex.: matrícula do aluno). */
+public record TypeaheadItemDTO(TipoBusca tipo, Long id, String nome, String detalhe) {}
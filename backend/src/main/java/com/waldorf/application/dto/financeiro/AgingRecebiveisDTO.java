@@ -0,0 +1,14 @@
+package com.waldorf.application.dto.financeiro;
+
+import com.waldorf.domain.enums.FaixaAtraso;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record AgingRecebiveisDTO(
+        List<Faixa> faixas,
+        long quantidade,
+        BigDecimal valorEmAberto
+) {
+    public record Faixa(FaixaAtraso faixa, long quantidade, BigDecimal valorEmAberto) {}
+}
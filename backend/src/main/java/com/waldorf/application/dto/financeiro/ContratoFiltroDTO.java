@@ -0,0 +1,12 @@
+package com.waldorf.application.dto.financeiro;
+
+import com.waldorf.domain.enums.SituacaoContrato;
+
+/** Filtros da listagem e da exportação de contratos; campos nulos não filtram. */
+public record ContratoFiltroDTO(
+        Long alunoId,
+        Integer anoLetivo,
+        SituacaoContrato situacao,
+        String nome,
+        Long turmaId
+) {}
@@ -0,0 +1,23 @@
+package com.waldorf.application.dto.financeiro;
+
+import com.waldorf.domain.enums.SituacaoContrato;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Linha da listagem de contratos, projetada direto da consulta (contrato + aluno + turma atual). */
+public record ContratoResumoDTO(
+        Long id,
+        Long alunoId,
+        String alunoNome,
+        Long turmaId,
+        String turmaNome,
+        Integer anoLetivo,
+        BigDecimal valorMensalidade,
+        BigDecimal desconto,
+        Integer totalParcelas,
+        Integer diaVencimento,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        SituacaoContrato situacao
+) {}
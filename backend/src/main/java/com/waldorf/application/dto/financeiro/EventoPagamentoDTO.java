@@ -0,0 +1,24 @@
+package com.waldorf.application.dto.financeiro;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Confirmação de pagamento enviada pelo gateway. {@code transacaoId} identifica a transação (e
+ * deduplica os reenvios); a parcela é localizada por ele ou pelo {@code nossoNumero} do boleto.
+ * {@code recebidoEm} é preenchido na entrada do webhook.
+ */
+public record EventoPagamentoDTO(
+        String transacaoId,
+        String nossoNumero,
+        BigDecimal valorPago,
+        LocalDateTime dataPagamento,
+        String formaPagamento,
+        String status,
+        LocalDateTime recebidoEm
+) {
+    public EventoPagamentoDTO recebido(LocalDateTime quando) {
+        return new EventoPagamentoDTO(transacaoId, nossoNumero, valorPago,
+                dataPagamento != null ? dataPagamento : quando, formaPagamento, status, quando);
+    }
+}
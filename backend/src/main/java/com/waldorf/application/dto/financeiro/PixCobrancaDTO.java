@@ -0,0 +1,13 @@
+package com.waldorf.application.dto.financeiro;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** PIX de uma mensalidade: {@code copiaECola} é o BR Code, pelo saldo em aberto no momento. */
+public record PixCobrancaDTO(
+        Long mensalidadeId,
+        String txid,
+        BigDecimal valor,
+        LocalDate dataVencimento,
+        String copiaECola
+) {}
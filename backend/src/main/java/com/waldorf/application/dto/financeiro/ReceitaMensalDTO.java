@@ -0,0 +1,12 @@
+package com.waldorf.application.dto.financeiro;
+
+import java.math.BigDecimal;
+
+public record ReceitaMensalDTO(
+        int ano,
+        int mes,
+        long parcelas,
+        BigDecimal valorPrevisto,
+        BigDecimal valorRecebido,
+        BigDecimal valorEmAberto
+) {}
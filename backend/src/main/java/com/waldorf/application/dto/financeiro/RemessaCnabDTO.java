@@ -0,0 +1,10 @@
+package com.waldorf.application.dto.financeiro;
+
+/**
+ * Remessa registrada: {@code nsa} é o número do arquivo, baixado em
+ * {@code GET /financeiro/cnab/remessa/{nsa}} quantas vezes for preciso.
+ */
+public record RemessaCnabDTO(
+        long nsa,
+        int titulos
+) {}
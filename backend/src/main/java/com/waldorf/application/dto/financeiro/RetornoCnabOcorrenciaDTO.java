@@ -0,0 +1,15 @@
+package com.waldorf.application.dto.financeiro;
+
+import com.waldorf.domain.enums.ConciliacaoRetorno;
+
+import java.math.BigDecimal;
+
+/** Liquidação do retorno que precisa de conferência; {@code registro} é a linha no arquivo. */
+public record RetornoCnabOcorrenciaDTO(
+        long registro,
+        String nossoNumero,
+        Long mensalidadeId,
+        ConciliacaoRetorno conciliacao,
+        BigDecimal valorPago,
+        BigDecimal valorDevido
+) {}
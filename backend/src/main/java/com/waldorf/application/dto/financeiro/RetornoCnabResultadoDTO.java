@@ -0,0 +1,26 @@
+package com.waldorf.application.dto.financeiro;
+
+import com.waldorf.infrastructure.cnab.LayoutCnab;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado do processamento de um arquivo de retorno. {@code ocorrencias} traz no máximo as
+ * primeiras divergências, já quitadas e não encontradas; {@code ocorrenciasTruncadas} indica que houve mais.
+ */
+public record RetornoCnabResultadoDTO(
+        LayoutCnab layout,
+        long registros,
+        long liquidacoes,
+        long conciliadas,
+        long divergentes,
+        long jaQuitadas,
+        long naoEncontradas,
+        long repetidas,
+        long outrosMovimentos,
+        BigDecimal valorBaixado,
+        List<RetornoCnabOcorrenciaDTO> ocorrencias,
+        boolean ocorrenciasTruncadas,
+        long duracaoMs
+) {}
@@ -0,0 +1,4 @@
+package com.waldorf.application.dto.importacao;
+
+/** Linha rejeitada: número da linha no arquivo (o cabeçalho do CSV é a linha 1) e o motivo. */
+public record ImportacaoErroDTO(long linha, String mensagem) {}
@@ -0,0 +1,24 @@
+package com.waldorf.application.dto.importacao;
+
+import com.waldorf.domain.enums.StatusImportacao;
+import com.waldorf.domain.enums.TipoImportacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progresso (durante) ou resultado (ao fim) de uma importação em massa. {@code erros} traz no
+ * máximo as primeiras rejeições; {@code errosTruncados} indica que houve mais.
+ */
+public record ImportacaoResultadoDTO(
+        String id,
+        TipoImportacao tipo,
+        StatusImportacao status,
+        long lidas,
+        long importadas,
+        long rejeitadas,
+        List<ImportacaoErroDTO> erros,
+        boolean errosTruncados,
+        LocalDateTime inicio,
+        long duracaoMs
+) {}
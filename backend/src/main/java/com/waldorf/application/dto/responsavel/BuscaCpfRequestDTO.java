@@ -0,0 +1,6 @@
+package com.waldorf.application.dto.responsavel;
+
+import jakarta.validation.constraints.NotBlank;
+
+/** CPF a buscar (com ou sem máscara), enviado no corpo para não aparecer em URLs/logs de acesso. */
+public record BuscaCpfRequestDTO(@NotBlank String cpf) {}
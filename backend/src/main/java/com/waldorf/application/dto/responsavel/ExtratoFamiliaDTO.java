@@ -0,0 +1,32 @@
+package com.waldorf.application.dto.responsavel;
+
+import com.waldorf.domain.entity.Mensalidade.StatusMensalidade;
+import com.waldorf.domain.enums.SituacaoContrato;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Extrato financeiro da família: os filhos do responsável, seus contratos (ativos, suspensos ou com
+ * parcelas em aberto) e as parcelas ainda não quitadas. {@code totalVencido} é a parte de
+ * {@code totalEmAberto} com status ATRASADA ou VENCIDA.
+ */
+public record ExtratoFamiliaDTO(
+        Long responsavelId,
+        String responsavelNome,
+        List<Filho> alunos,
+        BigDecimal totalEmAberto,
+        BigDecimal totalVencido,
+        LocalDateTime geradoEm
+) {
+    public record Filho(Long id, String nome, String turmaNome, List<Contrato> contratos) {}
+
+    public record Contrato(Long id, int anoLetivo, SituacaoContrato situacao, BigDecimal valorMensalidade,
+                           int totalParcelas, List<Parcela> parcelas) {}
+
+    public record Parcela(Long id, int numero, int mesReferencia, int anoReferencia, LocalDate dataVencimento,
+                          StatusMensalidade status, BigDecimal valorDevido, BigDecimal valorPago,
+                          BigDecimal saldo) {}
+}
@@ -5,7 +5,9 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
 import java.time.LocalDate;
+import java.util.List;
 
+/** {@code alunosIds}: filhos do responsável; {@code null} mantém os vínculos atuais. */
 public record ResponsavelRequestDTO(
         @NotBlank String nome,
         LocalDate dataNascimento,
@@ -16,5 +18,6 @@ public record ResponsavelRequestDTO(
         String parentesco,
         String profissao,
         String empresa,
-        boolean autorizado
+        boolean autorizado,
+        List<Long> alunosIds
 ) {}
@@ -0,0 +1,6 @@
+package com.waldorf.application.dto.turma;
+
+import jakarta.validation.constraints.NotNull;
+
+/** Aluno a colocar na turma; com {@code listaEspera}, entra na fila se a turma estiver lotada. */
+public record EnturmacaoRequestDTO(@NotNull Long alunoId, boolean listaEspera) {}
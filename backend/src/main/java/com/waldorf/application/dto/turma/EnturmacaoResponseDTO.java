@@ -0,0 +1,15 @@
+package com.waldorf.application.dto.turma;
+
+import com.waldorf.domain.enums.SituacaoEnturmacao;
+
+import java.time.LocalDateTime;
+
+/** Resultado da enturmação; {@code posicao} (1 = próximo) só para quem está na lista de espera. */
+public record EnturmacaoResponseDTO(
+        Long turmaId,
+        Long alunoId,
+        String alunoNome,
+        SituacaoEnturmacao situacao,
+        Long posicao,
+        LocalDateTime desde
+) {}
@@ -0,0 +1,214 @@
+package com.waldorf.application.job;
+
+import com.waldorf.application.service.ExtratoFamiliaService;
+import com.waldorf.application.service.PoliticaEncargos;
+import com.waldorf.application.service.ResumoMensalidadesService;
+import com.waldorf.domain.entity.JobCheckpoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rotina diária de inadimplência das mensalidades.
+ *
+ * <ol>
+ *   <li>ABERTA/PENDENTE/PARCIAL com vencimento anterior à carência → ATRASADA (o valor já pago de
+ *   uma PARCIAL continua em {@code valor_pago});</li>
+ *   <li>ATRASADA há mais de {@code dias-para-vencida} → VENCIDA;</li>
+ *   <li>juros e multa das parcelas em atraso recalculados pela {@link PoliticaEncargos}, sobre o
+ *   valor líquido ainda não pago.</li>
+ * </ol>
+ *
+ * <p>As transições são UPDATEs por conjunto, limitados a {@code chunk-size} linhas por comando
+ * (locks curtos) e servidos pelo índice {@code (status, data_vencimento)}. Os encargos são
+ * recalculados em lotes por id (keyset) com {@code batchUpdate}, confirmados junto com o
+ * checkpoint do {@link JobCoordinator}: só uma réplica executa por vez (e, na réplica, uma
+ * execução: as demais desistem no {@code tryLock}) e uma execução interrompida retoma no mesmo
+ * dia. Tudo é idempotente — os encargos são valores absolutos da data de referência e só linhas
+ * alteradas são regravadas.
+ *
+ * <p>Ao final, ainda com o lease, reconcilia o {@link ResumoMensalidadesService resumo}: as
+ * transições em massa não passam pelos deltas incrementais e as faixas de atraso mudam a cada dia.
+ * Pelo mesmo motivo, descarta todos os {@link ExtratoFamiliaService extratos} em cache.
+ *
+ * <p>Métricas: {@code mensalidades.inadimplencia.transicoes{para}},
+ * {@code mensalidades.inadimplencia.encargos}, {@code mensalidades.inadimplencia.duracao} e
+ * {@code mensalidades.inadimplencia.em_atraso}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InadimplenciaJob {
+
+    static final String JOB = "inadimplencia:mensalidades";
+
+    private static final String SELECT_ENCARGOS = "SELECT id, valor_parcela, valor_desconto, data_vencimento, "
+            + "valor_juros, valor_multa, valor_pago FROM mensalidades WHERE status IN ('ATRASADA', 'VENCIDA') "
+            + "AND data_vencimento < ? AND id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCoordinator coordinator;
+    private final PoliticaEncargos politica;
+    private final ResumoMensalidadesService resumoMensalidades;
+    private final ExtratoFamiliaService extratoFamilia;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jobs.inadimplencia.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.inadimplencia.chunk-size:1000}")
+    private int chunkSize;
+
+    private final AtomicLong emAtraso = new AtomicLong();
+    private final ReentrantLock execucao = new ReentrantLock();
+    private Timer duracao;
+
+    /** Resumo de uma execução. */
+    public record Resultado(int atrasadas, int vencidas, long encargosAtualizados) {
+        static final Resultado VAZIO = new Resultado(0, 0, 0);
+    }
+
+    @PostConstruct
+    void init() {
+        duracao = Timer.builder("mensalidades.inadimplencia.duracao")
+                .description("Duração da rotina diária de inadimplência").register(meterRegistry);
+        Gauge.builder("mensalidades.inadimplencia.em_atraso", emAtraso, AtomicLong::get)
+                .description("Mensalidades ATRASADA ou VENCIDA após a última execução").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.jobs.inadimplencia.cron:0 30 1 * * *}")
+    public void agendado() {
+        if (enabled) {
+            executar(LocalDate.now());
+        }
+    }
+
+    public Resultado executar(LocalDate hoje) {
+        if (!execucao.tryLock()) {
+            log.info("Rotina de inadimplência já em execução nesta réplica");
+            return Resultado.VAZIO;
+        }
+        try {
+            return apurar(hoje);
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private Resultado apurar(LocalDate hoje) {
+        Optional<JobCheckpoint> claimed = coordinator.tryAcquire(JOB);
+        if (claimed.isEmpty()) {
+            return Resultado.VAZIO;
+        }
+        long inicio = System.nanoTime();
+        try {
+            int atrasadas = transicionar("ABERTA", "ATRASADA", politica.limiteAtraso(hoje))
+                    + transicionar("PENDENTE", "ATRASADA", politica.limiteAtraso(hoje))
+                    + transicionar("PARCIAL", "ATRASADA", politica.limiteAtraso(hoje));
+            int vencidas = transicionar("ATRASADA", "VENCIDA", politica.limiteVencida(hoje));
+            long encargos = recalcularEncargos(hoje, claimed.get());
+            Long total = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM mensalidades WHERE status IN ('ATRASADA', 'VENCIDA')", Long.class);
+            emAtraso.set(total != null ? total : 0);
+            resumoMensalidades.reconciliar(hoje);
+            extratoFamilia.invalidarTudo();
+            log.info("Inadimplência em {}: {} atrasadas, {} vencidas, {} encargos atualizados ({} em atraso)",
+                    hoje, atrasadas, vencidas, encargos, emAtraso.get());
+            return new Resultado(atrasadas, vencidas, encargos);
+        } catch (Exception e) {
+            log.error("Rotina de inadimplência interrompida", e);
+            return Resultado.VAZIO;
+        } finally {
+            coordinator.release(JOB);
+            duracao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Move, em comandos de até {@code chunkSize} linhas, as parcelas vencidas antes de {@code limite}. */
+    private int transicionar(String de, String para, LocalDate limite) {
+        int total = 0;
+        int n;
+        do {
+            n = jdbcTemplate.update("UPDATE mensalidades SET status = ?, updated_at = ? "
+                    + "WHERE status = ? AND data_vencimento < ? LIMIT ?", para, LocalDateTime.now(), de, limite, chunkSize);
+            total += n;
+        } while (n == chunkSize);
+        meterRegistry.counter("mensalidades.inadimplencia.transicoes", "para", para).increment(total);
+        return total;
+    }
+
+    /** Recalcula juros e multa das parcelas em atraso; devolve quantas linhas mudaram. */
+    private long recalcularEncargos(LocalDate hoje, JobCheckpoint cp) {
+        String params = hoje.toString();
+        long ultimoId = params.equals(cp.getParams()) ? cp.getLastId() : 0;
+        long processadas = params.equals(cp.getParams()) ? cp.getProcessed() : 0;
+        long atualizadas = 0;
+        LocalDate limite = politica.limiteAtraso(hoje);
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Parcela> lote = jdbcTemplate.query(SELECT_ENCARGOS, (rs, i) -> new Parcela(
+                            rs.getLong("id"), rs.getBigDecimal("valor_parcela"), rs.getBigDecimal("valor_desconto"),
+                            rs.getDate("data_vencimento").toLocalDate(),
+                            rs.getBigDecimal("valor_juros"), rs.getBigDecimal("valor_multa"),
+                            rs.getBigDecimal("valor_pago")),
+                    limite, ultimoId, chunkSize);
+            if (lote.isEmpty()) {
+                break;
+            }
+            LocalDateTime agora = LocalDateTime.now();
+            List<Object[]> args = new ArrayList<>();
+            for (Parcela p : lote) {
+                BigDecimal base = PoliticaEncargos.base(p.valor(), p.desconto(), p.pago());
+                PoliticaEncargos.Encargos e = politica.calcular(base, p.vencimento(), hoje);
+                if (!iguais(e.juros(), p.juros()) || !iguais(e.multa(), p.multa())) {
+                    args.add(new Object[]{e.juros(), e.multa(), agora, p.id()});
+                }
+            }
+            long loteUltimoId = lote.get(lote.size() - 1).id();
+            long totalAposLote = processadas + lote.size();
+            Boolean confirmado = transactionTemplate.execute(tx -> {
+                jdbcTemplate.batchUpdate("UPDATE mensalidades SET valor_juros = ?, valor_multa = ?, updated_at = ? "
+                        + "WHERE id = ? AND status IN ('ATRASADA', 'VENCIDA')", args);
+                if (!coordinator.advance(JOB, loteUltimoId, totalAposLote, params)) {
+                    tx.setRollbackOnly(); // lease assumido por outra réplica
+                    return false;
+                }
+                return true;
+            });
+            if (!Boolean.TRUE.equals(confirmado)) {
+                log.warn("Lease da rotina de inadimplência perdido após id {}", ultimoId);
+                break;
+            }
+            meterRegistry.counter("mensalidades.inadimplencia.encargos").increment(args.size());
+            atualizadas += args.size();
+            ultimoId = loteUltimoId;
+            processadas = totalAposLote;
+        }
+        return atualizadas;
+    }
+
+    private static boolean iguais(BigDecimal a, BigDecimal b) {
+        return b != null && a.compareTo(b) == 0;
+    }
+
+    private record Parcela(long id, BigDecimal valor, BigDecimal desconto, LocalDate vencimento,
+                           BigDecimal juros, BigDecimal multa, BigDecimal pago) {}
+}
@@ -0,0 +1,62 @@
+package com.waldorf.application.job;
+
+import com.waldorf.domain.entity.JobCheckpoint;
+import com.waldorf.infrastructure.repository.JobCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Coordena jobs em lotes entre as réplicas via {@link JobCheckpoint}: uma única réplica detém o
+ * lease de cada job, e o progresso gravado a cada lote permite retomar de onde parou.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCoordinator {
+
+    /** Identificador desta réplica (nome do pod no Kubernetes). */
+    static final String OWNER = Optional.ofNullable(System.getenv("HOSTNAME")).orElse("local")
+            + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    private final JobCheckpointRepository repository;
+
+    @Value("${app.jobs.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /** Assume o job e devolve seu checkpoint, ou vazio se outra réplica o estiver executando. */
+    public Optional<JobCheckpoint> tryAcquire(String job) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!repository.existsById(job)) {
+            try {
+                repository.saveAndFlush(JobCheckpoint.builder().jobName(job).updatedAt(now).build());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Checkpoint do job {} criado por outra réplica", job);
+            }
+        }
+        if (repository.claim(job, OWNER, now.plusSeconds(leaseSeconds), now) == 0) {
+            log.debug("Job {} em execução em outra réplica", job);
+            return Optional.empty();
+        }
+        return repository.findById(job);
+    }
+
+    /**
+     * Grava o progresso e renova o lease. Chamar dentro da transação do lote, para que dados e
+     * checkpoint sejam confirmados juntos; {@code false} indica que o lease foi perdido.
+     */
+    public boolean advance(String job, long lastId, long processed, String params) {
+        LocalDateTime now = LocalDateTime.now();
+        return repository.advance(job, OWNER, lastId, processed, params, now.plusSeconds(leaseSeconds), now) == 1;
+    }
+
+    public void release(String job) {
+        repository.release(job, OWNER);
+    }
+}
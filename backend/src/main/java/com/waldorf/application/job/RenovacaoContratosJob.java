@@ -0,0 +1,225 @@
+package com.waldorf.application.job;
+
+import com.waldorf.application.service.GeradorMensalidades;
+import com.waldorf.domain.entity.JobCheckpoint;
+import com.waldorf.domain.enums.SituacaoContrato;
+import com.waldorf.infrastructure.repository.InsercaoEmLote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Renovação anual: cada contrato ATIVO de um ano letivo (de aluno ativo) ganha uma cópia no ano
+ * seguinte, com valor reajustado por {@code app.jobs.renovacao-contratos.reajuste-percentual},
+ * datas deslocadas em um ano e parcelas geradas pelo {@link GeradorMensalidades}.
+ *
+ * <p>Percorre os contratos em lotes por id (keyset); cada lote — contratos, parcelas e checkpoint
+ * ({@link JobCoordinator}) — é confirmado numa única transação, então uma execução interrompida
+ * retoma do último lote e só uma réplica roda por vez (e, na réplica, uma execução: as demais
+ * desistem no {@code tryLock}). Alunos que já têm contrato no ano de destino são pulados, o que
+ * torna a renovação idempotente; de um aluno com mais de um contrato ATIVO no ano de origem, só o
+ * mais recente é renovado.
+ *
+ * <p>Métricas: {@code contratos.renovacao.contratos} e {@code contratos.renovacao.mensalidades}
+ * (vazão), {@code contratos.renovacao.chunk} e {@code contratos.renovacao.checkpoint}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RenovacaoContratosJob {
+
+    static final String JOB = "renovacao:contratos";
+
+    private static final String SELECT_LOTE = "SELECT c.id, c.aluno_id, c.valor_mensalidade, c.desconto, "
+            + "c.valor_matricula, c.total_parcelas, c.dia_vencimento, c.data_inicio, c.data_fim "
+            + "FROM contratos c JOIN alunos a ON a.id = c.aluno_id AND a.ativo = TRUE "
+            + "WHERE c.ano_letivo = ? AND c.situacao = 'ATIVO' AND c.id > ? "
+            + "AND NOT EXISTS (SELECT 1 FROM contratos r WHERE r.aluno_id = c.aluno_id AND r.ano_letivo = c.ano_letivo "
+            + "AND r.situacao = 'ATIVO' AND r.id > c.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM contratos n WHERE n.aluno_id = c.aluno_id AND n.ano_letivo = ?) "
+            + "ORDER BY c.id LIMIT ?";
+
+    private static final String INSERT_CONTRATO = "INSERT INTO contratos (aluno_id, ano_letivo, "
+            + "valor_mensalidade, desconto, valor_matricula, total_parcelas, dia_vencimento, data_inicio, "
+            + "data_fim, situacao, observacoes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCoordinator coordinator;
+    private final GeradorMensalidades geradorMensalidades;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jobs.renovacao-contratos.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.jobs.renovacao-contratos.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.jobs.renovacao-contratos.reajuste-percentual:0}")
+    private BigDecimal reajustePercentual;
+
+    private final AtomicLong checkpoint = new AtomicLong();
+    private final ReentrantLock execucao = new ReentrantLock();
+    private Counter contratos;
+    private Counter mensalidades;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void init() {
+        contratos = Counter.builder("contratos.renovacao.contratos")
+                .description("Contratos renovados para o ano letivo seguinte").register(meterRegistry);
+        mensalidades = Counter.builder("contratos.renovacao.mensalidades")
+                .description("Parcelas geradas pela renovação").register(meterRegistry);
+        chunkTimer = Timer.builder("contratos.renovacao.chunk")
+                .description("Tempo por lote (leitura, inserção e commit)").register(meterRegistry);
+        Gauge.builder("contratos.renovacao.checkpoint", checkpoint, AtomicLong::get)
+                .description("Último id de contrato confirmado").register(meterRegistry);
+    }
+
+    /** Execução anual (padrão: 1º de dezembro), renovando os contratos do ano corrente. */
+    @Scheduled(cron = "${app.jobs.renovacao-contratos.cron:0 0 2 1 12 *}")
+    public void agendado() {
+        if (enabled) {
+            executar(Year.now().getValue());
+        }
+    }
+
+    /** Disparo manual (ex.: pela API), fora da thread da requisição. */
+    @Async
+    public void executarAsync(int anoOrigem) {
+        executar(anoOrigem);
+    }
+
+    /** Renova (ou retoma a renovação de) {@code anoOrigem} para o ano seguinte; devolve quantos contratos criou. */
+    public long executar(int anoOrigem) {
+        if (!execucao.tryLock()) {
+            log.info("Renovação de contratos já em execução nesta réplica");
+            return 0;
+        }
+        try {
+            return renovarAno(anoOrigem);
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private long renovarAno(int anoOrigem) {
+        Optional<JobCheckpoint> claimed = coordinator.tryAcquire(JOB);
+        if (claimed.isEmpty()) {
+            log.info("Renovação de contratos já em execução em outra réplica");
+            return 0;
+        }
+        String params = String.valueOf(anoOrigem);
+        int anoDestino = anoOrigem + 1;
+        JobCheckpoint cp = claimed.get();
+        long ultimoId = params.equals(cp.getParams()) ? cp.getLastId() : 0;
+        long processados = params.equals(cp.getParams()) ? cp.getProcessed() : 0;
+        long nestaExecucao = 0;
+        log.info("Renovação de contratos {} → {}: retomando após id {}", anoOrigem, anoDestino, ultimoId);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long inicio = System.nanoTime();
+                List<Origem> lote = jdbcTemplate.query(SELECT_LOTE, (rs, i) -> new Origem(
+                                rs.getLong("id"), rs.getLong("aluno_id"), rs.getBigDecimal("valor_mensalidade"),
+                                rs.getBigDecimal("desconto"), rs.getBigDecimal("valor_matricula"),
+                                rs.getInt("total_parcelas"), rs.getInt("dia_vencimento"),
+                                data(rs.getDate("data_inicio")), data(rs.getDate("data_fim"))),
+                        anoOrigem, ultimoId, anoDestino, chunkSize);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                long loteUltimoId = lote.get(lote.size() - 1).id();
+                long totalAposLote = processados + lote.size();
+                Integer parcelas = transactionTemplate.execute(tx -> {
+                    int geradas = renovar(lote, anoDestino);
+                    if (!coordinator.advance(JOB, loteUltimoId, totalAposLote, params)) {
+                        tx.setRollbackOnly(); // lease assumido por outra réplica
+                        return null;
+                    }
+                    return geradas;
+                });
+                if (parcelas == null) {
+                    log.warn("Lease da renovação perdido após id {}; encerrando esta execução", ultimoId);
+                    break;
+                }
+                contratos.increment(lote.size());
+                mensalidades.increment(parcelas);
+                ultimoId = loteUltimoId;
+                processados = totalAposLote;
+                nestaExecucao += lote.size();
+                checkpoint.set(ultimoId);
+                chunkTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            log.info("Renovação de contratos {} → {}: {} contratos nesta execução ({} no total)",
+                    anoOrigem, anoDestino, nestaExecucao, processados);
+        } catch (Exception e) {
+            log.error("Renovação de contratos interrompida após id {}", ultimoId, e);
+        } finally {
+            coordinator.release(JOB);
+        }
+        return nestaExecucao;
+    }
+
+    /** Insere as cópias do lote e suas parcelas; devolve quantas parcelas foram geradas. */
+    private int renovar(List<Origem> lote, int anoDestino) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> novos = new ArrayList<>(lote.size());
+        for (Origem o : lote) {
+            novos.add(new Object[]{o.alunoId(), anoDestino, reajustar(o.valorMensalidade()), o.desconto(),
+                    o.valorMatricula(), o.totalParcelas(), o.diaVencimento(), inicioRenovado(o, anoDestino),
+                    o.dataFim() != null ? o.dataFim().plusYears(1) : null, SituacaoContrato.ATIVO.name(),
+                    "Renovação do contrato #" + o.id(), agora, agora});
+        }
+        long[] ids = InsercaoEmLote.comChaves(jdbcTemplate, INSERT_CONTRATO, novos);
+        List<GeradorMensalidades.Plano> planos = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Object[] novo = novos.get(i);
+            planos.add(new GeradorMensalidades.Plano(ids[i], (BigDecimal) novo[2], lote.get(i).desconto(),
+                    lote.get(i).totalParcelas(), lote.get(i).diaVencimento(), (LocalDate) novo[7]));
+        }
+        return geradorMensalidades.gerar(planos);
+    }
+
+    private BigDecimal reajustar(BigDecimal valor) {
+        if (reajustePercentual.signum() == 0) {
+            return valor;
+        }
+        BigDecimal fator = BigDecimal.ONE.add(reajustePercentual.movePointLeft(2));
+        return valor.multiply(fator).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDate inicioRenovado(Origem o, int anoDestino) {
+        return o.dataInicio() != null ? o.dataInicio().plusYears(1) : LocalDate.of(anoDestino, 1, 1);
+    }
+
+    private static LocalDate data(Date d) {
+        return d != null ? d.toLocalDate() : null;
+    }
+
+    private record Origem(long id, long alunoId, BigDecimal valorMensalidade, BigDecimal desconto,
+                          BigDecimal valorMatricula, int totalParcelas, int diaVencimento,
+                          LocalDate dataInicio, LocalDate dataFim) {}
+}
@@ -0,0 +1,78 @@
+package com.waldorf.application.job;
+
+import com.waldorf.infrastructure.security.crypto.BlindIndex;
+import com.waldorf.infrastructure.security.crypto.SensitiveDataCipher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Preenche {@code responsaveis.cpf_hash} das linhas gravadas antes do índice cego existir.
+ *
+ * <p>Percorre a tabela em lotes por id (keyset), decifra o CPF e grava os índices com um
+ * {@code batchUpdate} por lote. É idempotente — só toca linhas com {@code cpf_hash} nulo — então
+ * várias réplicas podem executá-lo ao mesmo tempo sem efeito colateral além de trabalho repetido.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponsavelCpfIndexBackfillJob {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.jobs.cpf-index-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.cpf-index-backfill.chunk-size:500}")
+    private int chunkSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            executar();
+        }
+    }
+
+    /** Processa todas as linhas pendentes; devolve quantas foram indexadas. */
+    public int executar() {
+        long ultimoId = 0;
+        int total = 0;
+        try {
+            while (true) {
+                List<Linha> lote = jdbcTemplate.query(
+                        "SELECT id, cpf FROM responsaveis WHERE id > ? AND cpf IS NOT NULL AND cpf_hash IS NULL "
+                                + "ORDER BY id LIMIT ?",
+                        (rs, i) -> new Linha(rs.getLong("id"), rs.getString("cpf")),
+                        ultimoId, chunkSize);
+                if (lote.isEmpty()) {
+                    break;
+                }
+                List<Object[]> args = lote.stream()
+                        .map(l -> new Object[]{BlindIndex.cpf(SensitiveDataCipher.decrypt(l.cpf())), l.id()})
+                        .filter(a -> a[0] != null)
+                        .toList();
+                jdbcTemplate.batchUpdate(
+                        "UPDATE responsaveis SET cpf_hash = ? WHERE id = ? AND cpf_hash IS NULL", args);
+                total += args.size();
+                ultimoId = lote.get(lote.size() - 1).id();
+            }
+        } catch (Exception e) {
+            log.error("Backfill do índice de CPF interrompido após {} linhas: {}", total, e.getMessage());
+            return total;
+        }
+        if (total > 0) {
+            log.info("Backfill do índice de CPF concluído: {} responsáveis indexados", total);
+        }
+        return total;
+    }
+
+    private record Linha(long id, String cpf) {}
+}
@@ -0,0 +1,247 @@
+package com.waldorf.application.job;
+
+import com.waldorf.domain.entity.JobCheckpoint;
+import com.waldorf.infrastructure.security.crypto.EncryptionKeyProvider;
+import com.waldorf.infrastructure.security.crypto.SensitiveDataCipher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Re-cifra {@code responsaveis.cpf} com a chave atual do chaveiro, sem downtime.
+ *
+ * <p>Percorre a tabela em lotes por id (keyset), re-cifra cada lote em paralelo e grava-o numa
+ * transação curta junto com o checkpoint ({@link JobCoordinator}) — a execução retoma do último
+ * lote confirmado e só uma réplica roda por vez. O {@code UPDATE} só altera a linha se o valor
+ * ainda for o lido, então gravações concorrentes da aplicação nunca são sobrescritas. Ao chegar
+ * ao fim, se ainda houver linhas antigas (ex.: gravadas por réplicas com a chave anterior durante
+ * o deploy), o checkpoint volta ao início para a próxima execução. Uma linha que não pode ser
+ * re-cifrada (valor truncado, versão de chave aposentada etc.) é registrada e pulada — o cursor
+ * segue adiante e a rotação das demais termina; ela continua contada como pendente.
+ *
+ * <p>Métricas: {@code crypto.reencryption.rows} (vazão), {@code crypto.reencryption.chunk},
+ * {@code crypto.reencryption.pending}, {@code crypto.reencryption.checkpoint},
+ * {@code crypto.reencryption.conflicts} e {@code crypto.reencryption.failures}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponsavelReencryptionJob {
+
+    static final String JOB = "reencryption:responsaveis.cpf";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCoordinator coordinator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jobs.reencryption.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.reencryption.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.jobs.reencryption.workers:4}")
+    private int workers;
+
+    @Value("${app.jobs.reencryption.pause-ms:50}")
+    private long pauseMillis;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong checkpoint = new AtomicLong();
+    private final ReentrantLock execucao = new ReentrantLock();
+    private ExecutorService pool;
+    private Counter rows;
+    private Counter conflicts;
+    private Counter failures;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void init() {
+        pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "reencryption-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        rows = Counter.builder("crypto.reencryption.rows")
+                .description("Linhas re-cifradas com a chave atual").register(meterRegistry);
+        conflicts = Counter.builder("crypto.reencryption.conflicts")
+                .description("Linhas alteradas pela aplicação durante a re-cifragem (puladas)").register(meterRegistry);
+        failures = Counter.builder("crypto.reencryption.failures")
+                .description("Linhas que não puderam ser re-cifradas (puladas)").register(meterRegistry);
+        chunkTimer = Timer.builder("crypto.reencryption.chunk")
+                .description("Tempo por lote (leitura, re-cifragem e commit)").register(meterRegistry);
+        Gauge.builder("crypto.reencryption.pending", pending, AtomicLong::get)
+                .description("Linhas ainda cifradas com chave anterior").register(meterRegistry);
+        Gauge.builder("crypto.reencryption.checkpoint", checkpoint, AtomicLong::get)
+                .description("Último id confirmado").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(initialDelayString = "${app.jobs.reencryption.initial-delay-ms:60000}",
+               fixedDelayString = "${app.jobs.reencryption.interval-ms:3600000}")
+    public void agendado() {
+        if (enabled) {
+            executar();
+        }
+    }
+
+    /** Executa (ou retoma) a re-cifragem; devolve quantas linhas foram re-cifradas nesta execução. */
+    public long executar() {
+        if (!execucao.tryLock()) {
+            log.info("Re-cifragem já em execução nesta réplica");
+            return 0;
+        }
+        try {
+            return recifrarTabela();
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private long recifrarTabela() {
+        Optional<JobCheckpoint> claimed = coordinator.tryAcquire(JOB);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        String versao = String.valueOf(EncryptionKeyProvider.currentVersion());
+        String prefixoAtual = "k" + versao + ":%";
+        JobCheckpoint cp = claimed.get();
+        long ultimoId = versao.equals(cp.getParams()) ? cp.getLastId() : 0;
+        long processadas = versao.equals(cp.getParams()) ? cp.getProcessed() : 0;
+        long nestaExecucao = 0;
+        long falhas = 0;
+        try {
+            pending.set(contarPendentes(prefixoAtual));
+            if (pending.get() == 0) {
+                return 0;
+            }
+            log.info("Re-cifragem de responsaveis.cpf para a chave v{}: {} pendentes, retomando após id {}",
+                    versao, pending.get(), ultimoId);
+            while (!Thread.currentThread().isInterrupted()) {
+                long inicio = System.nanoTime();
+                List<Linha> lote = jdbcTemplate.query(
+                        "SELECT id, cpf FROM responsaveis WHERE id > ? AND cpf IS NOT NULL AND cpf <> '' "
+                                + "AND cpf NOT LIKE ? ORDER BY id LIMIT ?",
+                        (rs, i) -> new Linha(rs.getLong("id"), rs.getString("cpf")),
+                        ultimoId, prefixoAtual, chunkSize);
+                if (lote.isEmpty()) {
+                    long restantes = contarPendentes(prefixoAtual);
+                    pending.set(restantes);
+                    // Linhas regravadas com a chave antiga atrás do cursor (além das que falharam agora):
+                    // recomeça na próxima execução
+                    long proximoInicio = restantes > falhas ? 0 : ultimoId;
+                    long total = processadas;
+                    transactionTemplate.executeWithoutResult(tx ->
+                            coordinator.advance(JOB, proximoInicio, total, versao));
+                    log.info("Re-cifragem concluída nesta execução: {} linhas, {} falhas (restantes: {})",
+                            nestaExecucao, falhas, restantes);
+                    break;
+                }
+                List<Object[]> args = recifrar(lote);
+                int puladas = lote.size() - args.size();
+                failures.increment(puladas);
+                falhas += puladas;
+                long loteUltimoId = lote.get(lote.size() - 1).id();
+                long totalAposLote = processadas + args.size();
+                int[] atualizadas = transactionTemplate.execute(tx -> {
+                    int[] r = jdbcTemplate.batchUpdate(
+                            "UPDATE responsaveis SET cpf = ? WHERE id = ? AND cpf = ?", args);
+                    if (!coordinator.advance(JOB, loteUltimoId, totalAposLote, versao)) {
+                        tx.setRollbackOnly(); // lease assumido por outra réplica
+                        return null;
+                    }
+                    return r;
+                });
+                if (atualizadas == null) {
+                    log.warn("Lease da re-cifragem perdido após id {}; encerrando esta execução", ultimoId);
+                    break;
+                }
+                int gravadas = 0;
+                for (int n : atualizadas) {
+                    gravadas += n > 0 || n == Statement.SUCCESS_NO_INFO ? 1 : 0;
+                }
+                rows.increment(gravadas);
+                conflicts.increment(args.size() - gravadas);
+                pending.updateAndGet(p -> Math.max(0, p - args.size()));
+                ultimoId = loteUltimoId;
+                processadas = totalAposLote;
+                nestaExecucao += gravadas;
+                checkpoint.set(ultimoId);
+                chunkTimer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Re-cifragem interrompida após id {}", ultimoId, e);
+        } finally {
+            coordinator.release(JOB);
+        }
+        return nestaExecucao;
+    }
+
+    /**
+     * Re-cifra o lote em paralelo; devolve os argumentos do UPDATE condicional (novo, id, antigo),
+     * sem as linhas que falharam.
+     */
+    private List<Object[]> recifrar(List<Linha> lote) {
+        int partes = Math.max(1, Math.min(workers, lote.size()));
+        int tamanho = (lote.size() + partes - 1) / partes;
+        List<CompletableFuture<List<Object[]>>> futuros = new ArrayList<>();
+        for (int i = 0; i < lote.size(); i += tamanho) {
+            List<Linha> parte = lote.subList(i, Math.min(i + tamanho, lote.size()));
+            futuros.add(CompletableFuture.supplyAsync(() -> parte.stream()
+                    .map(ResponsavelReencryptionJob::recifrarLinha)
+                    .filter(Objects::nonNull)
+                    .toList(), pool));
+        }
+        return futuros.stream().flatMap(f -> f.join().stream()).toList();
+    }
+
+    private static Object[] recifrarLinha(Linha l) {
+        try {
+            return new Object[]{SensitiveDataCipher.reencrypt(l.cpf()), l.id(), l.cpf()};
+        } catch (RuntimeException e) {
+            log.warn("Falha ao re-cifrar responsaveis.cpf do id {}; linha pulada", l.id(), e);
+            return null;
+        }
+    }
+
+    private long contarPendentes(String prefixoAtual) {
+        Long n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM responsaveis WHERE cpf IS NOT NULL AND cpf <> '' AND cpf NOT LIKE ?",
+                Long.class, prefixoAtual);
+        return n == null ? 0 : n;
+    }
+
+    private record Linha(long id, String cpf) {}
+}
@@ -1,18 +1,24 @@
 package com.waldorf.application.service;
 
+import com.waldorf.application.dto.CursorPageDTO;
 import com.waldorf.application.dto.aluno.AlunoRequestDTO;
 import com.waldorf.application.dto.aluno.AlunoResponseDTO;
 import com.waldorf.domain.entity.Aluno;
+import com.waldorf.domain.entity.Turma;
+import com.waldorf.domain.enums.TipoBusca;
 import com.waldorf.infrastructure.repository.AlunoRepository;
 import com.waldorf.infrastructure.repository.TurmaRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Year;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -20,18 +26,40 @@ public class AlunoService {
 
     private final AlunoRepository alunoRepository;
     private final TurmaRepository turmaRepository;
+    private final VagaTurmaService vagaTurmaService;
+    private final TypeaheadSearchService typeaheadSearchService;
+    private final MatriculaAllocator matriculaAllocator;
+    private final TransactionTemplate transactionTemplate;
 
     public Page<AlunoResponseDTO> listar(String nome, Long turmaId, Boolean ativo, Pageable pageable) {
         return alunoRepository.findWithFilters(nome, turmaId, ativo, pageable)
                 .map(this::toDTO);
     }
 
+    /** Listagem por cursor (opt-in): ordem {@code (nome, id)}, sem COUNT nem OFFSET. */
+    public CursorPageDTO<AlunoResponseDTO> listarPorCursor(String nome, Long turmaId, Boolean ativo,
+                                                           String cursor, int size) {
+        KeysetCursor apos = KeysetCursor.decode(cursor);
+        int tamanho = KeysetCursor.tamanho(size);
+        List<Aluno> linhas = alunoRepository.findWithFiltersAfter(nome, turmaId, ativo,
+                apos != null ? apos.nome() : null, apos != null ? apos.id() : null, Limit.of(tamanho + 1));
+        return KeysetCursor.pagina(linhas, tamanho, a -> new KeysetCursor(a.getNome(), a.getId()), this::toDTO);
+    }
+
     public AlunoResponseDTO buscarPorId(Long id) {
         return toDTO(findOrThrow(id));
     }
 
-    @Transactional
+    /**
+     * A matrícula sai antes da transação: quando o bloco local se esgota, a reserva do próximo usa
+     * outra conexão, que não deve ser pedida enquanto esta transação já segura uma.
+     */
     public AlunoResponseDTO criar(AlunoRequestDTO dto) {
+        String matricula = matriculaAllocator.proxima(Year.now().getValue());
+        return transactionTemplate.execute(tx -> gravar(dto, matricula));
+    }
+
+    private AlunoResponseDTO gravar(AlunoRequestDTO dto, String matricula) {
         var aluno = new Aluno();
         aluno.setNome(dto.nome());
         aluno.setDataNascimento(dto.dataNascimento());
@@ -41,20 +69,19 @@ public class AlunoService {
         aluno.setAnoIngresso(dto.anoIngresso() > 0 ? dto.anoIngresso() : Year.now().getValue());
         aluno.setTemperamento(dto.temperamento());
         aluno.setAtivo(true);
-        // matricula provisoria para satisfazer NOT NULL antes do primeiro INSERT
-        aluno.setMatricula("TEMP-" + System.nanoTime());
+        aluno.setMatricula(matricula);
         if (dto.turmaId() != null) {
-            aluno.setTurma(turmaRepository.findById(dto.turmaId()).orElse(null));
+            aluno.setTurma(vagaTurmaService.ocupar(dto.turmaId()));
         }
-        aluno = alunoRepository.saveAndFlush(aluno);
-        aluno.setMatricula(gerarMatricula(aluno.getId()));
-        aluno = alunoRepository.saveAndFlush(aluno);
+        aluno = alunoRepository.save(aluno);
+        typeaheadSearchService.atualizarAposCommit(TipoBusca.ALUNO, aluno.getId());
         return toDTO(aluno);
     }
 
+    /** O aluno é travado: uma troca de turma concorrente espera esta e libera a vaga certa. */
     @Transactional
     public AlunoResponseDTO atualizar(Long id, AlunoRequestDTO dto) {
-        Aluno aluno = findOrThrow(id);
+        Aluno aluno = findParaAtualizar(id);
         if (dto.nome() != null && !dto.nome().isBlank()) aluno.setNome(dto.nome());
         if (dto.dataNascimento() != null) aluno.setDataNascimento(dto.dataNascimento());
         if (dto.genero() != null) aluno.setGenero(dto.genero());
@@ -62,17 +89,38 @@ public class AlunoService {
         if (dto.telefone() != null) aluno.setTelefone(dto.telefone());
         if (dto.anoIngresso() > 0) aluno.setAnoIngresso(dto.anoIngresso());
         if (dto.temperamento() != null) aluno.setTemperamento(dto.temperamento());
-        if (dto.turmaId() != null) {
-            aluno.setTurma(turmaRepository.findById(dto.turmaId()).orElse(null));
+        if (dto.turmaId() != null && (aluno.getTurma() == null || !dto.turmaId().equals(aluno.getTurma().getId()))) {
+            trocarTurma(aluno, dto.turmaId());
         }
+        typeaheadSearchService.atualizarAposCommit(TipoBusca.ALUNO, id);
         return toDTO(alunoRepository.save(aluno));
     }
 
     @Transactional
     public void inativar(Long id) {
-        Aluno aluno = findOrThrow(id);
+        Aluno aluno = findParaAtualizar(id);
+        boolean ocupavaVaga = aluno.isAtivo() && aluno.getTurma() != null;
         aluno.setAtivo(false);
         alunoRepository.save(aluno);
+        typeaheadSearchService.atualizarAposCommit(TipoBusca.ALUNO, id);
+        if (ocupavaVaga) {
+            vagaTurmaService.liberar(aluno.getTurma().getId());
+        }
+    }
+
+    /** Só alunos ativos ocupam vaga; a da turma anterior é liberada depois de reservada a nova. */
+    private void trocarTurma(Aluno aluno, Long turmaId) {
+        Turma anterior = aluno.getTurma();
+        if (!aluno.isAtivo()) {
+            aluno.setTurma(turmaRepository.findById(turmaId)
+                    .orElseThrow(() -> new EntityNotFoundException("Turma não encontrada: " + turmaId)));
+            return;
+        }
+        aluno.setTurma(vagaTurmaService.ocupar(turmaId));
+        alunoRepository.save(aluno);
+        if (anterior != null) {
+            vagaTurmaService.liberar(anterior.getId());
+        }
     }
 
     private Aluno findOrThrow(Long id) {
@@ -80,8 +128,9 @@ public class AlunoService {
                 .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado: " + id));
     }
 
-    private String gerarMatricula(Long id) {
-        return Year.now().getValue() + String.format("%05d", id);
+    private Aluno findParaAtualizar(Long id) {
+        return alunoRepository.findByIdParaAtualizar(id)
+                .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado: " + id));
     }
 
     private AlunoResponseDTO toDTO(Aluno a) {
@@ -7,13 +7,18 @@ import com.waldorf.domain.entity.Usuario;
 import com.waldorf.infrastructure.repository.UsuarioRepository;
 import com.waldorf.infrastructure.security.JwtService;
 import com.waldorf.infrastructure.security.TokenBlacklistService;
+import com.waldorf.infrastructure.security.UsuarioSecuritySnapshot;
+import com.waldorf.infrastructure.security.VerifiedJwt;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,20 +31,26 @@ public class AuthService {
     private final JwtService            jwtService;
     private final TokenBlacklistService tokenBlacklist;
 
+    /**
+     * Autentica e emite os tokens a partir do principal já carregado pelo
+     * {@code AuthenticationManager} — sem uma segunda consulta ao usuário. A verificação da
+     * senha roda no pool limitado do {@code PasswordHashingExecutor}.
+     */
     public LoginResponseDTO login(LoginRequestDTO dto) {
-        authManager.authenticate(
+        Authentication auth = authManager.authenticate(
                 new UsernamePasswordAuthenticationToken(dto.email(), dto.password()));
-        var usuario = usuarioRepository.findByEmail(dto.email())
-                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
-        if (!usuario.isAtivo()) throw new IllegalStateException("Usuário inativo");
-        return buildResponse(usuario);
+        if (!(auth.getPrincipal() instanceof UsuarioSecuritySnapshot usuario)) {
+            throw new IllegalStateException("Principal de autenticação inesperado");
+        }
+        if (!usuario.ativo()) throw new IllegalStateException("Usuário inativo");
+        return buildResponse(usuario, usuario.id(), usuario.nome(), usuario.email(), usuario.perfis());
     }
 
     public LoginResponseDTO refresh(String refreshToken) {
-        String email = jwtService.extractUsername(refreshToken);
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        VerifiedJwt jwt = jwtService.verify(refreshToken);
+        Usuario usuario = usuarioRepository.findByEmail(jwt.subject())
                 .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
-        if (!jwtService.isTokenValid(refreshToken, usuario)) {
+        if (jwt.isExpired() || !jwt.subject().equals(usuario.getUsername())) {
             throw new IllegalArgumentException("Refresh token inválido ou expirado");
         }
         return buildResponse(usuario);
@@ -55,20 +66,25 @@ public class AuthService {
             return;
         }
         try {
-            tokenBlacklist.revoke(jwtService.extractJti(token), jwtService.remainingMillis(token));
+            VerifiedJwt jwt = jwtService.verify(token);
+            tokenBlacklist.revoke(jwt.jti(), jwt.remainingMillis());
         } catch (Exception e) {
             log.debug("Não foi possível revogar token no logout: {}", e.getMessage());
         }
     }
 
     private LoginResponseDTO buildResponse(Usuario usuario) {
-        String accessToken  = jwtService.gerarToken(usuario);
-        String refreshToken = jwtService.gerarRefreshToken(usuario);
-        var dto = new UsuarioResponseDTO(
-                usuario.getId(), usuario.getNome(), usuario.getEmail(),
+        return buildResponse(usuario, usuario.getId(), usuario.getNome(), usuario.getEmail(),
                 usuario.getPerfis().stream()
                         .map(p -> p.getNome())
                         .collect(Collectors.toSet()));
+    }
+
+    private LoginResponseDTO buildResponse(UserDetails user, Long id, String nome, String email,
+                                           Set<String> perfis) {
+        String accessToken  = jwtService.gerarToken(user);
+        String refreshToken = jwtService.gerarRefreshToken(user);
+        var dto = new UsuarioResponseDTO(id, nome, email, perfis);
         return new LoginResponseDTO(accessToken, refreshToken, dto);
     }
 }
@@ -0,0 +1,234 @@
+package com.waldorf.application.service;
+
+import com.waldorf.domain.entity.Mensalidade.StatusMensalidade;
+import com.waldorf.domain.enums.FormaPagamento;
+import com.waldorf.domain.enums.SituacaoEventoPagamento;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Baixa de mensalidades em lote, para as confirmações automáticas (webhook do gateway, retorno
+ * CNAB). Um {@link Lote} corresponde a uma transação: verifica quais transações externas já têm
+ * desfecho {@link SituacaoEventoPagamento#definitivo() definitivo}, trava as parcelas envolvidas
+ * (pelo id ou pelos índices de {@code nosso_numero} e {@code gateway_transaction_id}), acumula os
+ * pagamentos em memória — vários pagamentos da mesma parcela se somam — e {@link Lote#gravar() grava}
+ * tudo com {@code batchUpdate}: mensalidades, {@code pagamentos}, {@code pagamentos_gateway_eventos} e
+ * o {@link ResumoMensalidadesService resumo}; após o commit, os {@link ExtratoFamiliaService extratos}
+ * das famílias afetadas são descartados.
+ */
+@Component
+@RequiredArgsConstructor
+public class BaixaMensalidades {
+
+    private static final String SELECT_PARCELAS = "SELECT id, ano_referencia, mes_referencia, status, "
+            + "data_vencimento, valor_parcela, valor_desconto, valor_juros, valor_multa, valor_pago, "
+            + "nosso_numero, gateway_transaction_id FROM mensalidades WHERE %s IN (:chaves) FOR UPDATE";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ResumoMensalidadesService resumoMensalidades;
+    private final ExtratoFamiliaService extratoFamilia;
+
+    /** Coluna indexada pela qual as parcelas são localizadas. */
+    public enum Chave {
+        ID("id"), NOSSO_NUMERO("nosso_numero"), TRANSACAO("gateway_transaction_id");
+
+        private final String coluna;
+
+        Chave(String coluna) {
+            this.coluna = coluna;
+        }
+    }
+
+    /** Executar dentro da transação em que o lote será gravado. */
+    public Lote novoLote() {
+        return new Lote();
+    }
+
+    public final class Lote {
+        private final Map<Long, Parcela> porId = new HashMap<>();
+        private final Map<String, Parcela> porNossoNumero = new HashMap<>();
+        private final Map<String, Parcela> porTransacao = new HashMap<>();
+        private final Map<Long, Parcela> alteradas = new LinkedHashMap<>();
+        private final List<Object[]> pagamentos = new ArrayList<>();
+        private final List<Object[]> eventos = new ArrayList<>();
+        /** Transações com registro não definitivo (ex.: NAO_ENCONTRADO), que serão atualizadas. */
+        private final Set<String> reprocessadas = new HashSet<>();
+
+        private Lote() {}
+
+        /**
+         * Transações externas (webhook, linha de retorno) com desfecho definitivo em
+         * {@code pagamentos_gateway_eventos}; as registradas sem desfecho definitivo são reprocessadas.
+         */
+        public Set<String> jaRegistradas(Collection<String> transacoes) {
+            if (transacoes.isEmpty()) {
+                return Set.of();
+            }
+            Set<String> definitivas = new HashSet<>();
+            jdbc.query("SELECT transacao_id, situacao FROM pagamentos_gateway_eventos WHERE transacao_id IN (:chaves)",
+                    new MapSqlParameterSource("chaves", transacoes), rs -> {
+                        String transacao = rs.getString("transacao_id");
+                        if (SituacaoEventoPagamento.valueOf(rs.getString("situacao")).definitivo()) {
+                            definitivas.add(transacao);
+                        } else {
+                            reprocessadas.add(transacao);
+                        }
+                    });
+            return definitivas;
+        }
+
+        /** Trava (SELECT ... FOR UPDATE) e carrega as parcelas com os valores dados na coluna. */
+        public void travar(Chave chave, Collection<?> valores) {
+            if (valores.isEmpty()) {
+                return;
+            }
+            jdbc.query(SELECT_PARCELAS.formatted(chave.coluna), new MapSqlParameterSource("chaves", valores), rs -> {
+                Parcela p = porId.get(rs.getLong("id"));
+                if (p == null) {
+                    p = new Parcela(rs);
+                    porId.put(p.id, p);
+                }
+                if (p.transacaoId != null) {
+                    porTransacao.putIfAbsent(p.transacaoId, p);
+                }
+                if (p.nossoNumero != null) {
+                    porNossoNumero.putIfAbsent(p.nossoNumero, p);
+                }
+            });
+        }
+
+        public Parcela porNossoNumero(String nossoNumero) {
+            return nossoNumero != null ? porNossoNumero.get(nossoNumero) : null;
+        }
+
+        public Parcela porId(Long id) {
+            return id != null ? porId.get(id) : null;
+        }
+
+        public Parcela porTransacao(String transacaoId) {
+            return transacaoId != null ? porTransacao.get(transacaoId) : null;
+        }
+
+        /** Soma o pagamento à parcela (PAGA ou PARCIAL conforme o devido) e registra-o em {@code pagamentos}. */
+        public void pagar(Parcela p, BigDecimal valor, LocalDateTime data, FormaPagamento forma, String gatewayId) {
+            p.valorPago = p.valorPago.add(valor);
+            p.dataPagamento = data;
+            p.status = (p.valorPago.compareTo(p.devido) >= 0
+                    ? StatusMensalidade.PAGA : StatusMensalidade.PARCIAL).name();
+            alteradas.putIfAbsent(p.id, p);
+            pagamentos.add(new Object[]{p.id, valor, data, forma.name(), gatewayId});
+        }
+
+        /** Registra o desfecho da transação externa (que não será aplicada de novo). */
+        public void registrar(String transacaoId, String nossoNumero, Parcela p, BigDecimal valor,
+                              SituacaoEventoPagamento situacao, LocalDateTime recebidoEm) {
+            eventos.add(new Object[]{transacaoId, nossoNumero, p != null ? p.id : null, valor, situacao.name(),
+                    recebidoEm});
+        }
+
+        /**
+         * Grava o lote; devolve quantas parcelas foram alteradas. Se outra réplica deu desfecho
+         * definitivo a uma transação reprocessada no meio tempo, lança {@link DuplicateKeyException}
+         * (como o INSERT concorrente) e quem chamou repete o lote.
+         */
+        public int gravar() {
+            LocalDateTime agora = LocalDateTime.now();
+            var ops = jdbc.getJdbcTemplate();
+            ops.batchUpdate("UPDATE mensalidades SET valor_pago = ?, data_pagamento = ?, status = ?, "
+                    + "gateway_transaction_id = COALESCE(gateway_transaction_id, ?), updated_at = ? WHERE id = ?",
+                    alteradas.values().stream().map(p -> new Object[]{p.valorPago, p.dataPagamento, p.status,
+                            p.transacaoId, agora, p.id}).toList());
+            ops.batchUpdate("INSERT INTO pagamentos (mensalidade_id, valor_pago, data_pagamento, forma_pagamento, "
+                    + "gateway_id, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 'CONFIRMADO', ?, ?)",
+                    pagamentos.stream().map(r -> new Object[]{r[0], r[1], r[2], r[3], r[4], agora, agora}).toList());
+            ops.batchUpdate("INSERT INTO pagamentos_gateway_eventos (transacao_id, nosso_numero, mensalidade_id, "
+                    + "valor_pago, situacao, recebido_em, processado_em) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    eventos.stream().filter(r -> !reprocessadas.contains((String) r[0]))
+                            .map(r -> new Object[]{r[0], r[1], r[2], r[3], r[4], r[5] != null ? r[5] : agora, agora})
+                            .toList());
+            int[] atualizados = ops.batchUpdate("UPDATE pagamentos_gateway_eventos SET nosso_numero = ?, "
+                    + "mensalidade_id = ?, valor_pago = ?, situacao = ?, recebido_em = ?, processado_em = ? "
+                    + "WHERE transacao_id = ? AND situacao NOT IN ('APLICADO', 'IGNORADO')",
+                    eventos.stream().filter(r -> reprocessadas.contains((String) r[0]))
+                            .map(r -> new Object[]{r[1], r[2], r[3], r[4], r[5] != null ? r[5] : agora, agora, r[0]})
+                            .toList());
+            if (Arrays.stream(atualizados).anyMatch(n -> n == 0)) {
+                throw new DuplicateKeyException("Evento de pagamento registrado em paralelo por outra réplica");
+            }
+            resumoMensalidades.mover(alteradas.values().stream().map(Parcela::mudanca).toList());
+            extratoFamilia.invalidarMensalidades(alteradas.keySet());
+            return alteradas.size();
+        }
+    }
+
+    /** Estado de uma parcela travada no lote. */
+    public static final class Parcela {
+        private final long id;
+        private final String nossoNumero;
+        private String transacaoId;
+        private String status;
+        private BigDecimal valorPago;
+        private LocalDateTime dataPagamento;
+        private final BigDecimal devido;
+        private final ResumoMensalidadesService.Parcela antes;
+
+        private Parcela(ResultSet rs) throws SQLException {
+            id = rs.getLong("id");
+            nossoNumero = rs.getString("nosso_numero");
+            transacaoId = rs.getString("gateway_transaction_id");
+            status = rs.getString("status");
+            valorPago = valor(rs.getBigDecimal("valor_pago"));
+            BigDecimal previsto = rs.getBigDecimal("valor_parcela").subtract(valor(rs.getBigDecimal("valor_desconto")));
+            devido = previsto.add(valor(rs.getBigDecimal("valor_juros"))).add(valor(rs.getBigDecimal("valor_multa")));
+            antes = new ResumoMensalidadesService.Parcela(rs.getInt("ano_referencia"), rs.getInt("mes_referencia"),
+                    status, rs.getDate("data_vencimento").toLocalDate(), previsto, valorPago);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        /** Parcela − desconto + juros + multa, como estava ao ser travada. */
+        public BigDecimal getDevido() {
+            return devido;
+        }
+
+        /** Quanto ainda falta pagar, considerando os pagamentos já somados neste lote. */
+        public BigDecimal getSaldo() {
+            return devido.subtract(valorPago).max(BigDecimal.ZERO);
+        }
+
+        /** Associa a parcela à transação do gateway, se ainda não tiver uma. */
+        public void vincularTransacao(String transacaoId) {
+            if (this.transacaoId == null) {
+                this.transacaoId = transacaoId;
+            }
+        }
+
+        public boolean encerrada() {
+            return StatusMensalidade.PAGA.name().equals(status) || StatusMensalidade.CANCELADA.name().equals(status);
+        }
+
+        private ResumoMensalidadesService.Mudanca mudanca() {
+            return new ResumoMensalidadesService.Mudanca(antes, new ResumoMensalidadesService.Parcela(
+                    antes.ano(), antes.mes(), status, antes.vencimento(), antes.previsto(), valorPago));
+        }
+
+        private static BigDecimal valor(BigDecimal v) {
+            return v != null ? v : BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.financeiro.RemessaCnabDTO;
+import com.waldorf.application.dto.financeiro.RetornoCnabOcorrenciaDTO;
+import com.waldorf.application.dto.financeiro.RetornoCnabResultadoDTO;
+import com.waldorf.domain.enums.ConciliacaoRetorno;
+import com.waldorf.domain.enums.FormaPagamento;
+import com.waldorf.domain.enums.SituacaoEventoPagamento;
+import com.waldorf.infrastructure.cnab.Cedente;
+import com.waldorf.infrastructure.cnab.LayoutCnab;
+import com.waldorf.infrastructure.cnab.LeitorCnab;
+import com.waldorf.infrastructure.cnab.OcorrenciaRetorno;
+import com.waldorf.infrastructure.cnab.RemessaCnab;
+import com.waldorf.infrastructure.cnab.RetornoCnab;
+import com.waldorf.infrastructure.cnab.TituloCnab;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Cobrança registrada por arquivos CNAB.
+ *
+ * <p><b>Remessa:</b> antes de qualquer byte ser escrito, uma transação reserva o número do arquivo
+ * (NSA) e grava nas parcelas ABERTA/PENDENTE do período o nosso número (id com 11 dígitos), se
+ * ainda não tiverem, e o NSA em {@code remessa_nsa}. Por padrão só entram parcelas sem nosso
+ * número, para um título não ser registrado duas vezes; {@code reenviar} inclui as demais. O
+ * arquivo é gerado depois, só com leituras em lotes por id (keyset) das parcelas do NSA — um
+ * download interrompido não perde títulos: a mesma remessa é gerada de novo pelo NSA.
+ *
+ * <p><b>Retorno:</b> o upload vai para um arquivo temporário lido por {@link LeitorCnab} (mapeado
+ * em memória). Uma primeira passada só valida o arquivo; na segunda as liquidações são aplicadas em
+ * lotes de {@code chunk-size}, cada um numa transação da {@link BaixaMensalidades}. Cada liquidação
+ * vira um registro em {@code pagamentos_gateway_eventos} (chave nosso número + data + valor), de
+ * modo que reenviar o mesmo arquivo não baixa nada duas vezes.
+ *
+ * <p>Métricas: {@code cnab.remessa.titulos{layout}}, {@code cnab.retorno.liquidacoes{conciliacao}}
+ * e {@code cnab.retorno.duracao}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CnabService {
+
+    static final int MAX_OCORRENCIAS = 1000;
+    private static final int DIGITOS_NOSSO_NUMERO = 11;
+    private static final DateTimeFormatter DATA_CHAVE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String SELECT_REMESSA = "SELECT m.id, m.valor_parcela, m.valor_desconto, "
+            + "m.data_vencimento, m.nosso_numero, a.nome FROM mensalidades m "
+            + "JOIN contratos c ON c.id = m.contrato_id JOIN alunos a ON a.id = c.aluno_id "
+            + "WHERE m.remessa_nsa = ? AND m.status IN ('ABERTA', 'PENDENTE') AND m.id > ? ORDER BY m.id LIMIT ?";
+    private static final String SELECT_A_REGISTRAR = "SELECT id, nosso_numero FROM mensalidades "
+            + "WHERE status IN ('ABERTA', 'PENDENTE') AND data_vencimento BETWEEN ? AND ? %s "
+            + "AND id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BaixaMensalidades baixaMensalidades;
+    private final SequenciaIdAllocator sequenciaIdAllocator;
+    private final PoliticaEncargos politica;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cnab.banco:237}")
+    private int banco;
+
+    @Value("${app.cnab.nome-banco:BRADESCO}")
+    private String nomeBanco;
+
+    @Value("${app.cnab.agencia:0}")
+    private String agencia;
+
+    @Value("${app.cnab.agencia-dv:0}")
+    private String agenciaDv;
+
+    @Value("${app.cnab.conta:0}")
+    private String conta;
+
+    @Value("${app.cnab.conta-dv:0}")
+    private String contaDv;
+
+    @Value("${app.cnab.convenio:0}")
+    private String convenio;
+
+    @Value("${app.cnab.carteira:09}")
+    private String carteira;
+
+    @Value("${app.cnab.cedente-nome:}")
+    private String cedenteNome;
+
+    @Value("${app.cnab.cedente-documento:0}")
+    private String cedenteDocumento;
+
+    @Value("${app.cnab.chunk-size:1000}")
+    private int chunkSize;
+
+    /** Conteúdo de um arquivo gerado sob demanda. */
+    @FunctionalInterface
+    public interface Escrita {
+        void escrever(OutputStream out) throws IOException;
+    }
+
+    /** Remessa pronta para ser escrita; o número do arquivo (NSA) já está reservado. */
+    public record ArquivoRemessa(String nome, Escrita conteudo) {}
+
+    // ----- remessa -----
+
+    /** Registra as parcelas do período numa remessa nova; o arquivo sai depois, por {@link #reemitir}. */
+    public RemessaCnabDTO remessa(LocalDate vencimentoDe, LocalDate vencimentoAte, boolean reenviar) {
+        if (vencimentoDe == null || vencimentoAte == null || vencimentoDe.isAfter(vencimentoAte)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Período de vencimento inválido");
+        }
+        long sequencial = sequenciaIdAllocator.reservar("cnab_remessa", 1);
+        int titulos = Objects.requireNonNull(transactionTemplate.execute(tx ->
+                registrar(sequencial, vencimentoDe, vencimentoAte, reenviar)));
+        log.info("Remessa {}: {} títulos registrados", sequencial, titulos);
+        return new RemessaCnabDTO(sequencial, titulos);
+    }
+
+    /** Gera o arquivo de uma remessa registrada (de novo, com o mesmo NSA, após um download interrompido). */
+    public ArquivoRemessa reemitir(LayoutCnab layout, long sequencial) {
+        Integer titulos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mensalidades WHERE remessa_nsa = ?",
+                Integer.class, sequencial);
+        if (titulos == null || titulos == 0) {
+            throw new EntityNotFoundException("Remessa não encontrada: " + sequencial);
+        }
+        return arquivo(layout, sequencial);
+    }
+
+    private ArquivoRemessa arquivo(LayoutCnab layout, long sequencial) {
+        String nome = "remessa-%d-%06d.rem".formatted(layout.getTamanhoLinha(), sequencial);
+        return new ArquivoRemessa(nome, out -> gerarRemessa(layout, sequencial, out));
+    }
+
+    /** Grava o nosso número (nas que ainda não têm) e o NSA nas parcelas da remessa; devolve quantas. */
+    private int registrar(long sequencial, LocalDate de, LocalDate ate, boolean reenviar) {
+        String sql = SELECT_A_REGISTRAR.formatted(reenviar ? "" : "AND nosso_numero IS NULL");
+        LocalDateTime agora = LocalDateTime.now();
+        int total = 0;
+        long ultimoId = 0;
+        while (true) {
+            List<Object[]> args = jdbcTemplate.query(sql, (rs, i) -> {
+                long id = rs.getLong("id");
+                String nossoNumero = rs.getString("nosso_numero");
+                return new Object[]{nossoNumero != null ? nossoNumero : nossoNumero(id), sequencial, agora, id};
+            }, de, ate, ultimoId, chunkSize);
+            if (args.isEmpty()) {
+                return total;
+            }
+            jdbcTemplate.batchUpdate("UPDATE mensalidades SET nosso_numero = ?, remessa_nsa = ?, updated_at = ? "
+                    + "WHERE id = ?", args);
+            total += args.size();
+            ultimoId = (long) args.get(args.size() - 1)[3];
+        }
+    }
+
+    private void gerarRemessa(LayoutCnab layout, long sequencial, OutputStream saida) throws IOException {
+        OutputStream out = new BufferedOutputStream(saida, 64 * 1024);
+        LocalDate hoje = LocalDate.now();
+        RemessaCnab remessa = RemessaCnab.abrir(layout, cedente(), sequencial, LocalDateTime.now(), out);
+        long ultimoId = 0;
+        while (true) {
+            List<TituloCnab> titulos = jdbcTemplate.query(SELECT_REMESSA, (rs, i) -> {
+                BigDecimal desconto = rs.getBigDecimal("valor_desconto");
+                BigDecimal valor = rs.getBigDecimal("valor_parcela")
+                        .subtract(desconto != null ? desconto : BigDecimal.ZERO);
+                LocalDate vencimento = rs.getDate("data_vencimento").toLocalDate();
+                long id = rs.getLong("id");
+                return new TituloCnab(id, rs.getString("nosso_numero"), Long.toString(id), hoje, vencimento, valor,
+                        rs.getString("nome"), null, politica.jurosDia(valor), politica.getMultaPercentual(),
+                        politica.inicioEncargos(vencimento));
+            }, sequencial, ultimoId, chunkSize);
+            if (titulos.isEmpty()) {
+                break;
+            }
+            for (TituloCnab t : titulos) {
+                remessa.adicionar(t);
+            }
+            ultimoId = titulos.get(titulos.size() - 1).id();
+        }
+        remessa.fechar();
+        meterRegistry.counter("cnab.remessa.titulos", "layout", layout.name()).increment(remessa.getTitulos());
+        log.info("Remessa {} ({}) gerada: {} títulos, total {}", sequencial, layout, remessa.getTitulos(),
+                remessa.getValorTotal());
+    }
+
+    static String nossoNumero(long id) {
+        return String.format("%0" + DIGITOS_NOSSO_NUMERO + "d", id);
+    }
+
+    /** Dígitos do nosso número do retorno no formato gravado na remessa (zeros à esquerda). */
+    static String normalizar(String nossoNumero) {
+        String digitos = nossoNumero == null ? "" : nossoNumero.replaceAll("\\D", "").replaceFirst("^0+", "");
+        if (digitos.length() >= DIGITOS_NOSSO_NUMERO) {
+            return digitos;
+        }
+        return "0".repeat(DIGITOS_NOSSO_NUMERO - digitos.length()) + digitos;
+    }
+
+    private Cedente cedente() {
+        return new Cedente(banco, nomeBanco, agencia, agenciaDv, conta, contaDv, convenio, carteira, cedenteNome,
+                cedenteDocumento);
+    }
+
+    // ----- retorno -----
+
+    public RetornoCnabResultadoDTO processarRetorno(InputStream corpo) {
+        long inicio = System.currentTimeMillis();
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile("retorno-cnab-", ".ret");
+            Files.copy(corpo, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            LayoutCnab layout;
+            long registros;
+            try (LeitorCnab leitor = LeitorCnab.abrir(arquivo)) {
+                // 1ª passada: arquivo malformado é recusado (400) antes de qualquer baixa
+                layout = leitor.getLayout();
+                registros = RetornoCnab.ler(leitor, o -> {});
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            Apuracao apuracao = new Apuracao();
+            try (LeitorCnab leitor = LeitorCnab.abrir(arquivo)) {
+                List<OcorrenciaRetorno> lote = new ArrayList<>(chunkSize);
+                RetornoCnab.ler(leitor, o -> {
+                    if (!o.liquidacao() || o.valorPago() == null || o.valorPago().signum() <= 0) {
+                        apuracao.outrosMovimentos++;
+                        return;
+                    }
+                    lote.add(o);
+                    if (lote.size() == chunkSize) {
+                        aplicar(lote, apuracao);
+                        lote.clear();
+                    }
+                });
+                aplicar(lote, apuracao);
+            }
+            long duracao = System.currentTimeMillis() - inicio;
+            meterRegistry.timer("cnab.retorno.duracao").record(Duration.ofMillis(duracao));
+            log.info("Retorno CNAB {}: {} registros, {} liquidações ({} conciliadas, {} divergentes, "
+                            + "{} repetidas) em {} ms", layout, registros, apuracao.liquidacoes,
+                    apuracao.contagem(ConciliacaoRetorno.CONCILIADA), apuracao.contagem(ConciliacaoRetorno.DIVERGENTE),
+                    apuracao.contagem(ConciliacaoRetorno.REPETIDA), duracao);
+            return apuracao.resultado(layout, registros, duracao);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (arquivo != null) {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException e) {
+                    log.warn("Arquivo temporário {} não removido: {}", arquivo, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void aplicar(List<OcorrenciaRetorno> liquidacoes, Apuracao apuracao) {
+        if (liquidacoes.isEmpty()) {
+            return;
+        }
+        List<Classificada> classificadas;
+        try {
+            classificadas = transactionTemplate.execute(tx -> classificar(liquidacoes));
+        } catch (DuplicateKeyException e) {
+            // O mesmo retorno sendo processado em paralelo; a releitura marca essas como repetidas
+            classificadas = transactionTemplate.execute(tx -> classificar(liquidacoes));
+        }
+        Objects.requireNonNull(classificadas).forEach(apuracao::somar);
+    }
+
+    private List<Classificada> classificar(List<OcorrenciaRetorno> liquidacoes) {
+        BaixaMensalidades.Lote lote = baixaMensalidades.novoLote();
+        Map<String, OcorrenciaRetorno> porTransacao = new LinkedHashMap<>();
+        List<Classificada> resultado = new ArrayList<>(liquidacoes.size());
+        for (OcorrenciaRetorno o : liquidacoes) {
+            if (porTransacao.putIfAbsent(transacao(o), o) != null) {
+                resultado.add(new Classificada(o, null, ConciliacaoRetorno.REPETIDA, null));
+            }
+        }
+        Set<String> registradas = lote.jaRegistradas(porTransacao.keySet());
+        lote.travar(BaixaMensalidades.Chave.NOSSO_NUMERO, porTransacao.entrySet().stream()
+                .filter(e -> !registradas.contains(e.getKey()))
+                .map(e -> normalizar(e.getValue().nossoNumero())).distinct().toList());
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (Map.Entry<String, OcorrenciaRetorno> e : porTransacao.entrySet()) {
+            OcorrenciaRetorno o = e.getValue();
+            if (registradas.contains(e.getKey())) {
+                resultado.add(new Classificada(o, null, ConciliacaoRetorno.REPETIDA, null));
+                continue;
+            }
+            String nossoNumero = normalizar(o.nossoNumero());
+            BaixaMensalidades.Parcela p = lote.porNossoNumero(nossoNumero);
+            ConciliacaoRetorno conciliacao;
+            SituacaoEventoPagamento situacao;
+            BigDecimal saldo = p != null ? p.getSaldo() : null;
+            if (p == null) {
+                conciliacao = ConciliacaoRetorno.NAO_ENCONTRADA;
+                situacao = SituacaoEventoPagamento.NAO_ENCONTRADO;
+            } else if (p.encerrada()) {
+                conciliacao = ConciliacaoRetorno.JA_QUITADA;
+                situacao = SituacaoEventoPagamento.IGNORADO;
+            } else {
+                conciliacao = o.valorPago().compareTo(saldo) == 0
+                        ? ConciliacaoRetorno.CONCILIADA : ConciliacaoRetorno.DIVERGENTE;
+                situacao = SituacaoEventoPagamento.APLICADO;
+                LocalDate data = o.dataOcorrencia() != null ? o.dataOcorrencia() : o.dataCredito();
+                lote.pagar(p, o.valorPago(), data != null ? data.atStartOfDay() : agora, FormaPagamento.BOLETO,
+                        e.getKey());
+            }
+            lote.registrar(e.getKey(), nossoNumero, p, o.valorPago(), situacao, agora);
+            resultado.add(new Classificada(o, p != null ? p.getId() : null, conciliacao, saldo));
+        }
+        lote.gravar();
+        return resultado;
+    }
+
+    /** Chave da liquidação em {@code pagamentos_gateway_eventos}. */
+    private static String transacao(OcorrenciaRetorno o) {
+        LocalDate data = o.dataOcorrencia() != null ? o.dataOcorrencia() : o.dataCredito();
+        return "CNAB:" + normalizar(o.nossoNumero()) + ":" + (data != null ? data.format(DATA_CHAVE) : "-") + ":"
+                + o.valorPago().movePointRight(2).toBigInteger();
+    }
+
+    private record Classificada(OcorrenciaRetorno ocorrencia, Long mensalidadeId, ConciliacaoRetorno conciliacao,
+                                BigDecimal devido) {}
+
+    private final class Apuracao {
+        private final EnumMap<ConciliacaoRetorno, Long> contagens = new EnumMap<>(ConciliacaoRetorno.class);
+        private final List<RetornoCnabOcorrenciaDTO> ocorrencias = new ArrayList<>();
+        private long liquidacoes;
+        private long outrosMovimentos;
+        private BigDecimal valorBaixado = BigDecimal.ZERO;
+        private boolean truncadas;
+
+        void somar(Classificada c) {
+            liquidacoes++;
+            contagens.merge(c.conciliacao(), 1L, Long::sum);
+            meterRegistry.counter("cnab.retorno.liquidacoes", "conciliacao", c.conciliacao().name()).increment();
+            OcorrenciaRetorno o = c.ocorrencia();
+            if (c.conciliacao() == ConciliacaoRetorno.CONCILIADA || c.conciliacao() == ConciliacaoRetorno.DIVERGENTE) {
+                valorBaixado = valorBaixado.add(o.valorPago());
+            }
+            if (c.conciliacao() == ConciliacaoRetorno.CONCILIADA || c.conciliacao() == ConciliacaoRetorno.REPETIDA) {
+                return;
+            }
+            if (ocorrencias.size() < MAX_OCORRENCIAS) {
+                ocorrencias.add(new RetornoCnabOcorrenciaDTO(o.registro(), o.nossoNumero(), c.mensalidadeId(),
+                        c.conciliacao(), o.valorPago(), c.devido()));
+            } else {
+                truncadas = true;
+            }
+        }
+
+        long contagem(ConciliacaoRetorno conciliacao) {
+            return contagens.getOrDefault(conciliacao, 0L);
+        }
+
+        RetornoCnabResultadoDTO resultado(LayoutCnab layout, long registros, long duracaoMs) {
+            return new RetornoCnabResultadoDTO(layout, registros, liquidacoes,
+                    contagem(ConciliacaoRetorno.CONCILIADA), contagem(ConciliacaoRetorno.DIVERGENTE),
+                    contagem(ConciliacaoRetorno.JA_QUITADA), contagem(ConciliacaoRetorno.NAO_ENCONTRADA),
+                    contagem(ConciliacaoRetorno.REPETIDA), outrosMovimentos, valorBaixado,
+                    List.copyOf(ocorrencias), truncadas, duracaoMs);
+        }
+    }
+}
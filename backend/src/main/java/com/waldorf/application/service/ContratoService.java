@@ -1,7 +1,9 @@
 package com.waldorf.application.service;
 
+import com.waldorf.application.dto.financeiro.ContratoFiltroDTO;
 import com.waldorf.application.dto.financeiro.ContratoRequestDTO;
 import com.waldorf.application.dto.financeiro.ContratoResponseDTO;
+import com.waldorf.application.dto.financeiro.ContratoResumoDTO;
 import com.waldorf.domain.entity.Contrato;
 import com.waldorf.domain.enums.SituacaoContrato;
 import com.waldorf.infrastructure.repository.AlunoRepository;
@@ -9,9 +11,18 @@ import com.waldorf.infrastructure.repository.ContratoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Slf4j
@@ -23,11 +34,64 @@ public class ContratoService {
     private final AlunoRepository    alunoRepository;
     private final MensalidadeService mensalidadeService;
 
-    public List<ContratoResponseDTO> listar(Long alunoId) {
-        if (alunoId != null) {
-            return contratoRepository.findByAlunoId(alunoId).stream().map(this::toDTO).toList();
+    private static final int LOTE_EXPORTACAO = 1000;
+    private static final String CABECALHO_CSV = "id;aluno_id;aluno;turma;ano_letivo;valor_mensalidade;desconto;"
+            + "total_parcelas;dia_vencimento;data_inicio;data_fim;situacao";
+
+    public Page<ContratoResumoDTO> listar(ContratoFiltroDTO f, Pageable pageable) {
+        return contratoRepository.findResumos(f.alunoId(), f.anoLetivo(), f.situacao(), vazioComoNulo(f.nome()),
+                f.turmaId(), pageable);
+    }
+
+    /**
+     * CSV (';', UTF-8 com BOM) dos contratos do filtro, escrito em lotes por id: a memória usada
+     * não depende do número de contratos.
+     */
+    public void exportarCsv(ContratoFiltroDTO f, OutputStream saida) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        out.write('\uFEFF');
+        out.write(CABECALHO_CSV);
+        out.write("\r\n");
+        long aposId = 0;
+        List<ContratoResumoDTO> lote;
+        do {
+            lote = contratoRepository.findResumosApos(f.alunoId(), f.anoLetivo(), f.situacao(),
+                    vazioComoNulo(f.nome()), f.turmaId(), aposId, Limit.of(LOTE_EXPORTACAO));
+            for (ContratoResumoDTO c : lote) {
+                linhaCsv(out, c.id(), c.alunoId(), c.alunoNome(), c.turmaNome(), c.anoLetivo(),
+                        c.valorMensalidade(), c.desconto(), c.totalParcelas(), c.diaVencimento(), c.dataInicio(),
+                        c.dataFim(), c.situacao());
+            }
+            if (!lote.isEmpty()) {
+                aposId = lote.get(lote.size() - 1).id();
+            }
+            out.flush();
+        } while (lote.size() == LOTE_EXPORTACAO);
+    }
+
+    /**
+     * Escreve uma linha do CSV. Texto livre que começa com {@code = + - @}, tab ou CR ganha um
+     * {@code '} na frente, para a planilha não o interpretar como fórmula.
+     */
+    private static void linhaCsv(Writer out, Object... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                out.write(';');
+            }
+            String v = campos[i] == null ? "" : campos[i].toString();
+            if (campos[i] instanceof CharSequence && !v.isEmpty() && "=+-@\t\r".indexOf(v.charAt(0)) >= 0) {
+                v = "'" + v;
+            }
+            if (v.indexOf(';') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                v = '"' + v.replace("\"", "\"\"") + '"';
+            }
+            out.write(v);
         }
-        return contratoRepository.findAll().stream().map(this::toDTO).toList();
+        out.write("\r\n");
+    }
+
+    private static String vazioComoNulo(String s) {
+        return s == null || s.isBlank() ? null : s.strip();
     }
 
     public ContratoResponseDTO buscarPorId(Long id) {
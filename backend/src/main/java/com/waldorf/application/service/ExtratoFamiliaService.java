@@ -0,0 +1,231 @@
+package com.waldorf.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waldorf.application.dto.responsavel.ExtratoFamiliaDTO;
+import com.waldorf.domain.entity.Mensalidade.StatusMensalidade;
+import com.waldorf.domain.enums.SituacaoContrato;
+import com.waldorf.infrastructure.cache.ClusterInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Extrato financeiro da família ({@code GET /responsaveis/{id}/extrato}): filhos, contratos e
+ * parcelas em aberto numa só consulta ({@code aluno_responsaveis} → alunos → contratos →
+ * mensalidades), agrupada em memória.
+ *
+ * <p>O extrato fica num cache local por responsável. Quem altera parcelas anuncia a mudança no
+ * {@link ClusterInvalidationBus} após o commit — pagamentos pelos ids das mensalidades, parcelas
+ * novas pelo aluno, rotinas em massa com {@link #invalidarTudo} — e cada réplica descarta as
+ * famílias afetadas; o TTL é apenas a rede de segurança.
+ *
+ * <p>Métricas: {@code cache.gets{cache=financeiro.extrato-familia,result=hit|miss}} e
+ * {@code cache.evictions}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExtratoFamiliaService {
+
+    static final String CHANNEL = "waldorf:invalidate:extrato-familia";
+    private static final String CACHE_NAME = "financeiro.extrato-familia";
+    /** Mensagem do canal que descarta todos os extratos. */
+    static final String TUDO = "*";
+
+    private static final String SELECT_EXTRATO = "SELECT r.nome AS responsavel, a.id AS aluno_id, "
+            + "a.nome AS aluno, t.nome AS turma, c.id AS contrato_id, c.ano_letivo, c.situacao, "
+            + "c.valor_mensalidade, c.total_parcelas, m.id AS mensalidade_id, m.numero_parcela, "
+            + "m.mes_referencia, m.ano_referencia, m.data_vencimento, m.status, m.valor_parcela, "
+            + "m.valor_desconto, m.valor_juros, m.valor_multa, m.valor_pago "
+            + "FROM responsaveis r "
+            + "LEFT JOIN aluno_responsaveis ar ON ar.responsavel_id = r.id "
+            + "LEFT JOIN alunos a ON a.id = ar.aluno_id "
+            + "LEFT JOIN turmas t ON t.id = a.turma_id "
+            + "LEFT JOIN contratos c ON c.aluno_id = a.id AND c.situacao <> 'CANCELADO' "
+            + "LEFT JOIN mensalidades m ON m.contrato_id = c.id "
+            + "AND m.status IN ('ABERTA', 'PENDENTE', 'ATRASADA', 'VENCIDA', 'PARCIAL') "
+            + "WHERE r.id = ? ORDER BY a.nome, a.id, c.ano_letivo DESC, c.id, m.data_vencimento, m.id";
+
+    private static final Set<StatusMensalidade> VENCIDAS = EnumSet.of(StatusMensalidade.ATRASADA,
+            StatusMensalidade.VENCIDA);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.extrato-familia.cache-max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.extrato-familia.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Long, Entrada> cache;
+
+    /** Extrato e as chaves pelas quais ele é invalidado. */
+    private record Entrada(ExtratoFamiliaDTO extrato, Set<Long> alunos, Set<Long> mensalidades) {}
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidationBus.subscribe(CHANNEL, this::descartar);
+    }
+
+    public ExtratoFamiliaDTO extrato(Long responsavelId) {
+        return cache.get(responsavelId, this::carregar).extrato();
+    }
+
+    /** Parcelas pagas ou alteradas: descarta, após o commit, as famílias que as exibem. */
+    public void invalidarMensalidades(Collection<Long> mensalidadeIds) {
+        publicar("M", mensalidadeIds);
+    }
+
+    /** Contratos ou parcelas novas dos alunos: descarta, após o commit, as famílias deles. */
+    public void invalidarAlunos(Collection<Long> alunoIds) {
+        publicar("A", alunoIds);
+    }
+
+    /** Vínculos do responsável alterados. */
+    public void invalidarResponsavel(Long responsavelId) {
+        publicar("R", responsavelId != null ? List.of(responsavelId) : List.of());
+    }
+
+    /** Descarta todos os extratos (ex.: após a rotina de inadimplência ou a renovação anual). */
+    public void invalidarTudo() {
+        invalidationBus.publishAfterCommit(CHANNEL, TUDO);
+    }
+
+    private void publicar(String tipo, Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            invalidationBus.publishAfterCommit(CHANNEL, tipo + ":"
+                    + ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    private void descartar(String mensagem) {
+        if (TUDO.equals(mensagem)) {
+            cache.invalidateAll();
+            return;
+        }
+        String tipo = mensagem.substring(0, mensagem.indexOf(':'));
+        Set<Long> ids = Arrays.stream(mensagem.substring(tipo.length() + 1).split(","))
+                .map(Long::valueOf).collect(Collectors.toSet());
+        switch (tipo) {
+            case "R" -> cache.invalidateAll(ids);
+            case "A" -> cache.asMap().values().removeIf(e -> !Collections.disjoint(e.alunos(), ids));
+            case "M" -> cache.asMap().values().removeIf(e -> !Collections.disjoint(e.mensalidades(), ids));
+            default -> throw new IllegalArgumentException("Invalidação desconhecida: " + mensagem);
+        }
+    }
+
+    /** Uma consulta, agrupada por aluno e contrato na ordem do ORDER BY. */
+    private Entrada carregar(Long responsavelId) {
+        String[] responsavel = new String[1];
+        Map<Long, Filho> filhos = new LinkedHashMap<>();
+        Set<Long> mensalidades = new HashSet<>();
+        BigDecimal[] totais = {BigDecimal.ZERO, BigDecimal.ZERO};
+        jdbcTemplate.query(SELECT_EXTRATO, rs -> {
+            responsavel[0] = rs.getString("responsavel");
+            long alunoId = rs.getLong("aluno_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            Filho f = filhos.computeIfAbsent(alunoId, id -> new Filho());
+            if (f.nome == null) {
+                f.nome = rs.getString("aluno");
+                f.turma = rs.getString("turma");
+            }
+            long contratoId = rs.getLong("contrato_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            Contrato c = f.contratos.get(contratoId);
+            if (c == null) {
+                c = new Contrato(contratoId, rs.getInt("ano_letivo"),
+                        SituacaoContrato.valueOf(rs.getString("situacao")), rs.getBigDecimal("valor_mensalidade"),
+                        rs.getInt("total_parcelas"));
+                f.contratos.put(contratoId, c);
+            }
+            long mensalidadeId = rs.getLong("mensalidade_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            StatusMensalidade status = StatusMensalidade.valueOf(rs.getString("status"));
+            BigDecimal devido = rs.getBigDecimal("valor_parcela").subtract(valor(rs.getBigDecimal("valor_desconto")))
+                    .add(valor(rs.getBigDecimal("valor_juros"))).add(valor(rs.getBigDecimal("valor_multa")));
+            BigDecimal pago = valor(rs.getBigDecimal("valor_pago"));
+            BigDecimal saldo = devido.subtract(pago).max(BigDecimal.ZERO);
+            c.parcelas.add(new ExtratoFamiliaDTO.Parcela(mensalidadeId, rs.getInt("numero_parcela"),
+                    rs.getInt("mes_referencia"), rs.getInt("ano_referencia"),
+                    rs.getDate("data_vencimento").toLocalDate(), status, devido, pago, saldo));
+            mensalidades.add(mensalidadeId);
+            totais[0] = totais[0].add(saldo);
+            if (VENCIDAS.contains(status)) {
+                totais[1] = totais[1].add(saldo);
+            }
+        }, responsavelId);
+        if (responsavel[0] == null) {
+            throw new EntityNotFoundException("Responsável não encontrado: " + responsavelId);
+        }
+        List<ExtratoFamiliaDTO.Filho> alunos = filhos.entrySet().stream()
+                .map(e -> e.getValue().dto(e.getKey())).toList();
+        ExtratoFamiliaDTO extrato = new ExtratoFamiliaDTO(responsavelId, responsavel[0], alunos, totais[0],
+                totais[1], LocalDateTime.now());
+        return new Entrada(extrato, Set.copyOf(filhos.keySet()), Set.copyOf(mensalidades));
+    }
+
+    private static BigDecimal valor(BigDecimal v) {
+        return v != null ? v : BigDecimal.ZERO;
+    }
+
+    private static final class Filho {
+        private String nome;
+        private String turma;
+        private final Map<Long, Contrato> contratos = new LinkedHashMap<>();
+
+        /** Contratos encerrados só aparecem enquanto tiverem parcelas em aberto. */
+        private ExtratoFamiliaDTO.Filho dto(Long id) {
+            return new ExtratoFamiliaDTO.Filho(id, nome, turma, contratos.values().stream()
+                    .filter(c -> c.situacao != SituacaoContrato.ENCERRADO || !c.parcelas.isEmpty())
+                    .map(Contrato::dto).toList());
+        }
+    }
+
+    private static final class Contrato {
+        private final long id;
+        private final int anoLetivo;
+        private final SituacaoContrato situacao;
+        private final BigDecimal valorMensalidade;
+        private final int totalParcelas;
+        private final List<ExtratoFamiliaDTO.Parcela> parcelas = new ArrayList<>();
+
+        private Contrato(long id, int anoLetivo, SituacaoContrato situacao, BigDecimal valorMensalidade,
+                         int totalParcelas) {
+            this.id = id;
+            this.anoLetivo = anoLetivo;
+            this.situacao = situacao;
+            this.valorMensalidade = valorMensalidade;
+            this.totalParcelas = totalParcelas;
+        }
+
+        private ExtratoFamiliaDTO.Contrato dto() {
+            return new ExtratoFamiliaDTO.Contrato(id, anoLetivo, situacao, valorMensalidade, totalParcelas,
+                    List.copyOf(parcelas));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.waldorf.application.service;
+
+import com.waldorf.domain.entity.Mensalidade;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geração de parcelas em conjunto para muitos contratos de uma vez (importação, renovação anual):
+ * a faixa de ids de todas as parcelas é reservada numa só chamada ao {@link SequenciaIdAllocator}
+ * e as linhas vão num único {@code batchUpdate}. O cronograma é o de
+ * {@link MensalidadeService#gerarMensalidades}. Executar dentro da transação que grava os contratos
+ * (o {@link ResumoMensalidadesService} é atualizado na mesma transação; os extratos das famílias
+ * em cache são descartados após o commit).
+ */
+@Component
+@RequiredArgsConstructor
+public class GeradorMensalidades {
+
+    private static final String INSERT = "INSERT INTO mensalidades (id, contrato_id, numero_parcela, "
+            + "mes_referencia, ano_referencia, valor_parcela, valor_desconto, valor_juros, valor_multa, "
+            + "data_vencimento, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenciaIdAllocator sequenciaIdAllocator;
+    private final ResumoMensalidadesService resumoMensalidades;
+    private final ExtratoFamiliaService extratoFamilia;
+
+    /** Dados do contrato necessários ao cronograma; zeros/nulos assumem os padrões do contrato. */
+    public record Plano(long contratoId, BigDecimal valorParcela, BigDecimal desconto,
+                        int totalParcelas, int diaVencimento, LocalDate dataInicio) {}
+
+    /** Insere as parcelas de todos os planos; devolve quantas foram geradas. */
+    public int gerar(List<Plano> planos) {
+        int total = planos.stream().mapToInt(GeradorMensalidades::parcelas).sum();
+        if (total == 0) {
+            return 0;
+        }
+        long id = sequenciaIdAllocator.reservar("mensalidades", total);
+        LocalDateTime agora = LocalDateTime.now();
+        String status = Mensalidade.StatusMensalidade.ABERTA.name();
+        List<Object[]> linhas = new ArrayList<>(total);
+        List<ResumoMensalidadesService.Parcela> resumo = new ArrayList<>(total);
+        for (Plano p : planos) {
+            LocalDate inicio = p.dataInicio() != null ? p.dataInicio() : LocalDate.now();
+            int dia = p.diaVencimento() > 0 ? p.diaVencimento() : 10;
+            BigDecimal desconto = p.desconto() != null ? p.desconto() : BigDecimal.ZERO;
+            for (int n = 1; n <= parcelas(p); n++) {
+                LocalDate vencimento = MensalidadeService.calcularVencimento(inicio, dia, n);
+                linhas.add(new Object[]{id++, p.contratoId(), n, vencimento.getMonthValue(), vencimento.getYear(),
+                        p.valorParcela(), desconto, vencimento, status, agora, agora});
+                resumo.add(new ResumoMensalidadesService.Parcela(vencimento.getYear(), vencimento.getMonthValue(),
+                        status, vencimento, p.valorParcela().subtract(desconto), BigDecimal.ZERO));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, linhas);
+        resumoMensalidades.somar(resumo);
+        extratoFamilia.invalidarTudo();
+        return total;
+    }
+
+    private static int parcelas(Plano p) {
+        return p.totalParcelas() > 0 ? p.totalParcelas() : 12;
+    }
+}
@@ -0,0 +1,506 @@
+package com.waldorf.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waldorf.application.dto.importacao.ImportacaoErroDTO;
+import com.waldorf.application.dto.importacao.ImportacaoResultadoDTO;
+import com.waldorf.domain.enums.Genero;
+import com.waldorf.domain.enums.SituacaoContrato;
+import com.waldorf.domain.enums.StatusImportacao;
+import com.waldorf.domain.enums.TipoImportacao;
+import com.waldorf.infrastructure.importacao.LeitorRegistros;
+import com.waldorf.infrastructure.importacao.Registro;
+import com.waldorf.infrastructure.repository.InsercaoEmLote;
+import com.waldorf.infrastructure.repository.TurmaRepository;
+import com.waldorf.infrastructure.security.ServiceOverloadedException;
+import com.waldorf.infrastructure.security.crypto.BlindIndex;
+import com.waldorf.infrastructure.security.crypto.CryptoStringConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de alunos, responsáveis e contratos a partir de CSV ou NDJSON.
+ *
+ * <p>O corpo é lido em streaming ({@link LeitorRegistros}) e processado em lotes de
+ * {@code app.importacao.chunk-size} linhas: cada lote é validado e convertido em paralelo
+ * (inclusive a cifragem do CPF pelo {@link CryptoStringConverter}) e gravado com
+ * {@code batchUpdate} numa transação própria. Se o lote falhar no banco (e-mail duplicado, turma
+ * lotada...), ele é refeito linha a linha para isolar as rejeitadas — as demais entram.
+ * Lotes já confirmados permanecem mesmo que a leitura seja interrompida.
+ *
+ * <p>O progresso fica consultável por id durante e até uma hora após a importação. Métricas:
+ * {@code importacao.linhas{tipo,resultado}}, {@code importacao.lote{tipo}} e {@code importacao.ativas}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacaoService {
+
+    static final int MAX_ERROS = 1000;
+    private static final Pattern ID_VALIDO = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final Pattern CPF = Pattern.compile("\\d{11}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TurmaRepository turmaRepository;
+    private final MatriculaAllocator matriculaAllocator;
+    private final GeradorMensalidades geradorMensalidades;
+    private final TypeaheadSearchService typeaheadSearchService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.importacao.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.importacao.workers:4}")
+    private int workers;
+
+    @Value("${app.importacao.max-concorrentes:2}")
+    private int maxConcorrentes;
+
+    private final CryptoStringConverter cpfConverter = new CryptoStringConverter();
+    private final Cache<String, Progresso> progressos = Caffeine.newBuilder()
+            .maximumSize(200)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+    private final AtomicInteger ativas = new AtomicInteger();
+    private Semaphore vagas;
+    private ExecutorService pool;
+
+    @PostConstruct
+    void init() {
+        vagas = new Semaphore(maxConcorrentes);
+        pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "importacao-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("importacao.ativas", ativas, AtomicInteger::get)
+                .description("Importações em massa em andamento").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Importa o conteúdo de {@code corpo} e devolve o resultado. {@code id} (opcional) permite
+     * acompanhar o progresso por {@link #progresso} enquanto a requisição ainda está em curso.
+     */
+    public ImportacaoResultadoDTO importar(TipoImportacao tipo, LeitorRegistros.Formato formato,
+                                           InputStream corpo, String id) {
+        String importacaoId = id != null ? id : UUID.randomUUID().toString();
+        if (!ID_VALIDO.matcher(importacaoId).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Id de importação inválido: use até 64 letras, dígitos, '-' ou '_'");
+        }
+        if (!vagas.tryAcquire()) {
+            throw new ServiceOverloadedException("Limite de importações simultâneas atingido", 30);
+        }
+        ativas.incrementAndGet();
+        try {
+            Progresso progresso = new Progresso(importacaoId, tipo);
+            if (progressos.asMap().putIfAbsent(importacaoId, progresso) != null) {
+                throw new IllegalStateException("Já existe uma importação com o id " + importacaoId);
+            }
+            executar(destino(tipo), formato, corpo, progresso);
+            return progresso.resultado();
+        } finally {
+            ativas.decrementAndGet();
+            vagas.release();
+        }
+    }
+
+    public ImportacaoResultadoDTO progresso(String id) {
+        Progresso progresso = progressos.getIfPresent(id);
+        if (progresso == null) {
+            throw new EntityNotFoundException("Importação não encontrada: " + id);
+        }
+        return progresso.resultado();
+    }
+
+    // --- pipeline ---
+
+    private <T> void executar(Destino<T> destino, LeitorRegistros.Formato formato, InputStream corpo,
+                              Progresso progresso) {
+        String tipo = progresso.tipo.name().toLowerCase(Locale.ROOT);
+        Timer loteTimer = meterRegistry.timer("importacao.lote", "tipo", tipo);
+        Counter importadas = meterRegistry.counter("importacao.linhas", "tipo", tipo, "resultado", "importada");
+        Counter rejeitadas = meterRegistry.counter("importacao.linhas", "tipo", tipo, "resultado", "rejeitada");
+        log.info("Importação {} de {} iniciada ({})", progresso.id, tipo, formato);
+        try (LeitorRegistros leitor = LeitorRegistros.abrir(corpo, formato)) {
+            List<Registro> lote = new ArrayList<>(chunkSize);
+            while (leitor.hasNext()) {
+                lote.add(leitor.next());
+                if (lote.size() == chunkSize || !leitor.hasNext()) {
+                    long antesImportadas = progresso.importadas.get();
+                    long antesRejeitadas = progresso.rejeitadas.get();
+                    loteTimer.record(() -> processar(destino, List.copyOf(lote), progresso));
+                    importadas.increment(progresso.importadas.get() - antesImportadas);
+                    rejeitadas.increment(progresso.rejeitadas.get() - antesRejeitadas);
+                    lote.clear();
+                }
+            }
+            progresso.status = StatusImportacao.CONCLUIDA;
+        } catch (UncheckedIOException | IOException e) {
+            log.warn("Importação {} interrompida na leitura após {} linhas: {}", progresso.id, progresso.lidas.get(), e.getMessage());
+            progresso.status = StatusImportacao.FALHOU;
+        } catch (RuntimeException e) {
+            log.error("Importação {} falhou após {} linhas", progresso.id, progresso.lidas.get(), e);
+            progresso.status = StatusImportacao.FALHOU;
+        } finally {
+            progresso.fim = System.currentTimeMillis();
+            if (progresso.importadas.get() > 0 && progresso.tipo != TipoImportacao.CONTRATOS) {
+                typeaheadSearchService.recarregarTudo();
+            }
+        }
+        log.info("Importação {} de {}: {} lidas, {} importadas, {} rejeitadas em {} ms", progresso.id, tipo,
+                progresso.lidas.get(), progresso.importadas.get(), progresso.rejeitadas.get(),
+                progresso.fim - progresso.inicio);
+    }
+
+    private <T> void processar(Destino<T> destino, List<Registro> lote, Progresso progresso) {
+        List<Convertido<T>> validos = new ArrayList<>(lote.size());
+        for (Convertido<T> c : converter(destino, lote)) {
+            if (c.erro() != null) {
+                progresso.rejeitar(c.linha(), c.erro());
+            } else {
+                validos.add(c);
+            }
+        }
+        if (!validos.isEmpty()) {
+            gravar(destino, validos, progresso);
+        }
+        progresso.lidas.addAndGet(lote.size());
+    }
+
+    /** Valida e converte o lote em paralelo, preservando a ordem das linhas. */
+    private <T> List<Convertido<T>> converter(Destino<T> destino, List<Registro> lote) {
+        int partes = Math.max(1, Math.min(workers, lote.size()));
+        int tamanho = (lote.size() + partes - 1) / partes;
+        List<CompletableFuture<List<Convertido<T>>>> futuros = new ArrayList<>();
+        for (int i = 0; i < lote.size(); i += tamanho) {
+            List<Registro> parte = lote.subList(i, Math.min(i + tamanho, lote.size()));
+            futuros.add(CompletableFuture.supplyAsync(
+                    () -> parte.stream().map(r -> converter(destino, r)).toList(), pool));
+        }
+        return futuros.stream().flatMap(f -> f.join().stream()).toList();
+    }
+
+    private static <T> Convertido<T> converter(Destino<T> destino, Registro registro) {
+        if (registro.erroLeitura() != null) {
+            return new Convertido<>(registro.linha(), null, registro.erroLeitura());
+        }
+        try {
+            return new Convertido<>(registro.linha(), destino.converter(registro), null);
+        } catch (IllegalArgumentException e) {
+            return new Convertido<>(registro.linha(), null, e.getMessage());
+        }
+    }
+
+    /** Grava o lote numa transação; se o banco recusar, refaz linha a linha para isolar as rejeitadas. */
+    private <T> void gravar(Destino<T> destino, List<Convertido<T>> validos, Progresso progresso) {
+        try {
+            List<T> valores = validos.stream().map(Convertido::valor).toList();
+            transactionTemplate.executeWithoutResult(tx -> destino.gravar(valores));
+            progresso.importadas.addAndGet(validos.size());
+        } catch (RuntimeException e) {
+            log.debug("Lote da importação {} recusado ({}); gravando linha a linha", progresso.id, e.getMessage());
+            for (Convertido<T> c : validos) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> destino.gravar(List.of(c.valor())));
+                    progresso.importadas.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    progresso.rejeitar(c.linha(), motivo(ex));
+                }
+            }
+        }
+    }
+
+    private static String motivo(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            return "Registro duplicado ou referência inexistente";
+        }
+        if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) {
+            return e.getMessage();
+        }
+        return "Erro ao gravar a linha";
+    }
+
+    private Destino<?> destino(TipoImportacao tipo) {
+        return switch (tipo) {
+            case ALUNOS -> new Alunos();
+            case RESPONSAVEIS -> new Responsaveis();
+            case CONTRATOS -> new Contratos();
+        };
+    }
+
+    // --- destinos ---
+
+    /**
+     * Conversão de um registro (executada em paralelo; só valida e transforma, sem banco) e
+     * gravação de um lote já convertido (dentro da transação do lote).
+     */
+    private interface Destino<T> {
+        T converter(Registro registro);
+
+        void gravar(List<T> linhas);
+    }
+
+    private record AlunoLinha(Object[] args, Long turmaId) {}
+
+    private class Alunos implements Destino<AlunoLinha> {
+
+        private static final String INSERT = "INSERT INTO alunos (nome, matricula, data_nascimento, genero, email, "
+                + "telefone, ano_ingresso, ativo, temperamento, turma_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?, ?)";
+
+        @Override
+        public AlunoLinha converter(Registro r) {
+            String nome = r.obrigatorio("nome");
+            LocalDate nascimento = r.data("data_nascimento");
+            Genero genero = r.enumeracao("genero", Genero.class);
+            Integer anoIngresso = r.inteiro("ano_ingresso");
+            Long turmaId = r.longo("turma_id");
+            LocalDateTime agora = LocalDateTime.now();
+            // Matrícula já definitiva: o bloco hi/lo é consumido em memória, sem ida ao banco por linha
+            String matricula = matriculaAllocator.proxima(Year.now().getValue());
+            return new AlunoLinha(new Object[]{nome, matricula, nascimento, genero != null ? genero.name() : null,
+                    r.texto("email"), r.texto("telefone"), anoIngresso != null ? anoIngresso : Year.now().getValue(),
+                    r.texto("temperamento"), turmaId, agora, agora}, turmaId);
+        }
+
+        @Override
+        public void gravar(List<AlunoLinha> linhas) {
+            for (AlunoLinha l : linhas) {
+                if (l.turmaId() != null && turmaRepository.reservarVaga(l.turmaId()) == 0) {
+                    throw new IllegalStateException("Turma " + l.turmaId() + " inexistente, inativa ou lotada");
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT, linhas.stream().map(AlunoLinha::args).toList());
+        }
+    }
+
+    private class Responsaveis implements Destino<Object[]> {
+
+        private static final String INSERT = "INSERT INTO responsaveis (nome, data_nascimento, genero, email, "
+                + "telefone, cpf, cpf_hash, parentesco, profissao, empresa, autorizado, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        @Override
+        public Object[] converter(Registro r) {
+            String nome = r.obrigatorio("nome");
+            String cpf = r.texto("cpf");
+            if (cpf != null && !CPF.matcher(cpf.replaceAll("\\D", "")).matches()) {
+                throw new IllegalArgumentException("CPF inválido: deve ter 11 dígitos");
+            }
+            Genero genero = r.enumeracao("genero", Genero.class);
+            Boolean autorizado = r.booleano("autorizado");
+            LocalDateTime agora = LocalDateTime.now();
+            return new Object[]{nome, r.data("data_nascimento"), genero != null ? genero.name() : null,
+                    r.texto("email"), r.texto("telefone"), cpfConverter.convertToDatabaseColumn(cpf),
+                    BlindIndex.cpf(cpf), r.texto("parentesco"), r.texto("profissao"), r.texto("empresa"),
+                    autorizado == null || autorizado, agora, agora};
+        }
+
+        @Override
+        public void gravar(List<Object[]> linhas) {
+            jdbcTemplate.batchUpdate(INSERT, linhas);
+        }
+    }
+
+    /** Contrato convertido; o aluno vem por id ou por matrícula (resolvida no lote). */
+    private record ContratoLinha(Long alunoId, String matricula, int anoLetivo, BigDecimal valorMensalidade,
+                                 BigDecimal desconto, BigDecimal valorMatricula, int totalParcelas,
+                                 int diaVencimento, LocalDate dataInicio, LocalDate dataFim, String observacoes) {}
+
+    private class Contratos implements Destino<ContratoLinha> {
+
+        private static final String INSERT_CONTRATO = "INSERT INTO contratos (aluno_id, ano_letivo, "
+                + "valor_mensalidade, desconto, valor_matricula, total_parcelas, dia_vencimento, data_inicio, "
+                + "data_fim, situacao, observacoes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        @Override
+        public ContratoLinha converter(Registro r) {
+            Long alunoId = r.longo("aluno_id");
+            String matricula = r.texto("matricula");
+            if (alunoId == null && matricula == null) {
+                throw new IllegalArgumentException("Informe aluno_id ou matricula");
+            }
+            Integer anoLetivo = r.inteiro("ano_letivo");
+            BigDecimal valor = r.decimal("valor_mensalidade");
+            LocalDate dataInicio = r.data("data_inicio");
+            if (anoLetivo == null) {
+                throw new IllegalArgumentException("Campo obrigatório: ano_letivo");
+            }
+            if (valor == null || valor.signum() <= 0) {
+                throw new IllegalArgumentException("valor_mensalidade deve ser positivo");
+            }
+            if (dataInicio == null) {
+                throw new IllegalArgumentException("Campo obrigatório: data_inicio");
+            }
+            Integer parcelas = r.inteiro("total_parcelas");
+            Integer dia = r.inteiro("dia_vencimento");
+            if (parcelas != null && (parcelas < 1 || parcelas > 60)) {
+                throw new IllegalArgumentException("total_parcelas deve estar entre 1 e 60");
+            }
+            if (dia != null && (dia < 1 || dia > 31)) {
+                throw new IllegalArgumentException("dia_vencimento deve estar entre 1 e 31");
+            }
+            return new ContratoLinha(alunoId, matricula, anoLetivo, valor, r.decimal("desconto"),
+                    r.decimal("valor_matricula"), parcelas != null ? parcelas : 12, dia != null ? dia : 10,
+                    dataInicio, r.data("data_fim"), r.texto("observacoes"));
+        }
+
+        /**
+         * Um aluno tem no máximo um contrato por ano letivo (a mesma regra da renovação): reenviar o
+         * arquivo não duplica contratos nem parcelas. As linhas dos alunos ficam travadas até o commit,
+         * então duas importações simultâneas do mesmo arquivo também não; a repetida é rejeitada.
+         */
+        @Override
+        public void gravar(List<ContratoLinha> linhas) {
+            Map<String, Long> porMatricula = alunosPorMatricula(linhas);
+            Set<Long> idsExistentes = alunosExistentes(linhas);
+            List<Long> alunoIds = new ArrayList<>(linhas.size());
+            for (ContratoLinha l : linhas) {
+                Long alunoId = l.alunoId() != null ? l.alunoId() : porMatricula.get(l.matricula());
+                if (alunoId == null || (l.alunoId() != null && !idsExistentes.contains(alunoId))) {
+                    throw new IllegalArgumentException("Aluno não encontrado: "
+                            + (l.alunoId() != null ? l.alunoId() : l.matricula()));
+                }
+                alunoIds.add(alunoId);
+            }
+            Set<String> anos = contratosExistentes(alunoIds);
+            LocalDateTime agora = LocalDateTime.now();
+            List<Object[]> contratos = new ArrayList<>(linhas.size());
+            for (int i = 0; i < linhas.size(); i++) {
+                ContratoLinha l = linhas.get(i);
+                Long alunoId = alunoIds.get(i);
+                if (!anos.add(alunoId + ":" + l.anoLetivo())) {
+                    throw new IllegalArgumentException("Aluno " + (l.alunoId() != null ? l.alunoId() : l.matricula())
+                            + " já tem contrato no ano letivo " + l.anoLetivo());
+                }
+                contratos.add(new Object[]{alunoId, l.anoLetivo(), l.valorMensalidade(), l.desconto(),
+                        l.valorMatricula(), l.totalParcelas(), l.diaVencimento(), l.dataInicio(), l.dataFim(),
+                        SituacaoContrato.ATIVO.name(), l.observacoes(), agora, agora});
+            }
+            long[] ids = InsercaoEmLote.comChaves(jdbcTemplate, INSERT_CONTRATO, contratos);
+            List<GeradorMensalidades.Plano> planos = new ArrayList<>(linhas.size());
+            for (int i = 0; i < linhas.size(); i++) {
+                ContratoLinha l = linhas.get(i);
+                planos.add(new GeradorMensalidades.Plano(ids[i], l.valorMensalidade(), l.desconto(),
+                        l.totalParcelas(), l.diaVencimento(), l.dataInicio()));
+            }
+            geradorMensalidades.gerar(planos);
+        }
+
+        private Map<String, Long> alunosPorMatricula(List<ContratoLinha> linhas) {
+            List<String> matriculas = linhas.stream().filter(l -> l.alunoId() == null)
+                    .map(ContratoLinha::matricula).distinct().toList();
+            Map<String, Long> ids = new HashMap<>();
+            if (!matriculas.isEmpty()) {
+                jdbcTemplate.query("SELECT id, matricula FROM alunos WHERE matricula IN (" + marcadores(matriculas.size()) + ")",
+                        rs -> { ids.put(rs.getString("matricula"), rs.getLong("id")); }, matriculas.toArray());
+            }
+            return ids;
+        }
+
+        /** Trava os alunos e devolve os pares {@code aluno:ano} que já têm contrato. */
+        private Set<String> contratosExistentes(List<Long> alunoIds) {
+            Object[] ids = alunoIds.stream().distinct().toArray();
+            jdbcTemplate.queryForList("SELECT id FROM alunos WHERE id IN (" + marcadores(ids.length) + ") FOR UPDATE",
+                    Long.class, ids);
+            Set<String> existentes = new HashSet<>();
+            jdbcTemplate.query("SELECT aluno_id, ano_letivo FROM contratos WHERE aluno_id IN ("
+                            + marcadores(ids.length) + ")",
+                    rs -> { existentes.add(rs.getLong("aluno_id") + ":" + rs.getInt("ano_letivo")); }, ids);
+            return existentes;
+        }
+
+        private Set<Long> alunosExistentes(List<ContratoLinha> linhas) {
+            List<Long> informados = linhas.stream().map(ContratoLinha::alunoId).filter(Objects::nonNull)
+                    .distinct().toList();
+            if (informados.isEmpty()) {
+                return Set.of();
+            }
+            return new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT id FROM alunos WHERE id IN (" + marcadores(informados.size()) + ")",
+                    Long.class, informados.toArray()));
+        }
+    }
+
+    private static String marcadores(int n) {
+        return Collections.nCopies(n, "?").stream().collect(Collectors.joining(", "));
+    }
+
+    // --- progresso ---
+
+    private record Convertido<T>(long linha, T valor, String erro) {}
+
+    private static final class Progresso {
+        final String id;
+        final TipoImportacao tipo;
+        final LocalDateTime inicioData = LocalDateTime.now();
+        final long inicio = System.currentTimeMillis();
+        final AtomicLong lidas = new AtomicLong();
+        final AtomicLong importadas = new AtomicLong();
+        final AtomicLong rejeitadas = new AtomicLong();
+        final List<ImportacaoErroDTO> erros = Collections.synchronizedList(new ArrayList<>());
+        volatile StatusImportacao status = StatusImportacao.EM_ANDAMENTO;
+        volatile long fim;
+
+        Progresso(String id, TipoImportacao tipo) {
+            this.id = id;
+            this.tipo = tipo;
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            rejeitadas.incrementAndGet();
+            if (erros.size() < MAX_ERROS) {
+                erros.add(new ImportacaoErroDTO(linha, mensagem));
+            }
+        }
+
+        ImportacaoResultadoDTO resultado() {
+            List<ImportacaoErroDTO> copia;
+            synchronized (erros) {
+                copia = List.copyOf(erros);
+            }
+            long duracao = (fim > 0 ? fim : System.currentTimeMillis()) - inicio;
+            return new ImportacaoResultadoDTO(id, tipo, status, lidas.get(), importadas.get(), rejeitadas.get(),
+                    copia, rejeitadas.get() > copia.size(), inicioData, duracao);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.CursorPageDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Posição na ordenação {@code (nome, id)} das listagens paginadas por cursor. A consulta seguinte
+ * busca {@code nome > :nome OR (nome = :nome AND id > :id)} pelo índice de {@code nome} — a
+ * página 1000 custa o mesmo que a primeira, e não há {@code COUNT(*)}.
+ */
+record KeysetCursor(String nome, long id) {
+
+    static final int TAMANHO_PADRAO = 20;
+    static final int TAMANHO_MAXIMO = 100;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    String encode() {
+        return ENCODER.encodeToString((id + ":" + nome).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** {@code null} ou vazio = primeira página; cursor malformado = 400. */
+    static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = valor.indexOf(':');
+            return new KeysetCursor(valor.substring(sep + 1), Long.parseLong(valor.substring(0, sep)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido");
+        }
+    }
+
+    static int tamanho(int solicitado) {
+        return solicitado <= 0 ? TAMANHO_PADRAO : Math.min(solicitado, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Monta a página a partir de {@code tamanho + 1} linhas lidas: a linha extra só indica que
+     * há próxima página e não é devolvida.
+     */
+    static <E, T> CursorPageDTO<T> pagina(List<E> linhas, int tamanho, Function<E, KeysetCursor> posicao,
+                                         Function<E, T> mapper) {
+        boolean hasNext = linhas.size() > tamanho;
+        List<E> conteudo = hasNext ? linhas.subList(0, tamanho) : linhas;
+        String next = hasNext ? posicao.apply(conteudo.get(conteudo.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(conteudo.stream().map(mapper).toList(), tamanho, hasNext, next);
+    }
+}
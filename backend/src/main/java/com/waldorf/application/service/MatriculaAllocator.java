@@ -0,0 +1,107 @@
+package com.waldorf.application.service;
+
+import com.waldorf.domain.entity.MatriculaSequencia;
+import com.waldorf.infrastructure.repository.AlunoRepository;
+import com.waldorf.infrastructure.repository.MatriculaSequenciaRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gera matrículas {@code <ano><número>} (ex.: {@code 202600042}) no estilo hi/lo: cada réplica
+ * reserva um bloco de {@code app.matricula.bloco} números em {@code matricula_sequencias} — um
+ * UPDATE numa transação própria e curta — e o consome em memória. O aluno é gravado já com a
+ * matrícula definitiva, num único INSERT.
+ *
+ * <p>Os números são únicos entre réplicas e crescentes dentro de cada bloco; blocos não usados
+ * até o fim (reinício da réplica) deixam lacunas, o que é aceitável para matrícula.
+ *
+ * <p>Chamar fora de transação: a reserva de um bloco usa outra conexão do pool, e quem já segura
+ * uma enquanto espera a segunda pode esgotá-lo. A exclusão mútua é um {@link ReentrantLock}, que
+ * não prende a thread portadora de uma thread virtual durante a ida ao banco.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatriculaAllocator {
+
+    private final MatriculaSequenciaRepository sequenciaRepository;
+    private final AlunoRepository alunoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.matricula.bloco:50}")
+    private int bloco;
+
+    private final Map<Integer, long[]> blocos = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private TransactionTemplate novaTransacao;
+
+    @PostConstruct
+    void init() {
+        novaTransacao = new TransactionTemplate(transactionManager);
+        novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String proxima(int ano) {
+        return ano + String.format("%05d", proximoNumero(ano));
+    }
+
+    /** Próximo número do bloco local do ano ({próximo, limite exclusivo}); reserva outro se esgotado. */
+    long proximoNumero(int ano) {
+        lock.lock();
+        try {
+            long[] atual = blocos.get(ano);
+            if (atual == null || atual[0] >= atual[1]) {
+                atual = reservarBloco(ano);
+                blocos.put(ano, atual);
+            }
+            return atual[0]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long[] reservarBloco(int ano) {
+        if (!sequenciaRepository.existsById(ano)) {
+            long inicio = maiorNumeroExistente(ano) + 1;
+            try {
+                novaTransacao.executeWithoutResult(tx ->
+                        sequenciaRepository.saveAndFlush(new MatriculaSequencia(ano, inicio)));
+                log.info("Sequência de matrículas de {} iniciada em {}", ano, inicio);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Sequência de matrículas de {} criada por outra réplica", ano);
+            }
+        }
+        Long limite = novaTransacao.execute(tx -> {
+            sequenciaRepository.reservar(ano, bloco);
+            return sequenciaRepository.findById(ano).orElseThrow().getProximo();
+        });
+        return new long[]{limite - bloco, limite};
+    }
+
+    /** Maior número já usado no ano (matrículas do formato anterior, {@code <ano><id>}), ou 0. */
+    private long maiorNumeroExistente(int ano) {
+        String prefixo = String.valueOf(ano);
+        List<String> maiores = alunoRepository.findMaioresMatriculas(prefixo, Limit.of(20));
+        long maior = 0;
+        for (String m : maiores) {
+            String sufixo = m.substring(prefixo.length());
+            if (!sufixo.isEmpty() && sufixo.length() < 19 && sufixo.chars().allMatch(Character::isDigit)) {
+                maior = Math.max(maior, Long.parseLong(sufixo));
+            }
+        }
+        return maior;
+    }
+}
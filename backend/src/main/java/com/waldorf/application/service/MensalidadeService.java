@@ -1,16 +1,27 @@
 package com.waldorf.application.service;
 
+import com.waldorf.application.dto.financeiro.BaixaPagamentoRequestDTO;
+import com.waldorf.application.dto.financeiro.MensalidadeResponseDTO;
 import com.waldorf.domain.entity.Contrato;
 import com.waldorf.domain.entity.Mensalidade;
+import com.waldorf.domain.entity.Mensalidade.StatusMensalidade;
+import com.waldorf.domain.enums.FormaPagamento;
 import com.waldorf.infrastructure.repository.MensalidadeRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Service
@@ -18,6 +29,9 @@ import java.util.List;
 public class MensalidadeService {
 
     private final MensalidadeRepository mensalidadeRepository;
+    private final ResumoMensalidadesService resumoMensalidades;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExtratoFamiliaService extratoFamilia;
 
     @Transactional
     public void gerarMensalidades(Contrato contrato) {
@@ -27,10 +41,11 @@ public class MensalidadeService {
         int diaVencimento = contrato.getDiaVencimento() > 0 ? contrato.getDiaVencimento() : 10;
         int totalParcelas = contrato.getTotalParcelas() > 0 ? contrato.getTotalParcelas() : 12;
 
+        List<Mensalidade> parcelas = new ArrayList<>(totalParcelas);
         for (int i = 1; i <= totalParcelas; i++) {
             LocalDate vencimento = calcularVencimento(dataInicio, diaVencimento, i);
 
-            Mensalidade m = Mensalidade.builder()
+            parcelas.add(Mensalidade.builder()
                     .contrato(contrato)
                     .numeroParcela(i)
                     .mesReferencia(vencimento.getMonthValue())
@@ -41,15 +56,18 @@ public class MensalidadeService {
                     .valorMulta(BigDecimal.ZERO)
                     .dataVencimento(vencimento)
                     .status(Mensalidade.StatusMensalidade.ABERTA)
-                    .build();
-
-            mensalidadeRepository.save(m);
+                    .build());
         }
+        // Ids em bloco (ver Mensalidade#id): o Hibernate envia as parcelas num único lote JDBC
+        mensalidadeRepository.saveAll(parcelas);
+        resumoMensalidades.somar(parcelas.stream().map(ResumoMensalidadesService.Parcela::de).toList());
+        extratoFamilia.invalidarAlunos(List.of(contrato.getAluno().getId()));
 
         log.info("Mensalidades geradas com sucesso para contrato {}", contrato.getId());
     }
 
-    private LocalDate calcularVencimento(LocalDate dataInicio, int diaVencimento, int parcela) {
+    /** Vencimento da parcela: mês a mês a partir do início, no dia fixo (limitado ao fim do mês). */
+    static LocalDate calcularVencimento(LocalDate dataInicio, int diaVencimento, int parcela) {
         int mes = dataInicio.getMonthValue() + parcela - 1;
         int ano = dataInicio.getYear() + (mes - 1) / 12;
         mes = ((mes - 1) % 12) + 1;
@@ -60,6 +78,53 @@ public class MensalidadeService {
         return LocalDate.of(ano, mes, dia);
     }
 
+    /**
+     * Baixa manual: soma o valor ao já pago, registra o pagamento e marca a parcela como PAGA (ou
+     * PARCIAL, se ainda faltar parte do devido com juros e multa).
+     */
+    @Transactional
+    public MensalidadeResponseDTO registrarPagamento(Long id, BaixaPagamentoRequestDTO dto) {
+        FormaPagamento forma;
+        try {
+            forma = FormaPagamento.valueOf(dto.formaPagamento().strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Forma de pagamento inválida: " + dto.formaPagamento());
+        }
+        Mensalidade m = mensalidadeRepository.findByIdParaAtualizar(id)
+                .orElseThrow(() -> new EntityNotFoundException("Mensalidade não encontrada: " + id));
+        if (m.getStatus() == StatusMensalidade.PAGA || m.getStatus() == StatusMensalidade.CANCELADA) {
+            throw new IllegalStateException("Mensalidade " + id + " já está " + m.getStatus());
+        }
+        ResumoMensalidadesService.Parcela antes = ResumoMensalidadesService.Parcela.de(m);
+
+        BigDecimal pago = (m.getValorPago() != null ? m.getValorPago() : BigDecimal.ZERO).add(dto.valorPago());
+        m.setValorPago(pago);
+        m.setDataPagamento(dto.dataPagamento().atStartOfDay());
+        m.setStatus(pago.compareTo(valorDevido(m)) >= 0 ? StatusMensalidade.PAGA : StatusMensalidade.PARCIAL);
+        mensalidadeRepository.save(m);
+        jdbcTemplate.update("INSERT INTO pagamentos (mensalidade_id, valor_pago, data_pagamento, forma_pagamento, "
+                        + "status, observacoes, created_at, updated_at) VALUES (?, ?, ?, ?, 'CONFIRMADO', ?, ?, ?)",
+                id, dto.valorPago(), m.getDataPagamento(), forma.name(), dto.observacao(),
+                LocalDateTime.now(), LocalDateTime.now());
+        resumoMensalidades.mover(antes, ResumoMensalidadesService.Parcela.de(m));
+        extratoFamilia.invalidarMensalidades(List.of(id));
+
+        log.info("Pagamento de {} registrado na mensalidade {} ({})", dto.valorPago(), id, m.getStatus());
+        return new MensalidadeResponseDTO(m.getId(), m.getContrato().getId(), m.getContrato().getAluno().getNome(),
+                m.getNumeroParcela(), String.format("Mensalidade %02d/%d", m.getMesReferencia(), m.getAnoReferencia()),
+                valorDevido(m), pago, m.getDataVencimento(), dto.dataPagamento(), m.getStatus(), forma.name(),
+                dto.observacao(), m.getCreatedAt());
+    }
+
+    /** Parcela − desconto + juros + multa. */
+    static BigDecimal valorDevido(Mensalidade m) {
+        return m.getValorParcela()
+                .subtract(m.getValorDesconto() != null ? m.getValorDesconto() : BigDecimal.ZERO)
+                .add(m.getValorJuros() != null ? m.getValorJuros() : BigDecimal.ZERO)
+                .add(m.getValorMulta() != null ? m.getValorMulta() : BigDecimal.ZERO);
+    }
+
     public List<Mensalidade> listarPorContrato(Long contratoId) {
         return mensalidadeRepository.findByContratoIdOrderByNumeroParcela(contratoId);
     }
@@ -0,0 +1,194 @@
+package com.waldorf.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waldorf.application.dto.financeiro.EventoPagamentoDTO;
+import com.waldorf.domain.enums.FormaPagamento;
+import com.waldorf.domain.enums.SituacaoEventoPagamento;
+import com.waldorf.infrastructure.pagamento.FilaEventosPagamento;
+import com.waldorf.infrastructure.security.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Baixa automática pelas confirmações do gateway.
+ *
+ * <p>{@link #receber} roda na thread do webhook: valida, descarta reenvios de transações que esta
+ * instância já viu chegar a desfecho definitivo (cache local por {@code transacaoId}) e enfileira na
+ * {@link FilaEventosPagamento} — nada de banco. O
+ * consumidor da fila chama {@link #processar} com lotes; cada lote é uma transação
+ * ({@link BaixaMensalidades.Lote}) que filtra as transações com desfecho definitivo, localiza as
+ * parcelas por {@code gateway_transaction_id}, {@code nosso_numero} ou txid do PIX gerado pelo sistema
+ * ({@link PixService#mensalidadeDoTxid}) e grava tudo com
+ * {@code batchUpdate}. Evento não confirmado ou sem parcela fica registrado sem desfecho definitivo:
+ * a confirmação posterior da mesma transação, ou um reenvio, ainda é aplicada.
+ *
+ * <p>Métricas: {@code pagamentos.webhook.eventos{situacao}}, {@code pagamentos.webhook.duplicados}
+ * e {@code pagamentos.webhook.lote}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PagamentoGatewayService {
+
+    /** Status do gateway que confirmam o pagamento (ausente = confirmado). */
+    private static final Set<String> CONFIRMADOS = Set.of("PAGO", "CONFIRMADO", "APROVADO");
+    /** Limites das colunas de {@code pagamentos_gateway_eventos}: VARCHAR(100), VARCHAR(50), DECIMAL(10,2). */
+    private static final int TAMANHO_TRANSACAO = 100;
+    private static final int TAMANHO_NOSSO_NUMERO = 50;
+    private static final BigDecimal VALOR_MAXIMO = new BigDecimal("99999999.99");
+
+    private final TransactionTemplate transactionTemplate;
+    private final FilaEventosPagamento fila;
+    private final BaixaMensalidades baixaMensalidades;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Transações com desfecho definitivo gravado (após o commit) nesta instância; o registro é a tabela
+     * de eventos. Sem desfecho definitivo (NAO_CONFIRMADO, NAO_ENCONTRADO, fila de mortos) o reenvio
+     * volta à fila.
+     */
+    private final Cache<String, Boolean> definitivas = Caffeine.newBuilder()
+            .maximumSize(100_000).expireAfterWrite(Duration.ofMinutes(30)).build();
+    private Timer loteTimer;
+
+    public enum Recebimento { ACEITO, DUPLICADO }
+
+    @PostConstruct
+    void init() {
+        loteTimer = Timer.builder("pagamentos.webhook.lote")
+                .description("Tempo de aplicação de um lote de eventos do gateway").register(meterRegistry);
+        fila.consumir(this::processar);
+    }
+
+    public Recebimento receber(EventoPagamentoDTO evento) {
+        if (evento.transacaoId() == null || evento.transacaoId().isBlank()) {
+            throw invalido("transacaoId é obrigatório");
+        }
+        if (evento.transacaoId().length() > TAMANHO_TRANSACAO) {
+            throw invalido("transacaoId excede " + TAMANHO_TRANSACAO + " caracteres");
+        }
+        if (evento.nossoNumero() != null && evento.nossoNumero().length() > TAMANHO_NOSSO_NUMERO) {
+            throw invalido("nossoNumero excede " + TAMANHO_NOSSO_NUMERO + " caracteres");
+        }
+        if (evento.valorPago() == null || evento.valorPago().signum() <= 0) {
+            throw invalido("valorPago deve ser positivo");
+        }
+        if (evento.valorPago().compareTo(VALOR_MAXIMO) > 0 || evento.valorPago().stripTrailingZeros().scale() > 2) {
+            throw invalido("valorPago inválido: " + evento.valorPago());
+        }
+        if (evento.formaPagamento() != null && !evento.formaPagamento().isBlank()
+                && !forma(evento).name().equalsIgnoreCase(evento.formaPagamento().strip())) {
+            throw invalido("Forma de pagamento inválida: " + evento.formaPagamento());
+        }
+        if (definitivas.getIfPresent(evento.transacaoId()) != null) {
+            meterRegistry.counter("pagamentos.webhook.duplicados").increment();
+            return Recebimento.DUPLICADO;
+        }
+        if (!fila.publicar(evento.recebido(LocalDateTime.now()))) {
+            throw new ServiceOverloadedException("Fila de pagamentos cheia. Tente novamente em instantes.", 5);
+        }
+        return Recebimento.ACEITO;
+    }
+
+    /** Aplica um lote da fila; lança exceção (e o lote é reentregue) se não puder ser gravado. */
+    public void processar(List<EventoPagamentoDTO> eventos) {
+        // Um evento por transação; a confirmação prevalece sobre outros status da mesma transação
+        Map<String, EventoPagamentoDTO> unicos = new LinkedHashMap<>();
+        eventos.forEach(e -> unicos.merge(e.transacaoId(), e, (a, b) -> confirmado(a) ? a : b));
+        long inicio = System.nanoTime();
+        List<String> encerradas;
+        try {
+            encerradas = transactionTemplate.execute(tx -> aplicar(unicos.values()));
+        } catch (DuplicateKeyException e) {
+            // Outra réplica registrou alguma dessas transações ao mesmo tempo; a releitura as descarta
+            encerradas = transactionTemplate.execute(tx -> aplicar(unicos.values()));
+        }
+        if (encerradas != null) {
+            encerradas.forEach(t -> definitivas.put(t, Boolean.TRUE));
+        }
+        loteTimer.record(Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    /** Aplica os eventos na transação corrente; devolve as transações com desfecho definitivo. */
+    private List<String> aplicar(Collection<EventoPagamentoDTO> eventos) {
+        BaixaMensalidades.Lote lote = baixaMensalidades.novoLote();
+        Set<String> registradas = lote.jaRegistradas(eventos.stream().map(EventoPagamentoDTO::transacaoId).toList());
+        List<EventoPagamentoDTO> novos = eventos.stream().filter(e -> !registradas.contains(e.transacaoId())).toList();
+        meterRegistry.counter("pagamentos.webhook.duplicados").increment(eventos.size() - novos.size());
+        List<String> encerradas = new ArrayList<>(registradas);
+        if (novos.isEmpty()) {
+            return encerradas;
+        }
+        lote.travar(BaixaMensalidades.Chave.TRANSACAO, novos.stream().map(EventoPagamentoDTO::transacaoId).toList());
+        lote.travar(BaixaMensalidades.Chave.NOSSO_NUMERO, novos.stream().map(EventoPagamentoDTO::nossoNumero)
+                .filter(Objects::nonNull).distinct().toList());
+        lote.travar(BaixaMensalidades.Chave.ID, novos.stream().map(e -> PixService.mensalidadeDoTxid(e.transacaoId()))
+                .filter(Objects::nonNull).distinct().toList());
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (EventoPagamentoDTO e : novos) {
+            BaixaMensalidades.Parcela p = lote.porTransacao(e.transacaoId());
+            if (p == null) {
+                p = lote.porNossoNumero(e.nossoNumero());
+            }
+            if (p == null) {
+                p = lote.porId(PixService.mensalidadeDoTxid(e.transacaoId()));
+            }
+            SituacaoEventoPagamento situacao;
+            if (!confirmado(e)) {
+                situacao = SituacaoEventoPagamento.NAO_CONFIRMADO;
+            } else if (p == null) {
+                situacao = SituacaoEventoPagamento.NAO_ENCONTRADO;
+            } else if (p.encerrada()) {
+                situacao = SituacaoEventoPagamento.IGNORADO;
+            } else {
+                p.vincularTransacao(e.transacaoId());
+                lote.pagar(p, e.valorPago(), e.dataPagamento() != null ? e.dataPagamento() : agora, forma(e),
+                        e.transacaoId());
+                situacao = SituacaoEventoPagamento.APLICADO;
+            }
+            lote.registrar(e.transacaoId(), e.nossoNumero(), p, e.valorPago(), situacao, e.recebidoEm());
+            meterRegistry.counter("pagamentos.webhook.eventos", "situacao", situacao.name()).increment();
+            if (situacao.definitivo()) {
+                encerradas.add(e.transacaoId());
+            }
+        }
+        int baixadas = lote.gravar();
+        log.debug("Lote do gateway: {} eventos, {} parcelas baixadas", novos.size(), baixadas);
+        return encerradas;
+    }
+
+    private static boolean confirmado(EventoPagamentoDTO e) {
+        return e.status() == null || CONFIRMADOS.contains(e.status().strip().toUpperCase(Locale.ROOT));
+    }
+
+    /** Forma informada pelo gateway ou, na falta, boleto (com nosso número) ou PIX. */
+    private static FormaPagamento forma(EventoPagamentoDTO e) {
+        if (e.formaPagamento() != null) {
+            for (FormaPagamento f : FormaPagamento.values()) {
+                if (f.name().equalsIgnoreCase(e.formaPagamento().strip())) {
+                    return f;
+                }
+            }
+        }
+        return e.nossoNumero() != null ? FormaPagamento.BOLETO : FormaPagamento.PIX;
+    }
+
+    private static ResponseStatusException invalido(String mensagem) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, mensagem);
+    }
+}
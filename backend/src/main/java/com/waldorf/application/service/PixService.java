@@ -0,0 +1,120 @@
+package com.waldorf.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waldorf.application.dto.financeiro.PixCobrancaDTO;
+import com.waldorf.domain.entity.Mensalidade;
+import com.waldorf.domain.entity.Mensalidade.StatusMensalidade;
+import com.waldorf.infrastructure.pix.BrCodePix;
+import com.waldorf.infrastructure.pix.FormatoQr;
+import com.waldorf.infrastructure.pix.QrCodeRenderer;
+import com.waldorf.infrastructure.repository.MensalidadeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PIX das mensalidades, gerado sob demanda: o BR Code sai dos dados da parcela (saldo em aberto,
+ * txid {@code MENS<id>}) a cada consulta, em vez de ficar gravado em cada linha de
+ * {@code mensalidades}, já que só uma fração das parcelas chega a ser aberta. O webhook do gateway
+ * localiza a parcela pelo txid com {@link #mensalidadeDoTxid}.
+ *
+ * <p>A imagem do QR Code depende só do payload, do formato e da escala; fica num cache limitado em
+ * bytes ({@code app.pix.cache-max-bytes}) e o ETag é o hash dessa chave — o cliente que já tem a
+ * imagem recebe 304 sem que nada seja desenhado. Como o saldo muda com juros e pagamentos, o
+ * payload novo gera outra chave e nada precisa ser invalidado.
+ *
+ * <p>Métricas: {@code cache.gets{cache=pix.qrcode}}, {@code cache.evictions} etc.
+ */
+@Service
+@RequiredArgsConstructor
+public class PixService {
+
+    private static final String CACHE_NAME = "pix.qrcode";
+    static final int ESCALA_MAXIMA = 20;
+    private static final String PREFIXO_TXID = "MENS";
+
+    private final MensalidadeRepository mensalidadeRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.pix.chave:}")
+    private String chave;
+
+    @Value("${app.pix.nome-recebedor:}")
+    private String nomeRecebedor;
+
+    @Value("${app.pix.cidade:}")
+    private String cidade;
+
+    @Value("${app.pix.cache-max-bytes:16777216}")
+    private long cacheMaxBytes;
+
+    private Cache<String, byte[]> imagens;
+
+    @PostConstruct
+    void init() {
+        imagens = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String k, byte[] v) -> k.length() + v.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, imagens, CACHE_NAME);
+    }
+
+    @Transactional(readOnly = true)
+    public PixCobrancaDTO cobranca(Long mensalidadeId) {
+        Mensalidade m = mensalidadeRepository.findById(mensalidadeId)
+                .orElseThrow(() -> new EntityNotFoundException("Mensalidade não encontrada: " + mensalidadeId));
+        if (m.getStatus() == StatusMensalidade.PAGA || m.getStatus() == StatusMensalidade.CANCELADA) {
+            throw new IllegalStateException("Mensalidade " + mensalidadeId + " já está " + m.getStatus());
+        }
+        BigDecimal saldo = MensalidadeService.valorDevido(m)
+                .subtract(m.getValorPago() != null ? m.getValorPago() : BigDecimal.ZERO);
+        if (saldo.signum() <= 0) {
+            throw new IllegalStateException("Mensalidade " + mensalidadeId + " não tem saldo em aberto");
+        }
+        String txid = PREFIXO_TXID + m.getId();
+        String payload = BrCodePix.gerar(new BrCodePix.Recebedor(chave, nomeRecebedor, cidade), saldo, txid);
+        return new PixCobrancaDTO(m.getId(), txid, saldo, m.getDataVencimento(), payload);
+    }
+
+    /** Id da mensalidade de um txid gerado por {@link #cobranca}; {@code null} para outros formatos. */
+    public static Long mensalidadeDoTxid(String txid) {
+        if (txid == null || !txid.startsWith(PREFIXO_TXID)) {
+            return null;
+        }
+        String id = txid.substring(PREFIXO_TXID.length());
+        if (id.isEmpty() || id.length() > 18 || !id.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.valueOf(id);
+    }
+
+    /** ETag forte da imagem, calculado sem desenhá-la. */
+    public String etag(String payload, FormatoQr formato, int escala) {
+        byte[] chave = chave(payload, formato, escala).getBytes(StandardCharsets.UTF_8);
+        return "\"" + DigestUtils.md5DigestAsHex(chave) + "\"";
+    }
+
+    public byte[] qrCode(String payload, FormatoQr formato, int escala) {
+        if (escala < 1 || escala > ESCALA_MAXIMA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Escala deve estar entre 1 e " + ESCALA_MAXIMA);
+        }
+        return imagens.get(chave(payload, formato, escala), k -> QrCodeRenderer.renderizar(payload, formato, escala));
+    }
+
+    private static String chave(String payload, FormatoQr formato, int escala) {
+        return formato.name() + ':' + escala + ':' + payload;
+    }
+}
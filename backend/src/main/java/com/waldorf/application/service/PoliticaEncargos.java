@@ -0,0 +1,90 @@
+package com.waldorf.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Encargos por atraso de mensalidade ({@code app.jobs.inadimplencia}): multa fixa sobre o valor
+ * líquido ainda não pago da parcela e juros simples pro rata die (juros mensais / 30 por dia desde o
+ * vencimento). Dentro da carência não há encargos nem mudança de status.
+ *
+ * <p>O cálculo é absoluto (depende só da data de referência), então recalcular no mesmo dia
+ * produz o mesmo valor.
+ */
+@Component
+public class PoliticaEncargos {
+
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+    private static final BigDecimal DIAS_MES = BigDecimal.valueOf(30);
+
+    private final BigDecimal multaPercentual;
+    private final BigDecimal jurosMensalPercentual;
+    private final int carenciaDias;
+    private final int diasParaVencida;
+
+    public PoliticaEncargos(
+            @Value("${app.jobs.inadimplencia.multa-percentual:2}") BigDecimal multaPercentual,
+            @Value("${app.jobs.inadimplencia.juros-mensal-percentual:1}") BigDecimal jurosMensalPercentual,
+            @Value("${app.jobs.inadimplencia.carencia-dias:0}") int carenciaDias,
+            @Value("${app.jobs.inadimplencia.dias-para-vencida:90}") int diasParaVencida) {
+        this.multaPercentual = multaPercentual;
+        this.jurosMensalPercentual = jurosMensalPercentual;
+        this.carenciaDias = carenciaDias;
+        this.diasParaVencida = diasParaVencida;
+    }
+
+    public record Encargos(BigDecimal juros, BigDecimal multa) {
+        static final Encargos NENHUM = new Encargos(BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2));
+    }
+
+    /** Parcelas com vencimento anterior a esta data estão em atraso (ABERTA → ATRASADA). */
+    public LocalDate limiteAtraso(LocalDate hoje) {
+        return hoje.minusDays(carenciaDias);
+    }
+
+    /** Parcelas em atraso com vencimento anterior a esta data passam a VENCIDA. */
+    public LocalDate limiteVencida(LocalDate hoje) {
+        return hoje.minusDays(diasParaVencida);
+    }
+
+    /** Primeiro dia com encargos para uma parcela vencida em {@code vencimento} (fim da carência). */
+    public LocalDate inicioEncargos(LocalDate vencimento) {
+        return vencimento.plusDays(carenciaDias + 1L);
+    }
+
+    /** Juros de um dia de atraso sobre {@code base} — instrução de juros da remessa de cobrança. */
+    public BigDecimal jurosDia(BigDecimal base) {
+        return base.multiply(jurosMensalPercentual).divide(CEM.multiply(DIAS_MES), 2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getMultaPercentual() {
+        return multaPercentual;
+    }
+
+    /**
+     * Base dos encargos: o que ainda falta pagar do valor líquido da parcela, nunca negativo —
+     * uma PARCIAL que venceu paga encargos só sobre o restante.
+     */
+    public static BigDecimal base(BigDecimal valor, BigDecimal desconto, BigDecimal pago) {
+        BigDecimal restante = valor.subtract(desconto != null ? desconto : BigDecimal.ZERO)
+                .subtract(pago != null ? pago : BigDecimal.ZERO);
+        return restante.max(BigDecimal.ZERO);
+    }
+
+    /** Encargos em {@code hoje} de uma parcela de valor líquido {@code base} vencida em {@code vencimento}. */
+    public Encargos calcular(BigDecimal base, LocalDate vencimento, LocalDate hoje) {
+        long dias = ChronoUnit.DAYS.between(vencimento, hoje);
+        if (dias <= carenciaDias || base == null || base.signum() <= 0) {
+            return Encargos.NENHUM;
+        }
+        BigDecimal multa = base.multiply(multaPercentual).divide(CEM, 2, RoundingMode.HALF_UP);
+        BigDecimal juros = base.multiply(jurosMensalPercentual).multiply(BigDecimal.valueOf(dias))
+                .divide(CEM.multiply(DIAS_MES), 2, RoundingMode.HALF_UP);
+        return new Encargos(juros, multa);
+    }
+}
@@ -1,4 +1,5 @@
 package com.waldorf.application.service;
+import com.waldorf.application.dto.CursorPageDTO;
 import com.waldorf.application.dto.professor.ProfessorRequestDTO;
 import com.waldorf.application.dto.professor.ProfessorResponseDTO;
 import com.waldorf.domain.entity.Professor;
@@ -6,13 +7,21 @@ import com.waldorf.infrastructure.repository.ProfessorRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import java.util.List;
 @Service @RequiredArgsConstructor
 public class ProfessorService {
     private final ProfessorRepository repository;
     public Page<ProfessorResponseDTO> listar(Pageable p) { return repository.findAll(p).map(ProfessorResponseDTO::from); }
+    /** Listagem por cursor (opt-in): ordem {@code (nome, id)}, sem COUNT nem OFFSET. */
+    public CursorPageDTO<ProfessorResponseDTO> listarPorCursor(String cursor, int size) {
+        KeysetCursor apos=KeysetCursor.decode(cursor); int tamanho=KeysetCursor.tamanho(size);
+        List<Professor> linhas=repository.findAllAfter(apos!=null?apos.nome():null, apos!=null?apos.id():null, Limit.of(tamanho+1));
+        return KeysetCursor.pagina(linhas, tamanho, p->new KeysetCursor(p.getNome(), p.getId()), ProfessorResponseDTO::from);
+    }
     public ProfessorResponseDTO buscarPorId(Long id) { return ProfessorResponseDTO.from(repository.findById(id).orElseThrow(()->new EntityNotFoundException("Professor não encontrado: "+id))); }
     @Transactional public ProfessorResponseDTO criar(ProfessorRequestDTO dto) {
         repository.findByEmail(dto.email()).ifPresent(e->{throw new IllegalArgumentException("E-mail já cadastrado: "+dto.email());});
@@ -1,44 +1,82 @@
 package com.waldorf.application.service;
 
+import com.waldorf.application.dto.CursorPageDTO;
+import com.waldorf.application.dto.responsavel.ExtratoFamiliaDTO;
 import com.waldorf.application.dto.responsavel.ResponsavelRequestDTO;
 import com.waldorf.application.dto.responsavel.ResponsavelResponseDTO;
+import com.waldorf.domain.entity.Aluno;
 import com.waldorf.domain.entity.Responsavel;
+import com.waldorf.domain.enums.TipoBusca;
+import com.waldorf.infrastructure.repository.AlunoRepository;
 import com.waldorf.infrastructure.repository.ResponsavelRepository;
+import com.waldorf.infrastructure.security.crypto.BlindIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ResponsavelService {
 
     private final ResponsavelRepository repository;
+    private final TypeaheadSearchService typeaheadSearchService;
+    private final AlunoRepository alunoRepository;
+    private final ExtratoFamiliaService extratoFamiliaService;
 
     public Page<ResponsavelResponseDTO> listar(String nome, Pageable pageable) {
         return repository.findByNomeContainingIgnoreCaseOrNomeIsNull(nome, pageable)
                 .map(this::toDTO);
     }
 
+    /** Listagem por cursor (opt-in): ordem {@code (nome, id)}, sem COUNT nem OFFSET. */
+    public CursorPageDTO<ResponsavelResponseDTO> listarPorCursor(String nome, String cursor, int size) {
+        KeysetCursor apos = KeysetCursor.decode(cursor);
+        int tamanho = KeysetCursor.tamanho(size);
+        List<Responsavel> linhas = repository.findByNomeAfter(nome,
+                apos != null ? apos.nome() : null, apos != null ? apos.id() : null, Limit.of(tamanho + 1));
+        return KeysetCursor.pagina(linhas, tamanho, r -> new KeysetCursor(r.getNome(), r.getId()), this::toDTO);
+    }
+
     public ResponsavelResponseDTO buscarPorId(Long id) {
         return toDTO(findOrThrow(id));
     }
 
+    /** Busca por CPF via índice cego: uma consulta indexada, sem decifrar a tabela. */
+    public List<ResponsavelResponseDTO> buscarPorCpf(String cpf) {
+        String hash = BlindIndex.cpf(cpf);
+        if (hash == null) {
+            return List.of();
+        }
+        return repository.findByCpfHash(hash).stream().map(this::toDTO).toList();
+    }
+
+    /** Filhos, contratos e parcelas em aberto da família numa só resposta (cache por responsável). */
+    public ExtratoFamiliaDTO extrato(Long id) {
+        return extratoFamiliaService.extrato(id);
+    }
+
     @Transactional
     public ResponsavelResponseDTO criar(ResponsavelRequestDTO dto) {
         Responsavel r = new Responsavel();
         aplicarDTO(r, dto);
-        return toDTO(repository.save(r));
+        r = repository.save(r);
+        typeaheadSearchService.atualizarAposCommit(TipoBusca.RESPONSAVEL, r.getId());
+        return toDTO(r);
     }
 
     @Transactional
     public ResponsavelResponseDTO atualizar(Long id, ResponsavelRequestDTO dto) {
         Responsavel r = findOrThrow(id);
         aplicarDTO(r, dto);
+        typeaheadSearchService.atualizarAposCommit(TipoBusca.RESPONSAVEL, id);
         return toDTO(repository.save(r));
     }
 
@@ -57,13 +95,30 @@ public class ResponsavelService {
         r.setProfissao(dto.profissao());
         r.setEmpresa(dto.empresa());
         r.setAutorizado(dto.autorizado());
+        if (dto.alunosIds() != null) {
+            vincularAlunos(r, dto.alunosIds());
+        }
+    }
+
+    private void vincularAlunos(Responsavel r, List<Long> alunosIds) {
+        Set<Long> ids = new HashSet<>(alunosIds);
+        List<Aluno> alunos = alunoRepository.findAllById(ids);
+        if (alunos.size() != ids.size()) {
+            ids.removeAll(alunos.stream().map(Aluno::getId).toList());
+            throw new EntityNotFoundException("Aluno não encontrado: " + ids);
+        }
+        r.getAlunos().clear();
+        r.getAlunos().addAll(alunos);
+        if (r.getId() != null) {
+            extratoFamiliaService.invalidarResponsavel(r.getId());
+        }
     }
 
     private ResponsavelResponseDTO toDTO(Responsavel r) {
         return new ResponsavelResponseDTO(
                 r.getId(), r.getNome(), r.getDataNascimento(), r.getGenero(),
                 r.getEmail(), r.getTelefone(), r.getProfissao(), r.getEmpresa(),
-                r.isAutorizado(), List.of(), r.getCreatedAt()
+                r.isAutorizado(), r.getAlunos().stream().map(Aluno::getNome).sorted().toList(), r.getCreatedAt()
         );
     }
 }
@@ -0,0 +1,249 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.financeiro.AgingRecebiveisDTO;
+import com.waldorf.application.dto.financeiro.ReceitaMensalDTO;
+import com.waldorf.domain.entity.Mensalidade;
+import com.waldorf.domain.enums.FaixaAtraso;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Mantém {@code mensalidades_resumo}: quantidade, valor previsto (parcela − desconto) e valor
+ * recebido por competência, status e {@link FaixaAtraso}. Quem grava mensalidades aplica o delta
+ * na mesma transação ({@link #somar} na geração, {@link #mover} numa baixa ou troca de status);
+ * as transições em massa da rotina de inadimplência e o deslocamento diário das faixas ficam para
+ * a {@link #reconciliar reconciliação}, que roda logo depois dela e corrige qualquer desvio.
+ *
+ * <p>Os relatórios ({@link #aging()}, {@link #receitaMensal}) leem só o resumo — algumas linhas por
+ * mês, independentemente do histórico.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumoMensalidadesService {
+
+    /** Status que não são mais recebíveis; ficam sempre na faixa {@code EM_DIA}. */
+    static final Set<String> ENCERRADOS = Set.of("PAGA", "CANCELADA", "NEGOCIADA");
+
+    private static final String SOMAR = "INSERT INTO mensalidades_resumo (ano_referencia, mes_referencia, "
+            + "status, faixa_atraso, quantidade, valor_previsto, valor_recebido, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE quantidade = quantidade + VALUES(quantidade), "
+            + "valor_previsto = valor_previsto + VALUES(valor_previsto), "
+            + "valor_recebido = valor_recebido + VALUES(valor_recebido), updated_at = VALUES(updated_at)";
+
+    private static final String SUBSTITUIR = "INSERT INTO mensalidades_resumo (ano_referencia, mes_referencia, "
+            + "status, faixa_atraso, quantidade, valor_previsto, valor_recebido, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE quantidade = VALUES(quantidade), "
+            + "valor_previsto = VALUES(valor_previsto), valor_recebido = VALUES(valor_recebido), "
+            + "updated_at = VALUES(updated_at)";
+
+    private static final String AGREGAR = "SELECT ano_referencia, mes_referencia, status, "
+            + "CASE WHEN status IN ('PAGA', 'CANCELADA', 'NEGOCIADA') OR data_vencimento >= ? THEN 'EM_DIA' "
+            + "WHEN data_vencimento >= ? THEN 'ATE_30' WHEN data_vencimento >= ? THEN 'DE_31_A_60' "
+            + "WHEN data_vencimento >= ? THEN 'DE_61_A_90' ELSE 'ACIMA_DE_90' END AS faixa, "
+            + "COUNT(*) AS quantidade, SUM(valor_parcela - COALESCE(valor_desconto, 0)) AS previsto, "
+            + "SUM(COALESCE(valor_pago, 0)) AS recebido "
+            + "FROM mensalidades GROUP BY ano_referencia, mes_referencia, status, faixa";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /** O que uma mensalidade contribui para o resumo. */
+    public record Parcela(int ano, int mes, String status, LocalDate vencimento,
+                          BigDecimal previsto, BigDecimal recebido) {
+
+        public static Parcela de(Mensalidade m) {
+            BigDecimal desconto = m.getValorDesconto() != null ? m.getValorDesconto() : BigDecimal.ZERO;
+            return new Parcela(m.getAnoReferencia(), m.getMesReferencia(), m.getStatus().name(),
+                    m.getDataVencimento(), m.getValorParcela().subtract(desconto),
+                    m.getValorPago() != null ? m.getValorPago() : BigDecimal.ZERO);
+        }
+
+        Chave chave(LocalDate hoje) {
+            FaixaAtraso faixa = ENCERRADOS.contains(status) ? FaixaAtraso.EM_DIA : FaixaAtraso.de(vencimento, hoje);
+            return new Chave(ano, mes, status, faixa.name());
+        }
+    }
+
+    public record Mudanca(Parcela antes, Parcela depois) {}
+
+    /** Resumo de uma reconciliação. */
+    public record Reconciliacao(int linhas, int ajustadas, int removidas) {}
+
+    /** Parcelas recém-geradas. Executar na transação que as insere. */
+    @Transactional
+    public void somar(Collection<Parcela> parcelas) {
+        LocalDate hoje = LocalDate.now();
+        Map<Chave, Totais> deltas = new TreeMap<>();
+        for (Parcela p : parcelas) {
+            deltas.computeIfAbsent(p.chave(hoje), k -> new Totais()).somar(p, 1);
+        }
+        aplicar(deltas);
+    }
+
+    /** Mensalidade que mudou de status ou valor pago. Executar na transação da alteração. */
+    @Transactional
+    public void mover(Parcela antes, Parcela depois) {
+        mover(List.of(new Mudanca(antes, depois)));
+    }
+
+    /** Várias mensalidades alteradas na mesma transação (ex.: um lote de baixas do gateway). */
+    @Transactional
+    public void mover(Collection<Mudanca> mudancas) {
+        LocalDate hoje = LocalDate.now();
+        Map<Chave, Totais> deltas = new TreeMap<>();
+        for (Mudanca m : mudancas) {
+            deltas.computeIfAbsent(m.antes().chave(hoje), k -> new Totais()).somar(m.antes(), -1);
+            deltas.computeIfAbsent(m.depois().chave(hoje), k -> new Totais()).somar(m.depois(), 1);
+        }
+        deltas.values().removeIf(Totais::nulo);
+        aplicar(deltas);
+    }
+
+    /**
+     * Recalcula o resumo a partir de {@code mensalidades}, com as faixas na data {@code hoje}, e grava
+     * só as linhas que diferem. As linhas do resumo são travadas antes da leitura do detalhe: quem
+     * alterar uma mensalidade durante a reconciliação espera o commit e aplica seu delta depois, sobre
+     * o resultado já corrigido.
+     */
+    @Transactional
+    public Reconciliacao reconciliar(LocalDate hoje) {
+        Map<Chave, Totais> atual = new HashMap<>();
+        jdbcTemplate.query("SELECT ano_referencia, mes_referencia, status, faixa_atraso, quantidade, "
+                + "valor_previsto, valor_recebido FROM mensalidades_resumo FOR UPDATE", rs -> {
+            atual.put(new Chave(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4)),
+                    new Totais(rs.getLong(5), rs.getBigDecimal(6), rs.getBigDecimal(7)));
+        });
+        Map<Chave, Totais> esperado = new TreeMap<>();
+        jdbcTemplate.query(AGREGAR, rs -> {
+            esperado.put(new Chave(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4)),
+                    new Totais(rs.getLong(5), rs.getBigDecimal(6), rs.getBigDecimal(7)));
+        }, limite(hoje, FaixaAtraso.EM_DIA), limite(hoje, FaixaAtraso.ATE_30),
+                limite(hoje, FaixaAtraso.DE_31_A_60), limite(hoje, FaixaAtraso.DE_61_A_90));
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> ajustes = new ArrayList<>();
+        esperado.forEach((k, t) -> {
+            if (!t.igual(atual.get(k))) {
+                ajustes.add(k.linha(t, agora));
+            }
+        });
+        List<Object[]> remocoes = new ArrayList<>();
+        atual.keySet().stream().filter(k -> !esperado.containsKey(k)).sorted()
+                .forEach(k -> remocoes.add(new Object[]{k.ano(), k.mes(), k.status(), k.faixa()}));
+        jdbcTemplate.batchUpdate(SUBSTITUIR, ajustes);
+        jdbcTemplate.batchUpdate("DELETE FROM mensalidades_resumo WHERE ano_referencia = ? AND mes_referencia = ? "
+                + "AND status = ? AND faixa_atraso = ?", remocoes);
+
+        meterRegistry.counter("mensalidades.resumo.ajustes").increment(ajustes.size() + remocoes.size());
+        log.info("Resumo de mensalidades reconciliado em {}: {} linhas, {} ajustadas, {} removidas",
+                hoje, esperado.size(), ajustes.size(), remocoes.size());
+        return new Reconciliacao(esperado.size(), ajustes.size(), remocoes.size());
+    }
+
+    /** Recebíveis em aberto por faixa de atraso (todas as faixas, mesmo vazias). */
+    @Transactional(readOnly = true)
+    public AgingRecebiveisDTO aging() {
+        Map<String, AgingRecebiveisDTO.Faixa> porFaixa = new HashMap<>();
+        jdbcTemplate.query("SELECT faixa_atraso, SUM(quantidade), SUM(valor_previsto - valor_recebido) "
+                + "FROM mensalidades_resumo WHERE status NOT IN ('PAGA', 'CANCELADA', 'NEGOCIADA') "
+                + "GROUP BY faixa_atraso", rs -> {
+            porFaixa.put(rs.getString(1), new AgingRecebiveisDTO.Faixa(
+                    FaixaAtraso.valueOf(rs.getString(1)), rs.getLong(2), rs.getBigDecimal(3)));
+        });
+        List<AgingRecebiveisDTO.Faixa> faixas = new ArrayList<>();
+        long quantidade = 0;
+        BigDecimal valor = BigDecimal.ZERO;
+        for (FaixaAtraso f : FaixaAtraso.values()) {
+            AgingRecebiveisDTO.Faixa faixa = porFaixa.getOrDefault(f.name(),
+                    new AgingRecebiveisDTO.Faixa(f, 0, BigDecimal.ZERO));
+            faixas.add(faixa);
+            quantidade += faixa.quantidade();
+            valor = valor.add(faixa.valorEmAberto());
+        }
+        return new AgingRecebiveisDTO(faixas, quantidade, valor);
+    }
+
+    /** Receita prevista x recebida por mês de competência do ano (canceladas fora do previsto). */
+    @Transactional(readOnly = true)
+    public List<ReceitaMensalDTO> receitaMensal(int ano) {
+        return jdbcTemplate.query("SELECT mes_referencia, SUM(quantidade), SUM(valor_previsto), "
+                        + "SUM(valor_recebido), SUM(CASE WHEN status IN ('PAGA', 'NEGOCIADA') THEN 0 "
+                        + "ELSE valor_previsto - valor_recebido END) "
+                        + "FROM mensalidades_resumo WHERE ano_referencia = ? AND status <> 'CANCELADA' "
+                        + "GROUP BY mes_referencia ORDER BY mes_referencia",
+                (rs, i) -> new ReceitaMensalDTO(ano, rs.getInt(1), rs.getLong(2), rs.getBigDecimal(3),
+                        rs.getBigDecimal(4), rs.getBigDecimal(5)),
+                ano);
+    }
+
+    private void aplicar(Map<Chave, Totais> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        // Ordem fixa das chaves: duas transações concorrentes travam as linhas na mesma sequência
+        List<Object[]> linhas = new ArrayList<>(deltas.size());
+        deltas.forEach((k, t) -> linhas.add(k.linha(t, agora)));
+        jdbcTemplate.batchUpdate(SOMAR, linhas);
+    }
+
+    /** Primeiro vencimento (inclusive) que ainda cai na faixa {@code f} em {@code hoje}. */
+    private static LocalDate limite(LocalDate hoje, FaixaAtraso f) {
+        return hoje.minusDays(f.getAteDias());
+    }
+
+    private record Chave(int ano, int mes, String status, String faixa) implements Comparable<Chave> {
+
+        private static final Comparator<Chave> ORDEM = Comparator.comparingInt(Chave::ano)
+                .thenComparingInt(Chave::mes).thenComparing(Chave::status).thenComparing(Chave::faixa);
+
+        @Override
+        public int compareTo(Chave o) {
+            return ORDEM.compare(this, o);
+        }
+
+        Object[] linha(Totais t, LocalDateTime agora) {
+            return new Object[]{ano, mes, status, faixa, t.quantidade, t.previsto, t.recebido, agora};
+        }
+    }
+
+    private static final class Totais {
+        private long quantidade;
+        private BigDecimal previsto = BigDecimal.ZERO;
+        private BigDecimal recebido = BigDecimal.ZERO;
+
+        Totais() {}
+
+        Totais(long quantidade, BigDecimal previsto, BigDecimal recebido) {
+            this.quantidade = quantidade;
+            this.previsto = previsto != null ? previsto : BigDecimal.ZERO;
+            this.recebido = recebido != null ? recebido : BigDecimal.ZERO;
+        }
+
+        void somar(Parcela p, int sinal) {
+            BigDecimal s = BigDecimal.valueOf(sinal);
+            quantidade += sinal;
+            previsto = previsto.add(p.previsto().multiply(s));
+            recebido = recebido.add(p.recebido().multiply(s));
+        }
+
+        boolean nulo() {
+            return quantidade == 0 && previsto.signum() == 0 && recebido.signum() == 0;
+        }
+
+        boolean igual(Totais o) {
+            return o != null && quantidade == o.quantidade
+                    && previsto.compareTo(o.previsto) == 0 && recebido.compareTo(o.recebido) == 0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.waldorf.application.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reserva faixas de ids em {@code id_sequencias} para inserções em lote via JDBC, no mesmo
+ * contador (semântica pooled-lo) que o gerador de ids da entidade usa — um INSERT com id
+ * explícito nunca colide com um id gerado pelo Hibernate, e vice-versa.
+ *
+ * <p>Cada reserva é um SELECT ... FOR UPDATE e um UPDATE numa transação própria e curta; a
+ * faixa inteira de um lote (ex.: todas as parcelas de 200 contratos) sai numa ida ao banco.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenciaIdAllocator {
+
+    private static final Pattern TABELA = Pattern.compile("[a-z_]{1,64}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate novaTransacao;
+
+    @PostConstruct
+    void init() {
+        novaTransacao = new TransactionTemplate(transactionManager);
+        novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Reserva {@code quantidade} ids consecutivos para {@code tabela} e devolve o primeiro. */
+    public long reservar(String tabela, int quantidade) {
+        if (!TABELA.matcher(tabela).matches() || quantidade <= 0) {
+            throw new IllegalArgumentException("Reserva de ids inválida: " + tabela + " x " + quantidade);
+        }
+        try {
+            return reservarUmaVez(tabela, quantidade);
+        } catch (DataIntegrityViolationException e) {
+            // Outra réplica criou a linha da sequência ao mesmo tempo
+            return reservarUmaVez(tabela, quantidade);
+        }
+    }
+
+    private long reservarUmaVez(String tabela, int quantidade) {
+        Long inicio = novaTransacao.execute(tx -> {
+            List<Long> atual = jdbcTemplate.queryForList(
+                    "SELECT proximo FROM id_sequencias WHERE nome = ? FOR UPDATE", Long.class, tabela);
+            long proximo = atual.isEmpty() ? iniciar(tabela) : atual.get(0);
+            jdbcTemplate.update("UPDATE id_sequencias SET proximo = ? WHERE nome = ?", proximo + quantidade, tabela);
+            return proximo;
+        });
+        return inicio;
+    }
+
+    /** Cria a linha da sequência logo após o maior id existente na tabela. */
+    private long iniciar(String tabela) {
+        Long maior = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+        long inicio = (maior != null ? maior : 0) + 1;
+        jdbcTemplate.update("INSERT INTO id_sequencias (nome, proximo) VALUES (?, ?)", tabela, inicio);
+        log.info("Sequência de ids de {} iniciada em {}", tabela, inicio);
+        return inicio;
+    }
+}
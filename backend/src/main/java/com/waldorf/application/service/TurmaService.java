@@ -9,6 +9,7 @@ import com.waldorf.domain.entity.Turma;
 import com.waldorf.infrastructure.repository.AlunoRepository;
 import com.waldorf.infrastructure.repository.ProfessorRepository;
 import com.waldorf.infrastructure.repository.TurmaRepository;
+import com.waldorf.infrastructure.repository.TurmaRepository.TurmaResumoView;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -35,15 +36,12 @@ public class TurmaService {
 
     @Transactional(readOnly = true)
     public List<TurmaResponseDTO> listar(Integer anoLetivo) {
-        if (anoLetivo != null) {
-            return turmaRepository.findByAnoLetivo(anoLetivo).stream().map(this::toDTO).toList();
-        }
-        return turmaRepository.findAll().stream().map(this::toDTO).toList();
+        return turmaRepository.findResumos(anoLetivo).stream().map(this::toDTO).toList();
     }
 
     @Transactional(readOnly = true)
     public Page<TurmaResponseDTO> listar(Pageable pageable) {
-        return turmaRepository.findAll(pageable).map(this::toDTO);
+        return turmaRepository.findResumos(pageable).map(this::toDTO);
     }
 
     @Transactional(readOnly = true)
@@ -112,6 +110,23 @@ public class TurmaService {
         );
     }
 
+    /** Mesmo DTO a partir da projeção das listagens (regente e contagem já vêm da consulta). */
+    private TurmaResponseDTO toDTO(TurmaResumoView v) {
+        return new TurmaResponseDTO(
+                v.getId(),
+                v.getNome(),
+                v.getAnoLetivo(),
+                v.getAnoEscolar(),
+                v.getCapacidadeMaxima(),
+                v.getProfessorRegenteId(),
+                v.getProfessorRegenteNome(),
+                (int) v.getTotalAlunos(),
+                v.getAtiva(),
+                v.getCreatedAt(),
+                v.getUpdatedAt()
+        );
+    }
+
     /**
      * AlunoResponseDTO — 12 campos:
      * id, matricula, nome, dataNascimento, genero, email,
@@ -0,0 +1,132 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.busca.TypeaheadItemDTO;
+import com.waldorf.domain.enums.TipoBusca;
+import com.waldorf.infrastructure.cache.ClusterInvalidationBus;
+import com.waldorf.infrastructure.search.TypeaheadIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Autocompletar de nomes de alunos (ativos) e responsáveis sobre o {@link TypeaheadIndex}.
+ *
+ * <p>O índice é carregado na inicialização e mantido pelos serviços de escrita, que chamam
+ * {@link #atualizarAposCommit}: a alteração é anunciada no {@link ClusterInvalidationBus} e cada
+ * réplica relê só aquela linha — sem consulta ao banco por tecla digitada. A recarga completa monta
+ * um índice novo e o troca de uma vez: as buscas nunca veem um índice pela metade nem nomes que
+ * já saíram do banco. Recarga completa e atualização de linha são serializadas, para que uma
+ * alteração anunciada durante a recarga não se perca na troca.
+ *
+ * <p>Métricas: {@code search.typeahead.entries} e {@code search.typeahead.latency}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TypeaheadSearchService {
+
+    static final String CHANNEL = "waldorf:invalidate:typeahead";
+    static final int LIMITE_MAXIMO = 50;
+    /** Mensagem do canal que pede a recarga completa do índice. */
+    static final String TUDO = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    private volatile TypeaheadIndex index = new TypeaheadIndex();
+    private Timer latencia;
+
+    @Value("${app.search.typeahead.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("search.typeahead.entries", this, s -> s.index.tamanho())
+                .description("Nomes no índice de autocompletar").register(meterRegistry);
+        latencia = Timer.builder("search.typeahead.latency")
+                .description("Tempo de consulta ao índice de autocompletar").register(meterRegistry);
+        invalidationBus.subscribe(CHANNEL, this::recarregar);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            carregar();
+        }
+    }
+
+    /** Carrega (ou recarrega) todos os nomes num índice novo, que substitui o atual ao final. */
+    public synchronized void carregar() {
+        long inicio = System.currentTimeMillis();
+        TypeaheadIndex novo = new TypeaheadIndex();
+        jdbcTemplate.query("SELECT id, nome, matricula FROM alunos WHERE ativo = TRUE",
+                rs -> { novo.upsert(entrada(TipoBusca.ALUNO, rs.getLong("id"), rs.getString("nome"), rs.getString("matricula"))); });
+        jdbcTemplate.query("SELECT id, nome FROM responsaveis",
+                rs -> { novo.upsert(entrada(TipoBusca.RESPONSAVEL, rs.getLong("id"), rs.getString("nome"), null)); });
+        index = novo;
+        log.info("Índice de autocompletar carregado: {} nomes em {} ms", novo.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    public List<TypeaheadItemDTO> buscar(String consulta, TipoBusca tipo, int limite) {
+        return latencia.record(() -> index.buscar(consulta, tipo != null ? tipo.name() : null,
+                        Math.min(Math.max(limite, 1), LIMITE_MAXIMO)).stream()
+                .map(e -> new TypeaheadItemDTO(TipoBusca.valueOf(e.tipo()), e.id(), e.nome(), e.detalhe()))
+                .toList());
+    }
+
+    /** Atualiza a entrada em todas as réplicas após o commit da transação corrente. */
+    public void atualizarAposCommit(TipoBusca tipo, Long id) {
+        if (id != null) {
+            invalidationBus.publishAfterCommit(CHANNEL, chave(tipo, id));
+        }
+    }
+
+    /** Recarrega o índice inteiro em todas as réplicas (ex.: após uma importação em massa). */
+    public void recarregarTudo() {
+        invalidationBus.publish(CHANNEL, TUDO);
+    }
+
+    /** Relê a linha anunciada: nome novo entra no índice; aluno inativo ou linha apagada sai. */
+    private synchronized void recarregar(String chave) {
+        if (TUDO.equals(chave)) {
+            if (enabled) {
+                carregar();
+            }
+            return;
+        }
+        int sep = chave.indexOf(':');
+        TipoBusca tipo = TipoBusca.valueOf(chave.substring(0, sep));
+        long id = Long.parseLong(chave.substring(sep + 1));
+        List<TypeaheadIndex.Entrada> linha = tipo == TipoBusca.ALUNO
+                ? jdbcTemplate.query("SELECT nome, matricula FROM alunos WHERE id = ? AND ativo = TRUE",
+                        (rs, i) -> entrada(tipo, id, rs.getString("nome"), rs.getString("matricula")), id)
+                : jdbcTemplate.query("SELECT nome FROM responsaveis WHERE id = ?",
+                        (rs, i) -> entrada(tipo, id, rs.getString("nome"), null), id);
+        if (linha.isEmpty()) {
+            index.remover(chave);
+        } else {
+            index.upsert(linha.get(0));
+        }
+    }
+
+    private static TypeaheadIndex.Entrada entrada(TipoBusca tipo, long id, String nome, String detalhe) {
+        return new TypeaheadIndex.Entrada(chave(tipo, id), tipo.name(), id, nome, detalhe);
+    }
+
+    private static String chave(TipoBusca tipo, long id) {
+        return tipo.name() + ":" + id;
+    }
+}
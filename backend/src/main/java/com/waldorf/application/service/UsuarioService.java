@@ -7,6 +7,8 @@ import com.waldorf.domain.entity.Perfil;
 import com.waldorf.domain.entity.Usuario;
 import com.waldorf.infrastructure.repository.PerfilRepository;
 import com.waldorf.infrastructure.repository.UsuarioRepository;
+import com.waldorf.infrastructure.security.SecurityVersionRegistry;
+import com.waldorf.infrastructure.security.UserSecurityCache;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +31,8 @@ public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final PerfilRepository perfilRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SecurityVersionRegistry securityVersions;
+    private final UserSecurityCache userSecurityCache;
 
     public List<UsuarioListResponseDTO> listarTodos() {
         return usuarioRepository.findAll().stream()
@@ -64,6 +68,7 @@ public class UsuarioService {
                 .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado: " + id));
         if (!u.getEmail().equals(dto.email()) && usuarioRepository.existsByEmail(dto.email()))
             throw new IllegalArgumentException("E-mail ja existe: " + dto.email());
+        userSecurityCache.invalidarAposCommit(u.getEmail());
         u.setNome(dto.nome());
         u.setEmail(dto.email());
         if (dto.ativo() != null) u.setAtivo(dto.ativo());
@@ -71,7 +76,9 @@ public class UsuarioService {
             Set<Perfil> perfis = resolverPerfis(dto.perfis());
             if (!perfis.isEmpty()) u.setPerfis(perfis);
         }
+        u.incrementarSecurityVersion();
         u = usuarioRepository.save(u);
+        publicarAlteracaoSeguranca(u);
         log.info("Usuario atualizado: {} ({})", u.getNome(), u.getEmail());
         return toListResponseDTO(u);
     }
@@ -81,7 +88,9 @@ public class UsuarioService {
         Usuario u = usuarioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado: " + id));
         u.setAtivo(!u.isAtivo());
+        u.incrementarSecurityVersion();
         u = usuarioRepository.save(u);
+        publicarAlteracaoSeguranca(u);
         log.info("Usuario {} {}: {}", u.isAtivo() ? "ativado" : "desativado", u.getNome(), u.getEmail());
         return toListResponseDTO(u);
     }
@@ -94,7 +103,9 @@ public class UsuarioService {
         if (!passwordEncoder.matches(dto.senhaAtual(), u.getSenha()))
             throw new IllegalArgumentException("Senha atual incorreta");
         u.setSenha(passwordEncoder.encode(dto.novaSenha()));
+        u.incrementarSecurityVersion();
         usuarioRepository.save(u);
+        publicarAlteracaoSeguranca(u);
     }
 
     @Transactional
@@ -102,7 +113,9 @@ public class UsuarioService {
         Usuario u = usuarioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado: " + id));
         u.setSenha(passwordEncoder.encode(novaSenha));
+        u.incrementarSecurityVersion();
         usuarioRepository.save(u);
+        publicarAlteracaoSeguranca(u);
     }
 
     @Transactional
@@ -110,6 +123,9 @@ public class UsuarioService {
         Usuario u = usuarioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario nao encontrado: " + id));
         usuarioRepository.delete(u);
+        // Tokens já emitidos deixam de ser aceitos só pelas claims: o filtro consultará o banco
+        securityVersions.atualizarAposCommit(u.getId(), SecurityVersionRegistry.EXCLUIDO);
+        userSecurityCache.invalidarAposCommit(u.getEmail());
     }
 
     public List<String> listarPerfisDisponiveis() {
@@ -125,6 +141,12 @@ public class UsuarioService {
         return perfis;
     }
 
+    /** Propaga (após o commit) a alteração de segurança da conta para todas as réplicas. */
+    private void publicarAlteracaoSeguranca(Usuario u) {
+        securityVersions.atualizarAposCommit(u.getId(), u.getSecurityVersion());
+        userSecurityCache.invalidarAposCommit(u.getEmail());
+    }
+
     private UsuarioListResponseDTO toListResponseDTO(Usuario u) {
         return new UsuarioListResponseDTO(u.getId(), u.getNome(), u.getEmail(), u.isAtivo(),
                 u.getPerfis().stream().map(Perfil::getNome).collect(Collectors.toSet()), u.getCreatedAt());
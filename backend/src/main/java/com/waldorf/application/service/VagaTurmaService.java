@@ -0,0 +1,173 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.turma.EnturmacaoResponseDTO;
+import com.waldorf.domain.entity.Aluno;
+import com.waldorf.domain.entity.Turma;
+import com.waldorf.domain.entity.TurmaListaEspera;
+import com.waldorf.domain.enums.SituacaoEnturmacao;
+import com.waldorf.infrastructure.repository.AlunoRepository;
+import com.waldorf.infrastructure.repository.TurmaListaEsperaRepository;
+import com.waldorf.infrastructure.repository.TurmaRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Vagas das turmas ({@code Turma.capacidadeMaxima}) e lista de espera.
+ *
+ * <p>A vaga é reservada por um UPDATE condicional sobre {@code turmas.vagas_ocupadas}: o banco
+ * serializa os incrementos na própria linha e recusa o que ultrapassaria a capacidade, então
+ * várias secretarias e o portal dos pais podem matricular na mesma turma ao mesmo tempo sem
+ * leitura prévia nem lock de tabela. O aluno é lido com lock de linha antes de mudar de turma:
+ * duas transferências simultâneas do mesmo aluno se serializam e a segunda vê a turma gravada pela
+ * primeira. Quando uma vaga é liberada, o primeiro da fila é promovido na mesma transação.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VagaTurmaService {
+
+    private final TurmaRepository turmaRepository;
+    private final AlunoRepository alunoRepository;
+    private final TurmaListaEsperaRepository listaEsperaRepository;
+
+    /** Ocupa uma vaga na turma ou lança {@link IllegalStateException} (422) se estiver lotada/inativa. */
+    public Turma ocupar(Long turmaId) {
+        if (turmaRepository.reservarVaga(turmaId) == 0) {
+            throw semVaga(buscarTurma(turmaId));
+        }
+        return turmaRepository.getReferenceById(turmaId);
+    }
+
+    /** Devolve a vaga de um aluno que saiu da turma e a repassa ao primeiro da lista de espera. */
+    public void liberar(Long turmaId) {
+        if (turmaRepository.liberarVaga(turmaId) == 1) {
+            promoverDaFila(turmaId);
+        }
+    }
+
+    /**
+     * Coloca o aluno na turma (transferindo-o, se já tiver outra). Sem vaga, entra na lista de
+     * espera quando {@code listaEspera} for verdadeiro; caso contrário, 422.
+     */
+    public EnturmacaoResponseDTO enturmar(Long turmaId, Long alunoId, boolean listaEspera) {
+        Aluno aluno = alunoRepository.findByIdParaAtualizar(alunoId)
+                .orElseThrow(() -> new EntityNotFoundException("Aluno não encontrado: " + alunoId));
+        if (!aluno.isAtivo()) {
+            throw new IllegalStateException("Aluno inativo: " + aluno.getNome());
+        }
+        if (aluno.getTurma() != null && turmaId.equals(aluno.getTurma().getId())) {
+            return matriculado(turmaId, aluno);
+        }
+        if (turmaRepository.reservarVaga(turmaId) == 1) {
+            mover(aluno, turmaId);
+            listaEsperaRepository.removerAluno(turmaId, alunoId);
+            return matriculado(turmaId, aluno);
+        }
+        Turma turma = buscarTurma(turmaId);
+        if (!listaEspera || !turma.isAtiva()) {
+            throw semVaga(turma);
+        }
+        TurmaListaEspera entrada = listaEsperaRepository.findByTurmaIdAndAlunoId(turmaId, alunoId)
+                .orElseGet(() -> entrarNaFila(turma, aluno));
+        return naFila(entrada, aluno);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EnturmacaoResponseDTO> listaEspera(Long turmaId) {
+        if (!turmaRepository.existsById(turmaId)) {
+            throw new EntityNotFoundException("Turma não encontrada: " + turmaId);
+        }
+        List<TurmaListaEspera> fila = listaEsperaRepository.findByTurmaIdOrderByIdAsc(turmaId);
+        return IntStream.range(0, fila.size())
+                .mapToObj(i -> new EnturmacaoResponseDTO(turmaId, fila.get(i).getAluno().getId(),
+                        fila.get(i).getAluno().getNome(), SituacaoEnturmacao.LISTA_ESPERA,
+                        (long) i + 1, fila.get(i).getCreatedAt()))
+                .toList();
+    }
+
+    public void sairDaFila(Long turmaId, Long alunoId) {
+        if (listaEsperaRepository.removerAluno(turmaId, alunoId) == 0) {
+            throw new EntityNotFoundException("Aluno " + alunoId + " não está na lista de espera da turma " + turmaId);
+        }
+    }
+
+    // --- helpers ---
+
+    /**
+     * Com uma vaga recém-liberada, reserva-a de novo e a entrega ao primeiro da fila. A entrada é
+     * retirada por DELETE condicional, então duas liberações simultâneas nunca promovem o mesmo
+     * aluno; se a fila estiver vazia, a vaga é devolvida.
+     */
+    private void promoverDaFila(Long turmaId) {
+        if (turmaRepository.reservarVaga(turmaId) == 0) {
+            return;
+        }
+        long depoisDe = 0;
+        Optional<TurmaListaEspera> proxima;
+        while ((proxima = listaEsperaRepository.findFirstByTurmaIdAndIdGreaterThanOrderByIdAsc(turmaId, depoisDe)).isPresent()) {
+            TurmaListaEspera entrada = proxima.get();
+            depoisDe = entrada.getId();
+            Aluno aluno = alunoRepository.findByIdParaAtualizar(entrada.getAluno().getId()).orElse(null);
+            if (aluno == null) {
+                continue;
+            }
+            boolean jaNaTurma = aluno.getTurma() != null && turmaId.equals(aluno.getTurma().getId());
+            if (listaEsperaRepository.remover(entrada.getId()) == 1 && aluno.isAtivo() && !jaNaTurma) {
+                mover(aluno, turmaId);
+                log.info("Aluno {} promovido da lista de espera para a turma {}", aluno.getId(), turmaId);
+                return;
+            }
+        }
+        turmaRepository.liberarVaga(turmaId);
+    }
+
+    /** Troca a turma do aluno (vaga na nova já reservada) e libera a vaga da anterior. */
+    private void mover(Aluno aluno, Long turmaId) {
+        Turma anterior = aluno.getTurma();
+        aluno.setTurma(turmaRepository.getReferenceById(turmaId));
+        alunoRepository.save(aluno);
+        if (anterior != null) {
+            liberar(anterior.getId());
+        }
+    }
+
+    private Turma buscarTurma(Long turmaId) {
+        return turmaRepository.findById(turmaId)
+                .orElseThrow(() -> new EntityNotFoundException("Turma não encontrada: " + turmaId));
+    }
+
+    private IllegalStateException semVaga(Turma turma) {
+        return new IllegalStateException(turma.isAtiva()
+                ? "Turma lotada: " + turma.getNome()
+                : "Turma inativa: " + turma.getNome());
+    }
+
+    private TurmaListaEspera entrarNaFila(Turma turma, Aluno aluno) {
+        try {
+            return listaEsperaRepository.saveAndFlush(TurmaListaEspera.builder().turma(turma).aluno(aluno).build());
+        } catch (DataIntegrityViolationException e) {
+            // Pedido duplicado concorrente para o mesmo aluno
+            throw new IllegalStateException("Aluno já está na lista de espera da turma " + turma.getNome());
+        }
+    }
+
+    private EnturmacaoResponseDTO matriculado(Long turmaId, Aluno aluno) {
+        return new EnturmacaoResponseDTO(turmaId, aluno.getId(), aluno.getNome(),
+                SituacaoEnturmacao.MATRICULADO, null, null);
+    }
+
+    private EnturmacaoResponseDTO naFila(TurmaListaEspera entrada, Aluno aluno) {
+        long posicao = listaEsperaRepository.countByTurmaIdAndIdLessThan(entrada.getTurma().getId(), entrada.getId()) + 1;
+        return new EnturmacaoResponseDTO(entrada.getTurma().getId(), aluno.getId(), aluno.getNome(),
+                SituacaoEnturmacao.LISTA_ESPERA, posicao, entrada.getCreatedAt());
+    }
+}
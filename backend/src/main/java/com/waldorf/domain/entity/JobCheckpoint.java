@@ -0,0 +1,42 @@
+package com.waldorf.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progresso persistido de um job em lotes (último id processado) e a réplica que o executa no
+ * momento ({@code owner} + {@code leaseUntil}), permitindo retomar após reinício e evitar que
+ * duas réplicas processem o mesmo job ao mesmo tempo.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Builder.Default
+    @Column(name = "last_id", nullable = false)
+    private long lastId = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long processed = 0L;
+
+    /** Parâmetro da execução ao qual o progresso se refere (ex.: versão da chave, ano letivo). */
+    @Column(length = 100)
+    private String params;
+
+    @Column(length = 150)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
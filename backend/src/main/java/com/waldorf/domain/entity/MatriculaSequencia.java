@@ -0,0 +1,20 @@
+package com.waldorf.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Próximo número de matrícula livre por ano. Cada réplica reserva blocos deste contador
+ * ({@code MatriculaAllocator}) e numera localmente, sem ir ao banco a cada aluno.
+ */
+@Entity
+@Table(name = "matricula_sequencias")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MatriculaSequencia {
+
+    @Id
+    private Integer ano;
+
+    @Column(nullable = false)
+    private long proximo;
+}
@@ -2,6 +2,10 @@ package com.waldorf.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.TableGenerator;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,8 +15,21 @@ import java.time.LocalDateTime;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Mensalidade {
 
+    /**
+     * Ids em blocos de {@code id_sequencias} (pooled-lo) em vez de IDENTITY, para que o Hibernate
+     * agrupe os INSERTs em lote; o mesmo contador é usado pelo {@code SequenciaIdAllocator}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "mensalidade_id")
+    @GenericGenerator(name = "mensalidade_id", type = TableGenerator.class, parameters = {
+            @Parameter(name = TableGenerator.TABLE_PARAM, value = "id_sequencias"),
+            @Parameter(name = TableGenerator.SEGMENT_COLUMN_PARAM, value = "nome"),
+            @Parameter(name = TableGenerator.VALUE_COLUMN_PARAM, value = "proximo"),
+            @Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "mensalidades"),
+            @Parameter(name = TableGenerator.SEGMENT_LENGTH_PARAM, value = "64"),
+            @Parameter(name = TableGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = TableGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -60,12 +77,13 @@ public class Mensalidade {
     @Column(name = "nosso_numero", length = 50)
     private String nossoNumero;
 
+    /** NSA da remessa CNAB em que a parcela foi registrada. */
+    @Column(name = "remessa_nsa")
+    private Long remessaNsa;
+
     @Column(name = "codigo_barras", length = 100)
     private String codigoBarras;
 
-    @Column(name = "pix_qr_code", columnDefinition = "TEXT")
-    private String pixQrCode;
-
     @Column(name = "gateway_transaction_id", length = 100)
     private String gatewayTransactionId;
 
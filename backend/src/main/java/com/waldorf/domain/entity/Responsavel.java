@@ -1,16 +1,21 @@
 package com.waldorf.domain.entity;
 
 import com.waldorf.domain.enums.Genero;
-import com.waldorf.infrastructure.security.crypto.CryptoStringConverter;
+import com.waldorf.infrastructure.security.crypto.BlindIndex;
+import com.waldorf.infrastructure.security.crypto.SensitiveDataCipher;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 
 @Entity
 @Table(name = "responsaveis")
-@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Getter @Setter @NoArgsConstructor
 public class Responsavel {
 
     @Id
@@ -31,24 +36,88 @@ public class Responsavel {
 
     private String telefone;
 
-    @Convert(converter = CryptoStringConverter.class)
-    @Column(length = 255)
-    private String cpf;
+    /**
+     * CPF cifrado (AES-GCM), exatamente como está na coluna. Só é decifrado quando
+     * {@link #getCpf()} é chamado — listagens que não exibem o CPF não pagam a decifração.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @Column(name = "cpf", length = 255)
+    private String cpfCifrado;
+
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private transient String cpf;
+
+    /** Índice cego (HMAC) do CPF normalizado, para busca por igualdade; mantido por {@link #setCpf}. */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "cpf_hash", length = BlindIndex.LENGTH)
+    private String cpfHash;
 
     private String parentesco;
     private String profissao;
     private String empresa;
 
-    @Builder.Default
     @Column(nullable = false)
     private boolean autorizado = true;
 
+    /**
+     * Filhos (tabela {@code aluno_responsaveis}). Carregados em lote: numa página de responsáveis,
+     * os alunos de até 50 deles vêm numa só consulta, em vez de uma por responsável.
+     */
+    @ManyToMany
+    @JoinTable(name = "aluno_responsaveis",
+               joinColumns = @JoinColumn(name = "responsavel_id"),
+               inverseJoinColumns = @JoinColumn(name = "aluno_id"))
+    @BatchSize(size = 50)
+    private Set<Aluno> alunos = new HashSet<>();
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Construtor do builder. O CPF passa por {@link #setCpf} — o builder não expõe o texto cifrado
+     * nem o índice cego, que só podem ser derivados do CPF.
+     */
+    @Builder
+    private Responsavel(Long id, String nome, LocalDate dataNascimento, Genero genero, String email, String telefone,
+                        String cpf, String parentesco, String profissao, String empresa, Boolean autorizado,
+                        Set<Aluno> alunos) {
+        this.id = id;
+        this.nome = nome;
+        this.dataNascimento = dataNascimento;
+        this.genero = genero;
+        this.email = email;
+        this.telefone = telefone;
+        this.parentesco = parentesco;
+        this.profissao = profissao;
+        this.empresa = empresa;
+        this.autorizado = autorizado == null || autorizado;
+        this.alunos = alunos != null ? alunos : new HashSet<>();
+        if (cpf != null) {
+            setCpf(cpf);
+        }
+    }
+
+    public String getCpf() {
+        if (cpf == null && cpfCifrado != null) {
+            cpf = SensitiveDataCipher.decrypt(cpfCifrado);
+        }
+        return cpf;
+    }
+
+    public void setCpf(String cpf) {
+        // Mesmo valor: mantém o texto cifrado (um novo IV geraria UPDATE desnecessário)
+        if (Objects.equals(cpf, getCpf())) {
+            return;
+        }
+        this.cpf = cpf;
+        this.cpfCifrado = SensitiveDataCipher.encrypt(cpf);
+        this.cpfHash = BlindIndex.cpf(cpf);
+    }
+
     @PrePersist
     protected void onCreate() { createdAt = updatedAt = LocalDateTime.now(); }
 
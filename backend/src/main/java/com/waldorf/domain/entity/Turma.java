@@ -31,6 +31,13 @@ public class Turma {
     @Column(nullable = false)
     private boolean ativa = true;
 
+    /**
+     * Alunos ativos na turma. Alterado só pelos UPDATEs condicionais de {@code TurmaRepository}
+     * (reservarVaga/liberarVaga) — nunca pelo save da entidade, que poderia sobrescrever reservas.
+     */
+    @Column(name = "vagas_ocupadas", nullable = false, updatable = false)
+    private int vagasOcupadas = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "professor_regente_id")
     private Professor professorRegente;
@@ -0,0 +1,32 @@
+package com.waldorf.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** Aluno aguardando vaga numa turma lotada; a fila é atendida por ordem de id (FIFO). */
+@Entity
+@Table(name = "turma_lista_espera",
+       uniqueConstraints = @UniqueConstraint(name = "uk_lista_espera_turma_aluno", columnNames = {"turma_id", "aluno_id"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TurmaListaEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "turma_id", nullable = false)
+    private Turma turma;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "aluno_id", nullable = false)
+    private Aluno aluno;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() { createdAt = LocalDateTime.now(); }
+}
@@ -33,6 +33,11 @@ public class Usuario implements UserDetails {
     @Column(nullable = false)
     private boolean ativo = true;
 
+    /** Incrementado a cada alteração que afeta a autenticação (status, perfis, senha). */
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private long securityVersion = 0L;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -52,6 +57,8 @@ public class Usuario implements UserDetails {
     @PreUpdate
     protected void onUpdate() { updatedAt = LocalDateTime.now(); }
 
+    public void incrementarSecurityVersion() { securityVersion++; }
+
     @Override public Collection<? extends GrantedAuthority> getAuthorities() {
         return perfis.stream()
                 .map(p -> new SimpleGrantedAuthority("ROLE_" + p.getNome()))
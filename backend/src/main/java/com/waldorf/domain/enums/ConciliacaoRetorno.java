@@ -0,0 +1,15 @@
+package com.waldorf.domain.enums;
+
+/** Resultado de uma liquidação do retorno CNAB frente à mensalidade. */
+public enum ConciliacaoRetorno {
+    /** Valor pago igual ao saldo devido; baixada. */
+    CONCILIADA,
+    /** Valor pago diferente do saldo; baixada (PAGA ou PARCIAL) e listada para conferência. */
+    DIVERGENTE,
+    /** Mensalidade já paga ou cancelada; não aplicada. */
+    JA_QUITADA,
+    /** Nosso número sem mensalidade correspondente; não aplicada. */
+    NAO_ENCONTRADA,
+    /** Liquidação já processada em um retorno anterior (ou repetida no arquivo). */
+    REPETIDA
+}
@@ -0,0 +1,30 @@
+package com.waldorf.domain.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/** Faixa de atraso (aging) de uma parcela em aberto, em dias corridos após o vencimento. */
+public enum FaixaAtraso {
+    EM_DIA(0), ATE_30(30), DE_31_A_60(60), DE_61_A_90(90), ACIMA_DE_90(Integer.MAX_VALUE);
+
+    /** Maior atraso, em dias, que ainda cai nesta faixa. */
+    private final int ateDias;
+
+    FaixaAtraso(int ateDias) {
+        this.ateDias = ateDias;
+    }
+
+    public int getAteDias() {
+        return ateDias;
+    }
+
+    public static FaixaAtraso de(LocalDate vencimento, LocalDate hoje) {
+        long dias = ChronoUnit.DAYS.between(vencimento, hoje);
+        for (FaixaAtraso f : values()) {
+            if (dias <= f.ateDias) {
+                return f;
+            }
+        }
+        return ACIMA_DE_90;
+    }
+}
@@ -0,0 +1,5 @@
+package com.waldorf.domain.enums;
+
+public enum FormaPagamento {
+    BOLETO, PIX, CARTAO_CREDITO, DEBITO_AUTOMATICO, DINHEIRO, TRANSFERENCIA
+}
@@ -0,0 +1,14 @@
+package com.waldorf.domain.enums;
+
+public enum SituacaoEventoPagamento {
+    APLICADO, IGNORADO, NAO_ENCONTRADO, NAO_CONFIRMADO;
+
+    /**
+     * Desfecho definitivo: o evento não é aplicado de novo. Os demais ficam registrados para
+     * conferência, mas uma nova entrega da mesma transação (confirmação posterior, parcela
+     * cadastrada depois) é processada.
+     */
+    public boolean definitivo() {
+        return this == APLICADO || this == IGNORADO;
+    }
+}
@@ -0,0 +1,5 @@
+package com.waldorf.domain.enums;
+
+public enum TipoBusca {
+    ALUNO, RESPONSAVEL
+}
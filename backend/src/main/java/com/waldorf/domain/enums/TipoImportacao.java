@@ -0,0 +1,19 @@
+package com.waldorf.domain.enums;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+public enum TipoImportacao {
+    ALUNOS, RESPONSAVEIS, CONTRATOS;
+
+    /** A partir do segmento da URL ({@code alunos}, {@code responsaveis}, {@code contratos}). */
+    public static TipoImportacao deCaminho(String caminho) {
+        try {
+            return valueOf(caminho.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de importação inválido: " + caminho);
+        }
+    }
+}
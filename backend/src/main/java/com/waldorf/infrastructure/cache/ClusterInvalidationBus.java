@@ -0,0 +1,113 @@
+package com.waldorf.infrastructure.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de invalidação de caches locais entre réplicas, via Redis pub/sub.
+ *
+ * <p>Os ouvintes desta instância são sempre notificados de imediato; com Redis disponível a
+ * mensagem também é publicada para as demais réplicas (a própria instância recebe o eco, por
+ * isso os ouvintes devem ser idempotentes). Sem Redis (ex.: testes), degrada para entrega
+ * apenas local, no mesmo espírito do {@code TokenBlacklistService}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterInvalidationBus {
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final ObjectProvider<RedisConnectionFactory> connectionFactoryProvider;
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void init() {
+        RedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+        if (connectionFactory == null) {
+            log.info("Redis indisponível — invalidações de cache propagadas apenas nesta instância");
+            return;
+        }
+        try {
+            RedisMessageListenerContainer c = new RedisMessageListenerContainer();
+            c.setConnectionFactory(connectionFactory);
+            c.afterPropertiesSet();
+            c.start();
+            container = c;
+        } catch (Exception e) {
+            log.warn("Falha ao iniciar assinatura Redis; invalidações apenas locais: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    /** Registra um ouvinte para o canal (mensagens locais e, com Redis, das demais réplicas). */
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+        if (container != null) {
+            container.addMessageListener(
+                    (message, pattern) -> deliver(channel, listener,
+                            new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(channel));
+        }
+    }
+
+    /** Notifica os ouvintes locais e publica para as demais réplicas. */
+    public void publish(String channel, String message) {
+        listeners.getOrDefault(channel, List.of()).forEach(l -> deliver(channel, l, message));
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) {
+            return;
+        }
+        try {
+            redis.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.warn("Falha ao publicar invalidação no canal {}: {}", channel, e.getMessage());
+        }
+    }
+
+    /** Como {@link #publish}, mas só após o commit da transação corrente (ou já, sem transação). */
+    public void publishAfterCommit(String channel, String message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(channel, message);
+                }
+            });
+        } else {
+            publish(channel, message);
+        }
+    }
+
+    private void deliver(String channel, Consumer<String> listener, String message) {
+        try {
+            listener.accept(message);
+        } catch (Exception e) {
+            log.warn("Ouvinte do canal {} falhou: {}", channel, e.getMessage());
+        }
+    }
+}
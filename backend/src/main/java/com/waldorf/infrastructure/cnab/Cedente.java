@@ -0,0 +1,15 @@
+package com.waldorf.infrastructure.cnab;
+
+/** Dados da escola como beneficiária da cobrança ({@code app.cnab}). */
+public record Cedente(
+        int banco,
+        String nomeBanco,
+        String agencia,
+        String agenciaDv,
+        String conta,
+        String contaDv,
+        String convenio,
+        String carteira,
+        String nome,
+        String documento
+) {}
@@ -0,0 +1,38 @@
+package com.waldorf.infrastructure.cnab;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Layouts de arquivo de cobrança suportados: FEBRABAN 240 e CNAB 400 (padrão Bradesco). */
+public enum LayoutCnab {
+    CNAB_240(240), CNAB_400(400);
+
+    private final int tamanhoLinha;
+
+    LayoutCnab(int tamanhoLinha) {
+        this.tamanhoLinha = tamanhoLinha;
+    }
+
+    public int getTamanhoLinha() {
+        return tamanhoLinha;
+    }
+
+    /** Por {@code 240}/{@code 400} (ou o nome do enum). */
+    public static LayoutCnab de(String valor) {
+        return switch (valor.strip().toUpperCase()) {
+            case "240", "CNAB240", "CNAB_240" -> CNAB_240;
+            case "400", "CNAB400", "CNAB_400" -> CNAB_400;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Layout CNAB inválido: " + valor);
+        };
+    }
+
+    /** Pelo tamanho do primeiro registro de um arquivo. */
+    static LayoutCnab porTamanho(int tamanho) {
+        for (LayoutCnab l : values()) {
+            if (l.tamanhoLinha == tamanho) {
+                return l;
+            }
+        }
+        throw new IllegalArgumentException("Arquivo não é CNAB 240/400: registro de " + tamanho + " posições");
+    }
+}
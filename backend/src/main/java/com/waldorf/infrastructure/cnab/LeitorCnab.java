@@ -0,0 +1,214 @@
+package com.waldorf.infrastructure.cnab;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Leitura de arquivo CNAB (retorno) mapeado em memória: os registros são percorridos por
+ * deslocamento no {@link MappedByteBuffer} e os campos lidos direto dos bytes, sem copiar linhas
+ * para {@code String} — só os campos pedidos viram objetos. O layout (240/400) é detectado pelo
+ * tamanho do primeiro registro; aceita fim de linha CRLF, LF ou nenhum.
+ *
+ * <p>Posições seguem os manuais (1-based, inclusivas); posição além do fim de um registro
+ * truncado é lida como branco.
+ *
+ * <p>{@link #close()} desfaz o mapeamento na hora (sem esperar o GC), para o arquivo temporário
+ * poder ser removido e a memória devolvida; o leitor não pode ser usado depois disso.
+ */
+public final class LeitorCnab implements Closeable {
+
+    private final FileChannel canal;
+    private final MappedByteBuffer buffer;
+    private final LayoutCnab layout;
+    private int inicio = -1;
+    private int fim;
+    private long registro;
+    private boolean fechado;
+
+    private LeitorCnab(FileChannel canal, MappedByteBuffer buffer) {
+        this.canal = canal;
+        this.buffer = buffer;
+        this.layout = LayoutCnab.porTamanho(tamanhoPrimeiroRegistro());
+    }
+
+    public static LeitorCnab abrir(Path arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Arquivo CNAB grande demais");
+            }
+            return new LeitorCnab(canal, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        } catch (RuntimeException | IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    public LayoutCnab getLayout() {
+        return layout;
+    }
+
+    /** Número (1-based) do registro corrente, sem contar linhas em branco. */
+    public long getRegistro() {
+        return registro;
+    }
+
+    /** Avança para o próximo registro não vazio; {@code false} no fim do arquivo. */
+    public boolean proximo() {
+        int pos = inicio < 0 ? 0 : fim;
+        int limite = buffer.limit();
+        while (true) {
+            while (pos < limite && fimDeLinha(buffer.get(pos))) {
+                pos++;
+            }
+            if (pos >= limite) {
+                inicio = fim = limite;
+                return false;
+            }
+            int f = pos;
+            int maximo = Math.min(limite, pos + layout.getTamanhoLinha());
+            while (f < maximo && !fimDeLinha(buffer.get(f))) {
+                f++;
+            }
+            inicio = pos;
+            fim = f;
+            pos = f;
+            if (!embranco()) {
+                registro++;
+                return true;
+            }
+        }
+    }
+
+    public char caractere(int posicao) {
+        int i = inicio + posicao - 1;
+        return i < fim ? (char) (buffer.get(i) & 0xFF) : ' ';
+    }
+
+    /** Texto do campo sem brancos nas pontas ({@code ""} se vazio). */
+    public String texto(int de, int ate) {
+        int b = Math.min(inicio + ate, fim);
+        int a = Math.min(inicio + de - 1, b);
+        while (a < b && buffer.get(a) == ' ') {
+            a++;
+        }
+        while (b > a && buffer.get(b - 1) == ' ') {
+            b--;
+        }
+        byte[] campo = new byte[b - a];
+        buffer.get(a, campo);
+        return new String(campo, StandardCharsets.ISO_8859_1);
+    }
+
+    /** Campo numérico; brancos contam como zero. */
+    public long numero(int de, int ate) {
+        long valor = 0;
+        for (int p = de; p <= ate; p++) {
+            char c = caractere(p);
+            if (c == ' ') {
+                c = '0';
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException(
+                        "Registro " + registro + ": campo " + de + "-" + ate + " não numérico");
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    /** Valor monetário com duas casas implícitas. */
+    public BigDecimal valor(int de, int ate) {
+        return BigDecimal.valueOf(numero(de, ate), 2);
+    }
+
+    /** {@code DDMMAAAA} ou {@code DDMMAA}; zeros = {@code null}. */
+    public LocalDate data(int de, int ate) {
+        long valor = numero(de, ate);
+        if (valor == 0) {
+            return null;
+        }
+        boolean anoCompleto = ate - de + 1 == 8;
+        int divisor = anoCompleto ? 10_000 : 100;
+        int ano = (int) (valor % divisor);
+        int mes = (int) (valor / divisor % 100);
+        int dia = (int) (valor / divisor / 100);
+        try {
+            return LocalDate.of(anoCompleto ? ano : 2000 + ano, mes, dia);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Registro " + registro + ": data inválida em " + de + "-" + ate);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        try {
+            canal.close();
+        } finally {
+            desmapear(buffer);
+        }
+    }
+
+    /** {@code Unsafe.invokeCleaner}; sem ele (módulo jdk.unsupported ausente), fica a cargo do GC. */
+    private static void desmapear(ByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field campo = unsafeClass.getDeclaredField("theUnsafe");
+            campo.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(campo.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // melhor esforço: o mapeamento é liberado quando o buffer for coletado
+        }
+    }
+
+    private boolean embranco() {
+        for (int i = inicio; i < fim; i++) {
+            if (buffer.get(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int tamanhoPrimeiroRegistro() {
+        int limite = buffer.limit();
+        int pos = 0;
+        while (pos < limite && fimDeLinha(buffer.get(pos))) {
+            pos++;
+        }
+        int f = pos;
+        while (f < limite && !fimDeLinha(buffer.get(f))) {
+            f++;
+        }
+        if (f - pos <= 400) {
+            return f - pos;
+        }
+        // Sem quebras de linha: o header do 240 tem lote "0000" e tipo "0" nas posições 4-8
+        for (int i = pos + 3; i < pos + 8; i++) {
+            if (buffer.get(i) != '0') {
+                return 400;
+            }
+        }
+        return 240;
+    }
+
+    private static boolean fimDeLinha(byte b) {
+        return b == '\r' || b == '\n';
+    }
+}
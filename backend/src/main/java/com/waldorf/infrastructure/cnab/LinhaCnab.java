@@ -0,0 +1,100 @@
+package com.waldorf.infrastructure.cnab;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Um registro de largura fixa, montado campo a campo com as posições dos manuais dos bancos
+ * (1-based, inclusivas). Texto sai em maiúsculas ASCII sem acentos, alinhado à esquerda e cortado;
+ * números alinhados à direita com zeros. Campos não preenchidos ficam em branco.
+ */
+public final class LinhaCnab {
+
+    private static final byte[] FIM_LINHA = {'\r', '\n'};
+
+    private final byte[] bytes;
+
+    public LinhaCnab(LayoutCnab layout) {
+        bytes = new byte[layout.getTamanhoLinha()];
+        Arrays.fill(bytes, (byte) ' ');
+    }
+
+    public LinhaCnab alfa(int inicio, int fim, String valor) {
+        verificar(inicio, fim);
+        String texto = valor == null ? "" : ascii(valor);
+        int tamanho = fim - inicio + 1;
+        for (int i = 0; i < tamanho; i++) {
+            bytes[inicio - 1 + i] = i < texto.length() ? (byte) texto.charAt(i) : (byte) ' ';
+        }
+        return this;
+    }
+
+    public LinhaCnab numero(int inicio, int fim, long valor) {
+        verificar(inicio, fim);
+        String digitos = Long.toString(valor);
+        int tamanho = fim - inicio + 1;
+        if (valor < 0 || digitos.length() > tamanho) {
+            throw new IllegalArgumentException("Valor " + valor + " não cabe nas posições " + inicio + "-" + fim);
+        }
+        Arrays.fill(bytes, inicio - 1, fim - digitos.length(), (byte) '0');
+        for (int i = 0; i < digitos.length(); i++) {
+            bytes[fim - digitos.length() + i] = (byte) digitos.charAt(i);
+        }
+        return this;
+    }
+
+    /** Campo numérico preenchido a partir de texto (só os dígitos). */
+    public LinhaCnab numero(int inicio, int fim, String valor) {
+        String digitos = valor == null ? "" : valor.replaceAll("\\D", "");
+        return numero(inicio, fim, digitos.isEmpty() ? 0 : Long.parseLong(digitos));
+    }
+
+    /** Valor monetário em centavos, sem separador. */
+    public LinhaCnab valor(int inicio, int fim, BigDecimal valor) {
+        long centavos = valor == null ? 0 : valor.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+        return numero(inicio, fim, centavos);
+    }
+
+    /** {@code DDMMAAAA} (8 posições) ou {@code DDMMAA} (6); data nula vira zeros. */
+    public LinhaCnab data(int inicio, int fim, LocalDate data) {
+        int tamanho = fim - inicio + 1;
+        if (data == null) {
+            return numero(inicio, fim, 0);
+        }
+        long ano = tamanho == 8 ? data.getYear() : data.getYear() % 100;
+        long valor = (data.getDayOfMonth() * 100L + data.getMonthValue()) * (tamanho == 8 ? 10_000 : 100) + ano;
+        return numero(inicio, fim, valor);
+    }
+
+    public void escrever(OutputStream out) throws IOException {
+        out.write(bytes);
+        out.write(FIM_LINHA);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private void verificar(int inicio, int fim) {
+        if (inicio < 1 || fim > bytes.length || inicio > fim) {
+            throw new IllegalArgumentException("Posições inválidas: " + inicio + "-" + fim);
+        }
+    }
+
+    private static String ascii(String texto) {
+        String semAcento = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        StringBuilder sb = new StringBuilder(semAcento.length());
+        for (char c : semAcento.toUpperCase(Locale.ROOT).toCharArray()) {
+            sb.append(c >= 0x20 && c < 0x7F ? c : ' ');
+        }
+        return sb.toString();
+    }
+}
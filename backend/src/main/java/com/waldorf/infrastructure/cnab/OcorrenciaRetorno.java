@@ -0,0 +1,19 @@
+package com.waldorf.infrastructure.cnab;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Movimento de um título no arquivo de retorno. {@code liquidacao} indica pagamento (códigos de
+ * liquidação do layout); os demais movimentos (entrada confirmada, baixa, tarifa...) só são contados.
+ */
+public record OcorrenciaRetorno(
+        long registro,
+        String nossoNumero,
+        int codigo,
+        boolean liquidacao,
+        BigDecimal valorTitulo,
+        BigDecimal valorPago,
+        LocalDate dataOcorrencia,
+        LocalDate dataCredito
+) {}
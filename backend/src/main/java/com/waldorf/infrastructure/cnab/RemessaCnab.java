@@ -0,0 +1,211 @@
+package com.waldorf.infrastructure.cnab;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve um arquivo de remessa de cobrança registro a registro, sem montar o arquivo em memória.
+ *
+ * <ul>
+ *   <li>240: layout FEBRABAN (versão 10.x) — header de arquivo e de lote, segmentos P (título),
+ *       Q (pagador) e R (multa) por boleto, trailers de lote e de arquivo; lote único;</li>
+ *   <li>400: layout Bradesco — header, um registro tipo 1 por boleto e trailer, com o dígito do
+ *       nosso número (módulo 11, base 7, sobre carteira + nosso número).</li>
+ * </ul>
+ *
+ * Outros bancos usam variações dessas posições (convênio, carteira, campos livres).
+ */
+public final class RemessaCnab {
+
+    private static final String VERSAO_ARQUIVO_240 = "103";
+    private static final String VERSAO_LOTE_240 = "060";
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final LayoutCnab layout;
+    private final Cedente cedente;
+    private final OutputStream out;
+    private long registros;
+    private long titulos;
+    private BigDecimal valorTotal = BigDecimal.ZERO;
+
+    private RemessaCnab(LayoutCnab layout, Cedente cedente, OutputStream out) {
+        this.layout = layout;
+        this.cedente = cedente;
+        this.out = out;
+    }
+
+    /** Escreve os headers; {@code sequencial} é o número do arquivo (NSA). */
+    public static RemessaCnab abrir(LayoutCnab layout, Cedente cedente, long sequencial, LocalDateTime geradoEm,
+                                    OutputStream out) throws IOException {
+        RemessaCnab remessa = new RemessaCnab(layout, cedente, out);
+        if (layout == LayoutCnab.CNAB_240) {
+            remessa.headers240(sequencial, geradoEm);
+        } else {
+            remessa.header400(sequencial, geradoEm);
+        }
+        return remessa;
+    }
+
+    public void adicionar(TituloCnab t) throws IOException {
+        titulos++;
+        valorTotal = valorTotal.add(t.valor());
+        if (layout == LayoutCnab.CNAB_240) {
+            titulo240(t);
+        } else {
+            titulo400(t);
+        }
+    }
+
+    /** Escreve os trailers. Não fecha o stream. */
+    public void fechar() throws IOException {
+        if (layout == LayoutCnab.CNAB_240) {
+            trailers240();
+        } else {
+            escrever(new LinhaCnab(layout).alfa(1, 1, "9").numero(395, 400, registros + 1));
+        }
+        out.flush();
+    }
+
+    public long getTitulos() {
+        return titulos;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    // ----- 240 -----
+
+    private void headers240(long sequencial, LocalDateTime geradoEm) throws IOException {
+        escrever(new LinhaCnab(layout)
+                .numero(1, 3, cedente.banco()).numero(4, 7, 0).alfa(8, 8, "0")
+                .numero(18, 18, tipoInscricao(cedente.documento())).numero(19, 32, cedente.documento())
+                .alfa(33, 52, cedente.convenio())
+                .numero(53, 57, cedente.agencia()).alfa(58, 58, cedente.agenciaDv())
+                .numero(59, 70, cedente.conta()).alfa(71, 71, cedente.contaDv())
+                .alfa(73, 102, cedente.nome()).alfa(103, 132, cedente.nomeBanco())
+                .alfa(143, 143, "1").data(144, 151, geradoEm.toLocalDate()).numero(152, 157, geradoEm.format(HORA))
+                .numero(158, 163, sequencial).alfa(164, 166, VERSAO_ARQUIVO_240).numero(167, 171, 0));
+        escrever(new LinhaCnab(layout)
+                .numero(1, 3, cedente.banco()).numero(4, 7, 1).alfa(8, 8, "1").alfa(9, 9, "R").alfa(10, 11, "01")
+                .alfa(14, 16, VERSAO_LOTE_240)
+                .numero(18, 18, tipoInscricao(cedente.documento())).numero(19, 33, cedente.documento())
+                .alfa(34, 53, cedente.convenio())
+                .numero(54, 58, cedente.agencia()).alfa(59, 59, cedente.agenciaDv())
+                .numero(60, 71, cedente.conta()).alfa(72, 72, cedente.contaDv())
+                .alfa(74, 103, cedente.nome())
+                .numero(184, 191, sequencial).data(192, 199, geradoEm.toLocalDate()).numero(200, 207, 0));
+    }
+
+    private void titulo240(TituloCnab t) throws IOException {
+        boolean comJuros = t.jurosDia() != null && t.jurosDia().signum() > 0;
+        boolean comMulta = t.multaPercentual() != null && t.multaPercentual().signum() > 0;
+        escrever(detalhe240('P')
+                .numero(18, 22, cedente.agencia()).alfa(23, 23, cedente.agenciaDv())
+                .numero(24, 35, cedente.conta()).alfa(36, 36, cedente.contaDv())
+                .alfa(38, 57, t.nossoNumero()).alfa(58, 58, "1").alfa(59, 59, "1").alfa(60, 60, "1")
+                .alfa(61, 61, "2").alfa(62, 62, "2")
+                .alfa(63, 77, t.numeroDocumento()).data(78, 85, t.vencimento()).valor(86, 100, t.valor())
+                .numero(101, 105, 0).alfa(106, 106, "0").alfa(107, 108, "04").alfa(109, 109, "N")
+                .data(110, 117, t.emissao())
+                .alfa(118, 118, comJuros ? "1" : "3").data(119, 126, comJuros ? t.inicioEncargos() : null)
+                .valor(127, 141, comJuros ? t.jurosDia() : null)
+                .alfa(142, 142, "0").numero(143, 150, 0).numero(151, 165, 0).numero(166, 180, 0).numero(181, 195, 0)
+                .alfa(196, 220, Long.toString(t.id()))
+                .alfa(221, 221, "3").numero(222, 223, 0).alfa(224, 224, "1").numero(225, 227, 60)
+                .alfa(228, 229, "09").numero(230, 239, 0));
+        escrever(detalhe240('Q')
+                .numero(18, 18, tipoInscricao(t.pagadorDocumento())).numero(19, 33, t.pagadorDocumento())
+                .alfa(34, 73, t.pagadorNome())
+                .numero(154, 154, 0).numero(155, 169, 0).numero(210, 212, 0));
+        escrever(detalhe240('R')
+                .alfa(18, 18, "0").numero(19, 26, 0).numero(27, 41, 0)
+                .alfa(42, 42, "0").numero(43, 50, 0).numero(51, 65, 0)
+                .alfa(66, 66, comMulta ? "2" : "0").data(67, 74, comMulta ? t.inicioEncargos() : null)
+                .valor(75, 89, comMulta ? t.multaPercentual() : null));
+    }
+
+    /** Registro de detalhe do lote 1; o sequencial (9-13) conta só os detalhes. */
+    private LinhaCnab detalhe240(char segmento) {
+        return new LinhaCnab(layout)
+                .numero(1, 3, cedente.banco()).numero(4, 7, 1).alfa(8, 8, "3")
+                .numero(9, 13, registros - 1).alfa(14, 14, String.valueOf(segmento)).alfa(16, 17, "01");
+    }
+
+    private void trailers240() throws IOException {
+        // header de lote + detalhes + este trailer
+        long noLote = registros;
+        escrever(new LinhaCnab(layout)
+                .numero(1, 3, cedente.banco()).numero(4, 7, 1).alfa(8, 8, "5")
+                .numero(18, 23, noLote).numero(24, 29, titulos).valor(30, 46, valorTotal));
+        escrever(new LinhaCnab(layout)
+                .numero(1, 3, cedente.banco()).numero(4, 7, 9999).alfa(8, 8, "9")
+                .numero(18, 23, 1).numero(24, 29, registros + 1).numero(30, 35, 0));
+    }
+
+    // ----- 400 -----
+
+    private void header400(long sequencial, LocalDateTime geradoEm) throws IOException {
+        escrever(new LinhaCnab(layout)
+                .alfa(1, 1, "0").alfa(2, 2, "1").alfa(3, 9, "REMESSA").alfa(10, 11, "01").alfa(12, 26, "COBRANCA")
+                .numero(27, 46, cedente.convenio()).alfa(47, 76, cedente.nome())
+                .numero(77, 79, cedente.banco()).alfa(80, 94, cedente.nomeBanco())
+                .data(95, 100, geradoEm.toLocalDate()).alfa(109, 110, "MX").numero(111, 117, sequencial)
+                .numero(395, 400, registros + 1));
+    }
+
+    private void titulo400(TituloCnab t) throws IOException {
+        boolean comMulta = t.multaPercentual() != null && t.multaPercentual().signum() > 0;
+        escrever(new LinhaCnab(layout)
+                .alfa(1, 1, "1").numero(2, 20, 0)
+                .alfa(21, 21, "0").numero(22, 24, cedente.carteira()).numero(25, 29, cedente.agencia())
+                .numero(30, 36, cedente.conta()).alfa(37, 37, cedente.contaDv())
+                .alfa(38, 62, Long.toString(t.id())).numero(63, 65, 0)
+                .alfa(66, 66, comMulta ? "2" : "0").valor(67, 70, comMulta ? t.multaPercentual() : null)
+                .numero(71, 81, t.nossoNumero()).alfa(82, 82, digitoBradesco(cedente.carteira(), t.nossoNumero()))
+                .numero(83, 92, 0).alfa(93, 93, "2").alfa(94, 94, "N")
+                .alfa(109, 110, "01").alfa(111, 120, t.numeroDocumento())
+                .data(121, 126, t.vencimento()).valor(127, 139, t.valor())
+                .numero(140, 142, 0).numero(143, 147, 0).alfa(148, 149, "01").alfa(150, 150, "N")
+                .data(151, 156, t.emissao()).numero(157, 158, 0).numero(159, 160, 0)
+                .valor(161, 173, t.jurosDia()).numero(174, 179, 0).numero(180, 192, 0).numero(193, 205, 0)
+                .numero(206, 218, 0)
+                .numero(219, 220, tipoInscricao(t.pagadorDocumento())).numero(221, 234, t.pagadorDocumento())
+                .alfa(235, 274, t.pagadorNome())
+                .numero(395, 400, registros + 1));
+    }
+
+    /** Dígito do nosso número Bradesco: módulo 11 com pesos 2..7 da direita; resto 1 → "P". */
+    static String digitoBradesco(String carteira, String nossoNumero) {
+        String base = String.format("%02d", Long.parseLong(digitos(carteira)))
+                + String.format("%011d", Long.parseLong(digitos(nossoNumero)));
+        int soma = 0;
+        int peso = 2;
+        for (int i = base.length() - 1; i >= 0; i--) {
+            soma += (base.charAt(i) - '0') * peso;
+            peso = peso == 7 ? 2 : peso + 1;
+        }
+        int resto = soma % 11;
+        return resto == 0 ? "0" : resto == 1 ? "P" : Integer.toString(11 - resto);
+    }
+
+    // -----
+
+    /** 1 = CPF (também sem documento), 2 = CNPJ. */
+    private static int tipoInscricao(String documento) {
+        return documento != null && digitos(documento).length() == 14 ? 2 : 1;
+    }
+
+    private static String digitos(String valor) {
+        String d = valor == null ? "" : valor.replaceAll("\\D", "");
+        return d.isEmpty() ? "0" : d;
+    }
+
+    private void escrever(LinhaCnab linha) throws IOException {
+        linha.escrever(out);
+        registros++;
+    }
+}
@@ -0,0 +1,67 @@
+package com.waldorf.infrastructure.cnab;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Extrai as ocorrências de títulos de um retorno lido pelo {@link LeitorCnab}.
+ *
+ * <ul>
+ *   <li>240 (FEBRABAN): par de segmentos T (nosso número 38-57, movimento 16-17, valor do título
+ *       82-96) e U (valor pago 78-92, ocorrência 138-145, crédito 146-153);</li>
+ *   <li>400 (Bradesco): registro tipo 1 (nosso número 71-81, ocorrência 109-110 e 111-116, valor do
+ *       título 153-165, valor pago 254-266, crédito 296-301).</li>
+ * </ul>
+ */
+public final class RetornoCnab {
+
+    private static final Set<Integer> LIQUIDACAO_240 = Set.of(6, 17);
+    private static final Set<Integer> LIQUIDACAO_400 = Set.of(6, 15, 17);
+
+    private RetornoCnab() {}
+
+    /** Percorre o arquivo inteiro; devolve quantos registros (linhas não vazias) foram lidos. */
+    public static long ler(LeitorCnab leitor, Consumer<OcorrenciaRetorno> destino) {
+        return leitor.getLayout() == LayoutCnab.CNAB_240 ? ler240(leitor, destino) : ler400(leitor, destino);
+    }
+
+    private static long ler240(LeitorCnab l, Consumer<OcorrenciaRetorno> destino) {
+        long registroT = 0;
+        String nossoNumero = null;
+        int codigo = 0;
+        BigDecimal valorTitulo = null;
+        while (l.proximo()) {
+            if (l.caractere(8) != '3') {
+                continue;
+            }
+            char segmento = l.caractere(14);
+            if (segmento == 'T') {
+                registroT = l.getRegistro();
+                nossoNumero = l.texto(38, 57);
+                codigo = (int) l.numero(16, 17);
+                valorTitulo = l.valor(82, 96);
+            } else if (segmento == 'U' && nossoNumero != null) {
+                destino.accept(new OcorrenciaRetorno(registroT, nossoNumero, codigo, LIQUIDACAO_240.contains(codigo),
+                        valorTitulo, l.valor(78, 92), l.data(138, 145), l.data(146, 153)));
+                nossoNumero = null;
+            }
+        }
+        return l.getRegistro();
+    }
+
+    private static long ler400(LeitorCnab l, Consumer<OcorrenciaRetorno> destino) {
+        while (l.proximo()) {
+            if (l.caractere(1) != '1') {
+                continue;
+            }
+            int codigo = (int) l.numero(109, 110);
+            LocalDate ocorrencia = l.data(111, 116);
+            destino.accept(new OcorrenciaRetorno(l.getRegistro(), l.texto(71, 81), codigo,
+                    LIQUIDACAO_400.contains(codigo), l.valor(153, 165), l.valor(254, 266), ocorrencia,
+                    l.data(296, 301)));
+        }
+        return l.getRegistro();
+    }
+}
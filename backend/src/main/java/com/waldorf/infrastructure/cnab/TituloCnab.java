@@ -0,0 +1,22 @@
+package com.waldorf.infrastructure.cnab;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Um boleto da remessa. {@code jurosDia} e {@code multaPercentual} zerados saem como "isento";
+ * ambos valem a partir de {@code inicioEncargos}. Sem documento do pagador, o campo vai zerado.
+ */
+public record TituloCnab(
+        long id,
+        String nossoNumero,
+        String numeroDocumento,
+        LocalDate emissao,
+        LocalDate vencimento,
+        BigDecimal valor,
+        String pagadorNome,
+        String pagadorDocumento,
+        BigDecimal jurosDia,
+        BigDecimal multaPercentual,
+        LocalDate inicioEncargos
+) {}
@@ -0,0 +1,169 @@
+package com.waldorf.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita quantas threads usam conexões JDBC ao mesmo tempo (semáforo justo com o tamanho do
+ * pool Hikari). Pensado para o modo de threads virtuais ({@code spring.threads.virtual.enabled}):
+ * milhares de threads virtuais deixam de disputar as 10 conexões diretamente, esperam em fila
+ * FIFO barata e desistem após {@code acquire-timeout-ms} em vez dos 30 s do Hikari. Também
+ * limita quantas threads podem ficar presas (pinned) a carriers dentro de blocos
+ * {@code synchronized} do driver.
+ *
+ * <p>Ativo por padrão apenas com threads virtuais ({@code app.jdbc.guard.enabled}). Métricas:
+ * {@code jdbc.guard.waiting}, {@code jdbc.guard.available} e {@code jdbc.guard.timeouts}.
+ */
+@Slf4j
+@Component
+public class JdbcConcurrencyGuard implements BeanPostProcessor, SmartInitializingSingleton {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean enabled;
+    private final int permits;
+    private final long acquireTimeoutMillis;
+
+    private Semaphore semaphore;
+    private Counter timeouts;
+
+    public JdbcConcurrencyGuard(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.jdbc.guard.enabled:false}") boolean enabled,
+            @Value("${app.jdbc.guard.permits:10}") int permits,
+            @Value("${app.jdbc.guard.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.permits = permits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof GuardedDataSource) {
+            return bean;
+        }
+        if (semaphore != null) {
+            log.warn("Mais de um DataSource encontrado; guarda JDBC aplicada apenas ao primeiro");
+            return bean;
+        }
+        semaphore = new Semaphore(permits, true);
+        log.info("Guarda de concorrência JDBC ativa: {} permissões, espera máxima {} ms", permits, acquireTimeoutMillis);
+        return new GuardedDataSource(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (semaphore == null || registry == null) {
+            return;
+        }
+        Gauge.builder("jdbc.guard.waiting", semaphore, Semaphore::getQueueLength)
+                .description("Threads aguardando permissão para obter conexão JDBC")
+                .register(registry);
+        Gauge.builder("jdbc.guard.available", semaphore, Semaphore::availablePermits)
+                .description("Permissões livres da guarda JDBC")
+                .register(registry);
+        timeouts = Counter.builder("jdbc.guard.timeouts")
+                .description("Requisições de conexão recusadas por tempo de espera excedido")
+                .register(registry);
+    }
+
+    private final class GuardedDataSource extends DelegatingDataSource {
+
+        GuardedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            return guarded(() -> super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            return guarded(() -> super.getConnection(username, password));
+        }
+
+        private void acquire() throws SQLException {
+            boolean acquired;
+            try {
+                acquired = semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrompido aguardando conexão JDBC", e);
+            }
+            if (!acquired) {
+                if (timeouts != null) {
+                    timeouts.increment();
+                }
+                throw new SQLTransientConnectionException(
+                        "Conexão JDBC indisponível após " + acquireTimeoutMillis + " ms (guarda de concorrência)");
+            }
+        }
+
+        /** Conexão cujo {@code close()} devolve a permissão (uma única vez). */
+        private Connection guarded(ConnectionSupplier supplier) throws SQLException {
+            Connection connection;
+            try {
+                connection = supplier.get();
+            } catch (SQLException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                            try {
+                                connection.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    semaphore.release();
+                                }
+                            }
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
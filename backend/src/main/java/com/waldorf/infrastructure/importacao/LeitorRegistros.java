@@ -0,0 +1,279 @@
+package com.waldorf.infrastructure.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Lê CSV ou NDJSON em streaming, um {@link Registro} por vez — o arquivo nunca é carregado
+ * inteiro, só a linha corrente.
+ *
+ * <p>CSV: a primeira linha é o cabeçalho; o separador ({@code ;} ou {@code ,}) é detectado nela.
+ * Aspas seguem a RFC 4180 (campo entre aspas pode conter separador, quebra de linha e {@code ""}).
+ * NDJSON: um objeto JSON por linha; uma linha inválida vira um registro com {@code erroLeitura}
+ * em vez de interromper a leitura. Linhas em branco são ignoradas nos dois formatos.
+ *
+ * <p>Um registro (ou linha NDJSON) com mais de {@value #MAX_REGISTRO} caracteres — tipicamente
+ * aspas não fechadas, que fariam o resto do arquivo virar um só campo — é descartado até o fim da
+ * linha física e vira um registro com {@code erroLeitura}; a leitura continua na linha seguinte.
+ * Cabeçalho acima do limite interrompe a leitura.
+ */
+public final class LeitorRegistros implements Iterator<Registro>, Closeable {
+
+    public enum Formato {
+        CSV, NDJSON;
+
+        /** Pelo Content-Type: JSON ({@code application/x-ndjson}, {@code application/json}) ou CSV. */
+        public static Formato de(String contentType) {
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json") ? NDJSON : CSV;
+        }
+    }
+
+    /** Tamanho máximo, em caracteres, de um registro CSV (com suas quebras de linha) ou linha NDJSON. */
+    static final int MAX_REGISTRO = 64 * 1024;
+    private static final String ERRO_TAMANHO = "Registro excede " + MAX_REGISTRO + " caracteres (aspas não fechadas?)";
+    /** Devolvido por {@link #lerCampos} para um registro descartado por exceder {@link #MAX_REGISTRO}. */
+    private static final List<String> EXCEDIDO = List.of();
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> OBJETO = new TypeReference<>() {};
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NAO_ALFANUMERICO = Pattern.compile("[^a-z0-9]+");
+
+    private final BufferedReader reader;
+    private final Formato formato;
+    private String[] cabecalho = new String[0];
+    private char separador = ',';
+    private long linhaAtual;
+    private boolean linhaLonga;
+    private Registro proximo;
+
+    private LeitorRegistros(BufferedReader reader, Formato formato) {
+        this.reader = reader;
+        this.formato = formato;
+    }
+
+    public static LeitorRegistros abrir(InputStream in, Formato formato) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        LeitorRegistros leitor = new LeitorRegistros(reader, formato);
+        try {
+            leitor.pularBom();
+            if (formato == Formato.CSV) {
+                leitor.lerCabecalho();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return leitor;
+    }
+
+    /** Nome de coluna/valor sem acentos, minúsculo e com {@code _} no lugar de espaços e símbolos. */
+    public static String normalizar(String texto) {
+        String dobrado = MARCAS.matcher(Normalizer.normalize(texto.strip(), Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        String nome = NAO_ALFANUMERICO.matcher(dobrado).replaceAll("_");
+        int inicio = nome.startsWith("_") ? 1 : 0;
+        int fim = nome.endsWith("_") && nome.length() > inicio ? nome.length() - 1 : nome.length();
+        return nome.substring(inicio, Math.max(inicio, fim));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (proximo == null) {
+            try {
+                proximo = formato == Formato.CSV ? lerCsv() : lerNdjson();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return proximo != null;
+    }
+
+    @Override
+    public Registro next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Registro r = proximo;
+        proximo = null;
+        return r;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // --- CSV ---
+
+    private void lerCabecalho() throws IOException {
+        String linha;
+        do {
+            linha = lerLinha();
+            linhaAtual++;
+        } while (linha != null && linha.isBlank() && !linhaLonga);
+        if (linha == null) {
+            return;
+        }
+        if (linhaLonga) {
+            throw new IllegalArgumentException("Cabeçalho excede " + MAX_REGISTRO + " caracteres");
+        }
+        separador = contar(linha, ';') > contar(linha, ',') ? ';' : ',';
+        long lidas = linhaAtual;
+        List<String> nomes = lerCampos(new BufferedReader(new StringReader(linha)));
+        linhaAtual = lidas;
+        cabecalho = nomes.stream().map(LeitorRegistros::normalizar).toArray(String[]::new);
+    }
+
+    private Registro lerCsv() throws IOException {
+        while (true) {
+            long inicio = linhaAtual + 1;
+            List<String> valores = lerCampos(reader);
+            if (valores == null) {
+                return null;
+            }
+            if (valores == EXCEDIDO) {
+                return new Registro(inicio, Map.of(), ERRO_TAMANHO);
+            }
+            if (valores.size() == 1 && valores.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> campos = new HashMap<>(cabecalho.length * 2);
+            for (int i = 0; i < cabecalho.length && i < valores.size(); i++) {
+                campos.put(cabecalho[i], valores.get(i));
+            }
+            return new Registro(inicio, campos, null);
+        }
+    }
+
+    /**
+     * Campos do próximo registro (que pode ocupar várias linhas físicas), {@code null} no fim ou
+     * {@link #EXCEDIDO} se passar de {@link #MAX_REGISTRO} caracteres.
+     */
+    private List<String> lerCampos(BufferedReader in) throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        boolean leuAlgo = false;
+        int tamanho = 0;
+        int c;
+        while ((c = in.read()) != -1) {
+            leuAlgo = true;
+            if (++tamanho > MAX_REGISTRO) {
+                if (c != '\n') {
+                    descartarLinha(in);
+                }
+                linhaAtual++;
+                return EXCEDIDO;
+            }
+            if (entreAspas) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        atual.append('"');
+                    } else {
+                        entreAspas = false;
+                        in.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        linhaAtual++;
+                    }
+                    atual.append((char) c);
+                }
+            } else if (c == '"' && atual.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else if (c == '\n') {
+                linhaAtual++;
+                campos.add(atual.toString());
+                return campos;
+            } else if (c != '\r') {
+                atual.append((char) c);
+            }
+        }
+        if (!leuAlgo) {
+            return null;
+        }
+        linhaAtual++;
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    /** Consome o restante da linha física corrente, inclusive o {@code \n}. */
+    private static void descartarLinha(BufferedReader in) throws IOException {
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            // descartado
+        }
+    }
+
+    /**
+     * Próxima linha física (sem o fim de linha), ou {@code null} no fim; acima de
+     * {@link #MAX_REGISTRO} caracteres, o excedente é descartado e {@link #linhaLonga} fica ligado.
+     */
+    private String lerLinha() throws IOException {
+        linhaLonga = false;
+        StringBuilder linha = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (linha.length() == MAX_REGISTRO) {
+                linhaLonga = true;
+                descartarLinha(reader);
+                break;
+            }
+            linha.append((char) c);
+        }
+        if (c == -1 && linha.isEmpty() && !linhaLonga) {
+            return null;
+        }
+        int fim = linha.length();
+        if (fim > 0 && linha.charAt(fim - 1) == '\r') {
+            linha.setLength(fim - 1);
+        }
+        return linha.toString();
+    }
+
+    // --- NDJSON ---
+
+    private Registro lerNdjson() throws IOException {
+        String linha;
+        while ((linha = lerLinha()) != null) {
+            linhaAtual++;
+            if (linhaLonga) {
+                return new Registro(linhaAtual, Map.of(), "Linha excede " + MAX_REGISTRO + " caracteres");
+            }
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                Map<String, Object> objeto = JSON.readValue(linha, OBJETO);
+                Map<String, String> campos = new HashMap<>(objeto.size() * 2);
+                objeto.forEach((k, v) -> campos.put(normalizar(k), v == null ? null : String.valueOf(v)));
+                return new Registro(linhaAtual, campos, null);
+            } catch (JsonProcessingException e) {
+                return new Registro(linhaAtual, Map.of(), "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private void pularBom() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private static int contar(String texto, char c) {
+        return (int) texto.chars().filter(x -> x == c).count();
+    }
+}
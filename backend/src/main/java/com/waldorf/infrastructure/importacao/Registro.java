@@ -0,0 +1,123 @@
+package com.waldorf.infrastructure.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Um registro lido por {@link LeitorRegistros}: número da linha no arquivo e campos por nome de
+ * coluna normalizado ({@code "Data Nascimento"} → {@code data_nascimento}). Os conversores lançam
+ * {@link IllegalArgumentException} com a mensagem que vai para o relatório de erros da linha.
+ *
+ * <p>{@code erroLeitura} é preenchido quando a própria linha não pôde ser lida (JSON inválido).
+ */
+public record Registro(long linha, Map<String, String> campos, String erroLeitura) {
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    /** Valor sem espaços nas pontas, ou {@code null} se ausente/vazio. */
+    public String texto(String campo) {
+        String valor = campos.get(campo);
+        if (valor == null) {
+            return null;
+        }
+        valor = valor.strip();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    public String obrigatorio(String campo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            throw new IllegalArgumentException("Campo obrigatório: " + campo);
+        }
+        return valor;
+    }
+
+    /** Data ISO ({@code 2015-03-21}) ou brasileira ({@code 21/03/2015}). */
+    public LocalDate data(String campo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.indexOf('/') > 0 ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    public Integer inteiro(String campo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    public Long longo(String campo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    /** Decimal com ponto ({@code 1234.50}) ou no formato brasileiro ({@code R$ 1.234,50}). */
+    public BigDecimal decimal(String campo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        String numero = valor.replace("R$", "").replace(" ", "");
+        if (numero.indexOf(',') >= 0) {
+            numero = numero.replace(".", "").replace(',', '.');
+        }
+        try {
+            return new BigDecimal(numero);
+        } catch (NumberFormatException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    /** {@code true/false}, {@code sim/não}, {@code s/n} ou {@code 1/0}. */
+    public Boolean booleano(String campo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        return switch (LeitorRegistros.normalizar(valor)) {
+            case "true", "sim", "s", "1" -> true;
+            case "false", "nao", "n", "0" -> false;
+            default -> throw invalido(campo, valor);
+        };
+    }
+
+    public <E extends Enum<E>> E enumeracao(String campo, Class<E> tipo) {
+        String valor = texto(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(tipo, LeitorRegistros.normalizar(valor).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw invalido(campo, valor);
+        }
+    }
+
+    private static IllegalArgumentException invalido(String campo, String valor) {
+        return new IllegalArgumentException("Valor inválido para " + campo + ": " + valor);
+    }
+}
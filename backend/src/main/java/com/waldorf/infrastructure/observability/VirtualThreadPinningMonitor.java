@@ -0,0 +1,112 @@
+package com.waldorf.infrastructure.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diagnóstico de pinning de threads virtuais (ativo só com {@code spring.threads.virtual.enabled}).
+ *
+ * <p>Assina o evento JFR {@code jdk.VirtualThreadPinned} — thread virtual bloqueada presa ao
+ * carrier, tipicamente dentro de um {@code synchronized} de driver — acima de
+ * {@code app.virtual-threads.pinning-threshold-ms}. Cada ocorrência alimenta o timer
+ * {@code jvm.threads.virtual.pinned}; as mais recentes, com o topo da pilha, ficam disponíveis
+ * em {@code GET /actuator/pinning}.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_RECENT = 50;
+    private static final int MAX_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMillis;
+
+    private final Deque<Map<String, Object>> recent = new ArrayDeque<>();
+    private RecordingStream stream;
+    private Timer pinned;
+
+    @PostConstruct
+    void start() {
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Threads virtuais presas ao carrier enquanto bloqueadas")
+                .register(meterRegistry);
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+            stream.onEvent(EVENT, this::registrar);
+            stream.startAsync();
+            log.info("Monitor de pinning de threads virtuais ativo (limiar {} ms)", thresholdMillis);
+        } catch (Exception e) {
+            log.warn("JFR indisponível; pinning de threads virtuais não será monitorado: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> pinning() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("limiarMs", thresholdMillis);
+        body.put("total", pinned.count());
+        body.put("tempoTotalMs", pinned.totalTime(TimeUnit.MILLISECONDS));
+        synchronized (recent) {
+            body.put("recentes", List.copyOf(recent));
+        }
+        return body;
+    }
+
+    private void registrar(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("inicio", event.getStartTime().toString());
+        item.put("duracaoMs", event.getDuration().toMillis());
+        item.put("thread", event.getThread() != null ? event.getThread().getJavaName() : null);
+        item.put("pilha", event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(VirtualThreadPinningMonitor::frame)
+                .toList());
+        synchronized (recent) {
+            if (recent.size() == MAX_RECENT) {
+                recent.removeLast();
+            }
+            recent.addFirst(item);
+        }
+    }
+
+    private static String frame(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+}
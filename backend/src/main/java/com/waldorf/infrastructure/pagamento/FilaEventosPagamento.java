@@ -0,0 +1,288 @@
+package com.waldorf.infrastructure.pagamento;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waldorf.application.dto.financeiro.EventoPagamentoDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fila entre o webhook do gateway e a baixa das mensalidades: o webhook só enfileira e responde,
+ * e um único consumidor recebe os eventos em lotes de até {@code lote} (lotes maiores quando há
+ * acúmulo, como no pico de fim de mês).
+ *
+ * <p>Com um {@link RabbitTemplate} configurado, usa a fila durável {@code app.pagamentos.webhook.fila}
+ * (mensagens persistentes; um lote que falha volta para a fila). Sem broker (ex.: desenvolvimento,
+ * testes) degrada para uma fila em memória limitada a {@code capacidade} eventos, cujo lote é
+ * reprocessado até dar certo — nesse modo os eventos ainda não processados se perdem se a instância
+ * cair, e o gateway depende do próprio reenvio. Fila cheia: {@link #publicar} devolve {@code false}
+ * e o webhook responde 503, para o gateway tentar de novo.
+ *
+ * <p>Um lote que falha é reentregue evento a evento: os que passam são confirmados, e os que falham
+ * por dado inválido (restrição do banco, argumento ilegal) vão para a fila de mortos
+ * {@code <fila>.mortos} — ou, sem broker, para o log com o JSON do evento — em vez de travar os
+ * pagamentos seguintes. Falhas de outro tipo (banco fora do ar) são repetidas com espera crescente.
+ *
+ * <p>Métricas: {@code pagamentos.webhook.fila} (profundidade da fila local),
+ * {@code pagamentos.webhook.recusados} e {@code pagamentos.webhook.mortos}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FilaEventosPagamento {
+
+    private static final long ESPERA_MAXIMA_MS = 30_000;
+
+    private final ObjectProvider<RabbitTemplate> rabbitProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.pagamentos.webhook.fila:pagamentos.webhook}")
+    private String nomeFila;
+
+    @Value("${app.pagamentos.webhook.capacidade:50000}")
+    private int capacidade;
+
+    @Value("${app.pagamentos.webhook.lote:200}")
+    private int lote;
+
+    @Value("${app.pagamentos.webhook.espera-ms:200}")
+    private long esperaMs;
+
+    private BlockingQueue<EventoPagamentoDTO> local;
+    private RabbitTemplate rabbit;
+    private SimpleMessageListenerContainer container;
+    private Thread consumidorLocal;
+    private volatile boolean ativo = true;
+    private Counter recusados;
+    private Counter mortos;
+
+    @PostConstruct
+    void init() {
+        local = new ArrayBlockingQueue<>(capacidade);
+        recusados = Counter.builder("pagamentos.webhook.recusados")
+                .description("Eventos recusados com a fila cheia (503)").register(meterRegistry);
+        mortos = Counter.builder("pagamentos.webhook.mortos")
+                .description("Eventos descartados por falha não transitória").register(meterRegistry);
+        Gauge.builder("pagamentos.webhook.fila", local, BlockingQueue::size)
+                .description("Eventos de pagamento aguardando na fila local").register(meterRegistry);
+        RabbitTemplate template = rabbitProvider.getIfAvailable();
+        if (template == null) {
+            log.info("RabbitMQ indisponível — eventos de pagamento em fila local (capacidade {})", capacidade);
+            return;
+        }
+        try {
+            RabbitAdmin admin = new RabbitAdmin(template.getConnectionFactory());
+            admin.declareQueue(new Queue(nomeFila, true));
+            admin.declareQueue(new Queue(filaMortos(), true));
+            rabbit = template;
+        } catch (Exception e) {
+            log.warn("Falha ao declarar a fila {}; usando fila local: {}", nomeFila, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        ativo = false;
+        if (container != null) {
+            container.stop();
+        }
+        if (consumidorLocal != null) {
+            consumidorLocal.join(ESPERA_MAXIMA_MS);
+            if (!local.isEmpty()) {
+                log.error("{} eventos de pagamento não processados no desligamento", local.size());
+            }
+        }
+    }
+
+    /** Registra o consumidor dos lotes e começa a entregar (ver a reentrega na descrição da classe). */
+    public synchronized void consumir(Consumer<List<EventoPagamentoDTO>> consumidor) {
+        if (rabbit != null) {
+            SimpleMessageListenerContainer c = new SimpleMessageListenerContainer(rabbit.getConnectionFactory());
+            c.setQueueNames(nomeFila);
+            c.setConsumerBatchEnabled(true);
+            c.setBatchSize(lote);
+            c.setPrefetchCount(lote);
+            c.setReceiveTimeout(esperaMs);
+            c.setMessageListener((BatchMessageListener) mensagens -> {
+                // Não entregue só no desligamento: a exceção devolve as mensagens à fila
+                if (!entregar(consumidor, mensagens.stream().map(this::ler).filter(Objects::nonNull).toList())) {
+                    throw new IllegalStateException("Lote de pagamentos devolvido à fila no desligamento");
+                }
+            });
+            c.afterPropertiesSet();
+            c.start();
+            container = c;
+        }
+        // A fila local também atende eventos aceitos enquanto o broker estiver fora
+        consumidorLocal = Thread.ofPlatform().name("pagamentos-webhook").daemon(true)
+                .start(() -> drenar(consumidor));
+    }
+
+    /** Enfileira o evento; {@code false} se não houver espaço. */
+    public boolean publicar(EventoPagamentoDTO evento) {
+        if (rabbit != null) {
+            try {
+                rabbit.convertAndSend(nomeFila, escrever(evento));
+                return true;
+            } catch (Exception e) {
+                log.warn("Falha ao publicar evento {} no RabbitMQ; usando fila local: {}",
+                        evento.transacaoId(), e.getMessage());
+            }
+        }
+        if (local.offer(evento)) {
+            return true;
+        }
+        recusados.increment();
+        return false;
+    }
+
+    private void drenar(Consumer<List<EventoPagamentoDTO>> consumidor) {
+        while (ativo || !local.isEmpty()) {
+            EventoPagamentoDTO primeiro;
+            try {
+                primeiro = local.poll(esperaMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (primeiro == null) {
+                continue;
+            }
+            List<EventoPagamentoDTO> eventos = new ArrayList<>(lote);
+            eventos.add(primeiro);
+            local.drainTo(eventos, lote - 1);
+            entregar(consumidor, eventos);
+        }
+    }
+
+    /**
+     * Entrega o lote; se falhar, isola os eventos (ver a descrição da classe) e repete os que falharam
+     * por motivo transitório com espera crescente (até 30 s). {@code false} se o desligamento
+     * interromper a entrega.
+     */
+    private boolean entregar(Consumer<List<EventoPagamentoDTO>> consumidor, List<EventoPagamentoDTO> eventos) {
+        List<EventoPagamentoDTO> pendentes = eventos;
+        long espera = 100;
+        while (!pendentes.isEmpty()) {
+            try {
+                consumidor.accept(pendentes);
+                return true;
+            } catch (Exception e) {
+                pendentes = pendentes.size() == 1 ? separar(pendentes.get(0), e) : isolar(consumidor, pendentes);
+                if (pendentes.isEmpty()) {
+                    return true;
+                }
+                if (!ativo) {
+                    log.error("Lote de {} eventos de pagamento não processado no desligamento: {}",
+                            pendentes.size(), e.getMessage(), e);
+                    return false;
+                }
+                log.warn("Falha ao processar lote de {} eventos de pagamento; nova tentativa em {} ms: {}",
+                        pendentes.size(), espera, e.getMessage(), e);
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+        return true;
+    }
+
+    /** Entrega um evento por vez; devolve os que falharam por motivo transitório. */
+    private List<EventoPagamentoDTO> isolar(Consumer<List<EventoPagamentoDTO>> consumidor,
+                                            List<EventoPagamentoDTO> eventos) {
+        List<EventoPagamentoDTO> pendentes = new ArrayList<>();
+        for (EventoPagamentoDTO evento : eventos) {
+            try {
+                consumidor.accept(List.of(evento));
+            } catch (Exception e) {
+                pendentes.addAll(separar(evento, e));
+            }
+        }
+        return pendentes;
+    }
+
+    /** Evento com dado inválido vai para os mortos (lista vazia); os demais continuam pendentes. */
+    private List<EventoPagamentoDTO> separar(EventoPagamentoDTO evento, Exception e) {
+        if (!invalido(e)) {
+            return List.of(evento);
+        }
+        mortos.increment();
+        String json = escrever(evento);
+        log.error("Evento de pagamento {} descartado: {} — {}", evento.transacaoId(), e.getMessage(), json, e);
+        if (rabbit != null) {
+            try {
+                rabbit.convertAndSend(filaMortos(), json);
+            } catch (Exception falha) {
+                log.warn("Falha ao publicar evento {} na fila {}: {}", evento.transacaoId(), filaMortos(),
+                        falha.getMessage());
+            }
+        }
+        return List.of();
+    }
+
+    /** Falha do próprio evento, que se repetiria a cada tentativa (corrida entre réplicas não conta). */
+    private static boolean invalido(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DuplicateKeyException) {
+                return false;
+            }
+            if (t instanceof DataIntegrityViolationException || t instanceof IllegalArgumentException
+                    || t instanceof ArithmeticException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String filaMortos() {
+        return nomeFila + ".mortos";
+    }
+
+    private String escrever(EventoPagamentoDTO evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Mensagem ilegível é descartada (com log) para não travar a fila reentregando-a. */
+    private EventoPagamentoDTO ler(Message mensagem) {
+        try {
+            return objectMapper.readValue(mensagem.getBody(), EventoPagamentoDTO.class);
+        } catch (IOException e) {
+            log.error("Evento de pagamento ilegível descartado: {}", e.getMessage());
+            return null;
+        }
+    }
+}
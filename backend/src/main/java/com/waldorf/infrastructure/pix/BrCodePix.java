@@ -0,0 +1,82 @@
+package com.waldorf.infrastructure.pix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Payload "copia e cola" do PIX estático (BR Code, padrão EMV MPM do Manual do BR Code do Banco
+ * Central): campos ID + tamanho (2 dígitos) + valor, encerrados pelo CRC16-CCITT (polinômio 0x1021,
+ * inicial 0xFFFF) calculado sobre todo o texto anterior, incluindo {@code "6304"}.
+ */
+public final class BrCodePix {
+
+    private static final int NOME_MAX = 25;
+    private static final int CIDADE_MAX = 15;
+    private static final int TXID_MAX = 25;
+
+    private BrCodePix() {}
+
+    /** Dados fixos do recebedor ({@code app.pix}). */
+    public record Recebedor(String chave, String nome, String cidade) {}
+
+    /**
+     * Payload de cobrança de uso único ({@code 01 = 12}) de {@code valor}; {@code txid} (até 25
+     * caracteres alfanuméricos) volta na confirmação do pagamento.
+     */
+    public static String gerar(Recebedor recebedor, BigDecimal valor, String txid) {
+        if (recebedor.chave() == null || recebedor.chave().isBlank()) {
+            throw new IllegalStateException("Chave PIX do recebedor não configurada");
+        }
+        String conta = campo("00", "br.gov.bcb.pix") + campo("01", recebedor.chave().strip());
+        String payload = campo("00", "01")
+                + campo("01", "12")
+                + campo("26", conta)
+                + campo("52", "0000")
+                + campo("53", "986")
+                + (valor != null ? campo("54", valor.setScale(2, RoundingMode.HALF_UP).toPlainString()) : "")
+                + campo("58", "BR")
+                + campo("59", texto(recebedor.nome(), NOME_MAX))
+                + campo("60", texto(recebedor.cidade(), CIDADE_MAX))
+                + campo("62", campo("05", txid(txid)))
+                + "6304";
+        return payload + crc16(payload);
+    }
+
+    /** CRC16-CCITT-FALSE em 4 dígitos hexadecimais maiúsculos. */
+    static String crc16(String texto) {
+        int crc = 0xFFFF;
+        for (byte b : texto.getBytes(StandardCharsets.UTF_8)) {
+            crc ^= (b & 0xFF) << 8;
+            for (int i = 0; i < 8; i++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+        }
+        return String.format("%04X", crc & 0xFFFF);
+    }
+
+    private static String campo(String id, String valor) {
+        int tamanho = valor.getBytes(StandardCharsets.UTF_8).length;
+        if (tamanho > 99) {
+            throw new IllegalArgumentException("Campo " + id + " do BR Code excede 99 bytes");
+        }
+        return id + String.format("%02d", tamanho) + valor;
+    }
+
+    /** Sem acentos, maiúsculas e cortado — nem todo app de banco lê UTF-8 nesses campos. */
+    private static String texto(String valor, int max) {
+        String ascii = Normalizer.normalize(valor == null ? "" : valor, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "").replaceAll("[^\\x20-\\x7E]", "").strip().toUpperCase(Locale.ROOT);
+        return ascii.length() > max ? ascii.substring(0, max).strip() : ascii;
+    }
+
+    private static String txid(String txid) {
+        String limpo = txid == null ? "" : txid.replaceAll("[^A-Za-z0-9]", "");
+        if (limpo.isEmpty()) {
+            return "***";
+        }
+        return limpo.length() > TXID_MAX ? limpo.substring(0, TXID_MAX) : limpo;
+    }
+}
@@ -0,0 +1,28 @@
+package com.waldorf.infrastructure.pix;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+public enum FormatoQr {
+    PNG("image/png"), SVG("image/svg+xml");
+
+    private final String contentType;
+
+    FormatoQr(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static FormatoQr de(String valor) {
+        try {
+            return valueOf(valor.strip().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de QR Code inválido: " + valor);
+        }
+    }
+}
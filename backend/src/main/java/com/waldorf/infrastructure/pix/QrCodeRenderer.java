@@ -0,0 +1,90 @@
+package com.waldorf.infrastructure.pix;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Desenha o QR Code (nível de correção M, como pedem os apps de banco para o BR Code) com a zona
+ * de silêncio de 4 módulos. {@code escala} é o tamanho do módulo em pixels; no SVG só define as
+ * dimensões sugeridas, e módulos escuros consecutivos de uma linha viram um único retângulo.
+ */
+public final class QrCodeRenderer {
+
+    private static final int MARGEM = 4;
+
+    private QrCodeRenderer() {}
+
+    public static byte[] renderizar(String conteudo, FormatoQr formato, int escala) {
+        ByteMatrix matriz;
+        try {
+            matriz = Encoder.encode(conteudo, ErrorCorrectionLevel.M).getMatrix();
+        } catch (WriterException e) {
+            throw new IllegalArgumentException("Conteúdo não cabe em um QR Code", e);
+        }
+        return formato == FormatoQr.PNG ? png(matriz, escala) : svg(matriz, escala);
+    }
+
+    private static byte[] png(ByteMatrix m, int escala) {
+        int lado = (m.getWidth() + 2 * MARGEM) * escala;
+        BufferedImage imagem = new BufferedImage(lado, lado, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D g = imagem.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, lado, lado);
+            g.setColor(Color.BLACK);
+            for (int y = 0; y < m.getHeight(); y++) {
+                for (int x = 0; x < m.getWidth(); x++) {
+                    if (m.get(x, y) == 1) {
+                        g.fillRect((x + MARGEM) * escala, (y + MARGEM) * escala, escala, escala);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try {
+            ImageIO.write(imagem, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] svg(ByteMatrix m, int escala) {
+        int modulos = m.getWidth() + 2 * MARGEM;
+        StringBuilder sb = new StringBuilder(8192);
+        sb.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ").append(modulos).append(' ')
+                .append(modulos).append("\" width=\"").append(modulos * escala).append("\" height=\"")
+                .append(modulos * escala).append("\" shape-rendering=\"crispEdges\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+        for (int y = 0; y < m.getHeight(); y++) {
+            int x = 0;
+            while (x < m.getWidth()) {
+                if (m.get(x, y) != 1) {
+                    x++;
+                    continue;
+                }
+                int inicio = x;
+                while (x < m.getWidth() && m.get(x, y) == 1) {
+                    x++;
+                }
+                sb.append('M').append(inicio + MARGEM).append(',').append(y + MARGEM)
+                        .append('h').append(x - inicio).append("v1h-").append(x - inicio).append('z');
+            }
+        }
+        sb.append("\"/></svg>");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,14 +1,20 @@
 package com.waldorf.infrastructure.repository;
 
 import com.waldorf.domain.entity.Aluno;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AlunoRepository extends JpaRepository<Aluno, Long> {
@@ -23,6 +29,38 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
             @Param("ativo") Boolean ativo,
             Pageable pageable);
 
+    /**
+     * Mesmos filtros de {@link #findWithFilters}, paginados por cursor {@code (nome, id)}: lê só a
+     * página seguinte ao cursor (nulo = primeira) e não executa {@code COUNT(*)}.
+     */
+    @EntityGraph(attributePaths = "turma")
+    @Query("SELECT a FROM Aluno a WHERE "
+         + "(:nome IS NULL OR LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) AND "
+         + "(:turmaId IS NULL OR a.turma.id = :turmaId) AND "
+         + "(:ativo IS NULL OR a.ativo = :ativo) AND "
+         + "(:cursorNome IS NULL OR a.nome > :cursorNome OR (a.nome = :cursorNome AND a.id > :cursorId)) "
+         + "ORDER BY a.nome, a.id")
+    List<Aluno> findWithFiltersAfter(
+            @Param("nome") String nome,
+            @Param("turmaId") Long turmaId,
+            @Param("ativo") Boolean ativo,
+            @Param("cursorNome") String cursorNome,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /** Maiores matrículas com o prefixo (mais dígitos primeiro, depois ordem lexicográfica). */
+    @Query("SELECT a.matricula FROM Aluno a WHERE a.matricula LIKE CONCAT(:prefixo, '%') "
+         + "ORDER BY LENGTH(a.matricula) DESC, a.matricula DESC")
+    List<String> findMaioresMatriculas(@Param("prefixo") String prefixo, Limit limit);
+
+    /**
+     * Linha travada (SELECT ... FOR UPDATE): trocas de turma e inativações do mesmo aluno são
+     * serializadas, então a vaga liberada é sempre a da turma em que ele de fato estava.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Aluno a WHERE a.id = :id")
+    Optional<Aluno> findByIdParaAtualizar(@Param("id") Long id);
+
     List<Aluno> findByTurmaId(Long turmaId);
     List<Aluno> findByTurmaIdAndAtivoTrue(Long turmaId);
     int countByTurmaIdAndAtivoTrue(Long turmaId);
@@ -1,12 +1,49 @@
 package com.waldorf.infrastructure.repository;
 
+import com.waldorf.application.dto.financeiro.ContratoResumoDTO;
 import com.waldorf.domain.entity.Contrato;
+import com.waldorf.domain.enums.SituacaoContrato;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ContratoRepository extends JpaRepository<Contrato, Long> {
-    List<Contrato> findByAlunoId(Long alunoId);
+
+    String RESUMO = "SELECT new com.waldorf.application.dto.financeiro.ContratoResumoDTO("
+            + "c.id, a.id, a.nome, t.id, t.nome, c.anoLetivo, c.valorMensalidade, c.desconto, "
+            + "c.totalParcelas, c.diaVencimento, c.dataInicio, c.dataFim, c.situacao) ";
+    String DE_FILTROS = "FROM Contrato c JOIN c.aluno a LEFT JOIN a.turma t WHERE "
+            + "(:alunoId IS NULL OR a.id = :alunoId) AND "
+            + "(:anoLetivo IS NULL OR c.anoLetivo = :anoLetivo) AND "
+            + "(:situacao IS NULL OR c.situacao = :situacao) AND "
+            + "(:nome IS NULL OR LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) AND "
+            + "(:turmaId IS NULL OR t.id = :turmaId)";
+
+    /** Listagem paginada numa única consulta (sem carregar {@code Aluno} por contrato). */
+    @Query(value = RESUMO + DE_FILTROS, countQuery = "SELECT COUNT(c) " + DE_FILTROS)
+    Page<ContratoResumoDTO> findResumos(
+            @Param("alunoId") Long alunoId,
+            @Param("anoLetivo") Integer anoLetivo,
+            @Param("situacao") SituacaoContrato situacao,
+            @Param("nome") String nome,
+            @Param("turmaId") Long turmaId,
+            Pageable pageable);
+
+    /** Mesmos filtros de {@link #findResumos}, em lotes por id a partir de {@code aposId} (exportação). */
+    @Query(RESUMO + DE_FILTROS + " AND c.id > :aposId ORDER BY c.id")
+    List<ContratoResumoDTO> findResumosApos(
+            @Param("alunoId") Long alunoId,
+            @Param("anoLetivo") Integer anoLetivo,
+            @Param("situacao") SituacaoContrato situacao,
+            @Param("nome") String nome,
+            @Param("turmaId") Long turmaId,
+            @Param("aposId") Long aposId,
+            Limit limit);
 }
@@ -0,0 +1,40 @@
+package com.waldorf.infrastructure.repository;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/** INSERT em lote (JDBC batch) que devolve os ids AUTO_INCREMENT gerados, na ordem das linhas. */
+public final class InsercaoEmLote {
+
+    private InsercaoEmLote() {}
+
+    /** Executa na conexão da transação corrente; falha se o driver não devolver um id por linha. */
+    public static long[] comChaves(JdbcTemplate jdbcTemplate, String sql, List<Object[]> linhas) {
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Object[] args : linhas) {
+                    new ArgumentPreparedStatementSetter(args).setValues(ps);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                long[] ids = new long[linhas.size()];
+                int n = 0;
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next() && n < ids.length) {
+                        ids[n++] = rs.getLong(1);
+                    }
+                }
+                if (n != ids.length) {
+                    throw new IllegalStateException("Driver devolveu " + n + " ids para " + ids.length + " linhas");
+                }
+                return ids;
+            }
+        });
+    }
+}
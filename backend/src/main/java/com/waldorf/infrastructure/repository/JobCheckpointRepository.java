@@ -0,0 +1,36 @@
+package com.waldorf.infrastructure.repository;
+
+import com.waldorf.domain.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    /** Assume o job se estiver livre, com lease vencido ou já for desta réplica; 1 = sucesso. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.owner = :owner, c.leaseUntil = :leaseUntil, c.updatedAt = :now "
+            + "WHERE c.jobName = :job AND (c.owner IS NULL OR c.owner = :owner OR c.leaseUntil < :now)")
+    int claim(@Param("job") String job, @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    /** Grava o progresso e renova o lease; 0 = o lease foi perdido para outra réplica. */
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.lastId = :lastId, c.processed = :processed, c.params = :params, "
+            + "c.leaseUntil = :leaseUntil, c.updatedAt = :now WHERE c.jobName = :job AND c.owner = :owner")
+    int advance(@Param("job") String job, @Param("owner") String owner, @Param("lastId") long lastId,
+                @Param("processed") long processed, @Param("params") String params,
+                @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.owner = NULL, c.leaseUntil = NULL WHERE c.jobName = :job AND c.owner = :owner")
+    int release(@Param("job") String job, @Param("owner") String owner);
+}
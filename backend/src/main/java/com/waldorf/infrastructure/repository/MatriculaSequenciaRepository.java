@@ -0,0 +1,17 @@
+package com.waldorf.infrastructure.repository;
+
+import com.waldorf.domain.entity.MatriculaSequencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MatriculaSequenciaRepository extends JpaRepository<MatriculaSequencia, Integer> {
+
+    /** Avança o contador do ano em {@code bloco}; a linha fica travada até o fim da transação. */
+    @Modifying
+    @Query("UPDATE MatriculaSequencia s SET s.proximo = s.proximo + :bloco WHERE s.ano = :ano")
+    int reservar(@Param("ano") Integer ano, @Param("bloco") long bloco);
+}
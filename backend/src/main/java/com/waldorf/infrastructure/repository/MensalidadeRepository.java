@@ -1,13 +1,25 @@
 package com.waldorf.infrastructure.repository;
 
 import com.waldorf.domain.entity.Mensalidade;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MensalidadeRepository extends JpaRepository<Mensalidade, Long> {
     List<Mensalidade> findByContratoIdOrderByNumeroParcela(Long contratoId);
     long countByContratoIdAndStatus(Long contratoId, Mensalidade.StatusMensalidade status);
+    long countByStatusIn(Collection<Mensalidade.StatusMensalidade> status);
+
+    /** Linha travada (SELECT ... FOR UPDATE) para baixas concorrentes na mesma parcela. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Mensalidade m WHERE m.id = :id")
+    Optional<Mensalidade> findByIdParaAtualizar(@Param("id") Long id);
 }
@@ -1,12 +1,21 @@
 package com.waldorf.infrastructure.repository;
 
 import com.waldorf.domain.entity.Professor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProfessorRepository extends JpaRepository<Professor, Long> {
     Optional<Professor> findByEmail(String email);
+
+    /** Página seguinte ao cursor {@code (nome, id)} (nulo = primeira), sem COUNT. */
+    @Query("SELECT p FROM Professor p WHERE :cursorNome IS NULL OR p.nome > :cursorNome "
+         + "OR (p.nome = :cursorNome AND p.id > :cursorId) ORDER BY p.nome, p.id")
+    List<Professor> findAllAfter(@Param("cursorNome") String cursorNome, @Param("cursorId") Long cursorId, Limit limit);
 }
@@ -1,6 +1,7 @@
 package com.waldorf.infrastructure.repository;
 
 import com.waldorf.domain.entity.Responsavel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,10 +9,25 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ResponsavelRepository extends JpaRepository<Responsavel, Long> {
 
     @Query("SELECT r FROM Responsavel r WHERE :nome IS NULL OR LOWER(r.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
     Page<Responsavel> findByNomeContainingIgnoreCaseOrNomeIsNull(
             @Param("nome") String nome, Pageable pageable);
+
+    /** Como {@link #findByNomeContainingIgnoreCaseOrNomeIsNull}, paginado por cursor {@code (nome, id)} e sem COUNT. */
+    @Query("SELECT r FROM Responsavel r WHERE (:nome IS NULL OR LOWER(r.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) "
+         + "AND (:cursorNome IS NULL OR r.nome > :cursorNome OR (r.nome = :cursorNome AND r.id > :cursorId)) "
+         + "ORDER BY r.nome, r.id")
+    List<Responsavel> findByNomeAfter(
+            @Param("nome") String nome,
+            @Param("cursorNome") String cursorNome,
+            @Param("cursorId") Long cursorId,
+            Limit limit);
+
+    /** Busca por igualdade no índice cego do CPF (ver {@code BlindIndex#cpf}) — um seek no índice. */
+    List<Responsavel> findByCpfHash(String cpfHash);
 }
@@ -0,0 +1,35 @@
+package com.waldorf.infrastructure.repository;
+
+import com.waldorf.domain.entity.TurmaListaEspera;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TurmaListaEsperaRepository extends JpaRepository<TurmaListaEspera, Long> {
+
+    @EntityGraph(attributePaths = "aluno")
+    List<TurmaListaEspera> findByTurmaIdOrderByIdAsc(Long turmaId);
+
+    @EntityGraph(attributePaths = "aluno")
+    Optional<TurmaListaEspera> findFirstByTurmaIdAndIdGreaterThanOrderByIdAsc(Long turmaId, Long id);
+
+    Optional<TurmaListaEspera> findByTurmaIdAndAlunoId(Long turmaId, Long alunoId);
+
+    long countByTurmaIdAndIdLessThan(Long turmaId, Long id);
+
+    /** Retira a entrada da fila; 0 indica que outra transação já a atendeu. */
+    @Modifying
+    @Query("DELETE FROM TurmaListaEspera e WHERE e.id = :id")
+    int remover(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM TurmaListaEspera e WHERE e.turma.id = :turmaId AND e.aluno.id = :alunoId")
+    int removerAluno(@Param("turmaId") Long turmaId, @Param("alunoId") Long alunoId);
+}
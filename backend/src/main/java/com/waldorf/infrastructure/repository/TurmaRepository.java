@@ -1,12 +1,61 @@
 package com.waldorf.infrastructure.repository;
 
 import com.waldorf.domain.entity.Turma;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TurmaRepository extends JpaRepository<Turma, Long> {
     List<Turma> findByAnoLetivo(Integer anoLetivo);
+
+    /**
+     * Ocupa uma vaga num único UPDATE condicional (sem lock de leitura prévio); 0 = turma lotada,
+     * inativa ou inexistente.
+     */
+    @Modifying
+    @Query("UPDATE Turma t SET t.vagasOcupadas = t.vagasOcupadas + 1 WHERE t.id = :id AND t.ativa = true "
+         + "AND (t.capacidadeMaxima IS NULL OR t.vagasOcupadas < t.capacidadeMaxima)")
+    int reservarVaga(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Turma t SET t.vagasOcupadas = t.vagasOcupadas - 1 WHERE t.id = :id AND t.vagasOcupadas > 0")
+    int liberarVaga(@Param("id") Long id);
+
+    String RESUMO_SELECT = "SELECT t.id AS id, t.nome AS nome, t.anoLetivo AS anoLetivo, t.anoEscolar AS anoEscolar, "
+            + "t.capacidadeMaxima AS capacidadeMaxima, p.id AS professorRegenteId, p.nome AS professorRegenteNome, "
+            + "COUNT(a.id) AS totalAlunos, t.ativa AS ativa, t.createdAt AS createdAt, t.updatedAt AS updatedAt "
+            + "FROM Turma t LEFT JOIN t.professorRegente p LEFT JOIN t.alunos a ON a.ativo = true ";
+
+    String RESUMO_GROUP_BY = "GROUP BY t.id, t.nome, t.anoLetivo, t.anoEscolar, t.capacidadeMaxima, p.id, p.nome, "
+            + "t.ativa, t.createdAt, t.updatedAt";
+
+    /** Listagem de turmas com regente e total de alunos ativos numa única consulta agrupada. */
+    @Query(RESUMO_SELECT + "WHERE (:anoLetivo IS NULL OR t.anoLetivo = :anoLetivo) " + RESUMO_GROUP_BY + " ORDER BY t.nome")
+    List<TurmaResumoView> findResumos(@Param("anoLetivo") Integer anoLetivo);
+
+    @Query(value = RESUMO_SELECT + RESUMO_GROUP_BY,
+           countQuery = "SELECT COUNT(t) FROM Turma t")
+    Page<TurmaResumoView> findResumos(Pageable pageable);
+
+    interface TurmaResumoView {
+        Long getId();
+        String getNome();
+        Integer getAnoLetivo();
+        Integer getAnoEscolar();
+        Integer getCapacidadeMaxima();
+        Long getProfessorRegenteId();
+        String getProfessorRegenteNome();
+        long getTotalAlunos();
+        boolean getAtiva();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -2,12 +2,23 @@ package com.waldorf.infrastructure.repository;
 
 import com.waldorf.domain.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /** Carimbo de segurança de todos os usuários existentes (ausência = conta excluída). */
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion FROM Usuario u")
+    List<SecurityVersionView> findSecurityVersions();
+
+    interface SecurityVersionView {
+        Long getId();
+        long getSecurityVersion();
+    }
 }
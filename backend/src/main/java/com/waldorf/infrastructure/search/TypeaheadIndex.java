@@ -0,0 +1,138 @@
+package com.waldorf.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória para autocompletar nomes: cada nome é dobrado (sem acentos, minúsculas) e
+ * quebrado em palavras, e cada palavra aponta para as entradas que a contêm num mapa ordenado —
+ * o prefixo digitado vira um {@code subMap} em vez de {@code LIKE '%x%'} na tabela.
+ *
+ * <p>Uma busca com vários termos exige que cada termo seja prefixo de alguma palavra do nome
+ * ("jo sil" encontra "João da Silva"). Leituras não bloqueiam; escritas são serializadas.
+ */
+public final class TypeaheadIndex {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Entrada indexada; {@code chave} identifica-a unicamente (ex.: {@code ALUNO:12}). */
+    public record Entrada(String chave, String tipo, Long id, String nome, String detalhe) {}
+
+    private record Indexada(Entrada entrada, String nomeDobrado, String[] palavras) {}
+
+    private final Map<String, Indexada> entradas = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<String>> palavras = new ConcurrentSkipListMap<>();
+
+    /** Remove acentos e caixa: "João" → "joao", "Conceição" → "conceicao". */
+    public static String dobrar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static String[] palavrasDe(String texto) {
+        return Arrays.stream(SEPARADORES.split(dobrar(texto)))
+                .filter(p -> !p.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    public synchronized void upsert(Entrada entrada) {
+        remover(entrada.chave());
+        String[] ps = palavrasDe(entrada.nome());
+        entradas.put(entrada.chave(), new Indexada(entrada, dobrar(entrada.nome()), ps));
+        for (String p : ps) {
+            palavras.computeIfAbsent(p, k -> ConcurrentHashMap.newKeySet()).add(entrada.chave());
+        }
+    }
+
+    public synchronized void remover(String chave) {
+        Indexada anterior = entradas.remove(chave);
+        if (anterior == null) {
+            return;
+        }
+        for (String p : anterior.palavras()) {
+            palavras.computeIfPresent(p, (k, chaves) -> {
+                chaves.remove(chave);
+                return chaves.isEmpty() ? null : chaves;
+            });
+        }
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    /**
+     * Até {@code limite} entradas cujo nome casa com todos os termos de {@code consulta}
+     * (opcionalmente só do {@code tipo}). Ordem: palavra exata antes de prefixo, casamento na
+     * primeira palavra do nome antes das demais, e então ordem alfabética.
+     */
+    public List<Entrada> buscar(String consulta, String tipo, int limite) {
+        String[] termos = palavrasDe(consulta);
+        if (termos.length == 0 || limite <= 0) {
+            return List.of();
+        }
+        // Começa pelo termo mais longo (em geral o mais seletivo) e filtra pelos demais
+        String semente = Arrays.stream(termos).max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<String> candidatos = new HashSet<>();
+        for (Set<String> chaves : palavras.subMap(semente, true, semente + Character.MAX_VALUE, false).values()) {
+            candidatos.addAll(chaves);
+        }
+        PriorityQueue<Pontuada> melhores = new PriorityQueue<>(Comparator.reverseOrder());
+        for (String chave : candidatos) {
+            Indexada ix = entradas.get(chave);
+            if (ix == null || (tipo != null && !tipo.equals(ix.entrada().tipo()))) {
+                continue;
+            }
+            int pontos = pontuar(ix.palavras(), termos);
+            if (pontos < 0) {
+                continue;
+            }
+            melhores.add(new Pontuada(pontos, ix.nomeDobrado(), ix.entrada()));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+        List<Entrada> resultado = new ArrayList<>(melhores.size());
+        while (!melhores.isEmpty()) {
+            resultado.add(melhores.poll().entrada());
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    /** Soma dos pontos de cada termo, ou -1 se algum termo não for prefixo de nenhuma palavra. */
+    private static int pontuar(String[] palavrasNome, String[] termos) {
+        int total = 0;
+        for (String termo : termos) {
+            int melhor = -1;
+            for (int i = 0; i < palavrasNome.length; i++) {
+                if (palavrasNome[i].startsWith(termo)) {
+                    int pontos = (palavrasNome[i].length() == termo.length() ? 2 : 0) + (i == 0 ? 1 : 0);
+                    melhor = Math.max(melhor, pontos);
+                }
+            }
+            if (melhor < 0) {
+                return -1;
+            }
+            total += melhor;
+        }
+        return total;
+    }
+
+    /** Ordenação natural: melhor primeiro; o heap usa a inversa para descartar o pior. */
+    private record Pontuada(int pontos, String chaveOrdem, Entrada entrada) implements Comparable<Pontuada> {
+        @Override
+        public int compareTo(Pontuada o) {
+            int c = Integer.compare(o.pontos, pontos);
+            return c != 0 ? c : chaveOrdem.compareTo(o.chaveOrdem);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.waldorf.infrastructure.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Escopo de dados do perfil PAIS, para as expressões de {@code @PreAuthorize}
+ * ({@code @acessoFamilia.responsavel(#id, authentication)}, {@code @acessoFamilia.mensalidade(...)}).
+ * O usuário é associado ao responsável de mesmo e-mail; sem responsável com o e-mail do usuário,
+ * nada é liberado. O e-mail é comparado direto, pelo índice de {@code responsaveis.email} — a
+ * collation da coluna já ignora maiúsculas.
+ */
+@Component("acessoFamilia")
+@RequiredArgsConstructor
+public class AcessoFamilia {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** O usuário autenticado é o próprio responsável {@code responsavelId}. */
+    public boolean responsavel(Long responsavelId, Authentication auth) {
+        if (responsavelId == null || auth == null || auth.getName() == null) {
+            return false;
+        }
+        Integer n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM responsaveis WHERE id = ? AND email = ?",
+                Integer.class, responsavelId, auth.getName());
+        return n != null && n > 0;
+    }
+
+    /** A mensalidade é de um filho do usuário autenticado ({@code aluno_responsaveis}). */
+    public boolean mensalidade(Long mensalidadeId, Authentication auth) {
+        if (mensalidadeId == null || auth == null || auth.getName() == null) {
+            return false;
+        }
+        Integer n = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mensalidades m "
+                        + "JOIN contratos c ON c.id = m.contrato_id "
+                        + "JOIN aluno_responsaveis ar ON ar.aluno_id = c.aluno_id "
+                        + "JOIN responsaveis r ON r.id = ar.responsavel_id "
+                        + "WHERE m.id = ? AND r.email = ?",
+                Integer.class, mensalidadeId, auth.getName());
+        return n != null && n > 0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.waldorf.infrastructure.security;
+
+import com.waldorf.domain.entity.Perfil;
+import com.waldorf.domain.entity.Usuario;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Principal autenticado colocado no {@code SecurityContext} pelo {@link JwtAuthenticationFilter}.
+ * Construído a partir das claims do access token, sem consulta ao banco; {@link #getName()}
+ * devolve o e-mail, mantendo {@code Authentication#getName()} compatível com o principal anterior.
+ */
+public record AuthenticatedUser(Long id, String email, Set<String> perfis)
+        implements AuthenticatedPrincipal, Serializable {
+
+    public static AuthenticatedUser of(Usuario usuario) {
+        return new AuthenticatedUser(
+                usuario.getId(),
+                usuario.getEmail(),
+                usuario.getPerfis().stream().map(Perfil::getNome).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public static AuthenticatedUser of(UsuarioSecuritySnapshot usuario) {
+        return new AuthenticatedUser(usuario.id(), usuario.email(), usuario.perfis());
+    }
+
+    /** Principal montado a partir das claims do token, ou {@code null} se o token não as contiver. */
+    static AuthenticatedUser fromClaims(VerifiedJwt jwt) {
+        Long id = jwt.userId();
+        if (id == null || jwt.subject() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(id, jwt.subject(), jwt.perfis());
+    }
+
+    public Collection<GrantedAuthority> authorities() {
+        return perfis.stream()
+                .map(p -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + p))
+                .toList();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
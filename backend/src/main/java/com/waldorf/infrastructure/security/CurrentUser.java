@@ -0,0 +1,20 @@
+package com.waldorf.infrastructure.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injeta o usuário autenticado num parâmetro de controller, direto do principal já presente no
+ * {@code SecurityContext} (sem novo parse de JWT nem consulta ao banco). Tipos suportados:
+ * {@link AuthenticatedUser} e {@link Long} (id do usuário).
+ *
+ * @see CurrentUserArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
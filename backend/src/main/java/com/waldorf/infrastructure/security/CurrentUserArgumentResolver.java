@@ -0,0 +1,56 @@
+package com.waldorf.infrastructure.security;
+
+import com.waldorf.infrastructure.repository.UsuarioRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolve parâmetros anotados com {@link CurrentUser}. O caminho normal lê o
+ * {@link AuthenticatedUser} montado pelo {@link JwtAuthenticationFilter}; apenas autenticações
+ * de outra origem (ex.: {@code @WithMockUser} nos testes) recorrem à busca por e-mail.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UsuarioRepository usuarioRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (type == AuthenticatedUser.class || type == Long.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        AuthenticatedUser user = currentUser();
+        return parameter.getParameterType() == Long.class ? user.id() : user;
+    }
+
+    private AuthenticatedUser currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            throw new EntityNotFoundException("Usuário não autenticado");
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        String email = auth.getName();
+        return usuarioRepository.findByEmail(email)
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado: " + email));
+    }
+}
@@ -1,21 +1,26 @@
 package com.waldorf.infrastructure.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+@Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -24,15 +29,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklist;
+    private final SecurityVersionRegistry securityVersions;
 
     // @Lazy no UserDetailsService (que é fornecido por SecurityConfig) quebra o ciclo:
     // SecurityConfig → JwtAuthFilter → @Lazy UserDetailsService (SecurityConfig)
     public JwtAuthenticationFilter(JwtService jwtService,
                                     @Lazy UserDetailsService userDetailsService,
-                                    TokenBlacklistService tokenBlacklist) {
+                                    TokenBlacklistService tokenBlacklist,
+                                    SecurityVersionRegistry securityVersions) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.tokenBlacklist = tokenBlacklist;
+        this.securityVersions = securityVersions;
     }
 
     @Override
@@ -42,18 +50,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String token = resolveToken(req);
-        if (token == null) {
+        if (token == null || SecurityContextHolder.getContext().getAuthentication() != null) {
             chain.doFilter(req, res);
             return;
         }
-        final String username = jwtService.extractUsername(token);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
-                && !tokenBlacklist.isRevoked(jwtService.extractJti(token))) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, userDetails)) {
+        // Uma única verificação (assinatura + expiração) por requisição
+        final VerifiedJwt jwt;
+        try {
+            jwt = jwtService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token JWT rejeitado: {}", e.getMessage());
+            chain.doFilter(req, res);
+            return;
+        }
+
+        if (jwt.subject() != null && !tokenBlacklist.isRevoked(jwt.jti())) {
+            AuthenticatedUser principal = resolvePrincipal(jwt);
+            if (principal != null) {
                 var auth = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.authorities());
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
@@ -61,6 +77,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         chain.doFilter(req, res);
     }
 
+    /**
+     * Monta o principal só a partir das claims enquanto o carimbo de versão do token for atual.
+     * O banco é consultado apenas para tokens sem claims (emitidos antes desta versão), de usuário
+     * que a réplica ainda não conhece ou quando a conta foi alterada depois da emissão — nesse caso,
+     * usuário inativo ou excluído não é autenticado.
+     */
+    private AuthenticatedUser resolvePrincipal(VerifiedJwt jwt) {
+        AuthenticatedUser fromClaims = AuthenticatedUser.fromClaims(jwt);
+        if (fromClaims != null && securityVersions.isCurrent(fromClaims.id(), jwt.securityVersion())) {
+            return fromClaims;
+        }
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(jwt.subject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        if (!(userDetails instanceof UsuarioSecuritySnapshot usuario) || !usuario.ativo()) {
+            return null;
+        }
+        securityVersions.atualizar(usuario.id(), usuario.securityVersion());
+        return AuthenticatedUser.of(usuario);
+    }
+
     /** Lê o token do cabeçalho {@code Authorization: Bearer} (mobile/API) ou do cookie HttpOnly (web). */
     private String resolveToken(HttpServletRequest req) {
         String authHeader = req.getHeader("Authorization");
@@ -1,23 +1,45 @@
 package com.waldorf.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waldorf.domain.entity.Perfil;
+import com.waldorf.domain.entity.Usuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
 
+/**
+ * Emissão e verificação de JWT (HMAC-SHA).
+ *
+ * <p>A chave e o {@link JwtParser} são construídos uma única vez na inicialização. Tokens
+ * verificados recentemente ficam num cache local limitado (chave = token completo), de modo
+ * que rajadas de polling da mesma sessão não repetem HMAC nem parse de JSON. A expiração do
+ * próprio token continua sendo respeitada em cada acerto do cache.
+ *
+ * <p>O access token carrega id, perfis e versão de segurança do usuário
+ * ({@link #CLAIM_USER_ID}, {@link #CLAIM_PERFIS}, {@link #CLAIM_SECURITY_VERSION}).
+ */
 @Service
 public class JwtService {
 
+    /** Claims do access token que permitem montar o principal sem consultar o banco. */
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_PERFIS = "perfis";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -27,12 +49,38 @@ public class JwtService {
     @Value("${jwt.refresh-expiration:604800000}")
     private long refreshExpiration;
 
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl-seconds:60}")
+    private long verifiedCacheTtlSeconds;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private Cache<String, VerifiedJwt> verifiedCache;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+        verifiedCache = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedCacheTtlSeconds))
+                .build();
     }
 
     public String gerarToken(UserDetails user) {
-        return buildToken(new HashMap<>(), user, expiration);
+        Map<String, Object> claims = new HashMap<>();
+        if (user instanceof Usuario u) {
+            claims.put(CLAIM_USER_ID, u.getId());
+            claims.put(CLAIM_PERFIS, u.getPerfis().stream().map(Perfil::getNome).sorted().toList());
+            claims.put(CLAIM_SECURITY_VERSION, u.getSecurityVersion());
+        } else if (user instanceof UsuarioSecuritySnapshot u) {
+            claims.put(CLAIM_USER_ID, u.id());
+            claims.put(CLAIM_PERFIS, u.perfis().stream().sorted().toList());
+            claims.put(CLAIM_SECURITY_VERSION, u.securityVersion());
+        }
+        return buildToken(claims, user, expiration);
     }
 
     public String gerarRefreshToken(UserDetails user) {
@@ -46,40 +94,53 @@ public class JwtService {
                 .subject(user.getUsername())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + exp))
-                .signWith(getKey())
+                .signWith(key)
                 .compact();
     }
 
+    /**
+     * Verifica assinatura e expiração do token uma única vez e devolve todas as informações
+     * relevantes. Lança {@link io.jsonwebtoken.JwtException} se o token for inválido ou
+     * estiver expirado, e {@link IllegalArgumentException} se estiver ausente.
+     */
+    public VerifiedJwt verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token JWT ausente");
+        }
+        VerifiedJwt cached = verifiedCache.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedCache.invalidate(token);
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedJwt verified = VerifiedJwt.from(claims);
+        verifiedCache.put(token, verified);
+        return verified;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     /** Identificador único do token (claim {@code jti}), usado para revogação/blacklist. */
     public String extractJti(String token) {
-        return extractClaim(token, Claims::getId);
+        return verify(token).jti();
     }
 
     /** Instante de expiração do token. */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).expiration());
     }
 
     /** Milissegundos restantes até a expiração do token (mínimo 0). */
     public long remainingMillis(String token) {
-        return Math.max(0, extractExpiration(token).getTime() - System.currentTimeMillis());
+        return verify(token).remainingMillis();
     }
 
     public boolean isTokenValid(String token, UserDetails user) {
-        return extractUsername(token).equals(user.getUsername()) && !isExpired(token);
-    }
-
-    private boolean isExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> fn) {
-        Claims claims = Jwts.parser().verifyWith(getKey()).build()
-                .parseSignedClaims(token).getPayload();
-        return fn.apply(claims);
+        VerifiedJwt jwt = verify(token);
+        return jwt.subject().equals(user.getUsername()) && !jwt.isExpired();
     }
 }
@@ -1,41 +1,80 @@
 package com.waldorf.infrastructure.security;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waldorf.infrastructure.security.ratelimit.LoginRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Rate limiting simples (janela deslizante por IP) para o endpoint de login,
- * mitigando ataques de força bruta. Implementação puramente em memória (sem dependências
- * externas) — adequada para instância única; para múltiplas instâncias, migrar para Redis.
+ * Rate limiting (token bucket) do endpoint de login, mitigando ataques de força bruta.
+ *
+ * <p>Cada tentativa consome um token do bucket do IP de origem e um do bucket do e-mail alvo
+ * (lido do corpo da requisição e guardado apenas como hash): o primeiro limita um atacante que
+ * varre várias contas, o segundo um ataque distribuído contra uma única conta. O backend
+ * ({@link LoginRateLimiter}) é compartilhado entre réplicas via Redis ou local com memória
+ * limitada. Decisões são contadas em {@code auth.login.ratelimit.allowed} e
+ * {@code auth.login.ratelimit.blocked{key=ip|email}}.
+ *
+ * <p>O IP é o {@code remoteAddr} da conexão: {@code X-Forwarded-For} só é considerado quando vem de
+ * um proxy confiável, via {@code server.forward-headers-strategy=native} (RemoteIpValve do Tomcat),
+ * nunca lido direto do cabeçalho — do contrário cada tentativa poderia trazer um IP inventado.
+ * Corpos acima de {@value #MAX_BODY_BYTES} bytes são recusados com 413 antes de serem lidos.
  */
 @Slf4j
 @Component
 public class LoginRateLimitFilter extends OncePerRequestFilter {
 
-    @Value("${app.rate-limit.login.max-attempts:10}")
-    private int maxAttempts;
-
-    @Value("${app.rate-limit.login.window-seconds:60}")
-    private long windowSeconds;
+    /** Um login legítimo (e-mail e senha em JSON) cabe com folga. */
+    static final int MAX_BODY_BYTES = 8 * 1024;
 
+    private final LoginRateLimiter limiter;
     private final ObjectMapper mapper = new ObjectMapper();
-    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Counter allowed;
+    private final Counter blockedByIp;
+    private final Counter blockedByEmail;
+
+    public LoginRateLimitFilter(LoginRateLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.allowed = Counter.builder("auth.login.ratelimit.allowed")
+                .description("Tentativas de login liberadas pelo rate limiting")
+                .register(meterRegistry);
+        this.blockedByIp = blockedCounter(meterRegistry, "ip");
+        this.blockedByEmail = blockedCounter(meterRegistry, "email");
+    }
+
+    private static Counter blockedCounter(MeterRegistry registry, String key) {
+        return Counter.builder("auth.login.ratelimit.blocked")
+                .description("Tentativas de login bloqueadas pelo rate limiting")
+                .tag("key", key)
+                .register(registry);
+    }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -49,42 +88,109 @@ public class LoginRateLimitFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain chain)
             throws ServletException, IOException {
 
-        String key = clientIp(req);
-        long now = System.currentTimeMillis();
-        long windowMillis = windowSeconds * 1_000;
+        byte[] body = req.getContentLengthLong() > MAX_BODY_BYTES
+                ? null
+                : req.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body == null || body.length > MAX_BODY_BYTES) {
+            error(res, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo da requisição de login excede o limite.");
+            return;
+        }
+        CachedBodyRequest request = new CachedBodyRequest(req, body);
+        String ip = req.getRemoteAddr();
 
-        Window window = windows.compute(key, (k, w) -> {
-            if (w == null || now - w.start > windowMillis) {
-                return new Window(now);
-            }
-            return w;
-        });
-
-        if (window.count.incrementAndGet() > maxAttempts) {
-            log.warn("Rate limit excedido no login para IP {}", key);
-            res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            mapper.writeValue(res.getWriter(), Map.of(
-                    "timestamp", LocalDateTime.now().toString(),
-                    "status", HttpStatus.TOO_MANY_REQUESTS.value(),
-                    "error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
-                    "message", "Muitas tentativas de login. Tente novamente em instantes."));
+        LoginRateLimiter.Decision decision = limiter.tryAcquire("ip:" + ip);
+        if (!decision.allowed()) {
+            blockedByIp.increment();
+            log.warn("Rate limit excedido no login para IP {}", ip);
+            reject(res, decision);
             return;
         }
-        chain.doFilter(req, res);
+        String email = targetEmail(request.body);
+        if (email != null) {
+            decision = limiter.tryAcquire("email:" + sha256(email));
+            if (!decision.allowed()) {
+                blockedByEmail.increment();
+                log.warn("Rate limit excedido no login para uma conta (IP {})", ip);
+                reject(res, decision);
+                return;
+            }
+        }
+        allowed.increment();
+        chain.doFilter(request, res);
+    }
+
+    private void reject(HttpServletResponse res, LoginRateLimiter.Decision decision) throws IOException {
+        res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.ceilDiv(decision.retryAfterMillis(), 1_000)));
+        error(res, HttpStatus.TOO_MANY_REQUESTS, "Muitas tentativas de login. Tente novamente em instantes.");
+    }
+
+    private void error(HttpServletResponse res, HttpStatus status, String message) throws IOException {
+        res.setStatus(status.value());
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(res.getWriter(), Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "status", status.value(),
+                "error", status.getReasonPhrase(),
+                "message", message));
+    }
+
+    private String targetEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = mapper.readTree(body).path("email");
+            return email.isTextual() && !email.asText().isBlank()
+                    ? email.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            return null; // corpo inválido: a validação do controller responde
+        }
     }
 
-    private String clientIp(HttpServletRequest req) {
-        String forwarded = req.getHeader("X-Forwarded-For");
-        if (forwarded != null && !forwarded.isBlank()) {
-            return forwarded.split(",")[0].trim();
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return req.getRemoteAddr();
     }
 
-    private static final class Window {
-        final long start;
-        final AtomicInteger count = new AtomicInteger(0);
-        Window(long start) { this.start = start; }
+    /** Requisição com o corpo já lido, para que o controller possa lê-lo de novo. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                /** O corpo já está todo em memória: os dados estão prontos de imediato. */
+                @Override public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
     }
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -23,8 +24,6 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import com.waldorf.infrastructure.repository.UsuarioRepository;
-
 import java.time.Duration;
 import java.util.List;
 
@@ -36,7 +35,8 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtFilter;
     private final LoginRateLimitFilter loginRateLimitFilter;
-    private final UsuarioRepository usuarioRepository;
+    private final UserSecurityCache userSecurityCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Value("${cors.allowed-origins:http://localhost:4200}")
     private List<String> allowedOrigins;
@@ -56,6 +56,8 @@ public class SecurityConfig {
                         auth.requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll();
                     }
                     auth.requestMatchers("/actuator/health").permitAll();
+                    // Gateway de pagamentos: autenticado pela assinatura HMAC (WebhookSignatureVerifier)
+                    auth.requestMatchers(HttpMethod.POST, "/api/v1/pagamentos/webhook").permitAll();
                     auth.anyRequest().authenticated();
                 })
                 .authenticationProvider(authenticationProvider())
@@ -80,7 +82,7 @@ public class SecurityConfig {
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> usuarioRepository.findByEmail(username)
+        return username -> userSecurityCache.buscarPorEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
     }
 
@@ -88,7 +90,8 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider() {
         var p = new DaoAuthenticationProvider();
         p.setUserDetailsService(userDetailsService());
-        p.setPasswordEncoder(passwordEncoder());
+        // BCrypt do login roda no pool limitado, fora das threads do Tomcat
+        p.setPasswordEncoder(passwordHashingExecutor.bounded(passwordEncoder()));
         return p;
     }
 
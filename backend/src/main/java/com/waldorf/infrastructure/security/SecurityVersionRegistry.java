@@ -0,0 +1,80 @@
+package com.waldorf.infrastructure.security;
+
+import com.waldorf.infrastructure.cache.ClusterInvalidationBus;
+import com.waldorf.infrastructure.repository.UsuarioRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versão de segurança atual de cada usuário existente, mantida em memória.
+ *
+ * <p>O {@link JwtAuthenticationFilter} compara o carimbo {@code sv} do token com este registro:
+ * se o token continua atual, o principal é montado só a partir das claims; caso contrário — ou
+ * se o usuário ainda não é conhecido — o banco é consultado. Alterações são propagadas a todas
+ * as réplicas (após o commit) pelo {@link ClusterInvalidationBus}; a sincronização periódica —
+ * uma consulta por réplica a cada intervalo, em vez de uma por requisição — cobre mensagens
+ * perdidas e réplicas sem Redis. A exclusão não deixa linha no banco: quem some da sincronização
+ * fica com a versão {@link #EXCLUIDO} e uma réplica reiniciada nem conhece o id, então em ambos os
+ * casos o token vai ao banco e é recusado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecurityVersionRegistry {
+
+    static final String CHANNEL = "waldorf:invalidate:security-version";
+    /** Versão de um usuário excluído: nenhum token a alcança. */
+    public static final long EXCLUIDO = Long.MAX_VALUE;
+
+    private final UsuarioRepository usuarioRepository;
+    private final ClusterInvalidationBus invalidationBus;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        invalidationBus.subscribe(CHANNEL, message -> {
+            int sep = message.indexOf(':');
+            atualizar(Long.valueOf(message.substring(0, sep)), Long.parseLong(message.substring(sep + 1)));
+        });
+    }
+
+    /** Indica se o carimbo do token ainda corresponde à versão conhecida da conta. */
+    public boolean isCurrent(Long usuarioId, long tokenVersion) {
+        Long known = versions.get(usuarioId);
+        return known != null && known <= tokenVersion;
+    }
+
+    /** Registra uma nova versão (nunca regride). */
+    public void atualizar(Long usuarioId, long version) {
+        versions.merge(usuarioId, version, Math::max);
+    }
+
+    /** Propaga a nova versão a todas as réplicas após o commit da transação corrente. */
+    public void atualizarAposCommit(Long usuarioId, long version) {
+        invalidationBus.publishAfterCommit(CHANNEL, usuarioId + ":" + version);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.security.version-sync-ms:15000}")
+    public void sincronizar() {
+        try {
+            // Só ids já conhecidos antes da consulta: quem for registrado durante ela pode não constar
+            Set<Long> ausentes = new HashSet<>(versions.keySet());
+            usuarioRepository.findSecurityVersions().forEach(v -> {
+                atualizar(v.getId(), v.getSecurityVersion());
+                ausentes.remove(v.getId());
+            });
+            ausentes.forEach(id -> atualizar(id, EXCLUIDO));
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar versões de segurança: {}", e.getMessage());
+        }
+    }
+}
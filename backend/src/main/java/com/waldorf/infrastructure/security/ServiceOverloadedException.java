@@ -0,0 +1,19 @@
+package com.waldorf.infrastructure.security;
+
+/**
+ * Recurso limitado saturado (ex.: fila de verificação de senhas cheia). Respondida com
+ * 503 e {@code Retry-After} pelo {@code GlobalExceptionHandler}.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,46 +1,124 @@
 package com.waldorf.infrastructure.security;
 
+import com.waldorf.infrastructure.cache.ClusterInvalidationBus;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Revogação de tokens JWT (blacklist) por jti, com TTL igual ao tempo restante de validade.
  *
- * <p>Usa Redis quando disponível. Em ambientes sem Redis (ex.: testes, onde a auto-configuração
- * do Redis é excluída), degrada para no-op de forma transparente — nenhum token é considerado
- * revogado, mantendo o comportamento stateless anterior.
+ * <p>Cada réplica mantém em memória o conjunto dos jtis revogados (com o instante de expiração
+ * de cada um), alimentado pelo {@link ClusterInvalidationBus} a cada {@link #revoke} e
+ * ressincronizado periodicamente a partir do Redis. {@link #isRevoked} só consulta o Redis
+ * quando o jti está no conjunto local — tokens não revogados (o caso comum) não custam nenhuma
+ * ida à rede. Sem Redis (ex.: testes), o conjunto local é a própria blacklist (modo nó único).
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenBlacklistService {
 
+    static final String CHANNEL = "waldorf:invalidate:jwt-blacklist";
     private static final String PREFIX = "jwt:blacklist:";
 
     private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final ClusterInvalidationBus invalidationBus;
+
+    /** jti → instante (epoch ms) em que o token expira e a entrada pode ser descartada. */
+    private final Map<String, Long> revogados = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        invalidationBus.subscribe(CHANNEL, message -> {
+            int sep = message.lastIndexOf(':');
+            registrar(message.substring(0, sep), Long.parseLong(message.substring(sep + 1)));
+        });
+    }
 
     /** Revoga o token identificado por {@code jti} até o instante de expiração informado. */
     public void revoke(String jti, long ttlMillis) {
-        StringRedisTemplate redis = redisProvider.getIfAvailable();
-        if (redis == null || jti == null) {
-            log.debug("Blacklist indisponível (sem Redis); token não revogado server-side");
+        if (jti == null) {
             return;
         }
         long ttl = Math.max(ttlMillis, 1_000);
-        redis.opsForValue().set(PREFIX + jti, "revoked", Duration.ofMillis(ttl));
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis != null) {
+            try {
+                redis.opsForValue().set(PREFIX + jti, "revoked", Duration.ofMillis(ttl));
+            } catch (Exception e) {
+                log.warn("Falha ao gravar revogação no Redis; mantida apenas em memória: {}", e.getMessage());
+            }
+        }
+        invalidationBus.publish(CHANNEL, jti + ":" + (System.currentTimeMillis() + ttl));
     }
 
     /** Indica se o token identificado por {@code jti} foi revogado. */
     public boolean isRevoked(String jti) {
-        StringRedisTemplate redis = redisProvider.getIfAvailable();
-        if (redis == null || jti == null) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiraEm = revogados.get(jti);
+        if (expiraEm == null) {
             return false;
         }
-        return Boolean.TRUE.equals(redis.hasKey(PREFIX + jti));
+        if (expiraEm <= System.currentTimeMillis()) {
+            revogados.remove(jti, expiraEm);
+            return false;
+        }
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redis.hasKey(PREFIX + jti));
+        } catch (Exception e) {
+            log.warn("Falha ao confirmar revogação no Redis; mantendo token revogado: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Descarta entradas expiradas e recarrega do Redis as revogações que esta réplica possa ter
+     * perdido (inicialização após a revogação, mensagem pub/sub não entregue).
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.security.blacklist-sync-ms:60000}")
+    public void sincronizar() {
+        long agora = System.currentTimeMillis();
+        revogados.values().removeIf(expiraEm -> expiraEm <= agora);
+
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) {
+            return;
+        }
+        ScanOptions options = ScanOptions.scanOptions().match(PREFIX + "*").count(500).build();
+        try (Cursor<String> keys = redis.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Long ttl = redis.getExpire(key, TimeUnit.MILLISECONDS);
+                if (ttl != null && ttl > 0) {
+                    registrar(key.substring(PREFIX.length()), agora + ttl);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar blacklist de tokens: {}", e.getMessage());
+        }
+    }
+
+    private void registrar(String jti, long expiraEm) {
+        if (expiraEm > System.currentTimeMillis()) {
+            revogados.merge(jti, expiraEm, Math::max);
+        }
     }
 }
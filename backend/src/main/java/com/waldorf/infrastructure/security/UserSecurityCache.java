@@ -0,0 +1,75 @@
+package com.waldorf.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waldorf.infrastructure.cache.ClusterInvalidationBus;
+import com.waldorf.infrastructure.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Near-cache limitado e com TTL dos {@link UsuarioSecuritySnapshot} por e-mail, à frente de
+ * {@link UsuarioRepository#findByEmail}. Mutações de usuário invalidam a entrada em todas as
+ * réplicas pelo {@link ClusterInvalidationBus}; o TTL é apenas a rede de segurança.
+ *
+ * <p>Métricas: {@code cache.gets{cache=auth.usuarios,result=hit|miss}},
+ * {@code cache.evictions} e {@code auth.usuarios.cache.invalidacoes}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSecurityCache {
+
+    static final String CHANNEL = "waldorf:invalidate:usuarios";
+    private static final String CACHE_NAME = "auth.usuarios";
+
+    private final UsuarioRepository usuarioRepository;
+    private final ClusterInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, UsuarioSecuritySnapshot> cache;
+    private Counter invalidacoes;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidacoes = Counter.builder("auth.usuarios.cache.invalidacoes")
+                .description("Invalidações recebidas (locais e de outras réplicas)")
+                .register(meterRegistry);
+        invalidationBus.subscribe(CHANNEL, email -> {
+            cache.invalidate(email);
+            invalidacoes.increment();
+        });
+    }
+
+    public Optional<UsuarioSecuritySnapshot> buscarPorEmail(String email) {
+        return Optional.ofNullable(cache.get(email, e -> usuarioRepository.findByEmail(e)
+                .map(UsuarioSecuritySnapshot::of)
+                .orElse(null)));
+    }
+
+    /** Invalida a entrada em todas as réplicas após o commit da transação corrente. */
+    public void invalidarAposCommit(String email) {
+        if (email != null) {
+            invalidationBus.publishAfterCommit(CHANNEL, email);
+        }
+    }
+}
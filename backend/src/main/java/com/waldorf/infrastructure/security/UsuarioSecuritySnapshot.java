@@ -0,0 +1,43 @@
+package com.waldorf.infrastructure.security;
+
+import com.waldorf.domain.entity.Perfil;
+import com.waldorf.domain.entity.Usuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia imutável dos dados de segurança de um {@link Usuario} (sem vínculo com a sessão JPA),
+ * mantida no {@link UserSecurityCache} e usada como {@link UserDetails} no login.
+ */
+public record UsuarioSecuritySnapshot(
+        Long id,
+        String nome,
+        String email,
+        String senhaHash,
+        boolean ativo,
+        Set<String> perfis,
+        long securityVersion
+) implements UserDetails {
+
+    public static UsuarioSecuritySnapshot of(Usuario u) {
+        return new UsuarioSecuritySnapshot(
+                u.getId(), u.getNome(), u.getEmail(), u.getSenha(), u.isAtivo(),
+                u.getPerfis().stream().map(Perfil::getNome).collect(Collectors.toUnmodifiableSet()),
+                u.getSecurityVersion());
+    }
+
+    @Override public Collection<? extends GrantedAuthority> getAuthorities() {
+        return perfis.stream().map(p -> new SimpleGrantedAuthority("ROLE_" + p)).toList();
+    }
+    @Override public String  getPassword()              { return senhaHash; }
+    @Override public String  getUsername()              { return email; }
+    @Override public boolean isEnabled()                { return ativo; }
+    @Override public boolean isAccountNonExpired()      { return true; }
+    @Override public boolean isAccountNonLocked()       { return true; }
+    @Override public boolean isCredentialsNonExpired()  { return true; }
+}
@@ -0,0 +1,62 @@
+package com.waldorf.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de uma única verificação (assinatura + parse) de um JWT. Reúne subject, jti,
+ * expiração e as claims customizadas, para que o token não precise ser re-verificado a cada
+ * informação extraída.
+ */
+public record VerifiedJwt(String subject, String jti, Instant expiration, Claims claims) {
+
+    static VerifiedJwt from(Claims claims) {
+        return new VerifiedJwt(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && !expiration.isAfter(Instant.now());
+    }
+
+    /** Milissegundos restantes até a expiração do token (mínimo 0). */
+    public long remainingMillis() {
+        if (expiration == null) {
+            return 0;
+        }
+        return Math.max(0, expiration.toEpochMilli() - System.currentTimeMillis());
+    }
+
+    /** Claim customizada pelo nome, convertida para o tipo informado (ou {@code null}). */
+    public <T> T claim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    /** Id do usuário (claim {@code uid}), ou {@code null} em tokens emitidos sem ela. */
+    public Long userId() {
+        Object v = claims.get(JwtService.CLAIM_USER_ID);
+        return v instanceof Number n ? n.longValue() : null;
+    }
+
+    /** Perfis do usuário (claim {@code perfis}); vazio se ausente. */
+    public Set<String> perfis() {
+        Object v = claims.get(JwtService.CLAIM_PERFIS);
+        if (v instanceof Collection<?> c) {
+            return c.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+        }
+        return Set.of();
+    }
+
+    /** Carimbo de versão de segurança (claim {@code sv}); 0 se ausente. */
+    public long securityVersion() {
+        Object v = claims.get(JwtService.CLAIM_SECURITY_VERSION);
+        return v instanceof Number n ? n.longValue() : 0L;
+    }
+}
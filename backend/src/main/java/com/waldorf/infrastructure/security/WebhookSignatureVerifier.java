@@ -0,0 +1,66 @@
+package com.waldorf.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Autentica os webhooks do gateway de pagamentos (rota pública, sem JWT): o cabeçalho
+ * {@code X-Signature} deve trazer o HMAC-SHA256, em hexadecimal, do corpo bruto com o segredo
+ * compartilhado {@code app.pagamentos.webhook.secret}. Sem segredo configurado, tudo é recusado.
+ */
+@Slf4j
+@Component
+public class WebhookSignatureVerifier {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    @Value("${app.pagamentos.webhook.secret:}")
+    private String secret;
+
+    private SecretKeySpec chave;
+
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.pagamentos.webhook.secret não configurado — webhooks de pagamento serão recusados");
+            return;
+        }
+        chave = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITMO);
+    }
+
+    /** Lança {@link BadCredentialsException} (401) se a assinatura estiver ausente ou não conferir. */
+    public void verificar(byte[] corpo, String assinatura) {
+        if (chave == null || assinatura == null || assinatura.isBlank()) {
+            throw new BadCredentialsException("Assinatura do webhook ausente");
+        }
+        byte[] informada;
+        try {
+            informada = HexFormat.of().parseHex(assinatura.strip().toLowerCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Assinatura do webhook inválida");
+        }
+        if (!MessageDigest.isEqual(calcular(corpo), informada)) {
+            throw new BadCredentialsException("Assinatura do webhook inválida");
+        }
+    }
+
+    private byte[] calcular(byte[] corpo) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(corpo);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponível", e);
+        }
+    }
+}
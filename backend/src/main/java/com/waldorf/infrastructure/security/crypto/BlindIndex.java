@@ -0,0 +1,46 @@
+package com.waldorf.infrastructure.security.crypto;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Índice cego (HMAC-SHA256 com chave própria) de valores cifrados, para buscas por igualdade
+ * sem decifrar a tabela: o valor é normalizado, passa pelo HMAC e o hex resultante é gravado
+ * numa coluna indexada ao lado do texto cifrado.
+ */
+public final class BlindIndex {
+
+    /** Tamanho do hex de um HMAC-SHA256. */
+    public static final int LENGTH = 64;
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    });
+
+    private BlindIndex() {}
+
+    /** Índice do CPF (só dígitos; máscara e espaços são ignorados), ou {@code null} se vazio. */
+    public static String cpf(String cpf) {
+        if (cpf == null) {
+            return null;
+        }
+        String digitos = cpf.replaceAll("\\D", "");
+        return digitos.isEmpty() ? null : hmac("cpf:" + digitos);
+    }
+
+    private static String hmac(String value) {
+        try {
+            Mac mac = MAC.get();
+            mac.init(EncryptionKeyProvider.blindIndexKey());
+            return HexFormat.of().formatHex(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao calcular índice cego", e);
+        }
+    }
+}
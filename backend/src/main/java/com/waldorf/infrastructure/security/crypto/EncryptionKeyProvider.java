@@ -8,36 +8,117 @@ import org.springframework.stereotype.Component;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Disponibiliza a chave AES (derivada de {@code app.encryption.key}) para o
- * {@link CryptoStringConverter}, que é instanciado pelo provedor JPA e não pelo Spring.
- * A chave é mantida em campo estático preenchido na inicialização do contexto.
+ * Disponibiliza o chaveiro AES para o {@link SensitiveDataCipher} (usado também pelo
+ * {@link CryptoStringConverter}, que é instanciado pelo provedor JPA e não pelo Spring).
+ * As chaves são mantidas em campo estático preenchido na inicialização do contexto.
+ *
+ * <p>O chaveiro tem a chave atual ({@code app.encryption.key}, versão
+ * {@code app.encryption.key-version}), usada para cifrar, e as anteriores
+ * ({@code app.encryption.previous-keys}, formato {@code versao:segredo,...}), aceitas apenas para
+ * decifrar até o {@code ResponsavelReencryptionJob} migrar todas as linhas. Texto cifrado sem
+ * cabeçalho de versão (formato anterior à rotação) pertence à versão {@value #LEGACY_VERSION}.
  */
 @Slf4j
 @Component
 public class EncryptionKeyProvider {
 
-    private static volatile SecretKeySpec keySpec;
+    /** Versão implícita do texto cifrado gravado antes do cabeçalho de versão existir. */
+    public static final int LEGACY_VERSION = 1;
+
+    private static final String DEV_KEY = "dev-only-default-key-change-me";
+
+    private static volatile Keyring keyring;
+    private static volatile SecretKeySpec blindIndexKeySpec;
 
     @Value("${app.encryption.key:}")
     private String configuredKey;
 
+    @Value("${app.encryption.key-version:1}")
+    private int configuredVersion;
+
+    @Value("${app.encryption.previous-keys:}")
+    private String previousKeys;
+
+    /**
+     * Segredo do índice cego; deve permanecer estável mesmo quando a chave AES for trocada. Sem ele,
+     * usa o segredo da versão {@value #LEGACY_VERSION} (a chave anterior a qualquer rotação).
+     */
+    @Value("${app.encryption.blind-index-key:}")
+    private String configuredBlindIndexKey;
+
+    /** Chave atual e chaves aceitas para decifrar, por versão. */
+    record Keyring(int currentVersion, Map<Integer, SecretKeySpec> keys) {
+
+        SecretKeySpec current() {
+            return keys.get(currentVersion);
+        }
+    }
+
     @PostConstruct
     void init() {
         if (configuredKey == null || configuredKey.isBlank()) {
             log.warn("app.encryption.key não configurada — usando chave de desenvolvimento. "
                     + "NÃO use este padrão em produção.");
-            configuredKey = "dev-only-default-key-change-me";
+            configuredKey = DEV_KEY;
+        }
+        Map<Integer, String> secrets = new HashMap<>();
+        if (previousKeys != null && !previousKeys.isBlank()) {
+            for (String entry : previousKeys.split(",")) {
+                int sep = entry.indexOf(':');
+                if (sep <= 0) {
+                    throw new IllegalStateException("app.encryption.previous-keys inválido: use versao:segredo");
+                }
+                secrets.put(Integer.parseInt(entry.substring(0, sep).trim()), entry.substring(sep + 1).trim());
+            }
+        }
+        secrets.put(configuredVersion, configuredKey);
+        Map<Integer, SecretKeySpec> keys = new HashMap<>();
+        secrets.forEach((version, secret) -> keys.put(version, deriveKey(secret)));
+        keyring = new Keyring(configuredVersion, Map.copyOf(keys));
+        blindIndexKeySpec = deriveBlindIndexKey(blindIndexSecret(secrets));
+        log.info("Chaveiro de criptografia: versão atual {}, versões aceitas {}", configuredVersion, keys.keySet());
+    }
+
+    /**
+     * Segredo explícito do índice cego ou, na falta dele, o da versão legada — o mesmo usado antes
+     * de qualquer rotação, para os {@code cpf_hash} existentes continuarem valendo. Sem nenhum dos
+     * dois a inicialização falha: uma chave nova invalidaria todos os hashes em silêncio.
+     */
+    private String blindIndexSecret(Map<Integer, String> secrets) {
+        if (configuredBlindIndexKey != null && !configuredBlindIndexKey.isBlank()) {
+            return configuredBlindIndexKey;
+        }
+        String legado = secrets.get(LEGACY_VERSION);
+        if (legado == null) {
+            throw new IllegalStateException("app.encryption.blind-index-key é obrigatória quando a chave da versão "
+                    + LEGACY_VERSION + " não está no chaveiro (o índice cego do CPF deixaria de corresponder)");
         }
-        keySpec = deriveKey(configuredKey);
+        return legado;
     }
 
-    static SecretKeySpec key() {
-        SecretKeySpec k = keySpec;
+    static Keyring keyring() {
+        Keyring k = keyring;
         if (k == null) {
             // Fallback defensivo caso o converter seja usado antes do contexto subir.
-            k = deriveKey("dev-only-default-key-change-me");
+            k = new Keyring(LEGACY_VERSION, Map.of(LEGACY_VERSION, deriveKey(DEV_KEY)));
+        }
+        return k;
+    }
+
+    /** Versão de chave usada nas novas cifragens. */
+    public static int currentVersion() {
+        return keyring().currentVersion();
+    }
+
+    /** Chave HMAC do {@link BlindIndex}, separada (por domínio) da chave AES. */
+    static SecretKeySpec blindIndexKey() {
+        SecretKeySpec k = blindIndexKeySpec;
+        if (k == null) {
+            k = deriveBlindIndexKey(DEV_KEY);
         }
         return k;
     }
@@ -51,4 +132,14 @@ public class EncryptionKeyProvider {
             throw new IllegalStateException("Falha ao derivar chave de criptografia", e);
         }
     }
+
+    private static SecretKeySpec deriveBlindIndexKey(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(("blind-index:" + secret).getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(digest, "HmacSHA256");
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao derivar chave do índice cego", e);
+        }
+    }
 }
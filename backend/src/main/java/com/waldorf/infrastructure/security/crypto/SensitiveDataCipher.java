@@ -0,0 +1,160 @@
+package com.waldorf.infrastructure.security.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-256/GCM para dados pessoais em repouso. Formato persistido:
+ * {@code k<versão>:base64(IV ‖ ciphertext ‖ tag)}, em que a versão identifica a chave no chaveiro
+ * do {@link EncryptionKeyProvider}; valores sem cabeçalho (formato anterior) são da versão
+ * {@link EncryptionKeyProvider#LEGACY_VERSION}.
+ *
+ * <p>Cada thread reutiliza sua própria instância de {@link Cipher} (apenas re-inicializada com o
+ * novo IV), e IV, texto cifrado e tag são escritos/lidos num único array — sem
+ * {@code Cipher.getInstance}, {@code ByteBuffer} nem cópias intermediárias do texto cifrado.
+ *
+ * <p>Tolerante a dados legados: valores sem cabeçalho que não são texto cifrado válido (ex.: linhas
+ * antigas em texto puro) são devolvidos como estão. Valor com cabeçalho que não decifra (chave
+ * errada, dado adulterado) é erro — nunca é tratado como texto puro.
+ */
+@Slf4j
+public final class SensitiveDataCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int TAG_LENGTH = TAG_BITS / 8;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM indisponível", e);
+        }
+    });
+
+    private static final char HEADER_PREFIX = 'k';
+    private static final char HEADER_SEPARATOR = ':';
+
+    private SensitiveDataCipher() {}
+
+    public static String encrypt(String plaintext) {
+        if (plaintext == null || plaintext.isEmpty()) {
+            return plaintext;
+        }
+        try {
+            byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+            byte[] iv = new byte[IV_LENGTH];
+            RANDOM.nextBytes(iv);
+            byte[] out = new byte[IV_LENGTH + input.length + TAG_LENGTH];
+            System.arraycopy(iv, 0, out, 0, IV_LENGTH);
+            EncryptionKeyProvider.Keyring keyring = EncryptionKeyProvider.keyring();
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.ENCRYPT_MODE, keyring.current(), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.doFinal(input, 0, input.length, out, IV_LENGTH);
+            return header(keyring.currentVersion()) + Base64.getEncoder().encodeToString(out);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao criptografar dado sensível", e);
+        }
+    }
+
+    public static String decrypt(String stored) {
+        return decrypt(stored, false);
+    }
+
+    /**
+     * @param estrito se {@code true}, falha de autenticação (tag GCM) é erro mesmo em valor sem
+     *                cabeçalho; só o que nem é base64 cifrado continua sendo texto puro legado
+     */
+    private static String decrypt(String stored, boolean estrito) {
+        if (stored == null || stored.isEmpty()) {
+            return stored;
+        }
+        int version = version(stored);
+        boolean semCabecalho = version == EncryptionKeyProvider.LEGACY_VERSION && !stored.startsWith(header(version));
+        String payload = semCabecalho ? stored : stored.substring(stored.indexOf(HEADER_SEPARATOR) + 1);
+        SecretKeySpec key = EncryptionKeyProvider.keyring().keys().get(version);
+        if (key == null) {
+            throw new IllegalStateException("Chave de criptografia versão " + version + " ausente do chaveiro");
+        }
+        byte[] decoded;
+        try {
+            decoded = Base64.getDecoder().decode(payload);
+        } catch (IllegalArgumentException e) {
+            if (!semCabecalho) {
+                throw new IllegalStateException("Texto cifrado v" + version + " inválido (base64)", e);
+            }
+            return legado(stored);
+        }
+        if (decoded.length <= IV_LENGTH) {
+            if (!semCabecalho) {
+                throw new IllegalStateException("Texto cifrado v" + version + " inválido (curto demais)");
+            }
+            return stored; // valor legado/curto demais — trata como texto puro
+        }
+        try {
+            Cipher cipher = CIPHER.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, decoded, 0, IV_LENGTH));
+            byte[] plain = cipher.doFinal(decoded, IV_LENGTH, decoded.length - IV_LENGTH);
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (AEADBadTagException e) {
+            if (!semCabecalho || estrito) {
+                throw new IllegalStateException("Falha de autenticação ao decifrar com a chave v" + version
+                        + " (chave errada ou dado adulterado)", e);
+            }
+            return legado(stored);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao descriptografar dado sensível", e);
+        }
+    }
+
+    /** Indica se o valor persistido não está cifrado com a chave atual (inclui texto puro legado). */
+    public static boolean needsReencryption(String stored) {
+        if (stored == null || stored.isEmpty()) {
+            return false;
+        }
+        return !stored.startsWith(header(EncryptionKeyProvider.currentVersion()));
+    }
+
+    /**
+     * Decifra com a chave da versão do valor e cifra de novo com a chave atual. Falha de
+     * autenticação lança exceção: com a chave errada, cifrar o próprio texto cifrado corromperia o
+     * dado de vez.
+     */
+    public static String reencrypt(String stored) {
+        return encrypt(decrypt(stored, true));
+    }
+
+    /** Versão da chave do valor: a do cabeçalho {@code k<versão>:} ou a legada, se não houver. */
+    static int version(String stored) {
+        int sep = stored.indexOf(HEADER_SEPARATOR);
+        if (stored.charAt(0) != HEADER_PREFIX || sep < 2 || sep > 10) {
+            return EncryptionKeyProvider.LEGACY_VERSION;
+        }
+        for (int i = 1; i < sep; i++) {
+            if (!Character.isDigit(stored.charAt(i))) {
+                return EncryptionKeyProvider.LEGACY_VERSION;
+            }
+        }
+        return Integer.parseInt(stored, 1, sep, 10);
+    }
+
+    private static String header(int version) {
+        return HEADER_PREFIX + Integer.toString(version) + HEADER_SEPARATOR;
+    }
+
+    private static String legado(String stored) {
+        // Não é base64/ciphertext válido → dado legado em texto puro.
+        log.debug("Valor não cifrado detectado em coluna criptografada; retornando como texto puro");
+        return stored;
+    }
+}
@@ -0,0 +1,63 @@
+package com.waldorf.infrastructure.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Token bucket em memória, com número máximo de chaves rastreadas.
+ *
+ * <p>Os buckets ficam num cache Caffeine limitado a {@code maxKeys} entradas. Um bucket sem
+ * tentativas por uma janela inteira já voltou a ficar cheio — equivale a um inexistente — e expira;
+ * atingido o limite, os buckets menos usados são descartados. Toda chave tem o seu próprio bucket:
+ * uma rajada com milhares de IPs/e-mails distintos não cresce o heap nem esgota as tentativas dos
+ * usuários legítimos, como faria um bucket de transbordo compartilhado.
+ */
+public class InMemoryTokenBucketLimiter implements LoginRateLimiter {
+
+    private final double capacity;
+    private final double refillPerMilli;
+    private final Cache<String, Bucket> buckets;
+
+    public InMemoryTokenBucketLimiter(int capacity, long windowMillis, int maxKeys) {
+        this.capacity = capacity;
+        this.refillPerMilli = (double) capacity / windowMillis;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMillis))
+                .build();
+    }
+
+    @Override
+    public Decision tryAcquire(String key) {
+        long now = System.currentTimeMillis();
+        return buckets.get(key, k -> new Bucket(capacity, now)).take(now);
+    }
+
+    /** Quantidade de chaves atualmente rastreadas. */
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updatedAt = now;
+        }
+
+        synchronized Decision take(long now) {
+            tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * refillPerMilli);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Decision.allow();
+            }
+            return Decision.deny((long) Math.ceil((1 - tokens) / refillPerMilli));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.waldorf.infrastructure.security.ratelimit;
+
+/**
+ * Limitador de tentativas de login (token bucket por chave). Implementações:
+ * {@link RedisTokenBucketLimiter}, compartilhado entre réplicas, e
+ * {@link InMemoryTokenBucketLimiter}, local e com memória limitada.
+ */
+public interface LoginRateLimiter {
+
+    /** Consome um token do bucket da chave, se houver. */
+    Decision tryAcquire(String key);
+
+    /** Resultado da tentativa; {@code retryAfterMillis} só é relevante quando negada. */
+    record Decision(boolean allowed, long retryAfterMillis) {
+
+        static Decision allow() {
+            return new Decision(true, 0);
+        }
+
+        static Decision deny(long retryAfterMillis) {
+            return new Decision(false, Math.max(retryAfterMillis, 1));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.waldorf.infrastructure.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Escolhe o backend do rate limiting de login ({@code app.rate-limit.login.backend}):
+ * {@code redis}, {@code memory} ou {@code auto} (Redis quando disponível, senão memória).
+ */
+@Slf4j
+@Configuration
+public class LoginRateLimiterConfig {
+
+    @Value("${app.rate-limit.login.backend:auto}")
+    private String backend;
+
+    @Value("${app.rate-limit.login.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.rate-limit.login.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${app.rate-limit.login.max-tracked-keys:50000}")
+    private int maxTrackedKeys;
+
+    @Bean
+    public LoginRateLimiter loginRateLimiter(ObjectProvider<StringRedisTemplate> redisProvider) {
+        long windowMillis = windowSeconds * 1_000;
+        var local = new InMemoryTokenBucketLimiter(maxAttempts, windowMillis, maxTrackedKeys);
+        if ("memory".equalsIgnoreCase(backend)) {
+            return local;
+        }
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) {
+            if ("redis".equalsIgnoreCase(backend)) {
+                log.warn("Rate limit de login configurado para Redis, mas Redis indisponível — usando memória");
+            }
+            return local;
+        }
+        log.info("Rate limit de login distribuído via Redis");
+        return new RedisTokenBucketLimiter(redis, maxAttempts, windowMillis, local);
+    }
+}
@@ -0,0 +1,54 @@
+package com.waldorf.infrastructure.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token bucket compartilhado entre réplicas: um script Lua ({@code redis/token_bucket.lua})
+ * faz leitura, reposição e consumo atomicamente no Redis, usando o relógio do servidor Redis.
+ * Se o Redis falhar, a decisão é tomada pelo limitador local informado (cada réplica limita
+ * isoladamente) em vez de liberar ou bloquear todos os logins.
+ */
+@Slf4j
+public class RedisTokenBucketLimiter implements LoginRateLimiter {
+
+    private static final String PREFIX = "login:ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/token_bucket.lua"), List.class);
+
+    private final StringRedisTemplate redis;
+    private final LoginRateLimiter fallback;
+    private final String capacity;
+    private final String refillPerMilli;
+    private final String ttlMillis;
+
+    public RedisTokenBucketLimiter(StringRedisTemplate redis, int capacity, long windowMillis,
+                                   LoginRateLimiter fallback) {
+        this.redis = redis;
+        this.fallback = fallback;
+        this.capacity = String.valueOf(capacity);
+        this.refillPerMilli = String.valueOf((double) capacity / windowMillis);
+        this.ttlMillis = String.valueOf(windowMillis);
+    }
+
+    @Override
+    public Decision tryAcquire(String key) {
+        try {
+            List<?> result = redis.execute(SCRIPT, List.of(PREFIX + key), capacity, refillPerMilli, ttlMillis);
+            if (result != null && result.size() == 2) {
+                boolean allowed = ((Number) result.get(0)).longValue() == 1L;
+                return allowed ? Decision.allow() : Decision.deny(((Number) result.get(1)).longValue());
+            }
+            log.warn("Resposta inesperada do script de rate limit: {}", result);
+        } catch (Exception e) {
+            log.warn("Rate limit via Redis indisponível; usando limitador local: {}", e.getMessage());
+        }
+        return fallback.tryAcquire(key);
+    }
+}
@@ -1,5 +1,6 @@
 package com.waldorf.presentation.controller;
 
+import com.waldorf.application.dto.CursorPageDTO;
 import com.waldorf.application.dto.aluno.AlunoRequestDTO;
 import com.waldorf.application.dto.aluno.AlunoResponseDTO;
 import com.waldorf.application.service.AlunoService;
@@ -33,6 +34,19 @@ public class AlunoController {
         return ResponseEntity.ok(alunoService.listar(nome, turmaId, ativo, pageable));
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','PROFESSOR')")
+    @Operation(summary = "Listar alunos por cursor",
+               description = "Ordenado por nome, sem total; o nextCursor da resposta vai em cursor")
+    public ResponseEntity<CursorPageDTO<AlunoResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) Long turmaId,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(alunoService.listarPorCursor(nome, turmaId, ativo, cursor, size));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','PROFESSOR','PAIS')")
     public ResponseEntity<AlunoResponseDTO> buscar(@PathVariable Long id) {
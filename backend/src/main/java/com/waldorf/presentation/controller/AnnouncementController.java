@@ -3,13 +3,9 @@ package com.waldorf.presentation.controller;
 import com.waldorf.application.dto.AvisoDTO;
 import com.waldorf.application.dto.CreateAvisoRequest;
 import com.waldorf.application.service.AvisoService;
-import com.waldorf.domain.entity.Usuario;
-import com.waldorf.infrastructure.repository.UsuarioRepository;
-import com.waldorf.infrastructure.security.JwtService;
+import com.waldorf.infrastructure.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,8 +21,6 @@ import java.util.List;
 public class AnnouncementController {
 
     private final AvisoService avisoService;
-    private final JwtService jwtService;
-    private final UsuarioRepository usuarioRepository;
 
     @GetMapping
     @Operation(summary = "Lista avisos")
@@ -40,8 +34,7 @@ public class AnnouncementController {
     @Operation(summary = "Cria aviso")
     public ResponseEntity<AvisoDTO> criar(
             @RequestBody CreateAvisoRequest req,
-            HttpServletRequest httpReq) {
-        Long autorId = extrairUsuarioId(httpReq);
+            @CurrentUser Long autorId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(avisoService.criar(req, autorId));
     }
 
@@ -58,14 +51,4 @@ public class AnnouncementController {
         avisoService.excluir(id);
         return ResponseEntity.noContent().build();
     }
-
-    // FIX: JwtService não tem extractUserId() → usa extractUsername() (email) + busca por email
-    private Long extrairUsuarioId(HttpServletRequest req) {
-        String header = req.getHeader("Authorization");
-        String token  = header != null && header.startsWith("Bearer ") ? header.substring(7) : "";
-        String email  = jwtService.extractUsername(token);
-        Usuario u = usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado: " + email));
-        return u.getId();
-    }
 }
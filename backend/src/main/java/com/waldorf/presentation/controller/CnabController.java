@@ -0,0 +1,74 @@
+package com.waldorf.presentation.controller;
+
+import com.waldorf.application.dto.financeiro.RemessaCnabDTO;
+import com.waldorf.application.dto.financeiro.RetornoCnabResultadoDTO;
+import com.waldorf.application.service.CnabService;
+import com.waldorf.infrastructure.cnab.LayoutCnab;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/financeiro/cnab")
+@RequiredArgsConstructor
+@Tag(name = "Cobrança CNAB", description = "Arquivos de remessa e retorno de boletos (CNAB 240/400)")
+public class CnabController {
+
+    private final CnabService cnabService;
+
+    @PostMapping("/remessa")
+    @PreAuthorize("hasAnyRole('ADMIN','FINANCEIRO')")
+    @Operation(summary = "Registrar remessa das mensalidades em aberto",
+               description = "Parcelas ABERTA/PENDENTE com vencimento no período e ainda sem nosso número "
+                       + "(reenviar=true inclui as já registradas) recebem nosso número e o NSA de uma remessa "
+                       + "nova. O arquivo é baixado em GET /remessa/{nsa} (header Location)")
+    public ResponseEntity<RemessaCnabDTO> remessa(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate vencimentoDe,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate vencimentoAte,
+            @RequestParam(defaultValue = "false") boolean reenviar) {
+        RemessaCnabDTO remessa = cnabService.remessa(vencimentoDe, vencimentoAte, reenviar);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{nsa}").buildAndExpand(remessa.nsa()).toUri();
+        return ResponseEntity.created(location).body(remessa);
+    }
+
+    @GetMapping(value = "/remessa/{nsa}", produces = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','FINANCEIRO')")
+    @Operation(summary = "Baixar o arquivo de uma remessa registrada",
+               description = "Gerado enquanto é baixado, com o NSA e os títulos (ainda em aberto) da remessa; "
+                       + "pode ser baixado de novo, ex.: após um download interrompido")
+    public ResponseEntity<StreamingResponseBody> reemitir(@PathVariable long nsa,
+                                                          @RequestParam(defaultValue = "400") String layout) {
+        return download(cnabService.reemitir(LayoutCnab.de(layout), nsa));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(CnabService.ArquivoRemessa arquivo) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(arquivo.nome()).build().toString())
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(arquivo.conteudo()::escrever);
+    }
+
+    @PostMapping(value = "/retorno", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN','FINANCEIRO')")
+    @Operation(summary = "Processar arquivo de retorno do banco",
+               description = "Layout detectado pelo tamanho do registro. Liquidações baixam as mensalidades pelo "
+                       + "nosso número; reenviar o mesmo arquivo não aplica pagamentos duas vezes")
+    public ResponseEntity<RetornoCnabResultadoDTO> retorno(InputStream corpo) {
+        return ResponseEntity.ok(cnabService.processarRetorno(corpo));
+    }
+}
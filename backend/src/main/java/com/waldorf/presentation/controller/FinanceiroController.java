@@ -1,17 +1,42 @@
 package com.waldorf.presentation.controller;
 
+import com.waldorf.application.dto.financeiro.AgingRecebiveisDTO;
+import com.waldorf.application.dto.financeiro.BaixaPagamentoRequestDTO;
+import com.waldorf.application.dto.financeiro.ContratoFiltroDTO;
 import com.waldorf.application.dto.financeiro.ContratoRequestDTO;
 import com.waldorf.application.dto.financeiro.ContratoResponseDTO;
+import com.waldorf.application.dto.financeiro.ContratoResumoDTO;
+import com.waldorf.application.dto.financeiro.MensalidadeResponseDTO;
+import com.waldorf.application.dto.financeiro.PixCobrancaDTO;
+import com.waldorf.application.dto.financeiro.ReceitaMensalDTO;
+import com.waldorf.application.job.RenovacaoContratosJob;
 import com.waldorf.application.service.ContratoService;
+import com.waldorf.application.service.MensalidadeService;
+import com.waldorf.application.service.PixService;
+import com.waldorf.application.service.ResumoMensalidadesService;
+import com.waldorf.domain.enums.SituacaoContrato;
+import com.waldorf.infrastructure.pix.FormatoQr;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
 import java.util.List;
 
 @RestController
@@ -21,13 +46,43 @@ import java.util.List;
 public class FinanceiroController {
 
     private final ContratoService contratoService;
+    private final RenovacaoContratosJob renovacaoContratosJob;
+    private final MensalidadeService mensalidadeService;
+    private final ResumoMensalidadesService resumoMensalidades;
+    private final PixService pixService;
 
     @GetMapping("/contratos")
-    @Operation(summary = "Listar contratos")
+    @Operation(summary = "Listar contratos (paginado)",
+               description = "Filtros opcionais por aluno, ano letivo, situação, nome do aluno e turma atual "
+                       + "do aluno; ordenação por campos do contrato (ex.: sort=anoLetivo) ou do aluno (sort=a.nome)")
     @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','FINANCEIRO')")
-    public ResponseEntity<List<ContratoResponseDTO>> listar(
-            @RequestParam(required = false) Long alunoId) {
-        return ResponseEntity.ok(contratoService.listar(alunoId));
+    public ResponseEntity<Page<ContratoResumoDTO>> listar(
+            @RequestParam(required = false) Long alunoId,
+            @RequestParam(required = false) Integer anoLetivo,
+            @RequestParam(required = false) SituacaoContrato situacao,
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) Long turmaId,
+            @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return ResponseEntity.ok(contratoService.listar(
+                new ContratoFiltroDTO(alunoId, anoLetivo, situacao, nome, turmaId), pageable));
+    }
+
+    @GetMapping(value = "/contratos/exportacao", produces = "text/csv")
+    @Operation(summary = "Exportar contratos em CSV",
+               description = "Mesmos filtros da listagem; o arquivo é gerado enquanto é baixado")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','FINANCEIRO')")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(required = false) Long alunoId,
+            @RequestParam(required = false) Integer anoLetivo,
+            @RequestParam(required = false) SituacaoContrato situacao,
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) Long turmaId) {
+        ContratoFiltroDTO filtro = new ContratoFiltroDTO(alunoId, anoLetivo, situacao, nome, turmaId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("contratos.csv").build().toString())
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(out -> contratoService.exportarCsv(filtro, out));
     }
 
     @PostMapping("/contratos")
@@ -43,4 +98,73 @@ public class FinanceiroController {
     public ResponseEntity<ContratoResponseDTO> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(contratoService.buscarPorId(id));
     }
+
+    @PostMapping("/contratos/renovacao")
+    @Operation(summary = "Renovar contratos ativos para o ano letivo seguinte",
+               description = "Executa em segundo plano; retomável e idempotente (alunos já renovados são pulados)")
+    @PreAuthorize("hasAnyRole('ADMIN','FINANCEIRO')")
+    public ResponseEntity<Void> renovar(@RequestParam Integer anoLetivo) {
+        renovacaoContratosJob.executarAsync(anoLetivo);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/mensalidades/{id}/baixa")
+    @Operation(summary = "Registrar pagamento de mensalidade")
+    @PreAuthorize("hasAnyRole('ADMIN','FINANCEIRO')")
+    public ResponseEntity<MensalidadeResponseDTO> baixar(@PathVariable Long id,
+                                                         @Valid @RequestBody BaixaPagamentoRequestDTO dto) {
+        return ResponseEntity.ok(mensalidadeService.registrarPagamento(id, dto));
+    }
+
+    @GetMapping("/mensalidades/{id}/pix")
+    @Operation(summary = "PIX copia e cola da mensalidade", description = "BR Code pelo saldo em aberto no momento")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','FINANCEIRO') "
+            + "or (hasRole('PAIS') and @acessoFamilia.mensalidade(#id, authentication))")
+    public ResponseEntity<PixCobrancaDTO> pix(@PathVariable Long id) {
+        return ResponseEntity.ok(pixService.cobranca(id));
+    }
+
+    @GetMapping("/mensalidades/{id}/pix/qrcode")
+    @Operation(summary = "QR Code do PIX da mensalidade (PNG ou SVG)",
+               description = "Com ETag: If-None-Match igual responde 304 sem gerar a imagem")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','FINANCEIRO') "
+            + "or (hasRole('PAIS') and @acessoFamilia.mensalidade(#id, authentication))")
+    public ResponseEntity<byte[]> pixQrCode(@PathVariable Long id,
+                                            @RequestParam(defaultValue = "svg") String formato,
+                                            @RequestParam(defaultValue = "8") int escala,
+                                            WebRequest request) {
+        FormatoQr f = FormatoQr.de(formato);
+        String payload = pixService.cobranca(id).copiaECola();
+        String etag = pixService.etag(payload, f, escala);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.parseMediaType(f.getContentType()))
+                .body(pixService.qrCode(payload, f, escala));
+    }
+
+    @GetMapping("/recebiveis/aging")
+    @Operation(summary = "Recebíveis em aberto por faixa de atraso",
+               description = "Lido do resumo incremental; faixas recalculadas diariamente na reconciliação")
+    @PreAuthorize("hasAnyRole('ADMIN','DIRETOR','FINANCEIRO')")
+    public ResponseEntity<AgingRecebiveisDTO> aging() {
+        return ResponseEntity.ok(resumoMensalidades.aging());
+    }
+
+    @GetMapping("/receita-mensal")
+    @Operation(summary = "Receita prevista x recebida por mês de competência")
+    @PreAuthorize("hasAnyRole('ADMIN','DIRETOR','FINANCEIRO')")
+    public ResponseEntity<List<ReceitaMensalDTO>> receitaMensal(@RequestParam(required = false) Integer ano) {
+        return ResponseEntity.ok(resumoMensalidades.receitaMensal(ano != null ? ano : Year.now().getValue()));
+    }
+
+    @PostMapping("/recebiveis/reconciliacao")
+    @Operation(summary = "Reconciliar o resumo de mensalidades com o detalhe")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResumoMensalidadesService.Reconciliacao> reconciliar() {
+        return ResponseEntity.ok(resumoMensalidades.reconciliar(LocalDate.now()));
+    }
 }
@@ -0,0 +1,48 @@
+package com.waldorf.presentation.controller;
+
+import com.waldorf.application.dto.importacao.ImportacaoResultadoDTO;
+import com.waldorf.application.service.ImportacaoService;
+import com.waldorf.domain.enums.TipoImportacao;
+import com.waldorf.infrastructure.importacao.LeitorRegistros;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/importacoes")
+@RequiredArgsConstructor
+@Tag(name = "Importação", description = "Carga em massa de alunos, responsáveis e contratos")
+public class ImportacaoController {
+
+    static final String HEADER_ID = "X-Importacao-Id";
+
+    private final ImportacaoService importacaoService;
+
+    @PostMapping(value = "/{tipo}", consumes = {"text/csv", "text/plain", "application/x-ndjson", "application/json"})
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA') or (#tipo == 'contratos' and hasRole('FINANCEIRO'))")
+    @Operation(summary = "Importar alunos, responsáveis ou contratos em massa",
+               description = "Corpo em CSV (cabeçalho na 1ª linha, separador ';' ou ',') ou NDJSON (um objeto por linha). "
+                       + "Linhas inválidas são rejeitadas individualmente e listadas no resultado; o progresso pode ser "
+                       + "consultado em GET /importacoes/{id} usando o mesmo " + HEADER_ID + " enviado aqui")
+    public ResponseEntity<ImportacaoResultadoDTO> importar(
+            @PathVariable String tipo,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HEADER_ID, required = false) String id,
+            InputStream corpo) {
+        return ResponseEntity.ok(importacaoService.importar(
+                TipoImportacao.deCaminho(tipo), LeitorRegistros.Formato.de(contentType), corpo, id));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','FINANCEIRO')")
+    @Operation(summary = "Progresso ou resultado de uma importação (mantido por 1 hora)")
+    public ResponseEntity<ImportacaoResultadoDTO> progresso(@PathVariable String id) {
+        return ResponseEntity.ok(importacaoService.progresso(id));
+    }
+}
@@ -0,0 +1,48 @@
+package com.waldorf.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waldorf.application.dto.financeiro.EventoPagamentoDTO;
+import com.waldorf.application.service.PagamentoGatewayService;
+import com.waldorf.infrastructure.security.WebhookSignatureVerifier;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/pagamentos")
+@RequiredArgsConstructor
+@Tag(name = "Pagamentos", description = "Confirmações do gateway de pagamentos")
+public class PagamentoWebhookController {
+
+    static final String HEADER_ASSINATURA = "X-Signature";
+
+    private final PagamentoGatewayService pagamentoGatewayService;
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/webhook", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Receber confirmação de pagamento do gateway",
+               description = "Autenticado por HMAC-SHA256 do corpo em " + HEADER_ASSINATURA + ". Só enfileira: "
+                       + "202 = aceito para processamento, 200 = transação já recebida, 503 = fila cheia (reenviar)")
+    public ResponseEntity<Void> receber(@RequestHeader(value = HEADER_ASSINATURA, required = false) String assinatura,
+                                        @RequestBody byte[] corpo) {
+        signatureVerifier.verificar(corpo, assinatura);
+        EventoPagamentoDTO evento;
+        try {
+            evento = objectMapper.readValue(corpo, EventoPagamentoDTO.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Evento de pagamento inválido");
+        }
+        return switch (pagamentoGatewayService.receber(evento)) {
+            case ACEITO -> ResponseEntity.accepted().build();
+            case DUPLICADO -> ResponseEntity.ok().build();
+        };
+    }
+}
@@ -1,4 +1,5 @@
 package com.waldorf.presentation.controller;
+import com.waldorf.application.dto.CursorPageDTO;
 import com.waldorf.application.dto.professor.ProfessorRequestDTO;
 import com.waldorf.application.dto.professor.ProfessorResponseDTO;
 import com.waldorf.application.service.ProfessorService;
@@ -16,6 +17,8 @@ import org.springframework.web.bind.annotation.*;
 public class ProfessorController {
     private final ProfessorService service;
     @GetMapping @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR')") public ResponseEntity<Page<ProfessorResponseDTO>> listar(Pageable p) { return ResponseEntity.ok(service.listar(p)); }
+    @GetMapping("/cursor") @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR')") @Operation(summary="Listar professores por cursor", description="Ordenado por nome, sem total; o nextCursor da resposta vai em cursor")
+    public ResponseEntity<CursorPageDTO<ProfessorResponseDTO>> listarPorCursor(@RequestParam(required=false) String cursor, @RequestParam(defaultValue="20") int size) { return ResponseEntity.ok(service.listarPorCursor(cursor,size)); }
     @GetMapping("/{id}") @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','PROFESSOR')") public ResponseEntity<ProfessorResponseDTO> buscar(@PathVariable Long id) { return ResponseEntity.ok(service.buscarPorId(id)); }
     @PostMapping @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA')") public ResponseEntity<ProfessorResponseDTO> criar(@Valid @RequestBody ProfessorRequestDTO dto) { return ResponseEntity.status(HttpStatus.CREATED).body(service.criar(dto)); }
     @PutMapping("/{id}") @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA')") public ResponseEntity<ProfessorResponseDTO> atualizar(@PathVariable Long id,@Valid @RequestBody ProfessorRequestDTO dto) { return ResponseEntity.ok(service.atualizar(id,dto)); }
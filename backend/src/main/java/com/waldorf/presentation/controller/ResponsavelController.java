@@ -1,5 +1,8 @@
 package com.waldorf.presentation.controller;
 
+import com.waldorf.application.dto.CursorPageDTO;
+import com.waldorf.application.dto.responsavel.BuscaCpfRequestDTO;
+import com.waldorf.application.dto.responsavel.ExtratoFamiliaDTO;
 import com.waldorf.application.dto.responsavel.ResponsavelRequestDTO;
 import com.waldorf.application.dto.responsavel.ResponsavelResponseDTO;
 import com.waldorf.application.service.ResponsavelService;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/responsaveis")
@@ -33,12 +37,40 @@ public class ResponsavelController {
         return ResponseEntity.ok(responsavelService.listar(nome, pageable));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar responsáveis por cursor",
+               description = "Ordenado por nome, sem total; o nextCursor da resposta vai em cursor")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR')")
+    public ResponseEntity<CursorPageDTO<ResponsavelResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(responsavelService.listarPorCursor(nome, cursor, size));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','PROFESSOR')")
     public ResponseEntity<ResponsavelResponseDTO> buscarPorId(@PathVariable Long id) {
         return ResponseEntity.ok(responsavelService.buscarPorId(id));
     }
 
+    @GetMapping("/{id}/extrato")
+    @Operation(summary = "Extrato financeiro da família",
+               description = "Filhos, contratos e parcelas em aberto ou vencidas do responsável numa só resposta; "
+                       + "o perfil PAIS só consulta a própria família (responsável com o e-mail do usuário)")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','FINANCEIRO') "
+            + "or (hasRole('PAIS') and @acessoFamilia.responsavel(#id, authentication))")
+    public ResponseEntity<ExtratoFamiliaDTO> extrato(@PathVariable Long id) {
+        return ResponseEntity.ok(responsavelService.extrato(id));
+    }
+
+    @PostMapping("/busca-cpf")
+    @Operation(summary = "Buscar responsáveis por CPF")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR')")
+    public ResponseEntity<List<ResponsavelResponseDTO>> buscarPorCpf(@Valid @RequestBody BuscaCpfRequestDTO dto) {
+        return ResponseEntity.ok(responsavelService.buscarPorCpf(dto.cpf()));
+    }
+
     @PostMapping
     @Operation(summary = "Cadastrar responsável")
     @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA')")
@@ -0,0 +1,33 @@
+package com.waldorf.presentation.controller;
+
+import com.waldorf.application.dto.busca.TypeaheadItemDTO;
+import com.waldorf.application.service.TypeaheadSearchService;
+import com.waldorf.domain.enums.TipoBusca;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Busca")
+public class SearchController {
+
+    private final TypeaheadSearchService typeaheadSearchService;
+
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR','PROFESSOR')")
+    @Operation(summary = "Autocompletar nomes de alunos e responsáveis",
+               description = "Ignora acentos e caixa; cada termo casa com o início de uma palavra do nome")
+    public ResponseEntity<List<TypeaheadItemDTO>> typeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) TipoBusca tipo,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(typeaheadSearchService.buscar(q, tipo, limit));
+    }
+}
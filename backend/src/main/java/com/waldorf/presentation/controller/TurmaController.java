@@ -1,8 +1,11 @@
 package com.waldorf.presentation.controller;
 
+import com.waldorf.application.dto.turma.EnturmacaoRequestDTO;
+import com.waldorf.application.dto.turma.EnturmacaoResponseDTO;
 import com.waldorf.application.dto.turma.TurmaRequestDTO;
 import com.waldorf.application.dto.turma.TurmaResponseDTO;
 import com.waldorf.application.service.TurmaService;
+import com.waldorf.application.service.VagaTurmaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,6 +23,7 @@ import java.util.List;
 public class TurmaController {
 
     private final TurmaService turmaService;
+    private final VagaTurmaService vagaTurmaService;
 
     @GetMapping
     @Operation(summary = "Listar turmas")
@@ -56,4 +60,29 @@ public class TurmaController {
     public ResponseEntity<?> listarAlunos(@PathVariable Long id) {
         return ResponseEntity.ok(turmaService.listarAlunos(id));
     }
+
+    @PostMapping("/{id}/matriculas")
+    @Operation(summary = "Matricular aluno na turma",
+               description = "Reserva uma vaga; se a turma estiver lotada, entra na lista de espera quando listaEspera=true ou retorna 422")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA')")
+    public ResponseEntity<EnturmacaoResponseDTO> matricular(
+            @PathVariable Long id,
+            @Valid @RequestBody EnturmacaoRequestDTO dto) {
+        return ResponseEntity.ok(vagaTurmaService.enturmar(id, dto.alunoId(), dto.listaEspera()));
+    }
+
+    @GetMapping("/{id}/lista-espera")
+    @Operation(summary = "Lista de espera da turma, em ordem de atendimento")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA','DIRETOR')")
+    public ResponseEntity<List<EnturmacaoResponseDTO>> listaEspera(@PathVariable Long id) {
+        return ResponseEntity.ok(vagaTurmaService.listaEspera(id));
+    }
+
+    @DeleteMapping("/{id}/lista-espera/{alunoId}")
+    @Operation(summary = "Retirar aluno da lista de espera")
+    @PreAuthorize("hasAnyRole('ADMIN','SECRETARIA')")
+    public ResponseEntity<Void> sairDaListaEspera(@PathVariable Long id, @PathVariable Long alunoId) {
+        vagaTurmaService.sairDaFila(id, alunoId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,4 @@
+-- Carimbo de versão de segurança do usuário: incrementado sempre que status, perfis ou senha
+-- mudam. Vai embutido no access token (claim "sv"), permitindo autenticar sem consultar o
+-- banco enquanto o carimbo do token continuar atual.
+ALTER TABLE usuarios ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
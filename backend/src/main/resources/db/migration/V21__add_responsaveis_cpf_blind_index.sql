@@ -0,0 +1,4 @@
+-- Índice cego (HMAC-SHA256 do CPF normalizado) para busca por igualdade sem decifrar a tabela.
+-- Linhas existentes são preenchidas pelo ResponsavelCpfIndexBackfillJob na inicialização.
+ALTER TABLE responsaveis ADD COLUMN cpf_hash CHAR(64) NULL;
+CREATE INDEX idx_responsaveis_cpf_hash ON responsaveis (cpf_hash);
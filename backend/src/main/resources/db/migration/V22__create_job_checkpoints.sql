@@ -0,0 +1,11 @@
+-- Progresso e lease de jobs em lotes (re-cifragem, renovação de contratos, ...), para retomar
+-- após reinício e garantir uma única réplica executando cada job.
+CREATE TABLE job_checkpoints (
+    job_name    VARCHAR(100) NOT NULL PRIMARY KEY,
+    last_id     BIGINT       NOT NULL DEFAULT 0,
+    processed   BIGINT       NOT NULL DEFAULT 0,
+    params      VARCHAR(100) NULL,
+    owner       VARCHAR(150) NULL,
+    lease_until DATETIME     NULL,
+    updated_at  DATETIME     NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
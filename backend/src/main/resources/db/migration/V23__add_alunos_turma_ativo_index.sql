@@ -0,0 +1,3 @@
+-- Contagem de alunos ativos por turma (listagem de turmas) resolvida só pelo índice.
+-- turmas(ano_letivo) já é coberto por idx_ano_letivo (V1).
+CREATE INDEX idx_alunos_turma_ativo ON alunos (turma_id, ativo);
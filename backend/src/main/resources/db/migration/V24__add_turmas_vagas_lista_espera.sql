@@ -0,0 +1,16 @@
+-- Contador de vagas ocupadas (alunos ativos) para reserva atômica por UPDATE condicional.
+ALTER TABLE turmas ADD COLUMN vagas_ocupadas INT NOT NULL DEFAULT 0;
+
+UPDATE turmas t
+   SET vagas_ocupadas = (SELECT COUNT(*) FROM alunos a WHERE a.turma_id = t.id AND a.ativo = TRUE);
+
+-- Fila de espera (FIFO por id) das turmas lotadas.
+CREATE TABLE turma_lista_espera (
+    id         BIGINT   PRIMARY KEY AUTO_INCREMENT,
+    turma_id   BIGINT   NOT NULL,
+    aluno_id   BIGINT   NOT NULL,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (turma_id) REFERENCES turmas(id) ON DELETE CASCADE,
+    FOREIGN KEY (aluno_id) REFERENCES alunos(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_lista_espera_turma_aluno (turma_id, aluno_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,4 @@
+-- Paginação por cursor ordena por (nome, id); no InnoDB o índice secundário já carrega o id.
+CREATE INDEX idx_alunos_nome       ON alunos (nome);
+CREATE INDEX idx_professores_nome  ON professores (nome);
+CREATE INDEX idx_responsaveis_nome ON responsaveis (nome);
@@ -0,0 +1,6 @@
+-- Contador de matrículas por ano, reservado em blocos (hi/lo) pelo MatriculaAllocator.
+-- A linha de cada ano é criada no primeiro uso, começando após a maior matrícula já existente.
+CREATE TABLE matricula_sequencias (
+    ano     INT    NOT NULL PRIMARY KEY,
+    proximo BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,11 @@
+-- Ids de mensalidades reservados em blocos (pooled-lo): o Hibernate (TableGenerator da entidade)
+-- e as inserções em lote via JDBC (SequenciaIdAllocator) leem "proximo", avançam-no pelo tamanho
+-- do bloco e usam [proximo, proximo + bloco). Toda inserção em mensalidades deve passar por aqui;
+-- o AUTO_INCREMENT da coluna deixa de ser usado.
+CREATE TABLE id_sequencias (
+    nome    VARCHAR(64) NOT NULL PRIMARY KEY,
+    proximo BIGINT      NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO id_sequencias (nome, proximo)
+SELECT 'mensalidades', COALESCE(MAX(id), 0) + 1 FROM mensalidades;
@@ -0,0 +1,10 @@
+-- Status usados pela entidade (PENDENTE, VENCIDA, PARCIAL) que o ENUM original não aceitava;
+-- NEGOCIADA é mantido para linhas antigas.
+UPDATE mensalidades SET status = 'ABERTA' WHERE status IS NULL;
+
+ALTER TABLE mensalidades
+    MODIFY status ENUM('ABERTA','PENDENTE','PAGA','ATRASADA','VENCIDA','CANCELADA','PARCIAL','NEGOCIADA')
+        NOT NULL DEFAULT 'ABERTA';
+
+-- Rotina de inadimplência: "status = ? AND data_vencimento < ?" (igualdade antes do intervalo).
+CREATE INDEX idx_mensalidades_status_vencimento ON mensalidades (status, data_vencimento);
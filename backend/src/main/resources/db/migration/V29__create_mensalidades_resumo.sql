@@ -0,0 +1,28 @@
+-- Agregado das mensalidades por competência, status e faixa de atraso, mantido incrementalmente
+-- (geração, baixa) e reconciliado diariamente após a rotina de inadimplência. Serve o aging de
+-- recebíveis e a receita prevista x recebida sem varrer "mensalidades".
+-- valor_previsto = parcela - desconto (sem juros/multa); valor_recebido = valor_pago.
+CREATE TABLE mensalidades_resumo (
+    ano_referencia  INT           NOT NULL,
+    mes_referencia  INT           NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    faixa_atraso    VARCHAR(20)   NOT NULL,
+    quantidade      BIGINT        NOT NULL DEFAULT 0,
+    valor_previsto  DECIMAL(14,2) NOT NULL DEFAULT 0,
+    valor_recebido  DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at      DATETIME      NOT NULL,
+    PRIMARY KEY (ano_referencia, mes_referencia, status, faixa_atraso)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Carga inicial; as faixas são recalculadas na primeira reconciliação.
+INSERT INTO mensalidades_resumo (ano_referencia, mes_referencia, status, faixa_atraso, quantidade,
+                                 valor_previsto, valor_recebido, updated_at)
+SELECT ano_referencia, mes_referencia, status,
+       CASE WHEN status IN ('PAGA', 'CANCELADA', 'NEGOCIADA') OR data_vencimento >= CURDATE() THEN 'EM_DIA'
+            WHEN data_vencimento >= CURDATE() - INTERVAL 30 DAY THEN 'ATE_30'
+            WHEN data_vencimento >= CURDATE() - INTERVAL 60 DAY THEN 'DE_31_A_60'
+            WHEN data_vencimento >= CURDATE() - INTERVAL 90 DAY THEN 'DE_61_A_90'
+            ELSE 'ACIMA_DE_90' END AS faixa,
+       COUNT(*), SUM(valor_parcela - COALESCE(valor_desconto, 0)), SUM(COALESCE(valor_pago, 0)), NOW()
+FROM mensalidades
+GROUP BY ano_referencia, mes_referencia, status, faixa;
@@ -0,0 +1,18 @@
+-- Baixa automática pelos webhooks do gateway: as parcelas são localizadas pelo id da cobrança no
+-- gateway (PIX/cartão) ou pelo nosso número (boleto).
+CREATE INDEX idx_mensalidades_gateway_transaction ON mensalidades (gateway_transaction_id);
+CREATE INDEX idx_mensalidades_nosso_numero ON mensalidades (nosso_numero);
+
+-- Eventos já processados, um por transação do gateway (o gateway reenvia até receber 2xx; a chave
+-- primária descarta as repetições). Guarda também eventos sem parcela correspondente, para conferência.
+CREATE TABLE pagamentos_gateway_eventos (
+    transacao_id   VARCHAR(100)  NOT NULL PRIMARY KEY,
+    nosso_numero   VARCHAR(50),
+    mensalidade_id BIGINT,
+    valor_pago     DECIMAL(10,2) NOT NULL,
+    situacao       VARCHAR(20)   NOT NULL,
+    recebido_em    DATETIME      NOT NULL,
+    processado_em  DATETIME      NOT NULL,
+    INDEX idx_pge_mensalidade (mensalidade_id),
+    INDEX idx_pge_situacao    (situacao, processado_em)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,3 @@
+-- Número sequencial dos arquivos de remessa CNAB (NSA), reservado pelo SequenciaIdAllocator.
+-- "cnab_remessa" não é tabela, então o contador precisa existir antes da primeira remessa.
+INSERT INTO id_sequencias (nome, proximo) VALUES ('cnab_remessa', 1);
@@ -0,0 +1,3 @@
+-- O BR Code do PIX passa a ser gerado sob demanda (PixService) a partir dos dados da parcela;
+-- a coluna TEXT nunca foi preenchida e só aumentava a linha de mensalidades.
+ALTER TABLE mensalidades DROP COLUMN pix_qr_code;
@@ -0,0 +1,3 @@
+-- Listagem/exportação de contratos filtrada por ano letivo e situação.
+-- contratos(aluno_id), usado no JOIN com alunos e no filtro por aluno, já é coberto por idx_aluno (V1).
+CREATE INDEX idx_contratos_ano_situacao ON contratos (ano_letivo, situacao);
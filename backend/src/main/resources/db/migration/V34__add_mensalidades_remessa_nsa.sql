@@ -0,0 +1,4 @@
+-- Remessa CNAB (NSA) em que a parcela foi registrada. O nosso número e o NSA são atribuídos numa
+-- transação antes de o arquivo ser gerado; a mesma remessa pode então ser gerada de novo pelo NSA.
+ALTER TABLE mensalidades ADD COLUMN remessa_nsa BIGINT NULL AFTER nosso_numero;
+CREATE INDEX idx_mensalidades_remessa_nsa ON mensalidades (remessa_nsa);
@@ -0,0 +1,34 @@
+-- Token bucket atômico para o rate limiting de login.
+-- KEYS[1] = chave do bucket; ARGV[1] = capacidade; ARGV[2] = tokens repostos por ms;
+-- ARGV[3] = TTL (ms) da chave, isto é, o tempo para o bucket voltar a ficar cheio.
+-- Retorna {1|0 (permitido), ms até haver um token disponível}.
+local capacity = tonumber(ARGV[1])
+local refill_per_ms = tonumber(ARGV[2])
+local ttl = tonumber(ARGV[3])
+
+-- Relógio do próprio Redis: réplicas com relógios divergentes compartilham o mesmo bucket
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+
+local allowed = 0
+local retry_after = 0
+if tokens >= 1 then
+  tokens = tokens - 1
+  allowed = 1
+else
+  retry_after = math.ceil((1 - tokens) / refill_per_ms)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('PEXPIRE', KEYS[1], ttl)
+return {allowed, retry_after}
@@ -13,14 +13,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Year;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +39,10 @@ class AlunoServiceTest {
     @Mock AlunoRepository       alunoRepository;
     @Mock TurmaRepository       turmaRepository;
     @Mock ResponsavelRepository responsavelRepository;
+    @Mock VagaTurmaService      vagaTurmaService;
+    @Mock TypeaheadSearchService typeaheadSearchService;
+    @Mock MatriculaAllocator    matriculaAllocator;
+    @Mock TransactionTemplate   transactionTemplate;
 
     @InjectMocks AlunoService alunoService;
 
@@ -79,29 +87,33 @@ class AlunoServiceTest {
                 "ana@mail.com", null, null, 2026, null,
                 null, null, null, null, null, null, null);
 
-        // 1º saveAndFlush: simula INSERT e retorna aluno com ID gerado
-        // 2º saveAndFlush: salva matrícula definitiva
-        when(alunoRepository.saveAndFlush(any(Aluno.class))).thenAnswer(inv -> {
+        when(matriculaAllocator.proxima(anyInt())).thenReturn(Year.now().getValue() + "00002");
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        // único INSERT, já com a matrícula definitiva
+        when(alunoRepository.save(any(Aluno.class))).thenAnswer(inv -> {
             Aluno a = inv.getArgument(0);
-            if (a.getId() == null) {
-                a.setId(2L);
-                a.setCreatedAt(LocalDateTime.now());
-                a.setUpdatedAt(LocalDateTime.now());
-            }
+            a.setId(2L);
+            a.setCreatedAt(LocalDateTime.now());
+            a.setUpdatedAt(LocalDateTime.now());
             return a;
         });
 
         AlunoResponseDTO resp = alunoService.criar(dto);
         assertThat(resp.nome()).isEqualTo("Ana Clara");
-        assertThat(resp.matricula()).startsWith("2026");
-        // service chama saveAndFlush 2 vezes
-        verify(alunoRepository, times(2)).saveAndFlush(any(Aluno.class));
+        assertThat(resp.matricula()).isEqualTo(Year.now().getValue() + "00002");
+        verify(alunoRepository, times(1)).save(any(Aluno.class));
+        verify(alunoRepository, never()).saveAndFlush(any(Aluno.class));
+        // matrícula reservada antes de a transação (e sua conexão) ser aberta
+        InOrder ordem = inOrder(matriculaAllocator, transactionTemplate);
+        ordem.verify(matriculaAllocator).proxima(anyInt());
+        ordem.verify(transactionTemplate).execute(any());
     }
 
     @Test
     @DisplayName("inativar deve setar ativo=false")
     void inativarAluno() {
-        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoRepository.findByIdParaAtualizar(1L)).thenReturn(Optional.of(aluno));
         when(alunoRepository.save(any())).thenReturn(aluno);
 
         alunoService.inativar(1L);
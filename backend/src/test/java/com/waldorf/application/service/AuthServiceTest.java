@@ -5,6 +5,7 @@ import com.waldorf.domain.entity.Perfil;
 import com.waldorf.domain.entity.Usuario;
 import com.waldorf.infrastructure.repository.UsuarioRepository;
 import com.waldorf.infrastructure.security.JwtService;
+import com.waldorf.infrastructure.security.UsuarioSecuritySnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,7 +18,6 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 
-import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
@@ -51,11 +51,12 @@ class AuthServiceTest {
     @Test
     @DisplayName("login com credenciais válidas deve retornar tokens")
     void loginValido() {
+        var principal = UsuarioSecuritySnapshot.of(usuario);
         Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(principal);
         when(authManager.authenticate(any())).thenReturn(auth);
-        when(usuarioRepository.findByEmail("admin@waldorf.edu.br")).thenReturn(Optional.of(usuario));
-        when(jwtService.gerarToken(usuario)).thenReturn("access.token.jwt");
-        when(jwtService.gerarRefreshToken(usuario)).thenReturn("refresh.token.jwt");
+        when(jwtService.gerarToken(principal)).thenReturn("access.token.jwt");
+        when(jwtService.gerarRefreshToken(principal)).thenReturn("refresh.token.jwt");
 
         var dto = new LoginRequestDTO("admin@waldorf.edu.br", "senha123");
         var resp = authService.login(dto);
@@ -63,7 +64,11 @@ class AuthServiceTest {
         assertThat(resp.accessToken()).isEqualTo("access.token.jwt");
         assertThat(resp.refreshToken()).isEqualTo("refresh.token.jwt");
         assertThat(resp.usuario().email()).isEqualTo("admin@waldorf.edu.br");
-        verify(jwtService).gerarToken(usuario);
+        assertThat(resp.usuario().nome()).isEqualTo("Admin Waldorf");
+        assertThat(resp.usuario().perfis()).containsExactly("ADMIN");
+        verify(jwtService).gerarToken(principal);
+        // O principal do AuthenticationManager é reaproveitado: sem segunda consulta ao usuário
+        verifyNoInteractions(usuarioRepository);
     }
 
     @Test
@@ -81,8 +86,8 @@ class AuthServiceTest {
     void loginUsuarioInativo() {
         usuario.setAtivo(false);
         Authentication auth = mock(Authentication.class);
+        when(auth.getPrincipal()).thenReturn(UsuarioSecuritySnapshot.of(usuario));
         when(authManager.authenticate(any())).thenReturn(auth);
-        when(usuarioRepository.findByEmail(any())).thenReturn(Optional.of(usuario));
 
         assertThatThrownBy(() -> authService.login(new LoginRequestDTO("admin@waldorf.edu.br", "senha")))
                 .isInstanceOf(IllegalStateException.class)
@@ -0,0 +1,120 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.financeiro.EventoPagamentoDTO;
+import com.waldorf.domain.entity.Aluno;
+import com.waldorf.domain.entity.Contrato;
+import com.waldorf.domain.entity.Mensalidade;
+import com.waldorf.domain.enums.SituacaoContrato;
+import com.waldorf.infrastructure.repository.AlunoRepository;
+import com.waldorf.infrastructure.repository.ContratoRepository;
+import com.waldorf.infrastructure.repository.MensalidadeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("PagamentoGatewayService — baixa pelas confirmações do gateway")
+class PagamentoGatewayServiceIT {
+
+    private static final int ANO = 2032;
+
+    @Autowired PagamentoGatewayService service;
+    @Autowired AlunoRepository         alunoRepository;
+    @Autowired ContratoRepository      contratoRepository;
+    @Autowired MensalidadeRepository   mensalidadeRepository;
+    @Autowired JdbcTemplate            jdbcTemplate;
+
+    @Test
+    @DisplayName("a mesma transação é aplicada uma única vez")
+    void mesmaTransacaoUmaVez() {
+        Mensalidade m = mensalidade();
+        EventoPagamentoDTO pago = evento("T-" + m.getId(), m.getNossoNumero(), "1000.00", "PAGO");
+
+        service.processar(List.of(pago, pago));
+        service.processar(List.of(pago));
+
+        assertThat(parcela(m)).containsEntry("status", "PAGA");
+        assertThat((BigDecimal) parcela(m).get("valor_pago")).isEqualByComparingTo("1000.00");
+        assertThat(pagamentos(m)).isEqualTo(1);
+        assertThat(situacao(pago.transacaoId())).isEqualTo("APLICADO");
+    }
+
+    @Test
+    @DisplayName("confirmação posterior liquida a transação registrada como não confirmada")
+    void confirmacaoPosterior() {
+        Mensalidade m = mensalidade();
+        String transacao = "T-" + m.getId();
+
+        service.processar(List.of(evento(transacao, m.getNossoNumero(), "1000.00", "PENDENTE")));
+
+        assertThat(parcela(m)).containsEntry("status", "ABERTA");
+        assertThat(situacao(transacao)).isEqualTo("NAO_CONFIRMADO");
+
+        service.processar(List.of(evento(transacao, m.getNossoNumero(), "1000.00", "PAGO")));
+
+        assertThat(parcela(m)).containsEntry("status", "PAGA");
+        assertThat(pagamentos(m)).isEqualTo(1);
+        assertThat(situacao(transacao)).isEqualTo("APLICADO");
+    }
+
+    @Test
+    @DisplayName("pagamento parcial seguido do restante quita a parcela")
+    void parcialDepoisIntegral() {
+        Mensalidade m = mensalidade();
+
+        service.processar(List.of(evento("T1-" + m.getId(), m.getNossoNumero(), "400.00", "PAGO")));
+
+        assertThat(parcela(m)).containsEntry("status", "PARCIAL");
+        assertThat((BigDecimal) parcela(m).get("valor_pago")).isEqualByComparingTo("400.00");
+
+        service.processar(List.of(evento("T2-" + m.getId(), m.getNossoNumero(), "600.00", "PAGO")));
+
+        assertThat(parcela(m)).containsEntry("status", "PAGA");
+        assertThat((BigDecimal) parcela(m).get("valor_pago")).isEqualByComparingTo("1000.00");
+        assertThat(pagamentos(m)).isEqualTo(2);
+    }
+
+    private Mensalidade mensalidade() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
+        Aluno aluno = alunoRepository.save(Aluno.builder().nome("Aluno Gateway " + sufixo)
+                .matricula("GW" + sufixo).anoIngresso(ANO).build());
+        Contrato contrato = contratoRepository.save(Contrato.builder().aluno(aluno).anoLetivo(ANO)
+                .valorMensalidade(new BigDecimal("1000.00")).totalParcelas(1).diaVencimento(10)
+                .dataInicio(LocalDate.of(ANO, 2, 1)).situacao(SituacaoContrato.ATIVO).build());
+        return mensalidadeRepository.save(Mensalidade.builder().contrato(contrato).numeroParcela(1)
+                .mesReferencia(2).anoReferencia(ANO).valorParcela(new BigDecimal("1000.00"))
+                .dataVencimento(LocalDate.of(ANO, 2, 10)).nossoNumero("NN" + sufixo).build());
+    }
+
+    private Map<String, Object> parcela(Mensalidade m) {
+        return jdbcTemplate.queryForMap("SELECT status, valor_pago FROM mensalidades WHERE id = ?", m.getId());
+    }
+
+    private int pagamentos(Mensalidade m) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pagamentos WHERE mensalidade_id = ?",
+                Integer.class, m.getId());
+    }
+
+    private String situacao(String transacaoId) {
+        return jdbcTemplate.queryForObject("SELECT situacao FROM pagamentos_gateway_eventos WHERE transacao_id = ?",
+                String.class, transacaoId);
+    }
+
+    private static EventoPagamentoDTO evento(String transacaoId, String nossoNumero, String valor, String status) {
+        return new EventoPagamentoDTO(transacaoId, nossoNumero, new BigDecimal(valor), null, null, status, null)
+                .recebido(LocalDateTime.now());
+    }
+}
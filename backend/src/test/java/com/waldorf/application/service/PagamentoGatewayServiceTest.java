@@ -0,0 +1,86 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.financeiro.EventoPagamentoDTO;
+import com.waldorf.infrastructure.pagamento.FilaEventosPagamento;
+import com.waldorf.infrastructure.security.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PagamentoGatewayService — testes unitários")
+class PagamentoGatewayServiceTest {
+
+    @Mock TransactionTemplate  transactionTemplate;
+    @Mock FilaEventosPagamento fila;
+    @Mock BaixaMensalidades    baixaMensalidades;
+
+    private PagamentoGatewayService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PagamentoGatewayService(transactionTemplate, fila, baixaMensalidades, new SimpleMeterRegistry());
+        service.init();
+    }
+
+    @Test
+    @DisplayName("Reenvio sem desfecho definitivo volta para a fila")
+    void reenvioSemDesfechoVoltaParaFila() {
+        when(fila.publicar(any())).thenReturn(true);
+
+        assertThat(service.receber(evento("T1"))).isEqualTo(PagamentoGatewayService.Recebimento.ACEITO);
+        assertThat(service.receber(evento("T1"))).isEqualTo(PagamentoGatewayService.Recebimento.ACEITO);
+
+        verify(fila, times(2)).publicar(any());
+    }
+
+    @Test
+    @DisplayName("Transação com desfecho definitivo é descartada como duplicada")
+    void desfechoDefinitivoDeduplica() {
+        when(transactionTemplate.execute(any())).thenReturn(List.of("T1"));
+
+        service.processar(List.of(evento("T1")));
+
+        assertThat(service.receber(evento("T1"))).isEqualTo(PagamentoGatewayService.Recebimento.DUPLICADO);
+        verify(fila, never()).publicar(any());
+    }
+
+    @Test
+    @DisplayName("Lote recusado por registro concorrente é reaplicado uma vez")
+    void repeteAposDuplicateKey() {
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new DuplicateKeyException("transacao_id"))
+                .thenReturn(List.of("T1"));
+
+        service.processar(List.of(evento("T1")));
+
+        verify(transactionTemplate, times(2)).execute(any());
+        assertThat(service.receber(evento("T1"))).isEqualTo(PagamentoGatewayService.Recebimento.DUPLICADO);
+    }
+
+    @Test
+    @DisplayName("Fila cheia responde 503 e o reenvio é aceito")
+    void filaCheia() {
+        when(fila.publicar(any())).thenReturn(false, true);
+
+        assertThatThrownBy(() -> service.receber(evento("T1"))).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(service.receber(evento("T1"))).isEqualTo(PagamentoGatewayService.Recebimento.ACEITO);
+    }
+
+    private static EventoPagamentoDTO evento(String transacaoId) {
+        return new EventoPagamentoDTO(transacaoId, "000123", new BigDecimal("100.00"), null, null, "PAGO", null);
+    }
+}
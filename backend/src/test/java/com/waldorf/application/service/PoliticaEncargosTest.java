@@ -0,0 +1,60 @@
+package com.waldorf.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PoliticaEncargos — testes unitários")
+class PoliticaEncargosTest {
+
+    private final PoliticaEncargos politica =
+            new PoliticaEncargos(new BigDecimal("2"), new BigDecimal("1"), 3, 90);
+
+    @Test
+    @DisplayName("Sem encargos dentro da carência")
+    void dentroDaCarencia() {
+        var e = politica.calcular(new BigDecimal("1000.00"), LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 13));
+
+        assertThat(e.juros()).isEqualByComparingTo("0");
+        assertThat(e.multa()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Multa fixa e juros pro rata die contados desde o vencimento")
+    void multaEJurosProRata() {
+        var e = politica.calcular(new BigDecimal("1000.00"), LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 25));
+
+        assertThat(e.multa()).isEqualByComparingTo("20.00");
+        assertThat(e.juros()).isEqualByComparingTo("5.00"); // 1% a.m. × 15/30
+        assertThat(politica.calcular(new BigDecimal("1000.00"), LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 25)))
+                .isEqualTo(e);
+    }
+
+    @Test
+    @DisplayName("Parcela parcialmente paga tem encargos só sobre o restante")
+    void parcialmentePaga() {
+        BigDecimal base = PoliticaEncargos.base(new BigDecimal("1100.00"), new BigDecimal("100.00"),
+                new BigDecimal("900.00"));
+        var e = politica.calcular(base, LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 25));
+
+        assertThat(base).isEqualByComparingTo("100.00");
+        assertThat(e.multa()).isEqualByComparingTo("2.00");
+        assertThat(e.juros()).isEqualByComparingTo("0.50");
+        assertThat(PoliticaEncargos.base(new BigDecimal("1000.00"), null, new BigDecimal("1000.00")))
+                .isEqualByComparingTo("0");
+        assertThat(PoliticaEncargos.base(new BigDecimal("1000.00"), null, null)).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Limites de atraso e de vencida a partir da data de referência")
+    void limites() {
+        LocalDate hoje = LocalDate.of(2026, 6, 30);
+
+        assertThat(politica.limiteAtraso(hoje)).isEqualTo(LocalDate.of(2026, 6, 27));
+        assertThat(politica.limiteVencida(hoje)).isEqualTo(LocalDate.of(2026, 4, 1));
+    }
+}
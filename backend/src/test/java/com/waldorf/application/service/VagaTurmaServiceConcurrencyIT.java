@@ -0,0 +1,130 @@
+package com.waldorf.application.service;
+
+import com.waldorf.application.dto.turma.EnturmacaoResponseDTO;
+import com.waldorf.domain.entity.Aluno;
+import com.waldorf.domain.entity.Turma;
+import com.waldorf.domain.enums.SituacaoEnturmacao;
+import com.waldorf.infrastructure.repository.AlunoRepository;
+import com.waldorf.infrastructure.repository.TurmaListaEsperaRepository;
+import com.waldorf.infrastructure.repository.TurmaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:vagas;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+@DisplayName("VagaTurmaService — estresse de concorrência")
+class VagaTurmaServiceConcurrencyIT {
+
+    private static final int CAPACIDADE = 10;
+    private static final int CANDIDATOS = 120;
+    private static final int THREADS = 32;
+
+    @Autowired VagaTurmaService           vagaTurmaService;
+    @Autowired AlunoService               alunoService;
+    @Autowired TurmaRepository            turmaRepository;
+    @Autowired AlunoRepository            alunoRepository;
+    @Autowired TurmaListaEsperaRepository listaEsperaRepository;
+
+    @Test
+    @DisplayName("matrículas simultâneas nunca ultrapassam a capacidade e o excedente vai para a fila")
+    void semOverbooking() throws Exception {
+        Turma turma = new Turma();
+        turma.setNome("1º Ano - concorrência");
+        turma.setAnoLetivo(2026);
+        turma.setCapacidadeMaxima(CAPACIDADE);
+        Long turmaId = turmaRepository.saveAndFlush(turma).getId();
+
+        List<Long> alunos = new ArrayList<>();
+        for (int i = 0; i < CANDIDATOS; i++) {
+            alunos.add(alunoRepository.saveAndFlush(Aluno.builder()
+                    .nome("Candidato " + i).matricula("VAGA-" + i).anoIngresso(2026).build()).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger matriculados = new AtomicInteger();
+        AtomicInteger naFila = new AtomicInteger();
+        List<Future<?>> futuros = new ArrayList<>();
+        for (Long alunoId : alunos) {
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                EnturmacaoResponseDTO r = vagaTurmaService.enturmar(turmaId, alunoId, true);
+                (r.situacao() == SituacaoEnturmacao.MATRICULADO ? matriculados : naFila).incrementAndGet();
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> f : futuros) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(matriculados.get()).isEqualTo(CAPACIDADE);
+        assertThat(naFila.get()).isEqualTo(CANDIDATOS - CAPACIDADE);
+        assertThat(turmaRepository.findById(turmaId).orElseThrow().getVagasOcupadas()).isEqualTo(CAPACIDADE);
+        assertThat(alunoRepository.countByTurmaIdAndAtivoTrue(turmaId)).isEqualTo(CAPACIDADE);
+        assertThat(listaEsperaRepository.findByTurmaIdOrderByIdAsc(turmaId)).hasSize(CANDIDATOS - CAPACIDADE);
+
+        // Uma vaga liberada vai para o primeiro da fila, sem alterar a ocupação
+        Long primeiroDaFila = vagaTurmaService.listaEspera(turmaId).get(0).alunoId();
+        Long matriculado = alunoRepository.findByTurmaIdAndAtivoTrue(turmaId).get(0).getId();
+        alunoService.inativar(matriculado);
+
+        assertThat(alunoRepository.findByTurmaIdAndAtivoTrue(turmaId))
+                .extracting(Aluno::getId).contains(primeiroDaFila).doesNotContain(matriculado);
+        assertThat(turmaRepository.findById(turmaId).orElseThrow().getVagasOcupadas()).isEqualTo(CAPACIDADE);
+        assertThat(listaEsperaRepository.findByTurmaIdOrderByIdAsc(turmaId)).hasSize(CANDIDATOS - CAPACIDADE - 1);
+    }
+
+    @Test
+    @DisplayName("transferências simultâneas do mesmo aluno mantêm a ocupação de todas as turmas")
+    void transferenciasDoMesmoAluno() throws Exception {
+        List<Long> turmas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Turma turma = new Turma();
+            turma.setNome("Transferência " + i);
+            turma.setAnoLetivo(2026);
+            turma.setCapacidadeMaxima(CAPACIDADE);
+            turmas.add(turmaRepository.saveAndFlush(turma).getId());
+        }
+        Long alunoId = alunoRepository.saveAndFlush(Aluno.builder()
+                .nome("Transferido").matricula("TRANSF-1").anoIngresso(2026).build()).getId();
+        vagaTurmaService.enturmar(turmas.get(0), alunoId, false);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int i = 0; i < THREADS * 2; i++) {
+            Long destino = turmas.get(1 + i % 2);
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                vagaTurmaService.enturmar(destino, alunoId, false);
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> f : futuros) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        Long turmaFinal = alunoRepository.findById(alunoId).orElseThrow().getTurma().getId();
+        for (Long turmaId : turmas) {
+            int esperado = turmaId.equals(turmaFinal) ? 1 : 0;
+            assertThat(turmaRepository.findById(turmaId).orElseThrow().getVagasOcupadas())
+                    .as("vagas ocupadas da turma %d", turmaId).isEqualTo(esperado);
+            assertThat(alunoRepository.countByTurmaIdAndAtivoTrue(turmaId)).isEqualTo(esperado);
+        }
+    }
+}
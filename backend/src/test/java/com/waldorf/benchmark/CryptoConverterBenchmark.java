@@ -0,0 +1,143 @@
+package com.waldorf.benchmark;
+
+import com.waldorf.domain.entity.Responsavel;
+import com.waldorf.infrastructure.security.crypto.CryptoStringConverter;
+import com.waldorf.infrastructure.security.crypto.SensitiveDataCipher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da criptografia de colunas sensíveis.
+ *
+ * <ul>
+ *   <li>{@code cifrar/decifrarLegado} — implementação anterior do converter
+ *       ({@code Cipher.getInstance} + {@code ByteBuffer} + cópias a cada chamada);</li>
+ *   <li>{@code cifrar/decifrarConverter} — {@link CryptoStringConverter} atual (cipher por thread);</li>
+ *   <li>{@code paginaResponsaveis*} — "listar" 50 responsáveis sem ler o CPF, como em
+ *       {@code ResponsavelService.toDTO}: decifração antecipada (antes) × sob demanda (agora).</li>
+ * </ul>
+ *
+ * Rode com {@code -prof gc} para comparar também a alocação por operação. Execução:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.waldorf.benchmark.CryptoConverterBenchmark} (ou pela IDE).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoConverterBenchmark {
+
+    private static final String CPF = "123.456.789-09";
+    private static final int PAGINA = 50;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final CryptoStringConverter converter = new CryptoStringConverter();
+    private SecretKeySpec key;
+    private String cifrado;
+    private String cifradoLegado;
+    private List<String> colunasPagina;
+    private List<String> colunasPaginaLegado;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = new SecretKeySpec(MessageDigest.getInstance("SHA-256")
+                .digest("dev-only-default-key-change-me".getBytes(StandardCharsets.UTF_8)), "AES");
+        cifrado = converter.convertToDatabaseColumn(CPF);
+        cifradoLegado = cifrarLegado(); // formato anterior, sem cabeçalho de versão
+        colunasPagina = new ArrayList<>();
+        colunasPaginaLegado = new ArrayList<>();
+        for (int i = 0; i < PAGINA; i++) {
+            colunasPagina.add(converter.convertToDatabaseColumn(CPF));
+            colunasPaginaLegado.add(cifrarLegado());
+        }
+    }
+
+    @Benchmark
+    public String cifrarLegado() throws Exception {
+        byte[] iv = new byte[12];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        byte[] ciphertext = cipher.doFinal(CPF.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(iv.length + ciphertext.length);
+        buffer.put(iv).put(ciphertext);
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    @Benchmark
+    public String cifrarConverter() {
+        return converter.convertToDatabaseColumn(CPF);
+    }
+
+    @Benchmark
+    public String decifrarLegado() throws Exception {
+        return decifrarComoAntes(cifradoLegado);
+    }
+
+    @Benchmark
+    public String decifrarConverter() {
+        return converter.convertToEntityAttribute(cifrado);
+    }
+
+    /** Carga de uma página com o converter anterior: todo CPF é decifrado e descartado. */
+    @Benchmark
+    public void paginaResponsaveisAntecipada(Blackhole bh) throws Exception {
+        for (String coluna : colunasPaginaLegado) {
+            bh.consume(decifrarComoAntes(coluna));
+        }
+    }
+
+    /** Carga da mesma página com decifração sob demanda: o CPF não é lido, nada é decifrado. */
+    @Benchmark
+    public void paginaResponsaveisSobDemanda(Blackhole bh) {
+        for (String coluna : colunasPagina) {
+            Responsavel r = new Responsavel();
+            ReflectionTestUtils.setField(r, "cpfCifrado", coluna);
+            bh.consume(r.getNome());
+        }
+    }
+
+    /** Para referência: página em que o CPF é de fato lido (decifra com o cipher por thread). */
+    @Benchmark
+    public void paginaResponsaveisLendoCpf(Blackhole bh) {
+        for (String coluna : colunasPagina) {
+            bh.consume(SensitiveDataCipher.decrypt(coluna));
+        }
+    }
+
+    private String decifrarComoAntes(String dbData) throws Exception {
+        byte[] decoded = Base64.getDecoder().decode(dbData);
+        ByteBuffer buffer = ByteBuffer.wrap(decoded);
+        byte[] iv = new byte[12];
+        buffer.get(iv);
+        byte[] ciphertext = new byte[buffer.remaining()];
+        buffer.get(ciphertext);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CryptoConverterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.waldorf.benchmark;
+
+import com.waldorf.infrastructure.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição autenticada da verificação de JWT.
+ *
+ * <ul>
+ *   <li>{@code legado} — caminho anterior do filtro: 4 parses completos
+ *       ({@code extractUsername}, {@code extractJti}, {@code isTokenValid} → subject + expiração),
+ *       cada um reconstruindo a {@code SecretKey} e o parser;</li>
+ *   <li>{@code verificacaoUnica} — um parse com chave e parser pré-construídos;</li>
+ *   <li>{@code verificacaoComCache} — {@link JwtService#verify(String)} com o token já no cache.</li>
+ * </ul>
+ *
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.waldorf.benchmark.JwtVerificationBenchmark} (ou pela IDE).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-waldorf-at-least-256bits-for-hmac-sha";
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheTtlSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        UserDetails user = User.withUsername("admin@waldorf.edu.br").password("x").roles("ADMIN").build();
+        token = jwtService.gerarToken(user);
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        jwtService.verify(token); // aquece o cache
+    }
+
+    @Benchmark
+    public void legado(Blackhole bh) {
+        bh.consume(parseLegado().getSubject());                     // extractUsername
+        bh.consume(parseLegado().getId());                          // extractJti
+        bh.consume(parseLegado().getSubject());                     // isTokenValid → extractUsername
+        bh.consume(parseLegado().getExpiration().before(new Date())); // isTokenValid → isExpired
+    }
+
+    @Benchmark
+    public Claims verificacaoUnica() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Object verificacaoComCache() {
+        return jwtService.verify(token);
+    }
+
+    private Claims parseLegado() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.waldorf.benchmark;
+
+import com.waldorf.infrastructure.security.PasswordHashingExecutor;
+import com.waldorf.infrastructure.security.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de login (verificação BCrypt) sob contenção, com requisições "de API" concorrentes.
+ *
+ * <ul>
+ *   <li>{@code semPool} — 28 threads fazem BCrypt na própria thread (comportamento anterior)
+ *       enquanto 4 threads atendem chamadas leves de API;</li>
+ *   <li>{@code comPool} — as mesmas 28 threads passam pelo {@link PasswordHashingExecutor}
+ *       (pool do tamanho da CPU, fila limitada); recusas por saturação (503) contam como
+ *       operações, pois devolvem a thread imediatamente.</li>
+ * </ul>
+ * Compare a vazão de {@code api*} entre os grupos: com o pool ela não despenca durante a rajada.
+ *
+ * Execução: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.waldorf.benchmark.LoginThroughputBenchmark} (ou pela IDE).
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginThroughputBenchmark {
+
+    private static final String SENHA = "senha-do-responsavel-123";
+
+    private PasswordEncoder bcrypt;
+    private PasswordEncoder bounded;
+    private PasswordHashingExecutor executor;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder();
+        hash = bcrypt.encode(SENHA);
+        executor = new PasswordHashingExecutor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "threads", 0);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 64);
+        ReflectionTestUtils.setField(executor, "timeoutMillis", 10_000L);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+        ReflectionTestUtils.invokeMethod(executor, "init");
+        bounded = executor.bounded(bcrypt);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(executor, "shutdown");
+    }
+
+    @Benchmark
+    @Group("semPool")
+    @GroupThreads(28)
+    public boolean loginSemPool() {
+        return bcrypt.matches(SENHA, hash);
+    }
+
+    @Benchmark
+    @Group("semPool")
+    @GroupThreads(4)
+    public void apiSemPool(Blackhole bh) throws NoSuchAlgorithmException {
+        bh.consume(chamadaDeApi());
+    }
+
+    @Benchmark
+    @Group("comPool")
+    @GroupThreads(28)
+    public boolean loginComPool() {
+        try {
+            return bounded.matches(SENHA, hash);
+        } catch (ServiceOverloadedException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Group("comPool")
+    @GroupThreads(4)
+    public void apiComPool(Blackhole bh) throws NoSuchAlgorithmException {
+        bh.consume(chamadaDeApi());
+    }
+
+    /** Trabalho leve de CPU, representando uma requisição comum da API. */
+    private static byte[] chamadaDeApi() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest("GET /api/v1/alunos".getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginThroughputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.waldorf.infrastructure.cnab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CNAB — remessa e retorno")
+class RetornoCnabTest {
+
+    @TempDir
+    Path dir;
+
+    private static final Cedente CEDENTE = new Cedente(237, "BRADESCO", "1234", "5", "1234567", "0",
+            "4567890", "09", "Escola Waldorf São João", "12.345.678/0001-90");
+
+    private Path escrever(LayoutCnab layout, LinhaCnab... linhas) throws IOException {
+        Path arquivo = Files.createTempFile(dir, "retorno", ".ret");
+        try (OutputStream out = Files.newOutputStream(arquivo)) {
+            for (LinhaCnab l : linhas) {
+                l.escrever(out);
+            }
+        }
+        return arquivo;
+    }
+
+    private static List<OcorrenciaRetorno> ler(Path arquivo) throws IOException {
+        List<OcorrenciaRetorno> ocorrencias = new ArrayList<>();
+        try (LeitorCnab leitor = LeitorCnab.abrir(arquivo)) {
+            RetornoCnab.ler(leitor, ocorrencias::add);
+        }
+        return ocorrencias;
+    }
+
+    @Test
+    @DisplayName("400: liquidação e demais ocorrências do registro tipo 1")
+    void retorno400() throws IOException {
+        LayoutCnab l = LayoutCnab.CNAB_400;
+        Path arquivo = escrever(l,
+                new LinhaCnab(l).alfa(1, 1, "0").alfa(2, 2, "2").alfa(3, 9, "RETORNO"),
+                new LinhaCnab(l).alfa(1, 1, "1").numero(71, 81, 12345).alfa(109, 110, "06")
+                        .data(111, 116, LocalDate.of(2026, 3, 5)).valor(153, 165, new BigDecimal("1500.50"))
+                        .valor(254, 266, new BigDecimal("1500.50")).data(296, 301, LocalDate.of(2026, 3, 6)),
+                new LinhaCnab(l).alfa(1, 1, "1").numero(71, 81, 12346).alfa(109, 110, "02"),
+                new LinhaCnab(l).alfa(1, 1, "9"));
+
+        List<OcorrenciaRetorno> ocorrencias = ler(arquivo);
+
+        assertThat(ocorrencias).hasSize(2);
+        OcorrenciaRetorno pago = ocorrencias.get(0);
+        assertThat(pago.registro()).isEqualTo(2);
+        assertThat(pago.nossoNumero()).isEqualTo("00000012345");
+        assertThat(pago.liquidacao()).isTrue();
+        assertThat(pago.valorPago()).isEqualByComparingTo("1500.50");
+        assertThat(pago.dataOcorrencia()).isEqualTo(LocalDate.of(2026, 3, 5));
+        assertThat(pago.dataCredito()).isEqualTo(LocalDate.of(2026, 3, 6));
+        assertThat(ocorrencias.get(1).liquidacao()).isFalse();
+        assertThat(ocorrencias.get(1).dataOcorrencia()).isNull();
+    }
+
+    @Test
+    @DisplayName("240: segmentos T e U formam uma ocorrência")
+    void retorno240() throws IOException {
+        LayoutCnab l = LayoutCnab.CNAB_240;
+        Path arquivo = escrever(l,
+                new LinhaCnab(l).numero(1, 3, 237).numero(4, 7, 0).alfa(8, 8, "0"),
+                new LinhaCnab(l).numero(1, 3, 237).numero(4, 7, 1).alfa(8, 8, "1"),
+                new LinhaCnab(l).numero(1, 3, 237).alfa(8, 8, "3").alfa(14, 14, "T").alfa(16, 17, "06")
+                        .alfa(38, 57, "00000012345").valor(82, 96, new BigDecimal("980.00")),
+                new LinhaCnab(l).numero(1, 3, 237).alfa(8, 8, "3").alfa(14, 14, "U").alfa(16, 17, "06")
+                        .valor(78, 92, new BigDecimal("990.00")).data(138, 145, LocalDate.of(2026, 4, 10))
+                        .data(146, 153, LocalDate.of(2026, 4, 11)),
+                new LinhaCnab(l).numero(1, 3, 237).numero(4, 7, 9999).alfa(8, 8, "9"));
+
+        List<OcorrenciaRetorno> ocorrencias = ler(arquivo);
+
+        assertThat(ocorrencias).singleElement().satisfies(o -> {
+            assertThat(o.registro()).isEqualTo(3);
+            assertThat(o.nossoNumero()).isEqualTo("00000012345");
+            assertThat(o.liquidacao()).isTrue();
+            assertThat(o.valorTitulo()).isEqualByComparingTo("980.00");
+            assertThat(o.valorPago()).isEqualByComparingTo("990.00");
+            assertThat(o.dataOcorrencia()).isEqualTo(LocalDate.of(2026, 4, 10));
+        });
+    }
+
+    @Test
+    @DisplayName("Remessa: registros de tamanho fixo, layout reconhecido na leitura e dígito Bradesco")
+    void remessa() throws IOException {
+        for (LayoutCnab layout : LayoutCnab.values()) {
+            Path arquivo = Files.createTempFile(dir, "remessa", ".rem");
+            try (OutputStream out = Files.newOutputStream(arquivo)) {
+                RemessaCnab remessa = RemessaCnab.abrir(layout, CEDENTE, 7, LocalDateTime.of(2026, 10, 1, 9, 30), out);
+                remessa.adicionar(new TituloCnab(12345, "00000012345", "12345", LocalDate.of(2026, 10, 1),
+                        LocalDate.of(2026, 11, 10), new BigDecimal("1500.50"), "Ana Lúcia", null,
+                        new BigDecimal("0.50"), new BigDecimal("2"), LocalDate.of(2026, 11, 11)));
+                remessa.fechar();
+            }
+
+            List<String> linhas = Files.readAllLines(arquivo);
+            assertThat(linhas).hasSize(layout == LayoutCnab.CNAB_240 ? 7 : 3)
+                    .allSatisfy(linha -> assertThat(linha).hasSize(layout.getTamanhoLinha()));
+            try (LeitorCnab leitor = LeitorCnab.abrir(arquivo)) {
+                assertThat(leitor.getLayout()).isEqualTo(layout);
+            }
+        }
+        assertThat(RemessaCnab.digitoBradesco("19", "00000000002")).isEqualTo("8");
+    }
+}
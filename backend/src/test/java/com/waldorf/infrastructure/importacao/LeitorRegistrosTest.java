@@ -0,0 +1,88 @@
+package com.waldorf.infrastructure.importacao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LeitorRegistros — testes unitários")
+class LeitorRegistrosTest {
+
+    private static List<Registro> ler(String conteudo, LeitorRegistros.Formato formato) {
+        List<Registro> registros = new ArrayList<>();
+        LeitorRegistros.abrir(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), formato)
+                .forEachRemaining(registros::add);
+        return registros;
+    }
+
+    @Test
+    @DisplayName("CSV: detecta ';', normaliza o cabeçalho e trata aspas com separador e quebra de linha")
+    void csvComAspas() {
+        String csv = "\uFEFFNome;Data Nascimento;Observações\n"
+                + "João da Silva;21/03/2015;\"linha 1\nlinha 2; com \"\"aspas\"\"\"\n"
+                + "\n"
+                + "Maria;2016-01-02;\n";
+
+        List<Registro> registros = ler(csv, LeitorRegistros.Formato.CSV);
+
+        assertThat(registros).hasSize(2);
+        assertThat(registros.get(0).linha()).isEqualTo(2);
+        assertThat(registros.get(0).obrigatorio("nome")).isEqualTo("João da Silva");
+        assertThat(registros.get(0).data("data_nascimento")).isEqualTo(LocalDate.of(2015, 3, 21));
+        assertThat(registros.get(0).texto("observacoes")).isEqualTo("linha 1\nlinha 2; com \"aspas\"");
+        assertThat(registros.get(1).linha()).isEqualTo(5);
+        assertThat(registros.get(1).texto("observacoes")).isNull();
+    }
+
+    @Test
+    @DisplayName("NDJSON: uma linha inválida vira erro de leitura sem interromper as seguintes")
+    void ndjsonComLinhaInvalida() {
+        String ndjson = "{\"nome\":\"Ana\",\"valor_mensalidade\":\"1.234,50\",\"autorizado\":\"não\"}\n"
+                + "{nome: quebrado}\n"
+                + "{\"Nome\":\"Bia\",\"valor_mensalidade\":980.5}\n";
+
+        List<Registro> registros = ler(ndjson, LeitorRegistros.Formato.NDJSON);
+
+        assertThat(registros).extracting(Registro::linha).containsExactly(1L, 2L, 3L);
+        assertThat(registros.get(0).decimal("valor_mensalidade")).isEqualByComparingTo(new BigDecimal("1234.50"));
+        assertThat(registros.get(0).booleano("autorizado")).isFalse();
+        assertThat(registros.get(1).erroLeitura()).startsWith("JSON inválido");
+        assertThat(registros.get(2).obrigatorio("nome")).isEqualTo("Bia");
+        assertThat(registros.get(2).decimal("valor_mensalidade")).isEqualByComparingTo("980.5");
+    }
+
+    @Test
+    @DisplayName("Registro acima do limite (aspas não fechadas) vira erro e a leitura segue na linha seguinte")
+    void registroLongoDemais() {
+        String longa = "x".repeat(LeitorRegistros.MAX_REGISTRO + 10);
+        String csv = "nome;obs\n" + "Ana;\"aberta\n" + longa + "\n" + "Bia;ok\n";
+        String ndjson = "{\"nome\":\"Ana\"}\n" + "{\"nome\":\"" + longa + "\"}\n" + "{\"nome\":\"Bia\"}\n";
+
+        List<Registro> doCsv = ler(csv, LeitorRegistros.Formato.CSV);
+        List<Registro> doNdjson = ler(ndjson, LeitorRegistros.Formato.NDJSON);
+
+        assertThat(doCsv).extracting(Registro::linha).containsExactly(2L, 4L);
+        assertThat(doCsv.get(0).erroLeitura()).startsWith("Registro excede");
+        assertThat(doCsv.get(1).obrigatorio("nome")).isEqualTo("Bia");
+        assertThat(doNdjson).extracting(Registro::linha).containsExactly(1L, 2L, 3L);
+        assertThat(doNdjson.get(1).erroLeitura()).startsWith("Linha excede");
+        assertThat(doNdjson.get(2).obrigatorio("nome")).isEqualTo("Bia");
+    }
+
+    @Test
+    @DisplayName("Conversores rejeitam valores inválidos com mensagem por campo")
+    void conversoresInvalidos() {
+        Registro r = ler("nome,data_nascimento,ano\n,31/02/2015,x\n", LeitorRegistros.Formato.CSV).get(0);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> r.obrigatorio("nome")).withMessage("Campo obrigatório: nome");
+        assertThatIllegalArgumentException().isThrownBy(() -> r.data("data_nascimento")).withMessageContaining("data_nascimento");
+        assertThatIllegalArgumentException().isThrownBy(() -> r.inteiro("ano")).withMessageContaining("ano");
+    }
+}
@@ -0,0 +1,47 @@
+package com.waldorf.infrastructure.pix;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BrCodePix — testes unitários")
+class BrCodePixTest {
+
+    private static final BrCodePix.Recebedor RECEBEDOR = new BrCodePix.Recebedor(
+            "123e4567-e12b-12d1-a456-426655440000", "Escola Waldorf São João das Árvores", "Brasília");
+
+    @Test
+    @DisplayName("CRC16 confere com o exemplo do Manual do BR Code")
+    void crcDoManual() {
+        String semCrc = "00020126580014br.gov.bcb.pix0136123e4567-e12b-12d1-a456-426655440000"
+                + "5204000053039865802BR5913Fulano de Tal6008BRASILIA62070503***6304";
+
+        assertThat(BrCodePix.crc16(semCrc)).isEqualTo("1D3D");
+    }
+
+    @Test
+    @DisplayName("Valor com 2 casas, nome e cidade sem acento e cortados, txid e CRC ao final")
+    void payloadDaMensalidade() {
+        String payload = BrCodePix.gerar(RECEBEDOR, new BigDecimal("1500.5"), "MENS12345");
+
+        assertThat(payload)
+                .startsWith("000201010212")
+                .contains("0014br.gov.bcb.pix0136123e4567-e12b-12d1-a456-426655440000")
+                .contains("54071500.50")
+                .contains("5925ESCOLA WALDORF SAO JOAO D")
+                .contains("6008BRASILIA")
+                .contains("62130509MENS12345");
+        assertThat(payload.substring(payload.length() - 8, payload.length() - 4)).isEqualTo("6304");
+        assertThat(payload).endsWith(BrCodePix.crc16(payload.substring(0, payload.length() - 4)));
+    }
+
+    @Test
+    @DisplayName("Sem chave configurada a cobrança é recusada")
+    void semChave() {
+        assertThatThrownBy(() -> BrCodePix.gerar(new BrCodePix.Recebedor(" ", "Escola", "Cidade"), BigDecimal.TEN, "X"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
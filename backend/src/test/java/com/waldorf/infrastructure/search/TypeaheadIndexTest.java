@@ -0,0 +1,46 @@
+package com.waldorf.infrastructure.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TypeaheadIndex — testes unitários")
+class TypeaheadIndexTest {
+
+    private static TypeaheadIndex.Entrada aluno(long id, String nome) {
+        return new TypeaheadIndex.Entrada("ALUNO:" + id, "ALUNO", id, nome, null);
+    }
+
+    @Test
+    @DisplayName("Ignora acentos e caixa e exige que cada termo seja prefixo de uma palavra")
+    void buscaSemAcentoPorPrefixo() {
+        var index = new TypeaheadIndex();
+        index.upsert(aluno(1, "João da Silva"));
+        index.upsert(aluno(2, "Maria Conceição"));
+        index.upsert(aluno(3, "Joana Souza"));
+
+        assertThat(index.buscar("joao", null, 10)).extracting(TypeaheadIndex.Entrada::id).containsExactly(1L);
+        assertThat(index.buscar("CONCEI", null, 10)).extracting(TypeaheadIndex.Entrada::id).containsExactly(2L);
+        assertThat(index.buscar("jo sil", null, 10)).extracting(TypeaheadIndex.Entrada::id).containsExactly(1L);
+        assertThat(index.buscar("ilva", null, 10)).isEmpty();
+        assertThat(index.buscar("jo", "RESPONSAVEL", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Ordena palavra exata antes de prefixo, respeita o limite e reflete atualizações")
+    void rankingLimiteEAtualizacao() {
+        var index = new TypeaheadIndex();
+        index.upsert(aluno(1, "Anabela Ramos"));
+        index.upsert(aluno(2, "Ana Lima"));
+        index.upsert(aluno(3, "Luiza Ana"));
+
+        assertThat(index.buscar("ana", null, 2)).extracting(TypeaheadIndex.Entrada::id).containsExactly(2L, 3L);
+
+        index.upsert(aluno(2, "Beatriz Lima"));
+        index.remover("ALUNO:3");
+        assertThat(index.buscar("ana", null, 10)).extracting(TypeaheadIndex.Entrada::id).containsExactly(1L);
+        assertThat(index.buscar("bea", null, 10)).extracting(TypeaheadIndex.Entrada::id).containsExactly(2L);
+        assertThat(index.tamanho()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.waldorf.infrastructure.security.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InMemoryTokenBucketLimiter — testes unitários")
+class InMemoryTokenBucketLimiterTest {
+
+    @Test
+    @DisplayName("Libera até a capacidade e bloqueia em seguida, informando o tempo de espera")
+    void bloqueiaAposCapacidade() {
+        var limiter = new InMemoryTokenBucketLimiter(3, 60_000, 100);
+
+        assertThat(limiter.tryAcquire("ip:1.1.1.1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("ip:1.1.1.1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("ip:1.1.1.1").allowed()).isTrue();
+
+        LoginRateLimiter.Decision negada = limiter.tryAcquire("ip:1.1.1.1");
+        assertThat(negada.allowed()).isFalse();
+        assertThat(negada.retryAfterMillis()).isPositive().isLessThanOrEqualTo(20_000);
+
+        // Outras chaves têm buckets independentes
+        assertThat(limiter.tryAcquire("ip:2.2.2.2").allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Não rastreia mais chaves do que o limite — excedentes não dividem bucket")
+    void memoriaLimitada() {
+        var limiter = new InMemoryTokenBucketLimiter(2, 60_000, 10);
+
+        int liberadas = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (limiter.tryAcquire("ip:10.0." + (i / 256) + "." + (i % 256)).allowed()) {
+                liberadas++;
+            }
+        }
+
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(10);
+        // Cada chave nova ganha o próprio bucket: a rajada não esgota as tentativas das demais
+        assertThat(liberadas).isEqualTo(1_000);
+    }
+}
@@ -1,5 +1,11 @@
 package com.waldorf.presentation.controller;
 
+import com.waldorf.domain.entity.Aluno;
+import com.waldorf.domain.entity.Contrato;
+import com.waldorf.domain.enums.SituacaoContrato;
+import com.waldorf.infrastructure.repository.AlunoRepository;
+import com.waldorf.infrastructure.repository.ContratoRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +14,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -18,28 +31,110 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("FinanceiroController — testes de integração")
 class FinanceiroControllerIT {
 
+    private static final String MATRICULA = "IT0240001";
+    private static final int ANO = 2031;
+
     @Autowired MockMvc mockMvc;
+    @Autowired AlunoRepository alunoRepository;
+    @Autowired ContratoRepository contratoRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (alunoRepository.findAll().stream().anyMatch(a -> MATRICULA.equals(a.getMatricula()))) {
+            return;
+        }
+        Aluno aluno = alunoRepository.save(Aluno.builder().nome("Aluno Contratos IT").matricula(MATRICULA)
+                .anoIngresso(ANO).build());
+        contratoRepository.save(contrato(aluno, SituacaoContrato.ATIVO));
+        contratoRepository.save(contrato(aluno, SituacaoContrato.SUSPENSO));
+        Aluno formula = alunoRepository.save(Aluno.builder().nome("=HYPERLINK(\"x\")").matricula(MATRICULA + "F")
+                .anoIngresso(ANO + 1).build());
+        contratoRepository.save(Contrato.builder().aluno(formula).anoLetivo(ANO + 1)
+                .valorMensalidade(new BigDecimal("1850.00")).totalParcelas(12).diaVencimento(10)
+                .dataInicio(LocalDate.of(ANO + 1, 2, 1)).situacao(SituacaoContrato.ATIVO).build());
+    }
 
     @Test
     @WithMockUser(roles = "SECRETARIA")
-    @DisplayName("GET /api/v1/finance/contracts deve retornar 200")
+    @DisplayName("GET /api/v1/financeiro/contratos deve retornar página")
     void listarContratos() throws Exception {
-        mockMvc.perform(get("/api/v1/finance/contracts"))
-                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/financeiro/contratos").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.totalElements").isNumber())
+                .andExpect(jsonPath("$.totalPages").isNumber())
+                .andExpect(jsonPath("$.size").value(5));
+    }
+
+    @Test
+    @WithMockUser(roles = "SECRETARIA")
+    @DisplayName("GET /api/v1/financeiro/contratos filtra por ano letivo e situação")
+    void listarComFiltro() throws Exception {
+        mockMvc.perform(get("/api/v1/financeiro/contratos")
+                        .param("anoLetivo", String.valueOf(ANO))
+                        .param("situacao", "SUSPENSO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].situacao").value("SUSPENSO"))
+                .andExpect(jsonPath("$.content[0].anoLetivo").value(ANO))
+                .andExpect(jsonPath("$.content[0].alunoNome").value("Aluno Contratos IT"));
     }
 
     @Test
     @WithMockUser(roles = "SECRETARIA")
-    @DisplayName("GET /api/v1/finance/invoices deve retornar 200")
-    void listarParcelas() throws Exception {
-        mockMvc.perform(get("/api/v1/finance/invoices"))
-                .andExpect(status().isOk());
+    @DisplayName("GET /api/v1/financeiro/contratos com situação inexistente deve retornar 400")
+    void listarComSituacaoInvalida() throws Exception {
+        mockMvc.perform(get("/api/v1/financeiro/contratos").param("situacao", "INADIMPLENTE"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
-    @DisplayName("GET /api/v1/finance/contracts sem auth deve retornar 401")
+    @WithMockUser(roles = "FINANCEIRO")
+    @DisplayName("GET /api/v1/financeiro/contratos/exportacao deve gerar CSV com cabeçalho")
+    void exportarCsv() throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/api/v1/financeiro/contratos/exportacao")
+                        .param("anoLetivo", String.valueOf(ANO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("\uFEFFid;aluno_id;aluno;turma;ano_letivo;valor_mensalidade;"
+                        + "desconto;total_parcelas;dia_vencimento;data_inicio;data_fim;situacao\r\n")));
+    }
+
+    @Test
+    @WithMockUser(roles = "FINANCEIRO")
+    @DisplayName("GET /api/v1/financeiro/contratos/exportacao neutraliza texto que começa como fórmula")
+    void exportarCsvSemFormula() throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/api/v1/financeiro/contratos/exportacao")
+                        .param("anoLetivo", String.valueOf(ANO + 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(";\"'=HYPERLINK(\"\"x\"\")\";")));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/financeiro/contratos sem auth deve retornar 401")
     void listarSemAuth() throws Exception {
-        mockMvc.perform(get("/api/v1/finance/contracts"))
+        mockMvc.perform(get("/api/v1/financeiro/contratos"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @WithMockUser(username = "sem.filhos@mail.com", roles = "PAIS")
+    @DisplayName("GET /mensalidades/{id}/pix com perfil PAIS fora da família deve retornar 403")
+    void pixDeOutraFamilia() throws Exception {
+        mockMvc.perform(get("/api/v1/financeiro/mensalidades/{id}/pix", 1L))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/financeiro/mensalidades/{id}/pix/qrcode", 1L))
+                .andExpect(status().isForbidden());
+    }
+
+    private static Contrato contrato(Aluno aluno, SituacaoContrato situacao) {
+        return Contrato.builder().aluno(aluno).anoLetivo(ANO).valorMensalidade(new BigDecimal("1850.00"))
+                .totalParcelas(12).diaVencimento(10).dataInicio(LocalDate.of(ANO, 2, 1)).situacao(situacao).build();
+    }
 }
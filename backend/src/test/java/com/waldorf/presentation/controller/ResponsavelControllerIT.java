@@ -0,0 +1,71 @@
+package com.waldorf.presentation.controller;
+
+import com.waldorf.domain.entity.Responsavel;
+import com.waldorf.infrastructure.repository.ResponsavelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("ResponsavelController — testes de integração")
+class ResponsavelControllerIT {
+
+    private static final String EMAIL_PAI = "pai.extrato@mail.com";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ResponsavelRepository responsavelRepository;
+
+    private Long proprio;
+    private Long outro;
+
+    @BeforeEach
+    void setUp() {
+        proprio = responsavel("Pai Extrato", EMAIL_PAI);
+        outro = responsavel("Outra Família", "outra.familia@mail.com");
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL_PAI, roles = "PAIS")
+    @DisplayName("GET /{id}/extrato com perfil PAIS de outra família deve retornar 403")
+    void extratoDeOutraFamilia() throws Exception {
+        mockMvc.perform(get("/api/v1/responsaveis/{id}/extrato", outro))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = EMAIL_PAI, roles = "PAIS")
+    @DisplayName("GET /{id}/extrato com perfil PAIS da própria família deve retornar 200")
+    void extratoDaPropriaFamilia() throws Exception {
+        mockMvc.perform(get("/api/v1/responsaveis/{id}/extrato", proprio))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responsavelId").value(proprio))
+                .andExpect(jsonPath("$.alunos").isArray());
+    }
+
+    @Test
+    @WithMockUser(roles = "FINANCEIRO")
+    @DisplayName("GET /{id}/extrato com perfil FINANCEIRO deve retornar 200")
+    void extratoPeloFinanceiro() throws Exception {
+        mockMvc.perform(get("/api/v1/responsaveis/{id}/extrato", outro))
+                .andExpect(status().isOk());
+    }
+
+    private Long responsavel(String nome, String email) {
+        return responsavelRepository.findAll().stream()
+                .filter(r -> email.equals(r.getEmail()))
+                .findFirst()
+                .orElseGet(() -> responsavelRepository.save(Responsavel.builder().nome(nome).email(email).build()))
+                .getId();
+    }
+}
@@ -0,0 +1,39 @@
+-- Tabelas gravadas só via JDBC, sem entidade JPA: o create-drop do Hibernate não as cria.
+-- Mesmas colunas das migrações V1 (pagamentos), V29 e V30, sem chaves estrangeiras nem índices.
+
+CREATE TABLE IF NOT EXISTS pagamentos (
+    id              BIGINT        PRIMARY KEY AUTO_INCREMENT,
+    mensalidade_id  BIGINT        NOT NULL,
+    valor_pago      DECIMAL(10,2) NOT NULL,
+    data_pagamento  TIMESTAMP     NOT NULL,
+    forma_pagamento VARCHAR(30)   NOT NULL,
+    gateway_id      VARCHAR(100),
+    comprovante_url VARCHAR(500),
+    status          VARCHAR(20)   DEFAULT 'PENDENTE',
+    observacoes     TEXT,
+    registrado_por  BIGINT,
+    created_at      TIMESTAMP     DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at      TIMESTAMP     DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS mensalidades_resumo (
+    ano_referencia  INT           NOT NULL,
+    mes_referencia  INT           NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    faixa_atraso    VARCHAR(20)   NOT NULL,
+    quantidade      BIGINT        NOT NULL DEFAULT 0,
+    valor_previsto  DECIMAL(14,2) NOT NULL DEFAULT 0,
+    valor_recebido  DECIMAL(14,2) NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP     NOT NULL,
+    PRIMARY KEY (ano_referencia, mes_referencia, status, faixa_atraso)
+);
+
+CREATE TABLE IF NOT EXISTS pagamentos_gateway_eventos (
+    transacao_id   VARCHAR(100)  NOT NULL PRIMARY KEY,
+    nosso_numero   VARCHAR(50),
+    mensalidade_id BIGINT,
+    valor_pago     DECIMAL(10,2) NOT NULL,
+    situacao       VARCHAR(20)   NOT NULL,
+    recebido_em    TIMESTAMP     NOT NULL,
+    processado_em  TIMESTAMP     NOT NULL
+);
@@ -57,6 +57,26 @@ class ApiClient {
     final r = await _dio.post('/finance/invoices/$id/pay', data: body);
     return r.data as Map<String, dynamic>;
   }
+
+  Future<Map<String, dynamic>> buscarPix(int mensalidadeId) async {
+    final r = await _dio.get('/financeiro/mensalidades/$mensalidadeId/pix');
+    return r.data as Map<String, dynamic>;
+  }
+
+  /// QR Code do PIX em SVG; `null` se o servidor responder 304 (o [etag] ainda vale).
+  Future<({String etag, String svg})?> baixarQrPix(int mensalidadeId, {String? etag}) async {
+    final r = await _dio.get<String>(
+      '/financeiro/mensalidades/$mensalidadeId/pix/qrcode',
+      queryParameters: {'formato': 'svg'},
+      options: Options(
+        responseType: ResponseType.plain,
+        headers: {if (etag != null) 'If-None-Match': etag},
+        validateStatus: (s) => s != null && (s == 304 || (s >= 200 && s < 300)),
+      ),
+    );
+    if (r.statusCode == 304) return null;
+    return (etag: r.headers.value('etag') ?? '', svg: r.data ?? '');
+  }
 }
 
 class _AuthInterceptor extends Interceptor {
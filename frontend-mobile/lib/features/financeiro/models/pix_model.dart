@@ -0,0 +1,13 @@
+class PixModel {
+  final int    mensalidadeId;
+  final double valor;
+  final String copiaECola;
+  final String qrSvg;
+
+  const PixModel({
+    required this.mensalidadeId,
+    required this.valor,
+    required this.copiaECola,
+    required this.qrSvg,
+  });
+}
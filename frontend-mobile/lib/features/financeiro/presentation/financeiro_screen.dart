@@ -1,4 +1,6 @@
 import 'package:flutter/material.dart';
+import 'package:flutter/services.dart';
+import 'package:flutter_svg/flutter_svg.dart';
 import 'package:flutter_riverpod/flutter_riverpod.dart';
 import 'package:go_router/go_router.dart';
 import 'package:intl/intl.dart';
@@ -98,50 +100,106 @@ class _ParcelaCard extends StatelessWidget {
     _          => Colors.grey,
   };
 
+  bool get _pagavel => parcela.status != 'PAGA' && parcela.status != 'CANCELADA' && !parcela.offline;
+
   @override
   Widget build(BuildContext context) {
     return Card(
       margin: const EdgeInsets.only(bottom: 10),
-      child: Padding(
-        padding: const EdgeInsets.all(14),
-        child: Row(
-          children: [
-            Container(
-              width: 42, height: 42,
-              decoration: BoxDecoration(
-                color: _cor.withOpacity(0.1),
-                borderRadius: BorderRadius.circular(10),
+      clipBehavior: Clip.antiAlias,
+      child: InkWell(
+        onTap: _pagavel
+            ? () => showModalBottomSheet(
+                  context: context,
+                  showDragHandle: true,
+                  builder: (_) => _PixSheet(mensalidadeId: parcela.id, fmt: fmt),
+                )
+            : null,
+        child: Padding(
+          padding: const EdgeInsets.all(14),
+          child: Row(
+            children: [
+              Container(
+                width: 42, height: 42,
+                decoration: BoxDecoration(
+                  color: _cor.withOpacity(0.1),
+                  borderRadius: BorderRadius.circular(10),
+                ),
+                child: Icon(Icons.receipt_long, color: _cor, size: 20),
               ),
-              child: Icon(Icons.receipt_long, color: _cor, size: 20),
-            ),
-            const SizedBox(width: 12),
-            Expanded(
-              child: Column(
-                crossAxisAlignment: CrossAxisAlignment.start,
+              const SizedBox(width: 12),
+              Expanded(
+                child: Column(
+                  crossAxisAlignment: CrossAxisAlignment.start,
+                  children: [
+                    Text(parcela.descricao, style: const TextStyle(fontWeight: FontWeight.w600, fontSize: 14)),
+                    const SizedBox(height: 2),
+                    Text(
+                      'Vence: ${fmtData.format(parcela.dataVencimento)}',
+                      style: TextStyle(fontSize: 12, color: Colors.grey[600]),
+                    ),
+                  ],
+                ),
+              ),
+              Column(
+                crossAxisAlignment: CrossAxisAlignment.end,
                 children: [
-                  Text(parcela.descricao, style: const TextStyle(fontWeight: FontWeight.w600, fontSize: 14)),
-                  const SizedBox(height: 2),
-                  Text(
-                    'Vence: ${fmtData.format(parcela.dataVencimento)}',
-                    style: TextStyle(fontSize: 12, color: Colors.grey[600]),
+                  Text(fmt.format(parcela.valor), style: const TextStyle(fontWeight: FontWeight.w700, fontSize: 14)),
+                  Container(
+                    margin: const EdgeInsets.only(top: 4),
+                    padding: const EdgeInsets.symmetric(horizontal: 8, vertical: 2),
+                    decoration: BoxDecoration(
+                      color: _cor.withOpacity(0.1),
+                      borderRadius: BorderRadius.circular(20),
+                    ),
+                    child: Text(parcela.status, style: TextStyle(fontSize: 10, color: _cor, fontWeight: FontWeight.w600)),
                   ),
                 ],
               ),
-            ),
-            Column(
-              crossAxisAlignment: CrossAxisAlignment.end,
-              children: [
-                Text(fmt.format(parcela.valor), style: const TextStyle(fontWeight: FontWeight.w700, fontSize: 14)),
-                Container(
-                  margin: const EdgeInsets.only(top: 4),
-                  padding: const EdgeInsets.symmetric(horizontal: 8, vertical: 2),
-                  decoration: BoxDecoration(
-                    color: _cor.withOpacity(0.1),
-                    borderRadius: BorderRadius.circular(20),
-                  ),
-                  child: Text(parcela.status, style: TextStyle(fontSize: 10, color: _cor, fontWeight: FontWeight.w600)),
-                ),
-              ],
+            ],
+          ),
+        ),
+      ),
+    );
+  }
+}
+
+class _PixSheet extends ConsumerWidget {
+  final int mensalidadeId;
+  final NumberFormat fmt;
+  const _PixSheet({required this.mensalidadeId, required this.fmt});
+
+  @override
+  Widget build(BuildContext context, WidgetRef ref) {
+    final pixAsync = ref.watch(pixProvider(mensalidadeId));
+    return Padding(
+      padding: const EdgeInsets.fromLTRB(24, 0, 24, 24),
+      child: pixAsync.when(
+        loading: () => const SizedBox(height: 280, child: Center(child: CircularProgressIndicator())),
+        error: (e, _) => const SizedBox(
+          height: 120,
+          child: Center(child: Text('Não foi possível gerar o PIX desta parcela.')),
+        ),
+        data: (pix) => Column(
+          mainAxisSize: MainAxisSize.min,
+          children: [
+            Text('Pagar com PIX', style: Theme.of(context).textTheme.titleMedium),
+            const SizedBox(height: 4),
+            Text(fmt.format(pix.valor), style: const TextStyle(fontWeight: FontWeight.w700, fontSize: 18)),
+            const SizedBox(height: 16),
+            SvgPicture.string(pix.qrSvg, width: 220, height: 220),
+            const SizedBox(height: 16),
+            FilledButton.icon(
+              icon: const Icon(Icons.copy, size: 18),
+              label: const Text('Copiar código PIX'),
+              onPressed: () async {
+                await Clipboard.setData(ClipboardData(text: pix.copiaECola));
+                if (context.mounted) {
+                  ScaffoldMessenger.of(context).showSnackBar(
+                    const SnackBar(content: Text('Código PIX copiado')),
+                  );
+                }
+              },
             ),
           ],
         ),
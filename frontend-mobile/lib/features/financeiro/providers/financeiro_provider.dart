@@ -1,6 +1,7 @@
 import 'package:riverpod_annotation/riverpod_annotation.dart';
 import '../../../core/network/api_client.dart';
 import '../models/parcela_model.dart';
+import '../models/pix_model.dart';
 import '../services/financeiro_local_db.dart';
 
 part 'financeiro_provider.g.dart';
@@ -20,3 +21,21 @@ Future<List<ParcelaModel>> parcelas(ParcelasRef ref, String? status) async {
     return db.listarParcelas(status: status);
   }
 }
+
+/// QR Codes já baixados nesta sessão, revalidados pelo ETag (304 reaproveita o SVG).
+final _qrPix = <int, ({String etag, String svg})>{};
+
+@riverpod
+Future<PixModel> pix(PixRef ref, int mensalidadeId) async {
+  final api   = ref.read(apiClientProvider);
+  final dados = await api.buscarPix(mensalidadeId);
+  final anterior = _qrPix[mensalidadeId];
+  final qr = await api.baixarQrPix(mensalidadeId, etag: anterior?.etag) ?? anterior!;
+  _qrPix[mensalidadeId] = qr;
+  return PixModel(
+    mensalidadeId: mensalidadeId,
+    valor:         (dados['valor'] as num).toDouble(),
+    copiaECola:    dados['copiaECola'] as String,
+    qrSvg:         qr.svg,
+  );
+}
@@ -2,7 +2,7 @@ import { Component, OnInit, signal } from '@angular/core';
 import { FormControl } from '@angular/forms';
 import { Router } from '@angular/router';
 import { Subject, debounceTime, distinctUntilChanged, takeUntil } from 'rxjs';
-import { FinanceiroService, Contrato } from '../../services/financeiro.service';
+import { FinanceiroService, Contrato, SituacaoContrato } from '../../services/financeiro.service';
 
 @Component({
   selector: 'wld-contrato-list',
@@ -13,7 +13,7 @@ export class ContratoListComponent implements OnInit {
   private destroy$ = new Subject<void>();
   contratos    = signal<Contrato[]>([]);
   carregando   = signal(true);
-  filtroStatus = signal('');
+  filtroSituacao = signal<SituacaoContrato | ''>('');
   buscaCtrl    = new FormControl('');
 
   constructor(
@@ -33,17 +33,17 @@ export class ContratoListComponent implements OnInit {
   carregar(): void {
     this.carregando.set(true);
     this.financeiroService.listarContratos({
-      status: this.filtroStatus() || undefined,
-      nome:   this.buscaCtrl.value || undefined,
+      situacao: this.filtroSituacao() || undefined,
+      nome:     this.buscaCtrl.value || undefined,
     }).subscribe({
-      next: (c) => { this.contratos.set(c); this.carregando.set(false); },
+      next: (resp) => { this.contratos.set(resp.content); this.carregando.set(false); },
       error: ()  => { this.contratos.set(this.mockContratos()); this.carregando.set(false); },
     });
   }
 
   /** Usado pelo template: evita type cast 'as T' no event binding (NG5002) */
-  alterarFiltroStatus(event: Event): void {
-    this.filtroStatus.set((event.target as HTMLSelectElement).value);
+  alterarFiltroSituacao(event: Event): void {
+    this.filtroSituacao.set((event.target as HTMLSelectElement).value as SituacaoContrato | '');
     this.carregar();
   }
 
@@ -56,9 +56,9 @@ export class ContratoListComponent implements OnInit {
 
   private mockContratos(): Contrato[] {
     return [
-      { id: 1, alunoId: 1, alunoNome: 'Ana Clara Silva',       turmaId: 1, turmaNome: 'Classe 3', anoLetivo: 2026, valorMensalidade: 1850, valorMatricula: 500, totalParcelas: 12, diaVencimento: 10, status: 'ATIVO',        dataInicio: '2026-02-01', createdAt: '' },
-      { id: 2, alunoId: 2, alunoNome: 'Pedro Santos Oliveira', turmaId: 1, turmaNome: 'Classe 3', anoLetivo: 2026, valorMensalidade: 1850, valorMatricula: 500, totalParcelas: 12, diaVencimento: 10, status: 'INADIMPLENTE', dataInicio: '2026-02-01', createdAt: '' },
-      { id: 3, alunoId: 3, alunoNome: 'Maria Souza',           turmaId: 2, turmaNome: 'Classe 5', anoLetivo: 2026, valorMensalidade: 1950, valorMatricula: 500, totalParcelas: 12, diaVencimento: 15, status: 'ATIVO',        dataInicio: '2026-02-01', createdAt: '' },
+      { id: 1, alunoId: 1, alunoNome: 'Ana Clara Silva',       turmaId: 1, turmaNome: 'Classe 3', anoLetivo: 2026, valorMensalidade: 1850, valorMatricula: 500, totalParcelas: 12, diaVencimento: 10, situacao: 'ATIVO',     dataInicio: '2026-02-01', createdAt: '' },
+      { id: 2, alunoId: 2, alunoNome: 'Pedro Santos Oliveira', turmaId: 1, turmaNome: 'Classe 3', anoLetivo: 2026, valorMensalidade: 1850, valorMatricula: 500, totalParcelas: 12, diaVencimento: 10, situacao: 'SUSPENSO',  dataInicio: '2026-02-01', createdAt: '' },
+      { id: 3, alunoId: 3, alunoNome: 'Maria Souza',           turmaId: 2, turmaNome: 'Classe 5', anoLetivo: 2026, valorMensalidade: 1950, valorMatricula: 500, totalParcelas: 12, diaVencimento: 15, situacao: 'ATIVO',     dataInicio: '2026-02-01', createdAt: '' },
     ];
   }
 }
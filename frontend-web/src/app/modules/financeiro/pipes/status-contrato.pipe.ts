@@ -4,7 +4,7 @@ const MAP: Record<string, { label: string; css: string }> = {
   ATIVO:        { label: 'Ativo',        css: 'badge-success' },
   ENCERRADO:    { label: 'Encerrado',    css: 'badge-neutral' },
   SUSPENSO:     { label: 'Suspenso',     css: 'badge-warning' },
-  INADIMPLENTE: { label: 'Inadimplente', css: 'badge-danger'  },
+  CANCELADO:    { label: 'Cancelado',    css: 'badge-danger'  },
 };
 
 @Pipe({ name: 'statusContrato', standalone: false })
@@ -3,6 +3,9 @@ import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '@environments/environment';
 
+/** Valores de SituacaoContrato no backend. */
+export type SituacaoContrato = 'ATIVO' | 'ENCERRADO' | 'SUSPENSO' | 'CANCELADO';
+
 export interface Contrato {
   id: number;
   alunoId: number;
@@ -11,15 +14,24 @@ export interface Contrato {
   turmaNome?: string;
   anoLetivo: number;
   valorMensalidade: number;
-  valorMatricula: number;
+  valorMatricula?: number;
+  desconto?: number;
   totalParcelas: number;
   diaVencimento: number;
-  status: 'ATIVO' | 'ENCERRADO' | 'SUSPENSO' | 'INADIMPLENTE';
+  situacao: SituacaoContrato;
   dataInicio: string;
   dataFim?: string;
   observacoes?: string;
   parcelas?: Parcela[];
-  createdAt: string;
+  createdAt?: string;
+}
+
+export interface PageContrato {
+  content: Contrato[];
+  totalElements: number;
+  totalPages: number;
+  number: number;
+  size: number;
 }
 
 export interface Parcela {
@@ -77,12 +89,29 @@ export class FinanceiroService {
   constructor(private http: HttpClient) {}
 
   // === CONTRATOS ===
-  listarContratos(filtros?: { status?: string; anoLetivo?: number; nome?: string }): Observable<Contrato[]> {
+  listarContratos(filtros?: {
+    situacao?: SituacaoContrato; anoLetivo?: number; nome?: string; turmaId?: number; page?: number; size?: number;
+  }): Observable<PageContrato> {
+    return this.http.get<PageContrato>(this.apiContratos, { params: this.filtrosContrato(filtros) });
+  }
+
+  exportarContratosCsv(filtros?: {
+    situacao?: SituacaoContrato; anoLetivo?: number; nome?: string; turmaId?: number;
+  }): Observable<Blob> {
+    return this.http.get(`${this.apiContratos}/exportacao`, { params: this.filtrosContrato(filtros), responseType: 'blob' });
+  }
+
+  private filtrosContrato(filtros?: {
+    situacao?: SituacaoContrato; anoLetivo?: number; nome?: string; turmaId?: number; page?: number; size?: number;
+  }): HttpParams {
     let params = new HttpParams();
-    if (filtros?.status)    params = params.set('status', filtros.status);
+    if (filtros?.situacao)  params = params.set('situacao', filtros.situacao);
     if (filtros?.anoLetivo) params = params.set('anoLetivo', String(filtros.anoLetivo));
     if (filtros?.nome)      params = params.set('nome', filtros.nome);
-    return this.http.get<Contrato[]>(this.apiContratos, { params });
+    if (filtros?.turmaId)   params = params.set('turmaId', String(filtros.turmaId));
+    if (filtros?.page != null) params = params.set('page', String(filtros.page));
+    if (filtros?.size != null) params = params.set('size', String(filtros.size));
+    return params;
   }
 
   buscarContrato(id: number): Observable<Contrato> {
@@ -0,0 +1,22 @@
+#!/bin/bash
+# Compara throughput e p99 dos dois modos de execução do backend com o mesmo perfil de carga.
+# Suba duas instâncias (ou a mesma, reiniciada entre as rodadas):
+#   VIRTUAL_THREADS_ENABLED=false  -> BASE_URL_PLATAFORMA
+#   VIRTUAL_THREADS_ENABLED=true   -> BASE_URL_VIRTUAL
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+: "${ADMIN_EMAIL:=admin@waldorf.edu.br}"
+: "${ADMIN_PASS:?Defina ADMIN_PASS}"
+: "${BASE_URL_PLATAFORMA:=http://localhost:8080}"
+: "${BASE_URL_VIRTUAL:=http://localhost:8081}"
+command -v k6 >/dev/null || { echo "k6 não encontrado (https://k6.io)"; exit 1; }
+
+for modo in plataforma virtual; do
+  url_var="BASE_URL_${modo^^}"
+  echo "━━━ Modo: $modo (${!url_var}) ━━━"
+  k6 run --quiet -e BASE_URL="${!url_var}" -e MODO="$modo" \
+    -e ADMIN_EMAIL="$ADMIN_EMAIL" -e ADMIN_PASS="$ADMIN_PASS" \
+    -e VUS="${VUS:-200}" -e DURACAO="${DURACAO:-2m}" \
+    tests/load/mixed-endpoints.js
+done
+echo "Relatórios completos: tests/load/resultado-{plataforma,virtual}.json"
@@ -0,0 +1,82 @@
+// Teste de carga com endpoints mistos (k6), para comparar o modo de threads de plataforma com o
+// de threads virtuais (VIRTUAL_THREADS_ENABLED=true). Uso direto:
+//   k6 run -e BASE_URL=http://localhost:8080 -e ADMIN_EMAIL=... -e ADMIN_PASS=... -e MODO=plataforma \
+//     tests/load/mixed-endpoints.js
+// ou, para os dois modos em sequência, tests/load/compare-thread-modes.sh.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODO = __ENV.MODO || 'desconhecido';
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURACAO = __ENV.DURACAO || '2m';
+
+export const options = {
+  scenarios: {
+    // Leituras do dia a dia (listagens e polling de notificações)
+    leitura: {
+      executor: 'constant-vus', vus: Math.floor(VUS * 0.8), duration: DURACAO, exec: 'leitura',
+    },
+    // Painéis mais pesados (agregações no banco)
+    dashboard: {
+      executor: 'constant-vus', vus: Math.max(1, Math.floor(VUS * 0.15)), duration: DURACAO, exec: 'dashboard',
+    },
+    // Logins (CPU: BCrypt no pool limitado)
+    login: {
+      executor: 'constant-arrival-rate', rate: parseInt(__ENV.LOGINS_POR_SEGUNDO || '5', 10),
+      timeUnit: '1s', duration: DURACAO, preAllocatedVUs: Math.max(1, Math.floor(VUS * 0.05)), exec: 'login',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function autenticar() {
+  const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+    JSON.stringify({ email: __ENV.ADMIN_EMAIL, password: __ENV.ADMIN_PASS }),
+    { headers: { 'Content-Type': 'application/json' } });
+  return res.json('accessToken');
+}
+
+export function setup() {
+  const token = autenticar();
+  if (!token) throw new Error('Login inicial falhou — verifique ADMIN_EMAIL/ADMIN_PASS');
+  return { token };
+}
+
+function get(path, token, nome) {
+  const res = http.get(`${BASE_URL}${path}`, {
+    headers: { Authorization: `Bearer ${token}` }, tags: { endpoint: nome },
+  });
+  check(res, { [`${nome} 2xx`]: (r) => r.status >= 200 && r.status < 300 });
+}
+
+export function leitura(data) {
+  const r = Math.random();
+  if (r < 0.4) get('/api/v1/notifications/count', data.token, 'notificacoes');
+  else if (r < 0.7) get('/api/v1/alunos?page=0&size=20', data.token, 'alunos');
+  else if (r < 0.85) get('/api/v1/turmas', data.token, 'turmas');
+  else get('/api/v1/professores?page=0&size=20', data.token, 'professores');
+}
+
+export function dashboard(data) {
+  get('/api/v1/analytics/dashboard/secretaria', data.token, 'dashboard');
+}
+
+export function login() {
+  const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+    JSON.stringify({ email: __ENV.ADMIN_EMAIL, password: __ENV.ADMIN_PASS }),
+    { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+  // 429 (rate limit) e 503 (pool de hash cheio) são respostas esperadas sob carga
+  check(res, { 'login respondeu': (r) => [200, 429, 503].includes(r.status) });
+}
+
+export function handleSummary(data) {
+  const dur = data.metrics.http_req_duration.values;
+  const linha = `modo=${MODO} req/s=${data.metrics.http_reqs.values.rate.toFixed(1)} `
+    + `p50=${dur['p(50)'].toFixed(1)}ms p95=${dur['p(95)'].toFixed(1)}ms p99=${dur['p(99)'].toFixed(1)}ms `
+    + `falhas=${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`;
+  return {
+    stdout: linha,
+    [`tests/load/resultado-${MODO}.json`]: JSON.stringify(data, null, 2),
+  };
+}